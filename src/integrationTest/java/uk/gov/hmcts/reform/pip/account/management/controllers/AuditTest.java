@@ -17,6 +17,7 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import uk.gov.hmcts.reform.pip.account.management.model.CustomPageImpl;
 import uk.gov.hmcts.reform.pip.account.management.model.account.AuditLog;
+import uk.gov.hmcts.reform.pip.account.management.model.account.KeysetSlice;
 import uk.gov.hmcts.reform.pip.account.management.service.authorisation.AuditAuthorisationService;
 import uk.gov.hmcts.reform.pip.account.management.utils.IntegrationTestBase;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
@@ -25,9 +26,12 @@ import uk.gov.hmcts.reform.pip.model.enums.AuditAction;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -43,6 +47,7 @@ class AuditTest extends IntegrationTestBase {
     private MockMvc mockMvc;
 
     private static final String ROOT_URL = "/audit";
+    private static final String KEYSET_URL = ROOT_URL + "/keyset";
     private static final String EMAIL = "test_account_admin@hmcts.net";
     private static final String ADDITIONAL_USER_EMAIL = "test_account_admin_2@hmcts.net";
     private static final Roles ROLES = Roles.SYSTEM_ADMIN;
@@ -131,6 +136,53 @@ class AuditTest extends IntegrationTestBase {
         assertEquals(AUDIT_DETAILS, auditLog2.getDetails(), GET_AUDIT_LOG_FAILED);
     }
 
+    @Test
+    void testGetAllAuditLogsKeyset() throws Exception {
+        String email = RandomStringUtils.secure().nextAlphabetic(10) + "@hmcts.net";
+        for (String userId : List.of(USER_ID, ADDITIONAL_USER_ID, "5678")) {
+            mockMvc.perform(MockMvcRequestBuilders
+                                .post(ROOT_URL)
+                                .content(OBJECT_MAPPER.writeValueAsString(new AuditLog(
+                                    userId, email, ROLES, USER_PROVENANCE, AUDIT_ACTION, AUDIT_DETAILS
+                                )))
+                                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        }
+
+        KeysetSlice<AuditLog> firstPage = getAuditLogsKeyset(
+            KEYSET_URL + "?pageSize=2&includeCount=true&email=" + email
+        );
+
+        assertEquals(List.of("5678", ADDITIONAL_USER_ID), firstPage.getContent().stream()
+            .map(AuditLog::getUserId).toList(), "First page should have the newest audit logs");
+        assertTrue(firstPage.isHasNext(), "First page should have a next page");
+        assertEquals(3L, firstPage.getTotalCount(), "Total count should include all pages");
+
+        KeysetSlice<AuditLog> secondPage = getAuditLogsKeyset(
+            KEYSET_URL + "?pageSize=2&email=" + email + "&cursor=" + firstPage.getNextCursor()
+        );
+
+        assertEquals(List.of(USER_ID), secondPage.getContent().stream()
+            .map(AuditLog::getUserId).toList(), "Second page should continue after the first page");
+        assertFalse(secondPage.isHasNext(), "Second page should be the last page");
+        assertNull(secondPage.getNextCursor(), "Last page should not have a next cursor");
+        assertNull(secondPage.getTotalCount(), "Total count should only be returned when requested");
+    }
+
+    @Test
+    void testGetAllAuditLogsKeysetInvalidCursor() throws Exception {
+        mockMvc.perform(get(KEYSET_URL + "?cursor=not-a-cursor").header(REQUESTER_ID_HEADER, REQUESTER_ID))
+            .andExpect(status().isBadRequest());
+    }
+
+    private KeysetSlice<AuditLog> getAuditLogsKeyset(String url) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get(url).header(REQUESTER_ID_HEADER, REQUESTER_ID))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        return OBJECT_MAPPER.readValue(mvcResult.getResponse().getContentAsString(), new TypeReference<>() {});
+    }
+
     @Test
     void testGetAllAuditLogsFilterByEmail() throws Exception {
         MockHttpServletRequestBuilder mockHttpServletRequestBuilder1 = MockMvcRequestBuilders
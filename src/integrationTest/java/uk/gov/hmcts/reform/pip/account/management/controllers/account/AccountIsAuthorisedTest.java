@@ -19,6 +19,9 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import uk.gov.hmcts.reform.pip.account.management.model.account.CreationEnum;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationAuthorisationRequest;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationAuthorisationResponse;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationClassification;
 import uk.gov.hmcts.reform.pip.account.management.service.authorisation.AccountAuthorisationService;
 import uk.gov.hmcts.reform.pip.account.management.utils.IntegrationTestBase;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
@@ -26,11 +29,15 @@ import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 import uk.gov.hmcts.reform.pip.model.publication.ListType;
 import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -56,6 +63,7 @@ class AccountIsAuthorisedTest extends IntegrationTestBase {
     private static final String CREATE_SYSTEM_ADMIN_URL = ROOT_URL + "/system-admin";
     private static final String EMAIL = "a@b.com";
     private static final String URL_FORMAT = "%s/isAuthorised/%s/%s/%s";
+    private static final String BATCH_URL = ROOT_URL + "/isAuthorised/batch";
     private static final String UNAUTHORIZED_ROLE = "APPROLE_unknown.authorized";
     private static final String UNAUTHORIZED_USERNAME = "unauthorized_isAuthorized";
 
@@ -252,6 +260,133 @@ class AccountIsAuthorisedTest extends IntegrationTestBase {
         assertRequestResponseStatus(mockMvc, request, FORBIDDEN.value());
     }
 
+    @Test
+    void testIsAuthorisedBatchWithManyUsers() throws Exception {
+        user.setUserProvenance(UserProvenances.PI_AAD);
+        user.setRoles(Roles.VERIFIED);
+        UUID verifiedUserId = UUID.fromString(createUserAndGetId(user));
+
+        PiUser cftUser = new PiUser();
+        cftUser.setEmail("cft@b.com");
+        cftUser.setProvenanceUserId(UUID.randomUUID().toString());
+        cftUser.setUserProvenance(UserProvenances.CFT_IDAM);
+        cftUser.setRoles(Roles.VERIFIED);
+        UUID cftUserId = UUID.fromString(createUserAndGetId(cftUser));
+        UUID unknownUserId = UUID.randomUUID();
+
+        PublicationAuthorisationResponse response = callIsAuthorisedBatch(new PublicationAuthorisationRequest(
+            List.of(verifiedUserId, cftUserId, unknownUserId), ListType.CROWN_WARNED_PDDA_LIST,
+            Sensitivity.CLASSIFIED, null, null
+        ));
+
+        assertEquals(Map.of(verifiedUserId, true, cftUserId, false, unknownUserId, false), response.getUsers(),
+                     "Each user should be mapped to whether they can see the publication");
+        assertNull(response.getPublications(), "Publications should not be returned when checking many users");
+    }
+
+    @Test
+    void testIsAuthorisedBatchWithManyPublications() throws Exception {
+        user.setUserProvenance(UserProvenances.CFT_IDAM);
+        user.setRoles(Roles.VERIFIED);
+        UUID userId = UUID.fromString(createUserAndGetId(user));
+
+        PublicationAuthorisationResponse response = callIsAuthorisedBatch(new PublicationAuthorisationRequest(
+            null, null, null, userId, List.of(
+                new PublicationClassification(ListType.SJP_PRESS_LIST, Sensitivity.PRIVATE),
+                new PublicationClassification(ListType.SJP_PRESS_LIST, Sensitivity.CLASSIFIED),
+                new PublicationClassification(ListType.CIVIL_DAILY_CAUSE_LIST, Sensitivity.CLASSIFIED)
+            )
+        ));
+
+        assertEquals(Map.of(
+            ListType.SJP_PRESS_LIST, Map.of(Sensitivity.PRIVATE, true, Sensitivity.CLASSIFIED, false),
+            ListType.CIVIL_DAILY_CAUSE_LIST, Map.of(Sensitivity.CLASSIFIED, true)
+        ), response.getPublications(), "Each publication should be mapped to whether the user can see it");
+        assertNull(response.getUsers(), "Users should not be returned when checking many publications");
+    }
+
+    @Test
+    void testIsAuthorisedBatchWithUnknownUser() throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+            .post(BATCH_URL)
+            .content(objectMapper.writeValueAsString(new PublicationAuthorisationRequest(
+                null, null, null, UUID.randomUUID(),
+                List.of(new PublicationClassification(ListType.SJP_PRESS_LIST, Sensitivity.PUBLIC))
+            )))
+            .contentType(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(request).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testIsAuthorisedBatchWithBothForms() throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+            .post(BATCH_URL)
+            .content(objectMapper.writeValueAsString(new PublicationAuthorisationRequest(
+                List.of(UUID.randomUUID()), ListType.SJP_PRESS_LIST, Sensitivity.PUBLIC, UUID.randomUUID(),
+                List.of(new PublicationClassification(ListType.SJP_PRESS_LIST, Sensitivity.PUBLIC))
+            )))
+            .contentType(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(request).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testIsAuthorisedBatchWithTooManyUsers() throws Exception {
+        List<UUID> userIds = Stream.generate(UUID::randomUUID)
+            .limit(PublicationAuthorisationRequest.MAX_BATCH_SIZE + 1)
+            .toList();
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+            .post(BATCH_URL)
+            .content(objectMapper.writeValueAsString(new PublicationAuthorisationRequest(
+                userIds, ListType.SJP_PRESS_LIST, Sensitivity.PUBLIC, null, null
+            )))
+            .contentType(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(request).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testIsAuthorisedBatchWithTooManyPublications() throws Exception {
+        List<PublicationClassification> publications = Collections.nCopies(
+            PublicationAuthorisationRequest.MAX_BATCH_SIZE + 1,
+            new PublicationClassification(ListType.SJP_PRESS_LIST, Sensitivity.PUBLIC)
+        );
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+            .post(BATCH_URL)
+            .content(objectMapper.writeValueAsString(new PublicationAuthorisationRequest(
+                null, null, null, UUID.randomUUID(), publications
+            )))
+            .contentType(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(request).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = UNAUTHORIZED_USERNAME, authorities = {UNAUTHORIZED_ROLE})
+    void testUnauthorizedCheckUsersAuthorised() throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+            .post(BATCH_URL)
+            .content(objectMapper.writeValueAsString(new PublicationAuthorisationRequest(
+                List.of(UUID.randomUUID()), ListType.SJP_PRESS_LIST, Sensitivity.PUBLIC, null, null
+            )))
+            .contentType(MediaType.APPLICATION_JSON);
+
+        assertRequestResponseStatus(mockMvc, request, FORBIDDEN.value());
+    }
+
+    private PublicationAuthorisationResponse callIsAuthorisedBatch(PublicationAuthorisationRequest body)
+        throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+            .post(BATCH_URL)
+            .content(objectMapper.writeValueAsString(body))
+            .contentType(MediaType.APPLICATION_JSON);
+
+        MvcResult response = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+        return objectMapper.readValue(response.getResponse().getContentAsString(),
+                                      PublicationAuthorisationResponse.class);
+    }
+
     private MvcResult callIsAuthorised(PiUser user, ListType listType, Sensitivity sensitivity) throws Exception {
         String createdUserId = Roles.SYSTEM_ADMIN.equals(user.getRoles())
             ? createSystemAdminAndGetId(user)
@@ -18,6 +18,7 @@ import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilde
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.testcontainers.shaded.org.apache.commons.lang3.RandomUtils;
 import uk.gov.hmcts.reform.pip.account.management.model.account.CreationEnum;
+import uk.gov.hmcts.reform.pip.account.management.model.account.KeysetSlice;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
 import uk.gov.hmcts.reform.pip.account.management.service.authorisation.AccountAuthorisationService;
 import uk.gov.hmcts.reform.pip.account.management.utils.IntegrationTestBase;
@@ -26,9 +27,11 @@ import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 import uk.gov.hmcts.reform.pip.model.report.AccountMiData;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -48,6 +51,7 @@ class CustomAccountRetrievalTest extends IntegrationTestBase {
     private static final String THIRD_PARTY_URL = ROOT_URL + "/all/third-party";
     private static final String PI_URL = ROOT_URL + "/add/pi";
     private static final String GET_ALL_ACCOUNTS_EXCEPT_THIRD_PARTY = ROOT_URL + "/all";
+    private static final String GET_ALL_ACCOUNTS_EXCEPT_THIRD_PARTY_KEYSET = ROOT_URL + "/all/keyset";
     private static final String MI_REPORTING_ACCOUNT_DATA_URL = ROOT_URL + "/mi-data";
 
     private static final String EMAIL = "test_account_admin@hmcts.net";
@@ -230,6 +234,57 @@ class CustomAccountRetrievalTest extends IntegrationTestBase {
         );
     }
 
+    @Test
+    void testGetAllAccountsExceptThirdPartyKeyset() throws Exception {
+        MockHttpServletRequestBuilder mockHttpServletRequestBuilder =
+            MockMvcRequestBuilders
+                .post(PI_URL)
+                .content(OBJECT_MAPPER.writeValueAsString(List.of(
+                    createUser(UUID.randomUUID().toString()),
+                    createUser(UUID.randomUUID().toString()),
+                    createUser(UUID.randomUUID().toString())
+                )))
+                .header(REQUESTER_ID_HEADER, REQUESTER_ID)
+                .contentType(MediaType.APPLICATION_JSON);
+        MvcResult responseCreateUser = mockMvc.perform(mockHttpServletRequestBuilder)
+            .andExpect(status().isCreated()).andReturn();
+
+        Map<CreationEnum, List<Object>> mappedResponse =
+            OBJECT_MAPPER.readValue(
+                responseCreateUser.getResponse().getContentAsString(),
+                new TypeReference<>() {
+                }
+            );
+        List<UUID> createdUserIds = mappedResponse.get(CreationEnum.CREATED_ACCOUNTS).stream()
+            .map(userId -> UUID.fromString(userId.toString()))
+            .sorted(Comparator.comparing(UUID::toString))
+            .toList();
+
+        String filters = "?pageSize=2&email=" + EMAIL + "&provenances=" + UserProvenances.SSO;
+        KeysetSlice<PiUser> firstPage = getAccountsKeyset(filters + "&includeCount=true");
+        assertEquals(3L, firstPage.getTotalCount(), "Total count should include all pages");
+        assertTrue(firstPage.isHasNext(), "First page should have a next page");
+
+        KeysetSlice<PiUser> secondPage = getAccountsKeyset(filters + "&cursor=" + firstPage.getNextCursor());
+        assertThat(secondPage.isHasNext())
+            .as("Second page should be the last page")
+            .isFalse();
+
+        List<UUID> returnedUserIds = Stream.concat(firstPage.getContent().stream(), secondPage.getContent().stream())
+            .map(PiUser::getUserId)
+            .toList();
+        assertEquals(createdUserIds, returnedUserIds, "Each user should be returned once, in user ID order");
+    }
+
+    private KeysetSlice<PiUser> getAccountsKeyset(String query) throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+            .get(GET_ALL_ACCOUNTS_EXCEPT_THIRD_PARTY_KEYSET + query)
+            .header(REQUESTER_ID_HEADER, REQUESTER_ID);
+
+        MvcResult response = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+        return OBJECT_MAPPER.readValue(response.getResponse().getContentAsString(), new TypeReference<>() {});
+    }
+
     @Test
     @WithMockUser(username = UNAUTHORIZED_USERNAME, authorities = {UNAUTHORIZED_ROLE})
     void testUnauthorizedGetAllAccountsExceptThirdParty() throws Exception {
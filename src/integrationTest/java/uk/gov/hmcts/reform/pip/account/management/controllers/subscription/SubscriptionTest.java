@@ -23,6 +23,8 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.ExceptionResponse;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.ArtefactRecipientStatus;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.RecipientRequestStatus;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.usersubscription.CaseSubscription;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.usersubscription.LocationSubscription;
@@ -123,6 +125,7 @@ class SubscriptionTest extends IntegrationTestBase {
     private static final String SUBSCRIPTION_USER_PATH = "/subscription/user/" + UUID_STRING;
     private static final String ARTEFACT_RECIPIENT_PATH = "/subscription/artefact-recipients";
     private static final String SUBSCRIPTION_EMAIL_RECIPIENT_PATH = "/subscription/email-recipients";
+    private static final String SUBSCRIPTION_EMAIL_RECIPIENT_BATCH_PATH = "/subscription/email-recipients/batch";
     private static final String SUBSCRIPTION_API_RECIPIENT_PATH = "/subscription/api-recipients";
     private static final String DELETED_ARTEFACT_RECIPIENT_PATH = "/subscription/deleted-artefact";
     private static final String DELETE_BULK_SUBSCRIPTION_PATH = "/subscription/bulk";
@@ -720,6 +723,36 @@ class SubscriptionTest extends IntegrationTestBase {
             assertEquals(EMAIL_SUBSCRIBER_REQUEST_SUCCESS, result.getResponse().getContentAsString(), RESPONSE_MATCH);
         }
 
+        @Test
+        void testBuildEmailSubscriberListsForBatch() throws Exception {
+            mvc.perform(setupMockSubscription(CASE_ID, SearchType.CASE_ID, VALID_USER_ID));
+
+            MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(SUBSCRIPTION_EMAIL_RECIPIENT_BATCH_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + rawArtefact + ", {}]");
+            MvcResult result = mvc.perform(request).andExpect(status().isOk()).andReturn();
+
+            ArtefactRecipientStatus[] statuses = OBJECT_MAPPER.readValue(
+                result.getResponse().getContentAsString(), ArtefactRecipientStatus[].class
+            );
+            assertThat(statuses)
+                .as("Artefact statuses should match")
+                .extracting(ArtefactRecipientStatus::getStatus)
+                .containsExactly(RecipientRequestStatus.ACCEPTED, RecipientRequestStatus.FAILED);
+        }
+
+        @Test
+        @WithMockUser(username = "unauthorized_find_by_id", authorities = {"APPROLE_unknown.find"})
+        void testUnauthorizedBuildEmailSubscriberListsForBatch() throws Exception {
+            MockHttpServletRequestBuilder request = MockMvcRequestBuilders
+                .post(SUBSCRIPTION_EMAIL_RECIPIENT_BATCH_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + rawArtefact + "]");
+
+            assertRequestResponseStatus(mvc, request, FORBIDDEN.value());
+        }
+
         @Test
         @WithMockUser(username = "unauthorized_find_by_id", authorities = {"APPROLE_unknown.find"})
         void testUnauthorizedBuildEmailSubscriberList() throws Exception {
@@ -8,8 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiOauthConfiguration;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiSubscriberConfiguration;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiSubscription;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUserStatus;
 import uk.gov.hmcts.reform.pip.model.publication.ListType;
 import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
 
@@ -26,9 +29,14 @@ class ApiSubscriptionRepositoryTest {
     private static final UUID INVALID_USER_ID = UUID.randomUUID();
     private static final String USER_NAME = "Test name";
     private static final String USER_NAME2 = "Test name 2";
+    private static final String PENDING_USER_NAME = "Test pending name";
+    private static final String SUSPENDED_USER_NAME = "Test suspended name";
+    private static final String DESTINATION_URL = "https://destination.url.com";
 
     private UUID userId1;
     private UUID userId2;
+    private UUID pendingUserId;
+    private UUID suspendedUserId;
 
     @Autowired
     ApiSubscriptionRepository apiSubscriptionRepository;
@@ -36,6 +44,9 @@ class ApiSubscriptionRepositoryTest {
     @Autowired
     ApiUserRepository apiUserRepository;
 
+    @Autowired
+    ApiOauthConfigurationRepository apiOauthConfigurationRepository;
+
     @BeforeAll
     void setup() {
         ApiUser apiUser = new ApiUser();
@@ -57,6 +68,7 @@ class ApiSubscriptionRepositoryTest {
 
         ApiUser apiUser2 = new ApiUser();
         apiUser2.setName(USER_NAME2);
+        apiUser2.setStatus(ApiUserStatus.ACTIVE);
         ApiUser createdApiUser2 = apiUserRepository.save(apiUser2);
         userId2 = createdApiUser2.getUserId();
 
@@ -76,11 +88,52 @@ class ApiSubscriptionRepositoryTest {
         apiSubscription5.setSensitivity(Sensitivity.CLASSIFIED);
 
         apiSubscriptionRepository.saveAll(List.of(apiSubscription3, apiSubscription4, apiSubscription5));
+
+        pendingUserId = createUserWithConfiguration(PENDING_USER_NAME, ApiUserStatus.PENDING);
+        suspendedUserId = createUserWithConfiguration(SUSPENDED_USER_NAME, ApiUserStatus.SUSPENDED);
+
+        apiSubscriptionRepository.saveAll(List.of(
+            createSubscription(userId2, ListType.MAGISTRATES_PUBLIC_LIST),
+            createSubscription(pendingUserId, ListType.MAGISTRATES_PUBLIC_LIST),
+            createSubscription(userId2, ListType.SJP_PUBLIC_LIST),
+            createSubscription(suspendedUserId, ListType.SJP_PUBLIC_LIST)
+        ));
+
+        saveOauthConfiguration(userId2);
+    }
+
+    private UUID createUserWithConfiguration(String name, ApiUserStatus status) {
+        ApiUser apiUser = new ApiUser();
+        apiUser.setName(name);
+        apiUser.setStatus(status);
+        UUID userId = apiUserRepository.save(apiUser).getUserId();
+        saveOauthConfiguration(userId);
+        return userId;
+    }
+
+    private void saveOauthConfiguration(UUID userId) {
+        ApiOauthConfiguration apiOauthConfiguration = new ApiOauthConfiguration();
+        apiOauthConfiguration.setUserId(userId);
+        apiOauthConfiguration.setDestinationUrl(DESTINATION_URL);
+        apiOauthConfiguration.setTokenUrl("https://token.url.com");
+        apiOauthConfiguration.setClientIdKey("client-id");
+        apiOauthConfiguration.setClientSecretKey("client-secret");
+        apiOauthConfiguration.setScopeKey("scope");
+        apiOauthConfigurationRepository.save(apiOauthConfiguration);
+    }
+
+    private ApiSubscription createSubscription(UUID userId, ListType listType) {
+        ApiSubscription apiSubscription = new ApiSubscription();
+        apiSubscription.setUserId(userId);
+        apiSubscription.setListType(listType);
+        apiSubscription.setSensitivity(Sensitivity.PUBLIC);
+        return apiSubscription;
     }
 
     @AfterAll
     void shutdown() {
         apiSubscriptionRepository.deleteAll();
+        apiOauthConfigurationRepository.deleteAll();
         apiUserRepository.deleteAll();
     }
 
@@ -143,5 +196,54 @@ class ApiSubscriptionRepositoryTest {
             .extracting(ApiSubscription::getSensitivity)
             .containsExactlyInAnyOrder(Sensitivity.PUBLIC, Sensitivity.CLASSIFIED);
     }
-}
 
+    @Test
+    void shouldFindSubscriberConfigurationsForActiveUsers() {
+        List<ApiSubscriberConfiguration> subscriberConfigurations = apiSubscriptionRepository
+            .findSubscriberConfigurations(ListType.CROWN_DAILY_LIST, List.of(Sensitivity.PUBLIC, Sensitivity.PRIVATE));
+
+        assertThat(subscriberConfigurations)
+            .as("Third-party subscriber configuration count does not match")
+            .hasSize(2)
+            .allSatisfy(subscriberConfiguration -> {
+                assertThat(subscriberConfiguration.userId()).isEqualTo(userId2);
+                assertThat(subscriberConfiguration.userStatus()).isEqualTo(ApiUserStatus.ACTIVE);
+                assertThat(subscriberConfiguration.oauthConfiguration().getDestinationUrl())
+                    .isEqualTo(DESTINATION_URL);
+            });
+    }
+
+    @Test
+    void shouldNotFindSubscriberConfigurationsForInactiveUsers() {
+        assertThat(apiSubscriptionRepository.findSubscriberConfigurations(
+            ListType.FAMILY_DAILY_CAUSE_LIST, List.of(Sensitivity.PRIVATE)))
+            .as("Third-party subscriber configurations should be empty for inactive users")
+            .isEmpty();
+    }
+
+    @Test
+    void shouldNotFindSubscriberConfigurationsForPendingUsers() {
+        assertThat(apiSubscriptionRepository.findSubscriberConfigurations(
+            ListType.MAGISTRATES_PUBLIC_LIST, List.of(Sensitivity.PUBLIC)))
+            .as("Third-party subscriber configurations should only be found for the active user")
+            .extracting(ApiSubscriberConfiguration::userId)
+            .containsExactly(userId2);
+    }
+
+    @Test
+    void shouldNotFindSubscriberConfigurationsForSuspendedUsers() {
+        assertThat(apiSubscriptionRepository.findSubscriberConfigurations(
+            ListType.SJP_PUBLIC_LIST, List.of(Sensitivity.PUBLIC)))
+            .as("Third-party subscriber configurations should only be found for the active user")
+            .extracting(ApiSubscriberConfiguration::userId)
+            .containsExactly(userId2);
+    }
+
+    @Test
+    void shouldNotFindAnySubscriberConfigurationsForPendingOrSuspendedUsers() {
+        assertThat(apiSubscriptionRepository.findAllSubscriberConfigurations())
+            .as("Pending and suspended third-party users should not be returned")
+            .extracting(ApiSubscriberConfiguration::userId)
+            .doesNotContain(pendingUserId, suspendedUserId);
+    }
+}
@@ -0,0 +1,121 @@
+package uk.gov.hmcts.reform.pip.account.management.database;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+import uk.gov.hmcts.reform.pip.model.account.Roles;
+import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
+import uk.gov.hmcts.reform.pip.model.enums.AuditAction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the planner uses the trigram indexes for the case insensitive email searches in {@link UserRepository}
+ * and {@link AuditRepository}, once the tables are large enough that a sequential scan would be expensive. Each test
+ * calls the repository method, then explains the statement it sent to the database with the values that were bound
+ * to it.
+ */
+@ActiveProfiles("integration-jpa")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryPlanRecorder.class)
+@Tag("query-plan")
+class EmailSearchIndexTest {
+    private static final int ROW_COUNT = 500_000;
+    private static final String EMAIL_SEARCH = "%user12345@%";
+    private static final String ANY_VALUE = "%";
+    private static final Pageable PAGEABLE = PageRequest.of(0, 25);
+    private static final List<AuditAction> AUDIT_ACTIONS = List.of(AuditAction.MANAGE_USER,
+                                                                   AuditAction.ADMIN_CREATION);
+    private static final String INDEX_MESSAGE = "Email search should use the trigram index";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuditRepository auditRepository;
+
+    @Autowired
+    private QueryPlanRecorder queryPlanRecorder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private void execute(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+
+    private String explain(Runnable repositoryQuery) {
+        queryPlanRecorder.clear();
+        repositoryQuery.run();
+        return queryPlanRecorder.explainFirstStatement(entityManager);
+    }
+
+    private void seedAuditLogs() {
+        execute("INSERT INTO audit_log (id, user_id, user_email, roles, user_provenance, action, details, timestamp) "
+                    + "SELECT md5('audit' || i)::uuid, i::text, 'User' || i || '@justice.gov.uk', 'SYSTEM_ADMIN', "
+                    + "'SSO', 'MANAGE_USER', 'Details', now() - (i || ' seconds')::interval "
+                    + "FROM generate_series(1, " + ROW_COUNT + ") AS i");
+        execute("ANALYZE audit_log");
+    }
+
+    @Test
+    void testUserEmailSearchUsesTrigramIndex() {
+        execute("INSERT INTO pi_user (user_id, email, provenance_user_id, roles, user_provenance) "
+                    + "SELECT md5('user' || i)::uuid, 'User' || i || '@justice.gov.uk', 'provenance' || i, "
+                    + "'VERIFIED', 'PI_AAD' FROM generate_series(1, " + ROW_COUNT + ") AS i");
+        execute("ANALYZE pi_user");
+
+        String plan = explain(() -> userRepository
+            .findAllByEmailLikeIgnoreCaseAndUserProvenanceInAndRolesInAndProvenanceUserIdLike(
+                EMAIL_SEARCH, List.of(UserProvenances.PI_AAD, UserProvenances.CFT_IDAM), List.of(Roles.VERIFIED),
+                ANY_VALUE, PAGEABLE
+            ));
+
+        assertThat(plan)
+            .as(INDEX_MESSAGE)
+            .contains("idx_pi_user_email_trgm")
+            .doesNotContain("Seq Scan on pi_user");
+    }
+
+    @Test
+    void testAuditLogEmailSearchUsesTrigramIndex() {
+        seedAuditLogs();
+
+        String plan = explain(() -> auditRepository
+            .findAllByUserEmailLikeIgnoreCaseAndUserIdLikeAndActionInOrderByTimestampDesc(
+                EMAIL_SEARCH, ANY_VALUE, AUDIT_ACTIONS, PAGEABLE
+            ));
+
+        assertThat(plan)
+            .as(INDEX_MESSAGE)
+            .contains("idx_audit_log_user_email_trgm")
+            .doesNotContain("Seq Scan on audit_log");
+    }
+
+    @Test
+    void testAuditLogEmailSearchForDateUsesTrigramIndex() {
+        seedAuditLogs();
+        LocalDateTime now = LocalDateTime.now();
+
+        String plan = explain(() -> auditRepository
+            .findAllByUserEmailLikeIgnoreCaseAndUserIdLikeAndActionInAndTimestampBetweenOrderByTimestampDesc(
+                EMAIL_SEARCH, ANY_VALUE, AUDIT_ACTIONS, now.minusDays(7), now, PAGEABLE
+            ));
+
+        assertThat(plan)
+            .as(INDEX_MESSAGE)
+            .contains("idx_audit_log_user_email_trgm")
+            .doesNotContain("Seq Scan on audit_log");
+    }
+}
@@ -0,0 +1,205 @@
+package uk.gov.hmcts.reform.pip.account.management.database;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.model.account.Roles;
+import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the inactive account queries in {@link UserRepository} select the same users at the edges of a day as
+ * the date cast predicates they replaced. Each test creates users just before the target day, at its first and last
+ * microsecond, and at the start of the following day, then compares the results against the original predicate.
+ */
+@ActiveProfiles("integration-jpa")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class InactiveAccountQueryBoundaryTest {
+    private static final int DAYS = 5;
+    private static final int OTHER_DAYS = 3;
+    private static final String USER_MATCHED_MESSAGE = "User does not match";
+    private static final String LEGACY_MATCHED_MESSAGE = "Users do not match the date cast predicate";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setup() {
+        // Use the database date, so the tests match the CURRENT_DATE used by the queries
+        today = LocalDate.parse(
+            (String) entityManager.createNativeQuery("SELECT to_char(CURRENT_DATE, 'YYYY-MM-DD')").getSingleResult()
+        );
+    }
+
+    private UUID createUser(UserProvenances provenance, Roles role, BiConsumer<PiUser, LocalDateTime> dateSetter,
+                            LocalDateTime date) {
+        PiUser user = new PiUser();
+        user.setEmail(UUID.randomUUID() + "@justice.gov.uk");
+        user.setProvenanceUserId(UUID.randomUUID().toString());
+        user.setUserProvenance(provenance);
+        user.setRoles(role);
+        dateSetter.accept(user, date);
+        return userRepository.save(user).getUserId();
+    }
+
+    /**
+     * Creates a user either side of each boundary of the day the given number of days ago, returned in order of the
+     * date set on them.
+     */
+    private List<UUID> createBoundaryUsers(UserProvenances provenance, Roles role,
+                                           BiConsumer<PiUser, LocalDateTime> dateSetter, int daysAgo) {
+        LocalDate day = today.minusDays(daysAgo);
+        LocalDateTime startOfDay = day.atStartOfDay();
+
+        List<UUID> userIds = List.of(
+            createUser(provenance, role, dateSetter, startOfDay.minusNanos(1000)),
+            createUser(provenance, role, dateSetter, startOfDay),
+            createUser(provenance, role, dateSetter, day.atTime(LocalTime.of(23, 59, 59, 999_999_000))),
+            createUser(provenance, role, dateSetter, day.plusDays(1).atStartOfDay())
+        );
+        userRepository.flush();
+        return userIds;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UUID> findWithDateCast(String predicate) {
+        return entityManager.createNativeQuery("SELECT user_id FROM pi_user WHERE " + predicate, UUID.class)
+            .getResultList();
+    }
+
+    @Test
+    void testVerifiedUsersForNotificationAtDayBoundaries() {
+        List<UUID> userIds = createBoundaryUsers(UserProvenances.PI_AAD, Roles.VERIFIED,
+                                                 PiUser::setLastVerifiedDate, DAYS);
+
+        List<PiUser> users = userRepository.findVerifiedUsersForNotificationByLastVerifiedDate(DAYS);
+
+        assertThat(users)
+            .as(USER_MATCHED_MESSAGE)
+            .extracting(PiUser::getUserId)
+            .containsExactlyInAnyOrder(userIds.get(1), userIds.get(2));
+
+        assertThat(users)
+            .as(LEGACY_MATCHED_MESSAGE)
+            .extracting(PiUser::getUserId)
+            .containsExactlyInAnyOrderElementsOf(findWithDateCast(
+                "CAST(last_verified_date AS DATE) = CURRENT_DATE - (interval '1' day) * " + DAYS
+                    + " AND user_provenance = 'PI_AAD' AND roles = 'VERIFIED'"
+            ));
+    }
+
+    @Test
+    void testVerifiedUsersForDeletionAtDayBoundaries() {
+        List<UUID> userIds = createBoundaryUsers(UserProvenances.PI_AAD, Roles.VERIFIED,
+                                                 PiUser::setLastVerifiedDate, DAYS);
+
+        List<PiUser> users = userRepository.findVerifiedUsersForDeletionByLastVerifiedDate(DAYS);
+
+        assertThat(users)
+            .as(USER_MATCHED_MESSAGE)
+            .extracting(PiUser::getUserId)
+            .containsExactlyInAnyOrder(userIds.get(0), userIds.get(1), userIds.get(2));
+
+        assertThat(users)
+            .as(LEGACY_MATCHED_MESSAGE)
+            .extracting(PiUser::getUserId)
+            .containsExactlyInAnyOrderElementsOf(findWithDateCast(
+                "CAST(last_verified_date AS DATE) <= CURRENT_DATE - (interval '1' day) * " + DAYS
+                    + " AND user_provenance = 'PI_AAD' AND roles = 'VERIFIED'"
+            ));
+    }
+
+    @Test
+    void testAdminUsersForDeletionAtDayBoundaries() {
+        List<UUID> aadUserIds = createBoundaryUsers(UserProvenances.PI_AAD, Roles.INTERNAL_ADMIN_CTSC,
+                                                    PiUser::setLastSignedInDate, DAYS);
+        List<UUID> ssoUserIds = createBoundaryUsers(UserProvenances.SSO, Roles.INTERNAL_ADMIN_CTSC,
+                                                    PiUser::setLastSignedInDate, OTHER_DAYS);
+
+        List<PiUser> users = userRepository.findAdminUsersForDeletionByLastSignedInDate(DAYS, OTHER_DAYS);
+
+        assertThat(users)
+            .as(USER_MATCHED_MESSAGE)
+            .extracting(PiUser::getUserId)
+            .containsExactlyInAnyOrder(aadUserIds.get(0), aadUserIds.get(1), aadUserIds.get(2),
+                                       ssoUserIds.get(0), ssoUserIds.get(1), ssoUserIds.get(2));
+
+        assertThat(users)
+            .as(LEGACY_MATCHED_MESSAGE)
+            .extracting(PiUser::getUserId)
+            .containsExactlyInAnyOrderElementsOf(findWithDateCast(
+                "(user_provenance = 'PI_AAD' AND roles <> 'VERIFIED' AND CAST(last_signed_in_date AS DATE) "
+                    + "<= CURRENT_DATE - (interval '1' day) * " + DAYS + ") OR (user_provenance = 'SSO' AND "
+                    + "CAST(last_signed_in_date AS DATE) <= CURRENT_DATE - (interval '1' day) * " + OTHER_DAYS + ")"
+            ));
+    }
+
+    @Test
+    void testIdamUsersForNotificationAtDayBoundaries() {
+        List<UUID> cftUserIds = createBoundaryUsers(UserProvenances.CFT_IDAM, Roles.VERIFIED,
+                                                    PiUser::setLastSignedInDate, DAYS);
+        List<UUID> crimeUserIds = createBoundaryUsers(UserProvenances.CRIME_IDAM, Roles.VERIFIED,
+                                                      PiUser::setLastSignedInDate, OTHER_DAYS);
+
+        List<PiUser> users = userRepository.findIdamUsersForNotificationByLastSignedInDate(DAYS, OTHER_DAYS);
+
+        assertThat(users)
+            .as(USER_MATCHED_MESSAGE)
+            .extracting(PiUser::getUserId)
+            .containsExactlyInAnyOrder(cftUserIds.get(1), cftUserIds.get(2),
+                                       crimeUserIds.get(1), crimeUserIds.get(2));
+
+        assertThat(users)
+            .as(LEGACY_MATCHED_MESSAGE)
+            .extracting(PiUser::getUserId)
+            .containsExactlyInAnyOrderElementsOf(findWithDateCast(
+                "(CAST(last_signed_in_date AS DATE) = CURRENT_DATE - (interval '1' day) * " + DAYS
+                    + " AND user_provenance = 'CFT_IDAM') OR (CAST(last_signed_in_date AS DATE) = CURRENT_DATE - "
+                    + "(interval '1' day) * " + OTHER_DAYS + " AND user_provenance = 'CRIME_IDAM')"
+            ));
+    }
+
+    @Test
+    void testIdamUsersForDeletionAtDayBoundaries() {
+        List<UUID> cftUserIds = createBoundaryUsers(UserProvenances.CFT_IDAM, Roles.VERIFIED,
+                                                    PiUser::setLastSignedInDate, DAYS);
+        List<UUID> crimeUserIds = createBoundaryUsers(UserProvenances.CRIME_IDAM, Roles.VERIFIED,
+                                                      PiUser::setLastSignedInDate, OTHER_DAYS);
+
+        List<PiUser> users = userRepository.findIdamUsersForDeletionByLastSignedInDate(DAYS, OTHER_DAYS);
+
+        assertThat(users)
+            .as(USER_MATCHED_MESSAGE)
+            .extracting(PiUser::getUserId)
+            .containsExactlyInAnyOrder(cftUserIds.get(0), cftUserIds.get(1), cftUserIds.get(2),
+                                       crimeUserIds.get(0), crimeUserIds.get(1), crimeUserIds.get(2));
+
+        assertThat(users)
+            .as(LEGACY_MATCHED_MESSAGE)
+            .extracting(PiUser::getUserId)
+            .containsExactlyInAnyOrderElementsOf(findWithDateCast(
+                "(CAST(last_signed_in_date AS DATE) <= CURRENT_DATE - (interval '1' day) * " + DAYS
+                    + " AND user_provenance = 'CFT_IDAM') OR (CAST(last_signed_in_date AS DATE) <= CURRENT_DATE - "
+                    + "(interval '1' day) * " + OTHER_DAYS + " AND user_provenance = 'CRIME_IDAM')"
+            ));
+    }
+}
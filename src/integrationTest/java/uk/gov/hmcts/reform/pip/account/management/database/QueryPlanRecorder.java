@@ -0,0 +1,133 @@
+package uk.gov.hmcts.reform.pip.account.management.database;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.DataSource;
+
+/**
+ * Records the statements which repository queries send to the database, along with the values bound to them, so
+ * that the plan chosen for the statement as it is actually run can be explained. Import this into a repository test
+ * to wrap its data source.
+ */
+@TestComponent
+public class QueryPlanRecorder implements BeanPostProcessor {
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                "getConnection".equals(method.getName()) ? recordConnection((Connection) result) : result);
+        }
+        return bean;
+    }
+
+    /**
+     * Forget the statements recorded so far.
+     */
+    public void clear() {
+        statements.clear();
+    }
+
+    /**
+     * Explain the first statement sent to the database since the recorder was last cleared, binding the same values
+     * to it. The plan is explained on the connection of the current transaction, so it sees any data seeded, and
+     * statistics gathered, within it.
+     *
+     * @param entityManager The entity manager of the current transaction.
+     * @return The query plan, one line per node.
+     */
+    public String explainFirstStatement(EntityManager entityManager) {
+        if (statements.isEmpty()) {
+            throw new IllegalStateException("No statements have been recorded");
+        }
+
+        RecordedStatement statement = statements.getFirst();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                for (Binding binding : statement.bindings()) {
+                    invoke(binding.method(), explain, binding.args());
+                }
+
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    private Connection recordConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            if ("prepareStatement".equals(method.getName())) {
+                return recordStatement((PreparedStatement) result, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement recordStatement(PreparedStatement preparedStatement, String sql) {
+        List<Binding> bindings = new ArrayList<>();
+        return proxy(PreparedStatement.class, preparedStatement, (method, args, result) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if ("clearParameters".equals(name)) {
+                bindings.clear();
+            } else if (name.startsWith("execute")) {
+                statements.add(new RecordedStatement(sql, List.copyOf(bindings)));
+            }
+            return result;
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, ResultHandler resultHandler) {
+        InvocationHandler handler = (proxy, method, args) ->
+            resultHandler.handle(method, args, invoke(method, target, args));
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResultHandler {
+        Object handle(Method method, Object[] args, Object result) throws SQLException;
+    }
+
+    private record Binding(Method method, Object[] args) {
+    }
+
+    private record RecordedStatement(String sql, List<Binding> bindings) {
+    }
+}
@@ -0,0 +1,133 @@
+package uk.gov.hmcts.reform.pip.account.management.database;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the subscription lookups in {@link SubscriptionRepository} and {@link SubscriptionListTypeRepository}
+ * are planned with an index, and do not fall back to a sequential scan, once the tables hold a realistic number of
+ * subscriptions. Each test calls the repository method, then explains the statement it sent to the database with the
+ * values that were bound to it.
+ */
+@ActiveProfiles("integration-jpa")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryPlanRecorder.class)
+@Tag("query-plan")
+class SubscriptionQueryPlanTest {
+    private static final int USER_COUNT = 50_000;
+    private static final int SUBSCRIPTION_COUNT = 200_000;
+    private static final String SEQUENTIAL_SCAN = "Seq Scan on subscription(_list_type)?\\b";
+    private static final String INDEX_MESSAGE = "Query should use an index rather than a sequential scan";
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private SubscriptionListTypeRepository subscriptionListTypeRepository;
+
+    @Autowired
+    private QueryPlanRecorder queryPlanRecorder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID userId;
+
+    private void execute(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+
+    private void assertIndexUsed(Runnable repositoryQuery) {
+        queryPlanRecorder.clear();
+        repositoryQuery.run();
+
+        assertThat(queryPlanRecorder.explainFirstStatement(entityManager))
+            .as(INDEX_MESSAGE)
+            .doesNotContainPattern(SEQUENTIAL_SCAN);
+    }
+
+    /**
+     * Seeds four subscriptions for each user. Six in ten are location subscriptions, spread across a few thousand
+     * locations, and the rest are case subscriptions which are almost all unique.
+     */
+    @BeforeEach
+    void setup() {
+        execute("INSERT INTO pi_user (user_id, email, provenance_user_id, roles, user_provenance) "
+                    + "SELECT md5('subscriber' || i)::uuid, 'subscriber' || i || '@justice.gov.uk', "
+                    + "'provenance' || i, 'VERIFIED', 'PI_AAD' FROM generate_series(0, " + (USER_COUNT - 1) + ") AS i");
+        execute("INSERT INTO subscription_list_type (id, user_id, list_type, list_language) "
+                    + "SELECT md5('list-type' || i)::uuid, md5('subscriber' || i)::uuid, NULL::text[], "
+                    + "ARRAY['ENGLISH'] "
+                    + "FROM generate_series(0, " + (USER_COUNT - 1) + ") AS i");
+        execute("INSERT INTO subscription (id, user_id, search_type, search_value, location_name, channel, "
+                    + "created_date) "
+                    + "SELECT md5('subscription' || i)::uuid, md5('subscriber' || (i % " + USER_COUNT + "))::uuid, "
+                    + "CASE WHEN i % 10 < 6 THEN 'LOCATION_ID' WHEN i % 10 < 8 THEN 'CASE_ID' ELSE 'CASE_URN' END, "
+                    + "CASE WHEN i % 10 < 6 THEN (i % 10000)::text ELSE 'case-' || i END, "
+                    + "CASE WHEN i % 10 < 6 THEN 'Location ' || (i % 10000) END, "
+                    + "'EMAIL', now() FROM generate_series(1, " + SUBSCRIPTION_COUNT + ") AS i");
+        execute("ANALYZE pi_user");
+        execute("ANALYZE subscription_list_type");
+        execute("ANALYZE subscription");
+
+        userId = (UUID) entityManager.createNativeQuery("SELECT md5('subscriber1234')::uuid", UUID.class)
+            .getSingleResult();
+    }
+
+    @Test
+    void testFindSubscriptionsBySearchValueUsesIndex() {
+        assertIndexUsed(() -> subscriptionRepository.findSubscriptionsBySearchValue(
+            SearchType.CASE_ID.name(), "case-123457"));
+    }
+
+    @Test
+    void testFindBySearchTypeAndSearchValueInUsesIndex() {
+        assertIndexUsed(() -> subscriptionRepository.findBySearchTypeAndSearchValueIn(
+            SearchType.CASE_URN, List.of("case-123458", "case-123459")));
+    }
+
+    @Test
+    void testFindSubscriptionsByLocationIdUsesIndex() {
+        assertIndexUsed(() -> subscriptionRepository.findSubscriptionsByLocationId("1234"));
+    }
+
+    @Test
+    void testFindSubscriptionsByLocationSearchValueUsesIndex() {
+        assertIndexUsed(() -> subscriptionRepository.findSubscriptionsByLocationSearchValue(
+            "1234", "CIVIL_DAILY_CAUSE_LIST", "ENGLISH"));
+    }
+
+    @Test
+    void testFindLocationSubscriptionsByUserIdUsesIndex() {
+        assertIndexUsed(() -> subscriptionRepository.findLocationSubscriptionsByUserId(userId));
+    }
+
+    @Test
+    void testFindByUserIdUsesIndex() {
+        assertIndexUsed(() -> subscriptionRepository.findByUserId(userId));
+    }
+
+    @Test
+    void testFindAllByLocationNameStartingWithIgnoreCaseUsesIndex() {
+        assertIndexUsed(() -> subscriptionRepository.findAllByLocationNameStartingWithIgnoreCase("location 1234"));
+    }
+
+    @Test
+    void testFindSubscriptionListTypeByUserIdUsesIndex() {
+        assertIndexUsed(() -> subscriptionListTypeRepository.findByUserId(userId));
+    }
+}
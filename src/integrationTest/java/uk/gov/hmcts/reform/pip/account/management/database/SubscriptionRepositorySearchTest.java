@@ -27,7 +27,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 @Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS, scripts = {"classpath:add-verified-users.sql"})
 class SubscriptionRepositorySearchTest {
     private static final UUID USER_ID =  UUID.fromString("87f907d2-eb28-42cc-b6e1-ae2b03f7bba5");
+    private static final UUID USER_ID2 = UUID.fromString("87f907d2-eb28-42cc-b6e1-ae2b03f7bba6");
+    private static final UUID USER_ID3 = UUID.fromString("87f907d2-eb28-42cc-b6e1-ae2b03f7bba7");
+    private static final UUID NO_USER = new UUID(0, 0);
     private static final String LOCATION_ID = "123";
+    private static final String PAGED_LOCATION_ID = "456";
     private static final String LOCATION_NAME = "Test location name";
     private static final String CASE_NUMBER = "Test case number";
     private static final String CASE_URN = "Test case URN";
@@ -39,6 +43,9 @@ class SubscriptionRepositorySearchTest {
     private UUID subscriptionId2;
     private UUID subscriptionId3;
     private UUID subscriptionId4;
+    private UUID pagedSubscriptionId1;
+    private UUID pagedSubscriptionId2;
+    private UUID pagedSubscriptionId3;
 
     @Autowired
     SubscriptionRepository subscriptionRepository;
@@ -90,11 +97,28 @@ class SubscriptionRepositorySearchTest {
         savedSubscription = subscriptionRepository.save(subscription4);
         subscriptionId4 = savedSubscription.getId();
 
-        SubscriptionListType subscriptionListType = new SubscriptionListType();
-        subscriptionListType.setListType(List.of(ListType.CIVIL_DAILY_CAUSE_LIST.name()));
-        subscriptionListType.setUserId(USER_ID);
-        subscriptionListType.setListLanguage(List.of(LIST_LANGUAGE));
-        subscriptionListTypeRepository.save(subscriptionListType);
+        pagedSubscriptionId1 = saveLocationSubscription(USER_ID, Channel.EMAIL);
+        pagedSubscriptionId2 = saveLocationSubscription(USER_ID2, Channel.EMAIL);
+        saveLocationSubscription(USER_ID2, Channel.API_COURTEL);
+        pagedSubscriptionId3 = saveLocationSubscription(USER_ID3, Channel.EMAIL);
+
+        for (UUID userId : List.of(USER_ID, USER_ID2, USER_ID3)) {
+            SubscriptionListType subscriptionListType = new SubscriptionListType();
+            subscriptionListType.setListType(List.of(ListType.CIVIL_DAILY_CAUSE_LIST.name()));
+            subscriptionListType.setUserId(userId);
+            subscriptionListType.setListLanguage(List.of(LIST_LANGUAGE));
+            subscriptionListTypeRepository.save(subscriptionListType);
+        }
+    }
+
+    private UUID saveLocationSubscription(UUID userId, Channel channel) {
+        Subscription subscription = new Subscription();
+        subscription.setUserId(userId);
+        subscription.setSearchType(SearchType.LOCATION_ID);
+        subscription.setSearchValue(PAGED_LOCATION_ID);
+        subscription.setChannel(channel);
+        subscription.setLocationName(LOCATION_NAME);
+        return subscriptionRepository.save(subscription).getId();
     }
 
     @AfterAll
@@ -180,4 +204,36 @@ class SubscriptionRepositorySearchTest {
             .as(SUBSCRIPTION_EMPTY_MESSAGE)
             .isEmpty();
     }
+
+    @Test
+    void shouldFindFirstPageOfEmailSubscriptionsByLocationIdSearchValue() {
+        List<Subscription> subscriptions = subscriptionRepository.findEmailSubscriptionPageByLocationSearchValue(
+            PAGED_LOCATION_ID, ListType.CIVIL_DAILY_CAUSE_LIST.name(), LIST_LANGUAGE, NO_USER, 2
+        );
+        assertThat(subscriptions)
+            .as(SUBSCRIPTION_MATCHED_MESSAGE)
+            .extracting(Subscription::getId)
+            .containsExactly(pagedSubscriptionId1, pagedSubscriptionId2);
+    }
+
+    @Test
+    void shouldFindNextPageOfEmailSubscriptionsAfterLastRecipient() {
+        List<Subscription> subscriptions = subscriptionRepository.findEmailSubscriptionPageByLocationSearchValue(
+            PAGED_LOCATION_ID, ListType.CIVIL_DAILY_CAUSE_LIST.name(), LIST_LANGUAGE, USER_ID2, 2
+        );
+        assertThat(subscriptions)
+            .as(SUBSCRIPTION_MATCHED_MESSAGE)
+            .extracting(Subscription::getId)
+            .containsExactly(pagedSubscriptionId3);
+    }
+
+    @Test
+    void shouldNotFindPageOfEmailSubscriptionsIfListTypeUnmatched() {
+        List<Subscription> subscriptions = subscriptionRepository.findEmailSubscriptionPageByLocationSearchValue(
+            PAGED_LOCATION_ID, ListType.CROWN_DAILY_PDDA_LIST.name(), LIST_LANGUAGE, NO_USER, 2
+        );
+        assertThat(subscriptions)
+            .as(SUBSCRIPTION_EMPTY_MESSAGE)
+            .isEmpty();
+    }
 }
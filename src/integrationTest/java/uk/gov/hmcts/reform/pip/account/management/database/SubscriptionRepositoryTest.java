@@ -18,6 +18,8 @@ import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,6 +42,7 @@ class SubscriptionRepositoryTest {
     private static final String LOCATION_NAME2 = "Test location name 2";
     private static final String LOCATION_NAME3 = "Test location name 3";
     private static final String CASE_NUMBER = "Test case number";
+    private static final String LOCATION_NAME_PREFIX = "TEST_PIP_1235_";
     private static final LocalDateTime SUBSCRIPTION_CREATED_DATE = LocalDateTime.of(2025, 2, 5, 2, 2, 2);
 
     private static final String SUBSCRIPTION_MATCHED_MESSAGE = "Subscription does not match";
@@ -154,6 +157,31 @@ class SubscriptionRepositoryTest {
             .isEmpty();
     }
 
+    @Test
+    void shouldFindSubscriptionsBySearchTypeAndSearchValues() {
+        assertThat(subscriptionRepository.findBySearchTypeAndSearchValueIn(
+            SearchType.CASE_ID, Set.of(CASE_NUMBER, INVALID_LOCATION_ID)))
+            .as(SUBSCRIPTION_MATCHED_MESSAGE)
+            .hasSize(1)
+            .extracting(Subscription::getId)
+            .containsExactly(subscriptionId4);
+    }
+
+    @Test
+    void shouldNotFindSubscriptionsBySearchValuesForDifferentSearchType() {
+        assertThat(subscriptionRepository.findBySearchTypeAndSearchValueIn(SearchType.CASE_URN, Set.of(CASE_NUMBER)))
+            .as(SUBSCRIPTION_EMPTY_MESSAGE)
+            .isEmpty();
+    }
+
+    @Test
+    void shouldFindSubscriptionsByUserIds() {
+        assertThat(subscriptionRepository.findByUserIdIn(Set.of(userId1, USER_ID3_UNKNOWN_USER)))
+            .as(SUBSCRIPTION_MATCHED_MESSAGE)
+            .hasSize(3)
+            .allMatch(subscription -> userId1.equals(subscription.getUserId()));
+    }
+
     @Test
     void shouldThrowExceptionIfForeignKeyConstraintViolated() {
         Subscription unknownUserSubscription = new Subscription();
@@ -166,4 +194,48 @@ class SubscriptionRepositoryTest {
         assertThatThrownBy(() -> subscriptionRepository.saveAndFlush(unknownUserSubscription))
             .isInstanceOf(DataIntegrityViolationException.class);
     }
+
+    @Test
+    void shouldFindSubscriptionsByLocationNamePrefixIgnoringCase() {
+        UUID matchingId = saveLocationSubscription(LOCATION_NAME_PREFIX + "Court");
+        UUID lowerCaseId = saveLocationSubscription(LOCATION_NAME_PREFIX.toLowerCase(Locale.UK) + "court");
+
+        assertThat(subscriptionRepository.findAllByLocationNameStartingWithIgnoreCase(LOCATION_NAME_PREFIX))
+            .as(SUBSCRIPTION_MATCHED_MESSAGE)
+            .extracting(Subscription::getId)
+            .containsExactlyInAnyOrder(matchingId, lowerCaseId);
+    }
+
+    @Test
+    void shouldNotTreatUnderscoreInLocationNamePrefixAsWildcard() {
+        UUID matchingId = saveLocationSubscription(LOCATION_NAME_PREFIX + "Court");
+        saveLocationSubscription("TESTXPIP_1235_Court");
+        saveLocationSubscription("TEST_PIP_1235XCourt");
+
+        assertThat(subscriptionRepository.findAllByLocationNameStartingWithIgnoreCase(LOCATION_NAME_PREFIX))
+            .as(SUBSCRIPTION_MATCHED_MESSAGE)
+            .extracting(Subscription::getId)
+            .containsExactly(matchingId);
+    }
+
+    @Test
+    void shouldNotTreatPercentInLocationNamePrefixAsWildcard() {
+        UUID matchingId = saveLocationSubscription("TEST%PIP Court");
+        saveLocationSubscription("TEST PIP Court");
+
+        assertThat(subscriptionRepository.findAllByLocationNameStartingWithIgnoreCase("TEST%PIP"))
+            .as(SUBSCRIPTION_MATCHED_MESSAGE)
+            .extracting(Subscription::getId)
+            .containsExactly(matchingId);
+    }
+
+    private UUID saveLocationSubscription(String locationName) {
+        Subscription subscription = new Subscription();
+        subscription.setUserId(userId2);
+        subscription.setSearchType(SearchType.LOCATION_ID);
+        subscription.setSearchValue(LOCATION_ID3);
+        subscription.setChannel(Channel.EMAIL);
+        subscription.setLocationName(locationName);
+        return subscriptionRepository.save(subscription).getId();
+    }
 }
@@ -1,9 +1,14 @@
 package uk.gov.hmcts.reform.pip.account.management.database;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -12,19 +17,22 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 import uk.gov.hmcts.reform.pip.model.report.AccountMiData;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @ActiveProfiles("integration-jpa")
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class UserRepositoryTest {
@@ -61,6 +69,9 @@ class UserRepositoryTest {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
     @BeforeAll
     void setup() {
         PiUser user1 = new PiUser();
@@ -142,6 +153,45 @@ class UserRepositoryTest {
             .isEmpty();
     }
 
+    @Test
+    void shouldFindUserSummariesByUserIds() {
+        assertThat(userRepository.findUserSummariesByUserIdIn(List.of(userId1, userId3, UUID.randomUUID())))
+            .as(USER_MATCHED_MESSAGE)
+            .hasSize(2)
+            .extracting(PiUserSummary::getUserId, PiUserSummary::getEmail, PiUserSummary::getRoles,
+                        PiUserSummary::getUserProvenance)
+            .containsExactlyInAnyOrder(
+                tuple(userId1, EMAIL1, Roles.VERIFIED, UserProvenances.PI_AAD),
+                tuple(userId3, EMAIL3, Roles.INTERNAL_ADMIN_CTSC, UserProvenances.SSO)
+            );
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 500})
+    void shouldFindUserSummariesInSingleQueryRegardlessOfNumberOfUsers(int numberOfUsers) {
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < numberOfUsers; i++) {
+            PiUser user = new PiUser();
+            user.setEmail("bulk" + i + "@justice.gov.uk");
+            user.setProvenanceUserId(UUID.randomUUID().toString());
+            user.setUserProvenance(UserProvenances.PI_AAD);
+            user.setRoles(Roles.VERIFIED);
+            userIds.add(userRepository.save(user).getUserId());
+        }
+        userRepository.flush();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThat(userRepository.findUserSummariesByUserIdIn(userIds))
+            .as(USER_MATCHED_MESSAGE)
+            .hasSize(numberOfUsers);
+
+        assertThat(statistics.getPrepareStatementCount())
+            .as("Users should be loaded in a single query")
+            .isEqualTo(1);
+    }
+
     @Test
     void shouldFindVerifiedUsersForNotificationByLastVerifiedDate() {
         assertThat(userRepository.findVerifiedUsersForNotificationByLastVerifiedDate(DAYS))
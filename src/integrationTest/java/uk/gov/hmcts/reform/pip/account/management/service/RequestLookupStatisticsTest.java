@@ -0,0 +1,153 @@
+package uk.gov.hmcts.reform.pip.account.management.service;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.database.UserRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.service.authorisation.SubscriptionAuthorisationService;
+import uk.gov.hmcts.reform.pip.account.management.service.subscription.SubscriptionService;
+import uk.gov.hmcts.reform.pip.account.management.utils.IntegrationTestBase;
+import uk.gov.hmcts.reform.pip.model.account.Roles;
+import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
+import uk.gov.hmcts.reform.pip.model.subscription.Channel;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the users and subscriptions looked up while authorising and handling a request are only fetched from
+ * the database once, by counting the entities loaded by Hibernate. Each lookup is made outside of a transaction, as
+ * it is by the authorisation services, so any lookup which is not remembered for the request is loaded again.
+ */
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@WithMockUser(username = "admin", authorities = {"APPROLE_api.request.admin"})
+@AutoConfigureEmbeddedDatabase(type = AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES)
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD,
+    scripts = {"classpath:add-admin-users.sql", "classpath:add-verified-users.sql"})
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class RequestLookupStatisticsTest extends IntegrationTestBase {
+    private static final UUID SYSTEM_ADMIN_USER_ID = UUID.fromString("87f907d2-eb28-42cc-b6e1-ae2b03f7bba4");
+    private static final UUID VERIFIED_USER_ID = UUID.fromString("87f907d2-eb28-42cc-b6e1-ae2b03f7bba5");
+    private static final String USER_FETCH_MESSAGE = "Each user should be fetched once per request";
+    private static final String SUBSCRIPTION_FETCH_MESSAGE = "Each subscription should be fetched once per request";
+
+    @Autowired
+    private SubscriptionAuthorisationService subscriptionAuthorisationService;
+
+    @Autowired
+    private SubscriptionService subscriptionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private long fetchCount(Class<?> entity) {
+        return statistics.getEntityStatistics(entity.getName()).getLoadCount();
+    }
+
+    private static Subscription createSubscription(UUID userId) {
+        Subscription subscription = new Subscription();
+        subscription.setUserId(userId);
+        subscription.setSearchType(SearchType.CASE_ID);
+        subscription.setSearchValue("T485913");
+        subscription.setCaseNumber("T485913");
+        subscription.setChannel(Channel.EMAIL);
+        return subscription;
+    }
+
+    @Test
+    void testUsersAreFetchedOnceWhenAddingSubscription() {
+        PiUser thirdPartyUser = userRepository.save(new PiUser(
+            null, UserProvenances.THIRD_PARTY, "ThirdPartyProvenanceId", "thirdparty@justice.gov.uk",
+            Roles.GENERAL_THIRD_PARTY, "Third", "Party", null, null, null
+        ));
+        Subscription subscription = createSubscription(thirdPartyUser.getUserId());
+
+        statistics.clear();
+        startRequest();
+        assertThat(subscriptionAuthorisationService.userCanAddSubscriptions(SYSTEM_ADMIN_USER_ID, subscription))
+            .as("System admin should be able to add a subscription for a third-party user")
+            .isTrue();
+        subscriptionService.createSubscription(subscription, SYSTEM_ADMIN_USER_ID);
+
+        assertThat(fetchCount(PiUser.class))
+            .as(USER_FETCH_MESSAGE)
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testSubscriptionIsFetchedOnceWhenAuthorisedAndRetrieved() {
+        UUID subscriptionId = subscriptionRepository.save(createSubscription(VERIFIED_USER_ID)).getId();
+
+        statistics.clear();
+        startRequest();
+        assertThat(subscriptionAuthorisationService.userCanDeleteSubscriptions(VERIFIED_USER_ID, subscriptionId))
+            .as("Verified user should be able to delete their own subscription")
+            .isTrue();
+        subscriptionService.findById(subscriptionId);
+
+        assertThat(fetchCount(Subscription.class))
+            .as(SUBSCRIPTION_FETCH_MESSAGE)
+            .isEqualTo(1);
+        assertThat(fetchCount(PiUser.class))
+            .as(USER_FETCH_MESSAGE)
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testLookupsAreFetchedAgainInNextRequest() {
+        UUID subscriptionId = subscriptionRepository.save(createSubscription(VERIFIED_USER_ID)).getId();
+
+        statistics.clear();
+        startRequest();
+        subscriptionService.findById(subscriptionId);
+        subscriptionService.findById(subscriptionId);
+        startRequest();
+        subscriptionService.findById(subscriptionId);
+
+        assertThat(fetchCount(Subscription.class))
+            .as("Subscription should be fetched again in a new request")
+            .isEqualTo(2);
+    }
+}
@@ -0,0 +1,170 @@
+package uk.gov.hmcts.reform.pip.account.management.service.cluster;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.pip.account.management.database.ApiSubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionListTypeRepository;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.service.subscription.SubscriptionRoutingIndex;
+import uk.gov.hmcts.reform.pip.account.management.service.thirdparty.ThirdPartyRoutingSnapshot;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks that the {@link ClusterNotificationListener} passes the notifications sent by other instances to the handler
+ * for their channel, and tells the handlers that notifications may have been missed each time it connects.
+ * Notifications are sent, and the listening connection terminated, from other connections. The tests are not
+ * transactional, so that each notification is sent as soon as it is made.
+ */
+@ActiveProfiles("integration-jpa")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClusterNotificationListenerTest {
+    private static final Duration LISTEN_TIMEOUT = Duration.ofMillis(200);
+    private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(10);
+    private static final String SNAPSHOT_CHANNEL = "third_party_routing";
+    private static final String INDEX_CHANNEL = "subscription_routing";
+    private static final String LISTEN_QUERY = "LISTEN " + INDEX_CHANNEL;
+    private static final String REBUILD_MESSAGE = "Snapshot should be rebuilt";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApiSubscriptionRepository apiSubscriptionRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private SubscriptionListTypeRepository subscriptionListTypeRepository;
+
+    private JdbcTemplate jdbcTemplate;
+    private ClusterNotifications clusterNotifications;
+    private ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot;
+    private SubscriptionRoutingIndex subscriptionRoutingIndex;
+    private ClusterNotificationListener clusterNotificationListener;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        clusterNotifications = new ClusterNotifications(jdbcTemplate);
+        thirdPartyRoutingSnapshot = spy(new ThirdPartyRoutingSnapshot(apiSubscriptionRepository,
+                                                                      clusterNotifications, true));
+        subscriptionRoutingIndex = spy(new SubscriptionRoutingIndex(subscriptionRepository,
+                                                                    subscriptionListTypeRepository,
+                                                                    clusterNotifications, true, false));
+        clusterNotificationListener = new ClusterNotificationListener(
+            dataSource, clusterNotifications, List.of(thirdPartyRoutingSnapshot, subscriptionRoutingIndex),
+            LISTEN_TIMEOUT
+        );
+        clusterNotificationListener.start();
+    }
+
+    @AfterEach
+    void teardown() {
+        clusterNotificationListener.stop();
+    }
+
+    /**
+     * Wait for a connection other than the given one to be listening for changes, and for the listener to have
+     * handled any missed notifications. The last channel listened on is checked, as they are listened on in turn.
+     *
+     * @return The process ID of the listening connection.
+     */
+    private Integer awaitListeningConnection(Integer previousPid) {
+        AtomicReference<Integer> listeningPid = new AtomicReference<>();
+        await().atMost(AWAIT_TIMEOUT).until(() -> {
+            List<Integer> pids = jdbcTemplate.queryForList(
+                "SELECT pid FROM pg_stat_activity WHERE query = ?", Integer.class, LISTEN_QUERY
+            );
+            pids.stream()
+                .filter(pid -> !Objects.equals(pid, previousPid))
+                .findFirst()
+                .ifPresent(listeningPid::set);
+            return listeningPid.get() != null;
+        });
+        await().atMost(AWAIT_TIMEOUT).until(clusterNotifications::isListening);
+        return listeningPid.get();
+    }
+
+    private void notifyFromOtherInstance(String channel, String message) {
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, "other-instance:" + message);
+    }
+
+    @Test
+    void testNotificationRebuildsSnapshot() throws SQLException {
+        awaitListeningConnection(null);
+        verify(thirdPartyRoutingSnapshot).rebuild();
+
+        assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections())
+            .as("Listening connection should not be taken from the pool")
+            .isZero();
+
+        notifyFromOtherInstance(SNAPSHOT_CHANNEL, "");
+
+        verify(thirdPartyRoutingSnapshot, timeout(AWAIT_TIMEOUT.toMillis()).times(2)).rebuild();
+        verify(subscriptionRoutingIndex, never()).handleNotifications(any());
+        assertThat(thirdPartyRoutingSnapshot.isActive())
+            .as(REBUILD_MESSAGE)
+            .isTrue();
+    }
+
+    @Test
+    void testNotificationsFromThisInstanceAreIgnored() {
+        awaitListeningConnection(null);
+        String otherUserId = UUID.randomUUID().toString();
+
+        clusterNotifications.publish(INDEX_CHANNEL, UUID.randomUUID().toString());
+        notifyFromOtherInstance(INDEX_CHANNEL, otherUserId);
+
+        verify(subscriptionRoutingIndex, timeout(AWAIT_TIMEOUT.toMillis())).handleNotifications(List.of(otherUserId));
+        verify(subscriptionRoutingIndex, times(1)).handleNotifications(any());
+        assertThat(subscriptionRoutingIndex.isActive())
+            .as("Index should be active while notifications are being received")
+            .isTrue();
+    }
+
+    @Test
+    void testHandlersToldOfMissedNotificationsAfterConnectionDrops() {
+        Integer pid = awaitListeningConnection(null);
+
+        jdbcTemplate.queryForObject("SELECT pg_terminate_backend(?)", Boolean.class, pid);
+
+        verify(thirdPartyRoutingSnapshot, timeout(AWAIT_TIMEOUT.toMillis()).times(2)).handleMissedNotifications();
+        verify(subscriptionRoutingIndex, timeout(AWAIT_TIMEOUT.toMillis()).times(2)).handleMissedNotifications();
+        awaitListeningConnection(pid);
+
+        notifyFromOtherInstance(SNAPSHOT_CHANNEL, "");
+
+        verify(thirdPartyRoutingSnapshot, timeout(AWAIT_TIMEOUT.toMillis()).times(3)).rebuild();
+        assertThat(thirdPartyRoutingSnapshot.isActive())
+            .as(REBUILD_MESSAGE)
+            .isTrue();
+    }
+}
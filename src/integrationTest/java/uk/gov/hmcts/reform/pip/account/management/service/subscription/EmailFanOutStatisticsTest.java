@@ -0,0 +1,147 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionListTypeRepository;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.database.UserRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.BulkSubscriptionsSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionListType;
+import uk.gov.hmcts.reform.pip.account.management.utils.IntegrationTestBase;
+import uk.gov.hmcts.reform.pip.model.account.Roles;
+import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
+import uk.gov.hmcts.reform.pip.model.publication.Artefact;
+import uk.gov.hmcts.reform.pip.model.publication.Language;
+import uk.gov.hmcts.reform.pip.model.publication.ListType;
+import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
+import uk.gov.hmcts.reform.pip.model.subscription.Channel;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks that the number of statements sent to the database while collecting the email subscribers of a publication
+ * does not grow with the number of subscribers, by counting the statements prepared by Hibernate. Each subscriber has
+ * a location subscription and a case subscription to the publication, so a lookup made for each subscriber or
+ * subscription would show up as extra statements.
+ */
+@DirtiesContext
+@AutoConfigureEmbeddedDatabase(type = AutoConfigureEmbeddedDatabase.DatabaseType.POSTGRES)
+@TestPropertySource(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class EmailFanOutStatisticsTest extends IntegrationTestBase {
+    private static final int FEW_SUBSCRIBERS = 5;
+    private static final int MANY_SUBSCRIBERS = 50;
+    private static final long SEND_TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private SubscriptionNotificationService subscriptionNotificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private SubscriptionListTypeRepository subscriptionListTypeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private static Subscription createSubscription(UUID userId, SearchType searchType, String searchValue) {
+        Subscription subscription = new Subscription();
+        subscription.setUserId(userId);
+        subscription.setSearchType(searchType);
+        subscription.setSearchValue(searchValue);
+        subscription.setChannel(Channel.EMAIL);
+        return subscription;
+    }
+
+    /**
+     * Create subscribers to a new location and case, and return a publication for them.
+     */
+    private Artefact createSubscribers(int subscriberCount) {
+        String locationId = String.valueOf(subscriberCount);
+        String caseNumber = "CASE" + subscriberCount;
+
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < subscriberCount; i++) {
+            PiUser user = new PiUser();
+            user.setEmail(String.format("subscriber%s-%s@justice.gov.uk", subscriberCount, i));
+            user.setProvenanceUserId(UUID.randomUUID().toString());
+            user.setUserProvenance(UserProvenances.PI_AAD);
+            user.setRoles(Roles.VERIFIED);
+            UUID userId = userRepository.save(user).getUserId();
+
+            subscriptionListTypeRepository.save(new SubscriptionListType(
+                userId, List.of(ListType.CIVIL_DAILY_CAUSE_LIST.name()), List.of(Language.ENGLISH.name())
+            ));
+            subscriptions.add(createSubscription(userId, SearchType.LOCATION_ID, locationId));
+            subscriptions.add(createSubscription(userId, SearchType.CASE_ID, caseNumber));
+        }
+        subscriptionRepository.saveAll(subscriptions);
+
+        Artefact artefact = new Artefact();
+        artefact.setArtefactId(UUID.randomUUID());
+        artefact.setLocationId(locationId);
+        artefact.setListType(ListType.CIVIL_DAILY_CAUSE_LIST);
+        artefact.setLanguage(Language.ENGLISH);
+        artefact.setSensitivity(Sensitivity.PUBLIC);
+        artefact.setSearch(Map.of("cases", List.<Object>of(Map.of("caseNumber", caseNumber))));
+        return artefact;
+    }
+
+    private long statementsToCollect(int subscriberCount) {
+        Artefact artefact = createSubscribers(subscriberCount);
+
+        clearInvocations(reactivePublicationService);
+        statistics.clear();
+        subscriptionNotificationService.collectEmailSubscribers(artefact);
+
+        ArgumentCaptor<BulkSubscriptionsSummary> payload = ArgumentCaptor.forClass(BulkSubscriptionsSummary.class);
+        verify(reactivePublicationService, timeout(SEND_TIMEOUT_MILLIS)).postSubscriptionSummaries(payload.capture());
+        assertThat(payload.getValue().getSubscriptionEmails())
+            .as("Summary should be sent to every subscriber")
+            .hasSize(subscriberCount);
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void testStatementCountDoesNotGrowWithSubscribers() {
+        long fewSubscriberStatements = statementsToCollect(FEW_SUBSCRIBERS);
+        long manySubscriberStatements = statementsToCollect(MANY_SUBSCRIBERS);
+
+        assertThat(manySubscriberStatements)
+            .as("Collecting %s subscribers should use as many statements as collecting %s",
+                MANY_SUBSCRIBERS, FEW_SUBSCRIBERS)
+            .isEqualTo(fewSubscriberStatements);
+    }
+}
@@ -10,10 +10,13 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import reactor.core.publisher.Mono;
 import uk.gov.hmcts.reform.pip.account.management.service.PublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.ReactivePublicationService;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -26,6 +29,9 @@ public class IntegrationTestBase {
     @MockitoBean
     protected PublicationService publicationService;
 
+    @MockitoBean
+    protected ReactivePublicationService reactivePublicationService;
+
     @MockitoBean
     protected BlobContainerClient blobContainerClient;
 
@@ -38,6 +44,17 @@ public class IntegrationTestBase {
         when(blobContainerClient.getBlobContainerUrl()).thenReturn(BLOB_IMAGE_URL);
     }
 
+    @BeforeEach
+    void setupReactivePublicationService() {
+        when(reactivePublicationService.postSubscriptionSummaries(any(), any())).thenReturn(Mono.just(true));
+        when(reactivePublicationService.postSubscriptionSummaries(any())).thenReturn(Mono.just(true));
+        when(reactivePublicationService.formatSubscriptionsSummary(any(), any())).thenCallRealMethod();
+        when(reactivePublicationService.legacySendThirdPartyList(any())).thenReturn(Mono.empty());
+        when(reactivePublicationService.legacySendEmptyArtefact(any())).thenReturn(Mono.empty());
+        when(reactivePublicationService.sendThirdPartySubscription(any(), anyBoolean())).thenReturn(Mono.empty());
+        when(reactivePublicationService.sendThirdPartyHealthCheck(any(), any())).thenReturn(Mono.empty());
+    }
+
     protected void assertRequestResponseStatus(MockMvc mockMvc, MockHttpServletRequestBuilder request,
                                                int statusCode) throws Exception {
         MvcResult mvcResult = mockMvc.perform(request).andExpect(status().is(statusCode)).andReturn();
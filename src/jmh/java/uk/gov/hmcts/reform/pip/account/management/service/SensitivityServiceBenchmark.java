@@ -0,0 +1,74 @@
+package uk.gov.hmcts.reform.pip.account.management.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary;
+import uk.gov.hmcts.reform.pip.model.account.Roles;
+import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
+import uk.gov.hmcts.reform.pip.model.publication.ListType;
+import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the precomputed permission table in {@link SensitivityService} with evaluating the sensitivity rules for
+ * each user, when checking the subscribers of a classified publication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SensitivityServiceBenchmark {
+    private static final ListType LIST_TYPE = ListType.CROWN_FIRM_PDDA_LIST;
+    private static final Sensitivity SENSITIVITY = Sensitivity.CLASSIFIED;
+
+    @Param({"100", "10000"})
+    private int subscriberCount;
+
+    private final SensitivityService sensitivityService = new SensitivityService();
+    private List<PiUserSummary> subscribers;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        Roles[] roles = Roles.values();
+        UserProvenances[] provenances = UserProvenances.values();
+
+        subscribers = new ArrayList<>(subscriberCount);
+        for (int i = 0; i < subscriberCount; i++) {
+            subscribers.add(new PiUserSummary(null, null, roles[random.nextInt(roles.length)],
+                                              provenances[random.nextInt(provenances.length)]));
+        }
+    }
+
+    @Benchmark
+    public void evaluateRules(Blackhole blackhole) {
+        for (PiUserSummary user : subscribers) {
+            blackhole.consume(SensitivityService.evaluateAuthorisation(
+                user.getRoles(), user.getUserProvenance(), LIST_TYPE, SENSITIVITY
+            ));
+        }
+    }
+
+    @Benchmark
+    public void checkPermissionTable(Blackhole blackhole) {
+        for (PiUserSummary user : subscribers) {
+            blackhole.consume(sensitivityService.checkAuthorisation(user.getRoles(), user.getUserProvenance(),
+                                                                  LIST_TYPE, SENSITIVITY));
+        }
+    }
+
+    @Benchmark
+    public List<PiUserSummary> filterAuthorised() {
+        return sensitivityService.filterAuthorised(subscribers, LIST_TYPE, SENSITIVITY);
+    }
+}
@@ -5,12 +5,16 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import uk.gov.hmcts.reform.pip.account.management.config.AzureBlobConfigurationProperties;
+import uk.gov.hmcts.reform.pip.account.management.config.OutboundResilienceProperties;
+import uk.gov.hmcts.reform.pip.account.management.config.SubscriptionExecutorProperties;
 import uk.gov.hmcts.reform.pip.account.management.config.ThirdPartyApiConfigurationProperties;
 
 @SpringBootApplication
 @EnableConfigurationProperties({
     AzureBlobConfigurationProperties.class,
-    ThirdPartyApiConfigurationProperties.class
+    ThirdPartyApiConfigurationProperties.class,
+    SubscriptionExecutorProperties.class,
+    OutboundResilienceProperties.class
 })
 @SuppressWarnings("HideUtilityClassConstructor") // Spring needs a constructor, its not a utility class
 @EnableScheduling
@@ -0,0 +1,75 @@
+package uk.gov.hmcts.reform.pip.account.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the retries, circuit breakers and bulkheads which protect the calls made to other services.
+ */
+@ConfigurationProperties(prefix = "outbound-resilience")
+@Data
+public class OutboundResilienceProperties {
+
+    /**
+     * Whether outbound calls are protected. When disabled, calls are made directly as before.
+     */
+    private boolean enabled;
+
+    /**
+     * The calls made to publication services.
+     */
+    private Downstream publicationServices = new Downstream();
+
+    /**
+     * The calls made to Microsoft Graph.
+     */
+    private Downstream graph = new Downstream();
+
+    @Data
+    public static class Downstream {
+        private Bulkhead bulkhead = new Bulkhead();
+        private Retry retry = new Retry();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    }
+
+    /**
+     * Limits the number of calls in flight to a service, so that a slow service can't tie up every thread.
+     */
+    @Data
+    public static class Bulkhead {
+        private int maxConcurrentCalls = 25;
+
+        /**
+         * How long a call waits for one in flight to complete before it is rejected.
+         */
+        private Duration maxWait = Duration.ofMillis(500);
+    }
+
+    /**
+     * Retries failed calls with exponential backoff and full jitter. Retries are limited by a budget, which allows
+     * a burst of retries and then a fixed ratio of retries to calls, so that retries can't multiply the load on a
+     * failing service.
+     */
+    @Data
+    public static class Retry {
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        private double budgetRatio = 0.2;
+        private int budgetBurst = 10;
+    }
+
+    /**
+     * Fails calls to an endpoint fast once enough of its recent calls have failed, and lets a single trial call
+     * through once the open duration has passed.
+     */
+    @Data
+    public static class CircuitBreaker {
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private int failureRateThreshold = 50;
+        private Duration openDuration = Duration.ofSeconds(30);
+    }
+}
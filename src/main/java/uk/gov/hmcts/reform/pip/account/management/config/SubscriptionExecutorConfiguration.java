@@ -0,0 +1,103 @@
+package uk.gov.hmcts.reform.pip.account.management.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configures the bounded thread pools used to notify the subscribers of a publication, in place of the default
+ * Spring task executor. Deleted publications have their own pool, so that they can't hold up new publications.
+ *
+ * <p>Each pool publishes its active threads, queue depth, task wait and run times, and rejections to Micrometer,
+ * tagged with the name of the pool.</p>
+ */
+@Configuration
+public class SubscriptionExecutorConfiguration {
+    public static final String FAN_OUT_EXECUTOR = "subscriptionFanOutExecutor";
+    public static final String DELETION_EXECUTOR = "subscriptionDeletionExecutor";
+
+    private static final String NAME_TAG = "name";
+
+    @Bean(FAN_OUT_EXECUTOR)
+    public ThreadPoolTaskExecutor subscriptionFanOutExecutor(SubscriptionExecutorProperties properties,
+                                                             MeterRegistry meterRegistry) {
+        return createExecutor("subscription-fan-out", properties.getFanOut(), meterRegistry);
+    }
+
+    @Bean(DELETION_EXECUTOR)
+    public ThreadPoolTaskExecutor subscriptionDeletionExecutor(SubscriptionExecutorProperties properties,
+                                                               MeterRegistry meterRegistry) {
+        return createExecutor("subscription-deletion", properties.getDeletion(), meterRegistry);
+    }
+
+    /**
+     * Create an instrumented thread pool. The pool is initialised by Spring once the bean has been created.
+     *
+     * @param name The name of the pool, used as the thread name prefix and the metric tag.
+     * @param pool The size and rejection policy of the pool.
+     * @param meterRegistry The registry to publish the pool metrics to.
+     * @return The thread pool.
+     */
+    static ThreadPoolTaskExecutor createExecutor(String name, SubscriptionExecutorProperties.Pool pool,
+                                                 MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(pool.getCoreSize());
+        executor.setMaxPoolSize(pool.getMaxSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+
+        Timer waitTimer = Timer.builder("subscription.executor.task.wait")
+            .description("Time subscription notification tasks spend queued before they start")
+            .tag(NAME_TAG, name)
+            .register(meterRegistry);
+        Timer runTimer = Timer.builder("subscription.executor.task.duration")
+            .description("Time subscription notification tasks take to run")
+            .tag(NAME_TAG, name)
+            .register(meterRegistry);
+        executor.setTaskDecorator(task -> {
+            long submitted = System.nanoTime();
+            return () -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    task.run();
+                } finally {
+                    runTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            };
+        });
+
+        Counter rejectionCounter = Counter.builder("subscription.executor.rejections")
+            .description("Subscription notification tasks rejected as the pool and its queue were full")
+            .tag(NAME_TAG, name)
+            .tag("policy", pool.getRejectionPolicy().name())
+            .register(meterRegistry);
+        RejectedExecutionHandler rejectionPolicy =
+            pool.getRejectionPolicy() == SubscriptionExecutorProperties.RejectionPolicy.CALLER_RUNS
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy();
+        executor.setRejectedExecutionHandler((task, threadPoolExecutor) -> {
+            rejectionCounter.increment();
+            rejectionPolicy.rejectedExecution(task, threadPoolExecutor);
+        });
+
+        Gauge.builder("subscription.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+            .description("Number of threads running subscription notification tasks")
+            .tag(NAME_TAG, name)
+            .register(meterRegistry);
+        Gauge.builder("subscription.executor.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+            .description("Number of subscription notification tasks waiting for a thread")
+            .tag(NAME_TAG, name)
+            .register(meterRegistry);
+        return executor;
+    }
+}
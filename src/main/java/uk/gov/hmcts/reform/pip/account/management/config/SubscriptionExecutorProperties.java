@@ -0,0 +1,45 @@
+package uk.gov.hmcts.reform.pip.account.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration for the thread pools used to notify the subscribers of a publication.
+ */
+@ConfigurationProperties(prefix = "subscription.executor")
+@Data
+public class SubscriptionExecutorProperties {
+
+    /**
+     * The pool used to notify subscribers of new publications.
+     */
+    private Pool fanOut = new Pool();
+
+    /**
+     * The pool used to notify third party subscribers of deleted publications.
+     */
+    private Pool deletion = new Pool();
+
+    @Data
+    public static class Pool {
+        private int coreSize;
+        private int maxSize;
+        private int queueCapacity;
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+    }
+
+    /**
+     * What to do with a notification when the pool and its queue are full.
+     */
+    public enum RejectionPolicy {
+        /**
+         * Run the notification on the request thread, which slows the caller down until the pool catches up.
+         */
+        CALLER_RUNS,
+
+        /**
+         * Reject the notification, so that the caller receives a 429 and can retry later.
+         */
+        REJECT
+    }
+}
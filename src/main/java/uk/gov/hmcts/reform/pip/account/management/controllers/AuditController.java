@@ -21,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import uk.gov.hmcts.reform.pip.account.management.model.account.AuditLog;
+import uk.gov.hmcts.reform.pip.account.management.model.account.KeysetSlice;
 import uk.gov.hmcts.reform.pip.account.management.service.AuditService;
 import uk.gov.hmcts.reform.pip.model.authentication.roles.IsAdmin;
 import uk.gov.hmcts.reform.pip.model.enums.AuditAction;
@@ -46,6 +47,7 @@ public class AuditController {
     private static final String OK_ERROR_CODE = "200";
     private static final String NOT_FOUND_ERROR_CODE = "404";
     private static final String FORBIDDEN_ERROR_CODE = "403";
+    private static final String BAD_REQUEST_ERROR_CODE = "400";
 
     @ApiResponse(responseCode = OK_ERROR_CODE, description = "All audit logs returned as a page with filtering.")
     @ApiResponse(responseCode = FORBIDDEN_ERROR_CODE,
@@ -66,6 +68,27 @@ public class AuditController {
             auditActions, filterDate));
     }
 
+    @ApiResponse(responseCode = OK_ERROR_CODE,
+        description = "Audit logs returned as a slice with filtering, along with the cursor for the next page.")
+    @ApiResponse(responseCode = BAD_REQUEST_ERROR_CODE, description = "Invalid cursor supplied")
+    @ApiResponse(responseCode = FORBIDDEN_ERROR_CODE,
+        description = "User with ID {requesterId} is not authorised to view audit logs")
+    @Operation(summary = "Get audit logs returned as a slice using keyset pagination")
+    @PreAuthorize("@auditAuthorisationService.userCanViewAuditLogs(#requesterId)")
+    @GetMapping("/keyset")
+    public ResponseEntity<KeysetSlice<AuditLog>> getAllAuditLogsKeyset(
+        @RequestHeader(REQUESTER_ID) UUID requesterId,
+        @RequestParam(name = "pageSize", defaultValue = "25") int pageSize,
+        @RequestParam(name = "cursor", defaultValue = "", required = false) String cursor,
+        @RequestParam(name = "includeCount", defaultValue = "false", required = false) boolean includeCount,
+        @RequestParam(name = "email", defaultValue = "", required = false) String email,
+        @RequestParam(name = "userId", defaultValue = "", required = false) String userId,
+        @RequestParam(name = "actions", defaultValue = "", required = false) List<AuditAction> auditActions,
+        @RequestParam(name = "filterDate", defaultValue = "", required = false) String filterDate) {
+        return ResponseEntity.ok(auditService.getAllAuditLogsKeyset(pageSize, cursor, includeCount, email, userId,
+                                                                    auditActions, filterDate));
+    }
+
     @ApiResponse(responseCode = OK_ERROR_CODE, description = "Audit log with id {id} returned.")
     @ApiResponse(responseCode = NOT_FOUND_ERROR_CODE, description = "Audit log with id {id} could not be found.")
     @ApiResponse(responseCode = FORBIDDEN_ERROR_CODE,
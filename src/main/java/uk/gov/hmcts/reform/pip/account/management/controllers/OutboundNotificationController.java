@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.pip.account.management.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotification;
+import uk.gov.hmcts.reform.pip.account.management.service.notification.OutboundNotificationService;
+import uk.gov.hmcts.reform.pip.model.authentication.roles.IsAdmin;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@Tag(name = "Account Management - API for managing outbound notifications")
+@RequestMapping("/outbound-notification")
+@ApiResponse(responseCode = "401", description = "Invalid access credential")
+@IsAdmin
+@AllArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class OutboundNotificationController {
+
+    private final OutboundNotificationService outboundNotificationService;
+
+    @ApiResponse(responseCode = "200", description = "All dead-lettered outbound notifications returned")
+    @Operation(summary = "Get the outbound notifications which failed on every attempt")
+    @GetMapping("/dead-letter")
+    public ResponseEntity<List<OutboundNotification>> getDeadLetters() {
+        return ResponseEntity.ok(outboundNotificationService.findDeadLetters());
+    }
+
+    @ApiResponse(responseCode = "200", description = "{count} outbound notification(s) queued for replay")
+    @Operation(summary = "Queue dead-lettered outbound notifications to be sent again. All dead-lettered "
+        + "notifications are replayed if no IDs are supplied")
+    @PostMapping("/replay")
+    public ResponseEntity<String> replayDeadLetters(@RequestBody(required = false) List<UUID> ids) {
+        return ResponseEntity.ok(String.format("%s outbound notification(s) queued for replay",
+                                               outboundNotificationService.replayDeadLetters(ids)));
+    }
+}
@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +21,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import uk.gov.hmcts.reform.pip.account.management.model.account.CreationEnum;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationAuthorisationRequest;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationAuthorisationResponse;
 import uk.gov.hmcts.reform.pip.account.management.service.account.AccountService;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
@@ -46,6 +49,7 @@ public class AccountController {
     private static final String OK_CODE = "200";
     private static final String NOT_FOUND_ERROR_CODE = "404";
     private static final String FORBIDDEN_ERROR_CODE = "403";
+    private static final String BAD_REQUEST_ERROR_CODE = "400";
 
     private static final String PI_USER = "{piUser}";
 
@@ -105,6 +109,19 @@ public class AccountController {
         return ResponseEntity.ok(accountService.isUserAuthorisedForPublication(userId, listType, sensitivity));
     }
 
+    @ApiResponse(responseCode = OK_CODE, description = "Map of whether each user can see the publication, or "
+        + "whether the user can see each publication")
+    @ApiResponse(responseCode = BAD_REQUEST_ERROR_CODE, description = "Either userIds with listType and sensitivity, "
+        + "or userId with publications, must be supplied, with at most 1000 userIds or publications")
+    @ApiResponse(responseCode = NOT_FOUND_ERROR_CODE, description = "No user found with the userId: {userId}")
+    @Operation(summary = "Check in one call if many users can see a publication, or if one user can see many "
+        + "publications")
+    @PostMapping("/isAuthorised/batch")
+    public ResponseEntity<PublicationAuthorisationResponse> checkUsersAuthorised(
+        @RequestBody @Valid PublicationAuthorisationRequest request) {
+        return ResponseEntity.ok(accountService.isUserAuthorisedForPublications(request));
+    }
+
     @ApiResponse(responseCode = OK_CODE, description = "Account with provenance {userProvenance} and provenance id "
             + "{provenanceUserId} has been updated")
     @ApiResponse(responseCode = NOT_FOUND_ERROR_CODE, description = "User with supplied provenance "
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.pip.account.management.model.account.KeysetSlice;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
 import uk.gov.hmcts.reform.pip.account.management.service.account.AccountFilteringService;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
@@ -45,6 +46,7 @@ public class AccountFilteringController {
     private static final String OK_CODE = "200";
     private static final String NOT_FOUND_ERROR_CODE = "404";
     private static final String FORBIDDEN_ERROR_CODE = "403";
+    private static final String BAD_REQUEST_ERROR_CODE = "400";
     private static final String PI_USER = "{piUser}";
     private static final String REQUESTER_ID = "x-requester-id";
 
@@ -87,6 +89,28 @@ public class AccountFilteringController {
         ));
     }
 
+    @ApiResponse(responseCode = OK_CODE, description = "List of accounts, along with the cursor for the next page")
+    @ApiResponse(responseCode = BAD_REQUEST_ERROR_CODE, description = "Invalid cursor supplied")
+    @ApiResponse(responseCode = FORBIDDEN_ERROR_CODE,
+        description = "User with ID {requesterId} is not authorised to view accounts")
+    @Operation(summary = "Get all accounts except third party in a slice with filtering, using keyset pagination")
+    @PreAuthorize("@accountAuthorisationService.userCanViewAccounts(#requesterId)")
+    @GetMapping("/all/keyset")
+    public ResponseEntity<KeysetSlice<PiUser>> getAllAccountsExceptThirdPartyKeyset(
+        @RequestHeader(REQUESTER_ID) UUID requesterId,
+        @RequestParam(name = "pageSize", defaultValue = "25") int pageSize,
+        @RequestParam(name = "cursor", defaultValue = "", required = false) String cursor,
+        @RequestParam(name = "includeCount", defaultValue = "false", required = false) boolean includeCount,
+        @RequestParam(name = "email", defaultValue = "", required = false) String email,
+        @RequestParam(name = "userProvenanceId", defaultValue = "", required = false) String userProvenanceId,
+        @RequestParam(name = "provenances", defaultValue = "", required = false) List<UserProvenances> provenances,
+        @RequestParam(name = "roles", defaultValue = "", required = false) List<Roles> roles,
+        @RequestParam(name = "userId", defaultValue = "", required = false) String userId) {
+        return ResponseEntity.ok(accountFilteringService.findAllAccountsExceptThirdPartyKeyset(
+            pageSize, cursor, includeCount, email, userProvenanceId, provenances, roles, userId
+        ));
+    }
+
     @ApiResponse(responseCode = OK_CODE, description = PI_USER)
     @ApiResponse(responseCode = NOT_FOUND_ERROR_CODE, description = "No user found with the "
         + "email: {email} and provenance {provenance}")
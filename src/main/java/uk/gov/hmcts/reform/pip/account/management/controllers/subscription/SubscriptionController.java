@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.ArtefactRecipientStatus;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.usersubscription.UserSubscription;
 import uk.gov.hmcts.reform.pip.account.management.service.subscription.SubscriptionNotificationService;
@@ -149,6 +150,17 @@ public class SubscriptionController {
         return ResponseEntity.status(HttpStatus.ACCEPTED).body("Email subscriber request has been accepted");
     }
 
+    @ApiResponse(responseCode = OK_CODE, description = "Status of the email subscriber request for each publication")
+    @ApiResponse(responseCode = "400", description = "The batch contains more than 100 publications")
+    @Operation(summary = "Build email subscriber lists for a batch of publications, returning whether the "
+        + "subscribers for each publication were resolved and sent.")
+    @PostMapping("/email-recipients/batch")
+    public ResponseEntity<List<ArtefactRecipientStatus>> buildEmailSubscriberLists(
+        @RequestBody List<Artefact> artefacts
+    ) {
+        return ResponseEntity.ok(subscriptionNotificationService.collectEmailSubscribersForBatch(artefacts));
+    }
+
     @ApiResponse(responseCode = "202", description = "API subscriber request has been accepted")
     @Operation(summary = "Build API subscriber list for the publication.")
     @PostMapping("/api-recipients")
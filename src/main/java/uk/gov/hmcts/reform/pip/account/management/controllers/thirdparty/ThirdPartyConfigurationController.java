@@ -19,9 +19,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiOauthConfiguration;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiOauthConfigurationDto;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ThirdPartyHealthCheckResult;
 import uk.gov.hmcts.reform.pip.account.management.service.thirdparty.ThirdPartyConfigurationService;
+import uk.gov.hmcts.reform.pip.account.management.service.thirdparty.ThirdPartyHealthCheckService;
 import uk.gov.hmcts.reform.pip.model.authentication.roles.IsAdmin;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -40,12 +43,15 @@ public class ThirdPartyConfigurationController {
     private static final String X_REQUESTER_ID_HEADER = "x-requester-id";
 
     private final ThirdPartyConfigurationService thirdPartyConfigurationService;
+    private final ThirdPartyHealthCheckService thirdPartyHealthCheckService;
 
     @Autowired
     public ThirdPartyConfigurationController(
-        ThirdPartyConfigurationService thirdPartyConfigurationService
+        ThirdPartyConfigurationService thirdPartyConfigurationService,
+        ThirdPartyHealthCheckService thirdPartyHealthCheckService
     ) {
         this.thirdPartyConfigurationService = thirdPartyConfigurationService;
+        this.thirdPartyHealthCheckService = thirdPartyHealthCheckService;
     }
 
     @PostMapping(consumes = "application/json")
@@ -112,4 +118,17 @@ public class ThirdPartyConfigurationController {
         return ResponseEntity.status(HttpStatus.OK)
             .body(String.format("Successfully performed healthcheck on third-party user with ID %s", userId));
     }
+
+    @GetMapping("/healthcheck")
+    @Operation(summary = "Endpoint to perform the third-party healthcheck for all active third-party users",
+        description = "The healthchecks are performed concurrently. The outcome, latency and any error message are "
+            + "returned for each user.")
+    @ApiResponse(responseCode = OK_STATUS_CODE,
+        description = "Performed third-party healthcheck for all active third-party users")
+    @PreAuthorize("@thirdPartyAuthorisationService.userCanManageThirdParty(#requesterId)")
+    public ResponseEntity<List<ThirdPartyHealthCheckResult>> thirdPartyConfigurationBulkHealthCheck(
+        @RequestHeader(X_REQUESTER_ID_HEADER) UUID requesterId
+    ) {
+        return ResponseEntity.ok(thirdPartyHealthCheckService.validateAllThirdPartyConfigurations());
+    }
 }
@@ -3,11 +3,15 @@ package uk.gov.hmcts.reform.pip.account.management.database;
 import org.springframework.data.jpa.repository.JpaRepository;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiOauthConfiguration;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ApiOauthConfigurationRepository extends JpaRepository<ApiOauthConfiguration, UUID> {
     Optional<ApiOauthConfiguration> findByUserId(UUID userId);
 
+    List<ApiOauthConfiguration> findAllByUserIdIn(Collection<UUID> userIds);
+
     void deleteByUserId(UUID userId);
 }
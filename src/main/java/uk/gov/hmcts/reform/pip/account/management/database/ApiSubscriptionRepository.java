@@ -1,6 +1,9 @@
 package uk.gov.hmcts.reform.pip.account.management.database;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiSubscriberConfiguration;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiSubscription;
 import uk.gov.hmcts.reform.pip.model.publication.ListType;
 import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
@@ -14,4 +17,33 @@ public interface ApiSubscriptionRepository extends JpaRepository<ApiSubscription
     void deleteAllByUserId(UUID userId);
 
     List<ApiSubscription> findByListTypeAndSensitivityIn(ListType listType, List<Sensitivity> sensitivities);
+
+    String SUBSCRIBER_CONFIGURATION_QUERY = "SELECT new "
+        + "uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiSubscriberConfiguration("
+        + "s.userId, s.listType, s.sensitivity, u.status, c.userId, c.destinationUrl, c.tokenUrl, c.clientIdKey, "
+        + "c.clientSecretKey, c.scopeKey) "
+        + "FROM ApiSubscription s "
+        + "LEFT JOIN ApiUser u ON u.userId = s.userId "
+        + "LEFT JOIN ApiOauthConfiguration c ON c.userId = s.userId "
+        + "WHERE (u.userId IS NULL "
+        + "OR u.status = uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUserStatus.ACTIVE) ";
+
+    /**
+     * Find the third-party subscribers for a list type and sensitivities, along with their OAuth configuration, in
+     * a single query. Subscribers whose user is not active are excluded. Subscribers whose user or OAuth
+     * configuration is missing are still returned, so that they can be reported.
+     */
+    @Query(SUBSCRIBER_CONFIGURATION_QUERY
+        + "AND s.listType = :listType "
+        + "AND s.sensitivity IN :sensitivities")
+    List<ApiSubscriberConfiguration> findSubscriberConfigurations(@Param("listType") ListType listType,
+                                                                  @Param("sensitivities")
+                                                                  List<Sensitivity> sensitivities);
+
+    /**
+     * Find every third-party subscriber, along with their OAuth configuration, in a single query. The same
+     * subscribers are excluded and returned as by {@link #findSubscriberConfigurations}.
+     */
+    @Query(SUBSCRIBER_CONFIGURATION_QUERY)
+    List<ApiSubscriberConfiguration> findAllSubscriberConfigurations();
 }
@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.pip.account.management.database;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.query.Param;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUserStatus;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,5 +14,7 @@ public interface ApiUserRepository extends JpaRepository<ApiUser, UUID> {
 
     List<ApiUser> findAllByNameStartingWithIgnoreCase(@Param("prefix") String prefix);
 
+    List<ApiUser> findAllByStatus(ApiUserStatus status);
+
     void deleteByUserId(UUID userId);
 }
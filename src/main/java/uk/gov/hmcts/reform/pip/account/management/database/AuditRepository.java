@@ -2,7 +2,9 @@ package uk.gov.hmcts.reform.pip.account.management.database;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.pip.account.management.model.account.AuditLog;
@@ -21,17 +23,42 @@ public interface AuditRepository extends JpaRepository<AuditLog, UUID> {
 
     void deleteByIdIn(List<UUID> id);
 
+    @Query("SELECT a FROM AuditLog a WHERE LOWER(a.userEmail) LIKE LOWER(:email) AND a.userId LIKE :userId "
+        + "AND a.action IN :actions ORDER BY a.timestamp DESC")
     Page<AuditLog> findAllByUserEmailLikeIgnoreCaseAndUserIdLikeAndActionInOrderByTimestampDesc(
-        String email,
-        String userId,
-        List<AuditAction> auditAction,
+        @Param("email") String email,
+        @Param("userId") String userId,
+        @Param("actions") List<AuditAction> auditAction,
         Pageable pageable);
 
+    @Query("SELECT a FROM AuditLog a WHERE LOWER(a.userEmail) LIKE LOWER(:email) AND a.userId LIKE :userId "
+        + "AND a.action IN :actions AND a.timestamp BETWEEN :timestampFrom AND :timestampTo "
+        + "ORDER BY a.timestamp DESC")
     Page<AuditLog> findAllByUserEmailLikeIgnoreCaseAndUserIdLikeAndActionInAndTimestampBetweenOrderByTimestampDesc(
-        String email,
-        String userId,
-        List<AuditAction> auditAction,
-        LocalDateTime timeStampFrom,
-        LocalDateTime timeStampTo,
+        @Param("email") String email,
+        @Param("userId") String userId,
+        @Param("actions") List<AuditAction> auditAction,
+        @Param("timestampFrom") LocalDateTime timeStampFrom,
+        @Param("timestampTo") LocalDateTime timeStampTo,
         Pageable pageable);
+
+    @Query("SELECT a FROM AuditLog a WHERE LOWER(a.userEmail) LIKE LOWER(:email) AND a.userId LIKE :userId "
+        + "AND a.action IN :actions AND a.timestamp >= :timestampFrom "
+        + "AND (a.timestamp, a.id) < (:beforeTimestamp, :beforeId) "
+        + "ORDER BY a.timestamp DESC, a.id DESC")
+    Slice<AuditLog> findAuditLogsBefore(@Param("email") String email,
+                                        @Param("userId") String userId,
+                                        @Param("actions") List<AuditAction> auditActions,
+                                        @Param("timestampFrom") LocalDateTime timestampFrom,
+                                        @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                        @Param("beforeId") UUID beforeId,
+                                        Pageable pageable);
+
+    @Query("SELECT COUNT(a) FROM AuditLog a WHERE LOWER(a.userEmail) LIKE LOWER(:email) AND a.userId LIKE :userId "
+        + "AND a.action IN :actions AND a.timestamp >= :timestampFrom AND a.timestamp < :timestampTo")
+    long countAuditLogs(@Param("email") String email,
+                        @Param("userId") String userId,
+                        @Param("actions") List<AuditAction> auditActions,
+                        @Param("timestampFrom") LocalDateTime timestampFrom,
+                        @Param("timestampTo") LocalDateTime timestampTo);
 }
@@ -0,0 +1,27 @@
+package uk.gov.hmcts.reform.pip.account.management.database;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotification;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotificationStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboundNotificationRepository extends JpaRepository<OutboundNotification, UUID> {
+
+    /**
+     * Lock the pending notifications which are due to be sent. Rows locked by another instance are skipped, so that
+     * each notification is only claimed once.
+     */
+    @Query(value = "SELECT * FROM outbound_notification WHERE status = 'PENDING' AND next_attempt_date <= :now "
+        + "ORDER BY next_attempt_date LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboundNotification> findDueForDispatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    List<OutboundNotification> findAllByStatus(OutboundNotificationStatus status);
+
+    List<OutboundNotification> findAllByStatusAndIdIn(OutboundNotificationStatus status, Collection<UUID> ids);
+}
@@ -5,6 +5,8 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionListType;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,6 +15,8 @@ public interface SubscriptionListTypeRepository extends JpaRepository<Subscripti
 
     Optional<SubscriptionListType> findByUserId(UUID userId);
 
+    List<SubscriptionListType> findByUserIdIn(Collection<UUID> userIds);
+
     @Transactional
     void deleteByUserId(UUID userId);
 }
@@ -1,15 +1,20 @@
 package uk.gov.hmcts.reform.pip.account.management.database;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
 import uk.gov.hmcts.reform.pip.model.report.AllSubscriptionMiData;
 import uk.gov.hmcts.reform.pip.model.report.LocationSubscriptionMiData;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,6 +33,8 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
 
     List<Subscription> findByUserId(UUID userId);
 
+    List<Subscription> findByUserIdIn(Collection<UUID> userIds);
+
     void deleteById(UUID id);
 
     void deleteByIdIn(List<UUID> id);
@@ -40,6 +47,11 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     List<Subscription> findSubscriptionsBySearchValue(@Param("search_type") String searchType,
                                                       @Param("search_value") String searchValue);
 
+    List<Subscription> findBySearchTypeAndSearchValueIn(SearchType searchType, Collection<String> searchValues);
+
+    @Query("SELECT DISTINCT s.searchValue FROM Subscription s WHERE s.searchType IN :searchTypes")
+    List<String> findDistinctSearchValuesBySearchTypeIn(@Param("searchTypes") Collection<SearchType> searchTypes);
+
     @Query("SELECT new uk.gov.hmcts.reform.pip.model.report.AllSubscriptionMiData("
         + "id, channel, searchType, userId, locationName, createdDate) "
         + "FROM Subscription")
@@ -62,6 +74,41 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
                                                               @Param("list_type") String listType,
                                                               @Param("list_language") String listLanguage);
 
+    /**
+     * Find a page of the email location subscriptions for a publication, for the next recipients after the given
+     * user, ordered by user so that all subscriptions of a recipient are in the same page. Each page is read in its
+     * own short query, so no connection is held between pages.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = "WITH recipient AS ("
+        + "SELECT DISTINCT s.user_id FROM Subscription s "
+        + "INNER JOIN Subscription_List_Type sl "
+        + "ON s.user_id = sl.user_id "
+        + "WHERE s.search_type = 'LOCATION_ID' "
+        + "AND s.search_value = :search_value "
+        + "AND s.channel = 'EMAIL' "
+        + "AND s.user_id > :after_user_id "
+        + "AND (ARRAY_LENGTH(sl.list_type, 1) IS NULL OR  sl.list_type && string_to_array(:list_type, ',')) "
+        + "AND sl.list_language && string_to_array(:list_language, ',') "
+        + "ORDER BY s.user_id "
+        + "LIMIT :recipients) "
+        + "SELECT s.* FROM Subscription s "
+        + "INNER JOIN recipient r "
+        + "ON s.user_id = r.user_id "
+        + "WHERE s.search_type = 'LOCATION_ID' "
+        + "AND s.search_value = :search_value "
+        + "AND s.channel = 'EMAIL' "
+        + "ORDER BY s.user_id",
+        nativeQuery = true)
+    List<Subscription> findEmailSubscriptionPageByLocationSearchValue(@Param("search_value") String searchValue,
+                                                                      @Param("list_type") String listType,
+                                                                      @Param("list_language") String listLanguage,
+                                                                      @Param("after_user_id") UUID afterUserId,
+                                                                      @Param("recipients") int recipients);
+
     @Transactional
     void deleteAllByUserId(UUID userId);
 
@@ -77,6 +124,12 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
         nativeQuery = true)
     List<Subscription> findLocationSubscriptionsByUserId(@Param("user_id") UUID userId);
 
+    /**
+     * Find the subscriptions whose location name starts with the given prefix, ignoring case. Any wildcard characters
+     * in the prefix are escaped, so they only match themselves.
+     */
+    @Query("SELECT s FROM Subscription s WHERE LOWER(s.locationName) LIKE LOWER(:#{escape(#prefix) + '%'}) "
+        + "ESCAPE :#{escapeCharacter()}")
     List<Subscription> findAllByLocationNameStartingWithIgnoreCase(@Param("prefix") String prefix);
 
     @Modifying
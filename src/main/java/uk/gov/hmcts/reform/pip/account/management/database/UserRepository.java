@@ -3,15 +3,18 @@ package uk.gov.hmcts.reform.pip.account.management.database;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 import uk.gov.hmcts.reform.pip.model.report.AccountMiData;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,37 +27,50 @@ public interface UserRepository extends JpaRepository<PiUser, Long> {
 
     Optional<PiUser> findByUserId(UUID userId);
 
+    @Query("SELECT new uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary("
+        + "userId, email, roles, userProvenance) "
+        + "FROM PiUser WHERE userId IN :userIds")
+    List<PiUserSummary> findUserSummariesByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
     @Query("SELECT new uk.gov.hmcts.reform.pip.model.report.AccountMiData("
         + "userId, provenanceUserId, userProvenance, roles, createdDate, lastSignedInDate) "
         + "FROM PiUser")
     List<AccountMiData> getAccountDataForMi();
 
-    @Query(value = "SELECT * FROM pi_user WHERE CAST(last_verified_date AS DATE) = CURRENT_DATE - (interval '1' day)"
-        + " * :daysAgo AND user_provenance = 'PI_AAD' AND roles = 'VERIFIED'", nativeQuery = true)
+    /*
+     * The inactive account queries below compare the raw timestamp columns against half-open day ranges, rather than
+     * casting the columns to a date, so that they can be served by the partial indexes on pi_user. A timestamp falls
+     * on the day N days ago when it is at or after the start of that day and before the start of the following day.
+     */
+    @Query(value = "SELECT * FROM pi_user WHERE user_provenance = 'PI_AAD' AND roles = 'VERIFIED' "
+        + "AND last_verified_date >= CURRENT_DATE - (interval '1' day) * :daysAgo "
+        + "AND last_verified_date < CURRENT_DATE - (interval '1' day) * (:daysAgo - 1)", nativeQuery = true)
     List<PiUser> findVerifiedUsersForNotificationByLastVerifiedDate(@Param("daysAgo") int daysSinceLastVerified);
 
-    @Query(value = "SELECT * FROM pi_user WHERE CAST(last_verified_date AS DATE) <= CURRENT_DATE - (interval '1' day)"
-        + " * :daysAgo AND user_provenance = 'PI_AAD' AND roles = 'VERIFIED'", nativeQuery = true)
+    @Query(value = "SELECT * FROM pi_user WHERE user_provenance = 'PI_AAD' AND roles = 'VERIFIED' "
+        + "AND last_verified_date < CURRENT_DATE - (interval '1' day) * (:daysAgo - 1)", nativeQuery = true)
     List<PiUser> findVerifiedUsersForDeletionByLastVerifiedDate(@Param("daysAgo") int daysSinceLastVerified);
 
     @Query(value = "SELECT * FROM pi_user WHERE (user_provenance = 'PI_AAD' AND roles <> 'VERIFIED' AND "
-        + "CAST(last_signed_in_date AS DATE) <= CURRENT_DATE - (interval '1' day) * :aadDays) OR "
+        + "last_signed_in_date < CURRENT_DATE - (interval '1' day) * (:aadDays - 1)) OR "
         + "(user_provenance = 'SSO' AND "
-        + "CAST(last_signed_in_date AS DATE) <= CURRENT_DATE - (interval '1' day) * :ssoDays)", nativeQuery = true)
+        + "last_signed_in_date < CURRENT_DATE - (interval '1' day) * (:ssoDays - 1))", nativeQuery = true)
     List<PiUser> findAdminUsersForDeletionByLastSignedInDate(@Param("aadDays") int aadNumberOfDays,
                                                              @Param("ssoDays") int ssoNumberOfDays);
 
-    @Query(value = "SELECT * FROM pi_user WHERE (CAST(last_signed_in_date AS DATE) = CURRENT_DATE - (interval '1' day)"
-        + " * :cftDaysAgo AND user_provenance = 'CFT_IDAM') "
-        + " OR (CAST(last_signed_in_date AS DATE) = CURRENT_DATE - (interval '1' day)"
-        + " * :crimeDaysAgo AND user_provenance = 'CRIME_IDAM') ", nativeQuery = true)
+    @Query(value = "SELECT * FROM pi_user WHERE (user_provenance = 'CFT_IDAM' "
+        + "AND last_signed_in_date >= CURRENT_DATE - (interval '1' day) * :cftDaysAgo "
+        + "AND last_signed_in_date < CURRENT_DATE - (interval '1' day) * (:cftDaysAgo - 1)) "
+        + "OR (user_provenance = 'CRIME_IDAM' "
+        + "AND last_signed_in_date >= CURRENT_DATE - (interval '1' day) * :crimeDaysAgo "
+        + "AND last_signed_in_date < CURRENT_DATE - (interval '1' day) * (:crimeDaysAgo - 1))", nativeQuery = true)
     List<PiUser> findIdamUsersForNotificationByLastSignedInDate(@Param("cftDaysAgo") int cftDaysSinceLastSignedIn,
                                                                 @Param("crimeDaysAgo") int crimeDaysSinceLastSignedIn);
 
-    @Query(value = "SELECT * FROM pi_user WHERE (CAST(last_signed_in_date AS DATE) <= CURRENT_DATE - (interval '1' day)"
-        + " * :cftDaysAgo AND user_provenance = 'CFT_IDAM') "
-        + " OR (CAST(last_signed_in_date AS DATE) <= CURRENT_DATE - (interval '1' day)"
-        + " * :crimeDaysAgo AND user_provenance = 'CRIME_IDAM') ", nativeQuery = true)
+    @Query(value = "SELECT * FROM pi_user WHERE (user_provenance = 'CFT_IDAM' "
+        + "AND last_signed_in_date < CURRENT_DATE - (interval '1' day) * (:cftDaysAgo - 1)) "
+        + "OR (user_provenance = 'CRIME_IDAM' "
+        + "AND last_signed_in_date < CURRENT_DATE - (interval '1' day) * (:crimeDaysAgo - 1))", nativeQuery = true)
     List<PiUser> findIdamUsersForDeletionByLastSignedInDate(@Param("cftDaysAgo") int cftDaysSinceLastSignedIn,
                                                             @Param("crimeDaysAgo") int crimeDaysSinceLastSignedIn);
 
@@ -69,16 +85,35 @@ public interface UserRepository extends JpaRepository<PiUser, Long> {
 
     List<PiUser> findAllByUserProvenance(UserProvenances userProvenances);
 
+    @Query("SELECT u FROM PiUser u WHERE LOWER(u.email) LIKE LOWER(:email) AND u.userProvenance IN :provenances "
+        + "AND u.roles IN :roles AND u.provenanceUserId LIKE :provenanceUserId")
     Page<PiUser> findAllByEmailLikeIgnoreCaseAndUserProvenanceInAndRolesInAndProvenanceUserIdLike(
-        String email,
-        List<UserProvenances> provenance,
-        List<Roles> roles,
-        String provenanceUserId,
+        @Param("email") String email,
+        @Param("provenances") List<UserProvenances> provenance,
+        @Param("roles") List<Roles> roles,
+        @Param("provenanceUserId") String provenanceUserId,
         Pageable pageable);
 
     @Query(value = "SELECT * FROM pi_user WHERE CAST(user_id AS TEXT) = :userId", nativeQuery = true)
     Page<PiUser> findByUserIdPageable(@Param("userId") String userId, Pageable pageable);
 
+    @Query("SELECT u FROM PiUser u WHERE LOWER(u.email) LIKE LOWER(:email) AND u.userProvenance IN :provenances "
+        + "AND u.roles IN :roles AND u.provenanceUserId LIKE :provenanceUserId AND u.userId > :afterUserId "
+        + "ORDER BY u.userId")
+    Slice<PiUser> findAccountsAfter(@Param("email") String email,
+                                    @Param("provenances") List<UserProvenances> provenances,
+                                    @Param("roles") List<Roles> roles,
+                                    @Param("provenanceUserId") String provenanceUserId,
+                                    @Param("afterUserId") UUID afterUserId,
+                                    Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM PiUser u WHERE LOWER(u.email) LIKE LOWER(:email) "
+        + "AND u.userProvenance IN :provenances AND u.roles IN :roles AND u.provenanceUserId LIKE :provenanceUserId")
+    long countAccounts(@Param("email") String email,
+                       @Param("provenances") List<UserProvenances> provenances,
+                       @Param("roles") List<Roles> roles,
+                       @Param("provenanceUserId") String provenanceUserId);
+
     @Modifying
     @Transactional
     @Query(value = "REFRESH MATERIALIZED VIEW sdp_mat_view_pi_user", nativeQuery = true)
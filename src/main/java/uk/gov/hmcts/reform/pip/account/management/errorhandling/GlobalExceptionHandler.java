@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.pip.account.management.errorhandling;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -132,6 +133,19 @@ public class GlobalExceptionHandler {
             .body(generateExceptionResponse(ex.getMessage()));
     }
 
+    /**
+     * Exception handler that handles subscription notifications rejected as the notification pool is full,
+     * and returns a 429 too many requests error code so the caller can retry later.
+     * @param ex The exception that has been thrown.
+     * @return The error response, modelled using the ExceptionResponse object.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ExceptionResponse> handle(TaskRejectedException ex) {
+        log.error(writeLog("429, Subscription notification pool is full"));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .body(generateExceptionResponse(ex.getMessage()));
+    }
+
     private ExceptionResponse generateExceptionResponse(String message) {
         ExceptionResponse exceptionResponse = new ExceptionResponse();
         exceptionResponse.setMessage(message);
@@ -0,0 +1,16 @@
+package uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a call to another service times out, or is not made as the service is failing or busy.
+ */
+public class OutboundCallException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -2178365027364820194L;
+
+    public OutboundCallException(String message) {
+        super(message);
+    }
+}
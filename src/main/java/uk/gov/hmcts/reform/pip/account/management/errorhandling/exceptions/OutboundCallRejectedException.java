@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a call to another service is rejected without being made, as the circuit breaker for the
+ * endpoint is open or the bulkhead for the service is full.
+ */
+public class OutboundCallRejectedException extends OutboundCallException {
+
+    @Serial
+    private static final long serialVersionUID = 5094361872630458127L;
+
+    public OutboundCallRejectedException(String downstream, String endpoint, String reason) {
+        super(String.format("Call to %s endpoint %s rejected as %s", downstream, endpoint, reason));
+    }
+}
@@ -0,0 +1,93 @@
+package uk.gov.hmcts.reform.pip.account.management.helpers;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Helper class which encodes and decodes the cursors used for keyset pagination. A cursor holds the sort key and ID
+ * of the last row of a page, so the next page can be found by seeking past it rather than skipping an offset. The
+ * cursor is passed to callers as an opaque URL safe token.
+ */
+public final class KeysetCursorHelper {
+    private static final String SEPARATOR = "|";
+    private static final String INVALID_CURSOR = "Invalid cursor supplied";
+
+    private KeysetCursorHelper() {
+        //Private constructor for utility classes.
+    }
+
+    /**
+     * Method which encodes a cursor for a page sorted by ID.
+     * @param id The ID of the last row of the page.
+     * @return The cursor token.
+     */
+    public static String encodeCursor(UUID id) {
+        return encode(id.toString());
+    }
+
+    /**
+     * Method which encodes a cursor for a page sorted by timestamp then ID.
+     * @param timestamp The timestamp of the last row of the page.
+     * @param id The ID of the last row of the page.
+     * @return The cursor token.
+     */
+    public static String encodeCursor(LocalDateTime timestamp, UUID id) {
+        return encode(timestamp + SEPARATOR + id);
+    }
+
+    /**
+     * Method which decodes a cursor for a page sorted by ID.
+     * @param cursor The cursor token.
+     * @return The ID of the last row of the previous page.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    public static UUID decodeIdCursor(String cursor) {
+        return parseUuid(decode(cursor));
+    }
+
+    /**
+     * Method which decodes a cursor for a page sorted by timestamp then ID.
+     * @param cursor The cursor token.
+     * @return The timestamp and ID of the last row of the previous page.
+     * @throws IllegalArgumentException if the cursor is not valid.
+     */
+    public static Pair<LocalDateTime, UUID> decodeTimestampCursor(String cursor) {
+        String decoded = decode(cursor);
+        int separatorIndex = decoded.indexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException(INVALID_CURSOR);
+        }
+
+        try {
+            return Pair.of(LocalDateTime.parse(decoded.substring(0, separatorIndex)),
+                           parseUuid(decoded.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(INVALID_CURSOR, e);
+        }
+    }
+}
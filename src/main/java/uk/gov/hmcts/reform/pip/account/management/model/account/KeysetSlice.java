@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.pip.account.management.model.account;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A page of results found with keyset pagination, along with the cursor to request the next page.
+ *
+ * @param <T> The type of the results.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KeysetSlice<T> {
+
+    /**
+     * The results in the page.
+     */
+    private List<T> content;
+
+    /**
+     * Whether there are more results after this page.
+     */
+    private boolean hasNext;
+
+    /**
+     * The cursor to request the next page with, or null if this is the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * The total number of results matching the filters, across all pages. Only populated when requested.
+     */
+    private Long totalCount;
+}
@@ -0,0 +1,38 @@
+package uk.gov.hmcts.reform.pip.account.management.model.account;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uk.gov.hmcts.reform.pip.model.account.Roles;
+import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
+
+import java.util.UUID;
+
+/**
+ * Compact view of a P&I user, holding only the details needed to notify and authorise subscribers.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PiUserSummary {
+
+    /**
+     * The ID of the user as they exist in P&I.
+     */
+    private UUID userId;
+
+    /**
+     * The email of the user.
+     */
+    private String email;
+
+    /**
+     * The role of the user.
+     */
+    private Roles roles;
+
+    /**
+     * The sign in entry system the user was added with.
+     */
+    private UserProvenances userProvenance;
+}
@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.pip.account.management.model.account;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uk.gov.hmcts.reform.pip.model.publication.ListType;
+import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request to check which publications users can see, in one call. Either many users are checked against one
+ * publication, by supplying the user IDs with the list type and sensitivity, or one user is checked against many
+ * publications, by supplying the user ID with the publications.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PublicationAuthorisationRequest {
+    /**
+     * The most users, or publications, which can be checked in one call, so that one call cannot load an unbounded
+     * number of users.
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * The IDs of the users to check against one publication.
+     */
+    @Size(max = MAX_BATCH_SIZE, message = "at most " + MAX_BATCH_SIZE + " userIds can be checked in one call")
+    private List<UUID> userIds;
+
+    /**
+     * The list type of the publication the users are checked against.
+     */
+    private ListType listType;
+
+    /**
+     * The sensitivity of the publication the users are checked against.
+     */
+    private Sensitivity sensitivity;
+
+    /**
+     * The ID of the user to check against many publications.
+     */
+    private UUID userId;
+
+    /**
+     * The publications the user is checked against.
+     */
+    @Size(max = MAX_BATCH_SIZE, message = "at most " + MAX_BATCH_SIZE + " publications can be checked in one call")
+    private List<@Valid PublicationClassification> publications;
+}
@@ -0,0 +1,32 @@
+package uk.gov.hmcts.reform.pip.account.management.model.account;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uk.gov.hmcts.reform.pip.model.publication.ListType;
+import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The outcome of a {@link PublicationAuthorisationRequest}. Only the field matching the form of the request is
+ * populated.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PublicationAuthorisationResponse {
+
+    /**
+     * Whether each user can see the publication, keyed by user ID. Users which could not be found cannot see it.
+     */
+    private Map<UUID, Boolean> users;
+
+    /**
+     * Whether the user can see each publication, keyed by list type and then sensitivity.
+     */
+    private Map<ListType, Map<Sensitivity, Boolean>> publications;
+}
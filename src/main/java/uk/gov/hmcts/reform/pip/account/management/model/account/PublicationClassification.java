@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.pip.account.management.model.account;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import uk.gov.hmcts.reform.pip.model.publication.ListType;
+import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
+
+/**
+ * The list type and sensitivity of a publication, which together decide who can see it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PublicationClassification {
+
+    /**
+     * The list type of the publication.
+     */
+    @NotNull
+    private ListType listType;
+
+    /**
+     * The sensitivity of the publication.
+     */
+    @NotNull
+    private Sensitivity sensitivity;
+}
@@ -0,0 +1,23 @@
+package uk.gov.hmcts.reform.pip.account.management.model.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The details needed to send a media application rejection email from the outbound notification outbox. The
+ * applicant details are copied, as the application may have been deleted by the time the email is sent.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaRejectionEmail {
+    private UUID applicantId;
+    private String fullName;
+    private String email;
+    private Map<String, List<String>> reasons;
+}
@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.pip.account.management.model.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The details needed to send a media account welcome email from the outbound notification outbox.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaWelcomeEmail {
+    private String email;
+    private String fullName;
+    private boolean existing;
+}
@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.pip.account.management.model.notification;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A notification waiting to be sent to publication services. Notifications are written in the same transaction as
+ * the change which caused them, and are removed once they have been sent.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "outbound_notification")
+public class OutboundNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(columnDefinition = "uuid", insertable = false, updatable = false, nullable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    private OutboundNotificationType notificationType;
+
+    /**
+     * The JSON body of the notification.
+     */
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    private OutboundNotificationStatus status = OutboundNotificationStatus.PENDING;
+
+    private int attempts;
+
+    /**
+     * When the notification can next be sent. This is also moved forward while a dispatcher is sending the
+     * notification, so that it is not picked up by another instance at the same time.
+     */
+    private LocalDateTime nextAttemptDate;
+
+    @Column(columnDefinition = "text")
+    private String lastError;
+
+    private LocalDateTime createdDate = LocalDateTime.now();
+
+    private LocalDateTime lastUpdatedDate;
+
+    public OutboundNotification(OutboundNotificationType notificationType, String payload) {
+        this.notificationType = notificationType;
+        this.payload = payload;
+        this.nextAttemptDate = createdDate;
+    }
+}
@@ -0,0 +1,13 @@
+package uk.gov.hmcts.reform.pip.account.management.model.notification;
+
+public enum OutboundNotificationStatus {
+    /**
+     * The notification is waiting to be sent, or to be retried.
+     */
+    PENDING,
+
+    /**
+     * The notification failed to send on every attempt, and will not be retried unless it is replayed.
+     */
+    DEAD_LETTER
+}
@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.pip.account.management.model.notification;
+
+/**
+ * The types of notification which are sent to publication services through the outbound notification outbox.
+ */
+public enum OutboundNotificationType {
+    SUBSCRIPTION_SUMMARY,
+    MEDIA_WELCOME_EMAIL,
+    MEDIA_REJECTION_EMAIL,
+    THIRD_PARTY_SUBSCRIPTION
+}
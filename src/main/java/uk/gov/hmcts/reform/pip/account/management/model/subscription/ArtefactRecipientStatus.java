@@ -0,0 +1,26 @@
+package uk.gov.hmcts.reform.pip.account.management.model.subscription;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * The outcome of the subscriber request for a single publication in a batch.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArtefactRecipientStatus {
+
+    /**
+     * The ID of the publication.
+     */
+    private UUID artefactId;
+
+    /**
+     * Whether the subscribers for the publication have been resolved and the subscription summary sent.
+     */
+    private RecipientRequestStatus status;
+}
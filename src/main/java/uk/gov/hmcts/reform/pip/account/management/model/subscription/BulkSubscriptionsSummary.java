@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.pip.account.management.model.subscription;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
 import java.util.ArrayList;
@@ -11,6 +12,13 @@ public class BulkSubscriptionsSummary {
 
     private UUID artefactId;
 
+    /**
+     * The position of this summary when the subscribers of a publication are sent in chunks, which allows
+     * publication services to ignore a chunk it has already received. Not sent when the summary is not chunked.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer chunkSequence;
+
     List<SubscriptionsSummary> subscriptionEmails = new ArrayList<>();
 
     public void addSubscriptionEmail(SubscriptionsSummary subscriptionsSummary) {
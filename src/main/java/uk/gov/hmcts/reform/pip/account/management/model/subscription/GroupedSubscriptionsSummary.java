@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.pip.account.management.model.subscription;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact form of a {@link BulkSubscriptionsSummary}, where each distinct set of subscription details is sent once
+ * with the emails which share it. Subscribers to a location usually have identical details, so this is much smaller
+ * than sending the details for each email.
+ */
+@Data
+public class GroupedSubscriptionsSummary {
+
+    private UUID artefactId;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer chunkSequence;
+
+    private List<SubscriptionsSummaryGroup> subscriptionGroups = new ArrayList<>();
+
+    /**
+     * Group the emails in a bulk subscriptions summary by their subscription details. Groups are in the order their
+     * details first appear, and emails keep their original order within each group.
+     *
+     * @param bulkSubscriptionsSummary The summary to group.
+     * @return The grouped summary.
+     */
+    public static GroupedSubscriptionsSummary from(BulkSubscriptionsSummary bulkSubscriptionsSummary) {
+        Map<SubscriptionsSummaryDetails, SubscriptionsSummaryGroup> groups = new LinkedHashMap<>();
+        bulkSubscriptionsSummary.getSubscriptionEmails().forEach(summary -> groups.computeIfAbsent(
+            summary.getSubscriptions(), details -> new SubscriptionsSummaryGroup(new ArrayList<>(), details)
+        ).getEmails().add(summary.getEmail()));
+
+        GroupedSubscriptionsSummary groupedSummary = new GroupedSubscriptionsSummary();
+        groupedSummary.setArtefactId(bulkSubscriptionsSummary.getArtefactId());
+        groupedSummary.setChunkSequence(bulkSubscriptionsSummary.getChunkSequence());
+        groupedSummary.setSubscriptionGroups(new ArrayList<>(groups.values()));
+        return groupedSummary;
+    }
+}
@@ -0,0 +1,9 @@
+package uk.gov.hmcts.reform.pip.account.management.model.subscription;
+
+/**
+ * Enum representing the outcome of a subscriber request for a publication in a batch.
+ */
+public enum RecipientRequestStatus {
+    ACCEPTED,
+    FAILED
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.pip.account.management.model.subscription;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of subscription details, alongside every email which shares it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubscriptionsSummaryGroup {
+    private List<String> emails = new ArrayList<>();
+    private SubscriptionsSummaryDetails subscriptions;
+}
@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.pip.account.management.model.thirdparty;
+
+import uk.gov.hmcts.reform.pip.model.publication.ListType;
+import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyOauthConfiguration;
+
+import java.util.UUID;
+
+/**
+ * A third-party subscriber to a publication, resolved with its user and OAuth configuration in a single query.
+ *
+ * @param userId The ID of the user who owns the subscription.
+ * @param listType The list type subscribed to.
+ * @param sensitivity The sensitivity subscribed to.
+ * @param userStatus The status of the user, or null if the user does not exist.
+ * @param oauthConfiguration The OAuth configuration of the user, or null if the user has none.
+ */
+public record ApiSubscriberConfiguration(UUID userId, ListType listType, Sensitivity sensitivity,
+                                         ApiUserStatus userStatus, ThirdPartyOauthConfiguration oauthConfiguration) {
+
+    /**
+     * Constructor used by the query projection, where the configuration columns are all null if the user has no
+     * OAuth configuration.
+     */
+    @SuppressWarnings("java:S107")
+    public ApiSubscriberConfiguration(UUID userId, ListType listType, Sensitivity sensitivity,
+                                      ApiUserStatus userStatus, UUID configurationUserId, String destinationUrl,
+                                      String tokenUrl, String clientIdKey, String clientSecretKey, String scopeKey) {
+        this(userId, listType, sensitivity, userStatus, configurationUserId == null ? null : buildOauthConfiguration(
+            configurationUserId, destinationUrl, tokenUrl, clientIdKey, clientSecretKey, scopeKey
+        ));
+    }
+
+    private static ThirdPartyOauthConfiguration buildOauthConfiguration(UUID userId, String destinationUrl,
+                                                                        String tokenUrl, String clientIdKey,
+                                                                        String clientSecretKey, String scopeKey) {
+        ThirdPartyOauthConfiguration oauthConfiguration = new ThirdPartyOauthConfiguration();
+        oauthConfiguration.setUserId(userId);
+        oauthConfiguration.setDestinationUrl(destinationUrl);
+        oauthConfiguration.setTokenUrl(tokenUrl);
+        oauthConfiguration.setClientIdKey(clientIdKey);
+        oauthConfiguration.setClientSecretKey(clientSecretKey);
+        oauthConfiguration.setScopeKey(scopeKey);
+        return oauthConfiguration;
+    }
+}
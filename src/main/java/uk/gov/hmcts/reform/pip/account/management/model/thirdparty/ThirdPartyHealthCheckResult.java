@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.pip.account.management.model.thirdparty;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * The outcome of the health check for a single third-party user in a bulk health check.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ThirdPartyHealthCheckResult {
+
+    /**
+     * The ID of the third-party user.
+     */
+    private UUID userId;
+
+    /**
+     * Whether the health check succeeded.
+     */
+    private boolean healthy;
+
+    /**
+     * How long the health check took in milliseconds, or null if it was not sent.
+     */
+    private Long latencyMillis;
+
+    /**
+     * The reason the health check failed, or null if it succeeded.
+     */
+    private String errorMessage;
+}
@@ -2,12 +2,17 @@ package uk.gov.hmcts.reform.pip.account.management.service;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.pip.account.management.database.AuditRepository;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.NotFoundException;
+import uk.gov.hmcts.reform.pip.account.management.helpers.KeysetCursorHelper;
 import uk.gov.hmcts.reform.pip.account.management.model.account.AuditLog;
+import uk.gov.hmcts.reform.pip.account.management.model.account.KeysetSlice;
 import uk.gov.hmcts.reform.pip.model.enums.AuditAction;
 
 import java.time.LocalDate;
@@ -27,6 +32,8 @@ import java.util.UUID;
 @AllArgsConstructor
 public class AuditService {
     private static final String AUDIT_LOG_NOT_FOUND = "Audit log with id %s could not be found";
+    private static final LocalDateTime EARLIEST_TIMESTAMP = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 0, 0);
 
     private final AuditRepository auditRepository;
 
@@ -74,6 +81,56 @@ public class AuditService {
                 pageable);
     }
 
+    /**
+     * Get a page of audit logs in descending order on timestamp, using keyset pagination. Each page seeks past the
+     * timestamp and ID of the last audit log of the previous page, so the time taken does not grow with how deep
+     * the page is.
+     *
+     * @param pageSize The number of audit logs in the page.
+     * @param cursor The cursor returned with the previous page, or blank for the first page.
+     * @param includeCount Whether to count the total number of audit logs matching the filters.
+     * @return Returns the audit logs in a slice, along with the cursor for the next page.
+     */
+    public KeysetSlice<AuditLog> getAllAuditLogsKeyset(int pageSize, String cursor, boolean includeCount,
+                                                       String email, String userId, List<AuditAction> auditActions,
+                                                       String filterDate) {
+        String emailToQuery = "%" + email + "%";
+        String userIdToQuery = userId.isBlank() ? "%%" : userId;
+        List<AuditAction> auditActionsToQuery = auditActions.isEmpty()
+            ? new ArrayList<>(EnumSet.allOf(AuditAction.class))
+            : auditActions;
+
+        LocalDateTime filterStartDate = EARLIEST_TIMESTAMP;
+        LocalDateTime filterEndDate = LATEST_TIMESTAMP;
+        if (!filterDate.isBlank()) {
+            LocalDate date = LocalDate.parse(filterDate, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+            filterStartDate = date.atStartOfDay();
+            filterEndDate = date.plusDays(1).atStartOfDay();
+        }
+
+        // The first page starts from the end of the date range. No audit log has the nil ID, so comparing against
+        // it only finds the audit logs before the end of the range.
+        Pair<LocalDateTime, UUID> before = cursor.isBlank()
+            ? Pair.of(filterEndDate, new UUID(0, 0))
+            : KeysetCursorHelper.decodeTimestampCursor(cursor);
+
+        Slice<AuditLog> auditLogs = auditRepository.findAuditLogsBefore(
+            emailToQuery, userIdToQuery, auditActionsToQuery, filterStartDate, before.getLeft(), before.getRight(),
+            PageRequest.of(0, pageSize)
+        );
+
+        String nextCursor = null;
+        if (auditLogs.hasNext()) {
+            AuditLog lastAuditLog = auditLogs.getContent().getLast();
+            nextCursor = KeysetCursorHelper.encodeCursor(lastAuditLog.getTimestamp(), lastAuditLog.getId());
+        }
+        Long totalCount = includeCount
+            ? auditRepository.countAuditLogs(emailToQuery, userIdToQuery, auditActionsToQuery, filterStartDate,
+                                             filterEndDate)
+            : null;
+        return new KeysetSlice<>(auditLogs.getContent(), auditLogs.hasNext(), nextCursor, totalCount);
+    }
+
     public AuditLog getAuditLogById(UUID id) {
         return auditRepository.findById(id)
             .orElseThrow(() -> new NotFoundException(String.format(AUDIT_LOG_NOT_FOUND, id)));
@@ -5,12 +5,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import uk.gov.hmcts.reform.pip.account.management.database.AzureBlobService;
 import uk.gov.hmcts.reform.pip.account.management.database.MediaApplicationRepository;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.NotFoundException;
 import uk.gov.hmcts.reform.pip.account.management.model.MediaApplication;
 import uk.gov.hmcts.reform.pip.account.management.model.MediaApplicationStatus;
+import uk.gov.hmcts.reform.pip.account.management.service.notification.OutboundNotificationService;
 import uk.gov.hmcts.reform.pip.model.enums.UserActions;
 
 import java.time.LocalDateTime;
@@ -31,16 +33,22 @@ public class MediaApplicationService {
 
     private final AzureBlobService azureBlobService;
     private final PublicationService publicationService;
+    private final OutboundNotificationService outboundNotificationService;
+    private final TransactionTemplate transactionTemplate;
 
     private static final String APPLICATION_NOT_FOUND = "Application with id %s could not be found";
 
     @Autowired
     public MediaApplicationService(MediaApplicationRepository mediaApplicationRepository,
                                    AzureBlobService azureBlobService,
-                                   PublicationService publicationService) {
+                                   PublicationService publicationService,
+                                   OutboundNotificationService outboundNotificationService,
+                                   TransactionTemplate transactionTemplate) {
         this.mediaApplicationRepository = mediaApplicationRepository;
         this.azureBlobService = azureBlobService;
         this.publicationService = publicationService;
+        this.outboundNotificationService = outboundNotificationService;
+        this.transactionTemplate = transactionTemplate;
     }
 
     /**
@@ -141,28 +149,46 @@ public class MediaApplicationService {
         return mediaApplicationRepository.save(applicationToUpdate);
     }
 
+    /**
+     * Update an application, sending the rejection email to the applicant if it has been rejected. When the outbox
+     * is enabled, the rejection email is queued in the same transaction as the status change. The transaction is
+     * committed before the email is sent directly, or the image is deleted, so that it is not held open during
+     * either remote call.
+     *
+     * @param id      The id of the application to update
+     * @param status  The status to update the application with
+     * @param reasons The reasons the application was rejected
+     * @return The updated application
+     */
     public MediaApplication updateApplication(UUID id, MediaApplicationStatus status,
                                               Map<String, List<String>> reasons) {
-        MediaApplication applicationToUpdate = mediaApplicationRepository
-                .findById(id).orElseThrow(() -> new NotFoundException(
-                        String.format(
-                                APPLICATION_NOT_FOUND,
-                                id
-                        )));
-        if (REJECTED.equals(status)) {
-            sendMediaApplicationRejectionEmail(id, reasons);
-        }
+        boolean rejected = REJECTED.equals(status);
+        boolean queueRejectionEmail = rejected && outboundNotificationService.isEnabled();
 
-        log.info(writeLog(UserActions.UPDATE_MEDIA_APPLICATION, applicationToUpdate.getId().toString()));
+        MediaApplication updatedApplication = transactionTemplate.execute(transactionStatus -> {
+            MediaApplication applicationToUpdate = mediaApplicationRepository
+                .findById(id).orElseThrow(() -> new NotFoundException(String.format(APPLICATION_NOT_FOUND, id)));
 
-        applicationToUpdate.setStatus(status);
-        applicationToUpdate.setStatusDate(LocalDateTime.now());
+            log.info(writeLog(UserActions.UPDATE_MEDIA_APPLICATION, applicationToUpdate.getId().toString()));
 
-        if (APPROVED.equals(status) || REJECTED.equals(status)) {
-            azureBlobService.deleteBlob(applicationToUpdate.getImage());
+            applicationToUpdate.setStatus(status);
+            applicationToUpdate.setStatusDate(LocalDateTime.now());
+            MediaApplication savedApplication = mediaApplicationRepository.save(applicationToUpdate);
+
+            if (queueRejectionEmail) {
+                outboundNotificationService.sendMediaAccountRejectionEmail(savedApplication, reasons);
+            }
+            return savedApplication;
+        });
+
+        if (rejected && !queueRejectionEmail) {
+            outboundNotificationService.sendMediaAccountRejectionEmail(updatedApplication, reasons);
         }
 
-        return mediaApplicationRepository.save(applicationToUpdate);
+        if (APPROVED.equals(status) || rejected) {
+            azureBlobService.deleteBlob(updatedApplication.getImage());
+        }
+        return updatedApplication;
     }
 
     /**
@@ -199,14 +225,6 @@ public class MediaApplicationService {
                              applicationsToDelete.size(), prefix);
     }
 
-    /**
-     * Send rejection email for a given applicant.
-     */
-    private void sendMediaApplicationRejectionEmail(UUID id, Map<String, List<String>> rejectionReasons) {
-        MediaApplication mediaApplication = this.getApplicationById(id);
-        publicationService.sendMediaAccountRejectionEmail(mediaApplication, rejectionReasons);
-    }
-
     /**
      * Collate media applications and send them for reporting.
      */
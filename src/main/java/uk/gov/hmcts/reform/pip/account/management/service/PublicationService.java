@@ -1,9 +1,6 @@
 package uk.gov.hmcts.reform.pip.account.management.service;
 
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import net.minidev.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,43 +10,38 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
-import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.ThirdPartyHealthCheckException;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.OutboundCallException;
 import uk.gov.hmcts.reform.pip.account.management.model.MediaApplication;
-import uk.gov.hmcts.reform.pip.account.management.model.subscription.BulkSubscriptionsSummary;
-import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
-import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionsSummary;
-import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionsSummaryDetails;
+import uk.gov.hmcts.reform.pip.account.management.service.resilience.OutboundResilience;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
-import uk.gov.hmcts.reform.pip.model.subscription.LegacyThirdPartySubscription;
-import uk.gov.hmcts.reform.pip.model.subscription.LegacyThirdPartySubscriptionArtefact;
 import uk.gov.hmcts.reform.pip.model.subscription.LocationSubscriptionDeletion;
 import uk.gov.hmcts.reform.pip.model.system.admin.ActionResult;
 import uk.gov.hmcts.reform.pip.model.system.admin.DeleteLocationSubscriptionAction;
 import uk.gov.hmcts.reform.pip.model.system.admin.SystemAdminAction;
-import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartySubscription;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
 
 /**
  * Service to communicate with publication-services microservice and send appropriate emails via govnotify on the
  * creation of a new administrator account.
+ *
+ * <p>Each request is made through the {@link OutboundResilience} layer and times out after the configured duration,
+ * so that a slow or failing publication services can't tie up the calling threads.</p>
  */
 @Slf4j
 @Service
 public class PublicationService {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-
     private static final String WELCOME_EMAIL_URL = "/notify/welcome-email";
-    private static final String NOTIFY_SUBSCRIPTION_PATH = "notify/subscription";
-    private static final String NOTIFY_API_PATH = "notify/api";
-    private static final String NOTIFY_LOCATION_SUBSCRIPTION_PATH = "notify/location-subscription-delete";
-    private static final String THIRD_PARTY_PATH = "/third-party";
+    private static final String NOTIFY_LOCATION_SUBSCRIPTION_PATH = "/notify/location-subscription-delete";
+    private static final String SYSTEM_ADMIN_UPDATE_PATH = "/notify/sysadmin/update";
 
     private static final String EMAIL = "email";
     private static final String FULL_NAME = "fullName";
@@ -57,13 +49,18 @@ public class PublicationService {
     private static final String LAST_SIGNED_IN_DATE = "lastSignedInDate";
 
     private final WebClient webClient;
+    private final OutboundResilience outboundResilience;
+    private final Duration timeout;
 
     @Value("${service-to-service.publication-services}")
     private String url;
 
     @Autowired
-    public PublicationService(WebClient webClient) {
+    public PublicationService(WebClient webClient, OutboundResilience outboundResilience,
+                              @Value("${publication-services.timeout}") Duration timeout) {
         this.webClient = webClient;
+        this.outboundResilience = outboundResilience;
+        this.timeout = timeout;
     }
 
     /**
@@ -71,8 +68,9 @@ public class PublicationService {
      *
      * @param mediaApplication - MediaApplication object containing applicant details
      * @param reasons          - reasons for rejection
+     * @return true if the email was sent, otherwise false
      */
-    public void sendMediaAccountRejectionEmail(MediaApplication mediaApplication,
+    public boolean sendMediaAccountRejectionEmail(MediaApplication mediaApplication,
                                                   Map<String, List<String>> reasons) {
         JSONObject jsonObject = new JSONObject();
         jsonObject.put("applicantId", mediaApplication.getId().toString());
@@ -80,14 +78,13 @@ public class PublicationService {
         jsonObject.put(EMAIL, mediaApplication.getEmail());
         jsonObject.put("reasons", reasons);
         try {
-            webClient.post().uri(url + "/notify/media/reject")
-                .body(BodyInserters.fromValue(jsonObject)).retrieve()
-                .bodyToMono(String.class)
-                .block();
-        } catch (WebClientException ex) {
+            post("/notify/media/reject", jsonObject, String.class);
+            return true;
+        } catch (WebClientException | OutboundCallException ex) {
             log.error(writeLog(
                 String.format("Media account rejection email failed to send with error: %s", ex.getMessage())
             ));
+            return false;
         }
     }
 
@@ -96,12 +93,9 @@ public class PublicationService {
         jsonObject.put(EMAIL, emailAddress);
         jsonObject.put(FULL_NAME, fullName);
         try {
-            webClient.post().uri(url + "/notify/duplicate/media")
-                .body(BodyInserters.fromValue(jsonObject)).retrieve()
-                .bodyToMono(String.class)
-                .block();
+            post("/notify/duplicate/media", jsonObject, String.class);
             return true;
-        } catch (WebClientException ex) {
+        } catch (WebClientException | OutboundCallException ex) {
             log.error(writeLog(
                 String.format("Duplicate media account email failed to send with error: %s", ex.getMessage())
             ));
@@ -123,13 +117,9 @@ public class PublicationService {
         body.put(FULL_NAME, fullName);
         body.put("isExisting", isExisting);
         try {
-            webClient.post().uri(url + WELCOME_EMAIL_URL)
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+            post(WELCOME_EMAIL_URL, body, String.class);
             return true;
-        } catch (WebClientResponseException ex) {
+        } catch (WebClientResponseException | OutboundCallException ex) {
             log.error(writeLog(
                 String.format("Media account welcome email failed to send with error: %s", ex.getMessage())
             ));
@@ -143,11 +133,8 @@ public class PublicationService {
      */
     public void sendMediaApplicationReportingEmail(List<MediaApplication> mediaApplicationList) {
         try {
-            webClient.post().uri(url + "/notify/media/report")
-                .body(BodyInserters.fromValue(mediaApplicationList)).retrieve()
-                .bodyToMono(String.class)
-                .block();
-        } catch (WebClientException ex) {
+            post("/notify/media/report", mediaApplicationList, String.class);
+        } catch (WebClientException | OutboundCallException ex) {
             log.error(writeLog(
                 String.format("Media application reporting email failed to send with error: %s", ex.getMessage())
             ));
@@ -164,11 +151,8 @@ public class PublicationService {
             JSONObject body = new JSONObject();
             body.put(EMAIL, emailAddress);
             body.put(FULL_NAME, fullName);
-            webClient.post().uri(url + "/notify/media/verification")
-                .body(BodyInserters.fromValue(body)).retrieve()
-                .bodyToMono(String.class)
-                .block();
-        } catch (WebClientException ex) {
+            post("/notify/media/verification", body, String.class);
+        } catch (WebClientException | OutboundCallException ex) {
             log.error(writeLog(
                 String.format("Media account verification email failed to send with error: %s", ex.getMessage())
             ));
@@ -183,11 +167,8 @@ public class PublicationService {
             body.put(FULL_NAME, fullName);
             body.put(USER_PROVENANCE, userProvenances.toString());
             body.put(LAST_SIGNED_IN_DATE, lastSignedInDate);
-            webClient.post().uri(url + "/notify/user/sign-in")
-                .body(BodyInserters.fromValue(body)).retrieve()
-                .bodyToMono(String.class)
-                .block();
-        } catch (WebClientException ex) {
+            post("/notify/user/sign-in", body, String.class);
+        } catch (WebClientException | OutboundCallException ex) {
             log.error(writeLog(
                 String.format("Inactive user sign-in notification email failed to send with error: %s",
                               ex.getMessage())
@@ -201,88 +182,20 @@ public class PublicationService {
      */
     public void sendSystemAdminAccountAction(SystemAdminAction systemAdminAction) {
         try {
-            webClient.post().uri(url + "/notify/sysadmin/update")
-                .body(BodyInserters.fromValue(systemAdminAction)).retrieve()
-                .bodyToMono(String.class).block();
-        } catch (WebClientException ex) {
+            post(SYSTEM_ADMIN_UPDATE_PATH, systemAdminAction, String.class);
+        } catch (WebClientException | OutboundCallException ex) {
             log.error(writeLog(
                 String.format("Publishing of system admin account action failed with error: %s", ex.getMessage())
             ));
         }
     }
 
-    public void postSubscriptionSummaries(UUID artefactId, Map<String, List<Subscription>> subscriptions) {
-        BulkSubscriptionsSummary payload = formatSubscriptionsSummary(artefactId, subscriptions);
-        try {
-            webClient.post().uri(url + "/" + NOTIFY_SUBSCRIPTION_PATH)
-                .body(BodyInserters.fromValue(payload)).retrieve()
-                .bodyToMono(Void.class)
-                .block();
-
-        } catch (WebClientException ex) {
-            log.error(writeLog(
-                String.format("Subscription email failed to send with error: %s", ex.getMessage())
-            ));
-        }
-    }
-
-    public void legacySendThirdPartyList(LegacyThirdPartySubscription subscriptions) {
-        try {
-            webClient.post().uri(url + "/" + NOTIFY_API_PATH)
-                .bodyValue(subscriptions).retrieve()
-                .bodyToMono(Void.class)
-                .block();
-        } catch (WebClientResponseException ex) {
-            log.error(writeLog(
-                String.format("Publication to third party failed to send with error: %s",
-                              ex.getResponseBodyAsString())
-            ));
-        }
-    }
-
-    public void legacySendEmptyArtefact(LegacyThirdPartySubscriptionArtefact subscriptionArtefact) {
-        try {
-            webClient.put().uri(url + "/" + NOTIFY_API_PATH)
-                .bodyValue(subscriptionArtefact).retrieve()
-                .bodyToMono(Void.class)
-                .block();
-        } catch (WebClientResponseException ex) {
-            log.error(writeLog(
-                String.format("Deleted artefact notification to third party failed to send with error: %s",
-                              ex.getResponseBodyAsString())
-            ));
-        }
-    }
-
-    public void sendThirdPartySubscription(ThirdPartySubscription thirdPartySubscription, boolean isHealthCheck) {
-        try {
-            webClient.post().uri(url + THIRD_PARTY_PATH)
-                .bodyValue(thirdPartySubscription)
-                .retrieve()
-                .bodyToMono(Void.class)
-                .block();
-        } catch (WebClientResponseException ex) {
-            if (isHealthCheck) {
-                String errorMessage = processWebClientErrorMessage(ex);
-                throw new ThirdPartyHealthCheckException(errorMessage);
-            }
-
-            log.error(writeLog(
-                String.format("Third party subscriptions failed to send with error: %s",
-                              ex.getResponseBodyAsString())
-            ));
-        }
-    }
-
     public void sendLocationDeletionSubscriptionEmail(List<String> emails, String locationId) {
         LocationSubscriptionDeletion payload = formatLocationSubscriptionDeletion(emails, locationId);
         try {
-            webClient.post().uri(url + "/" + NOTIFY_LOCATION_SUBSCRIPTION_PATH)
-                .body(BodyInserters.fromValue(payload)).retrieve()
-                .bodyToMono(Void.class)
-                .block();
+            post(NOTIFY_LOCATION_SUBSCRIPTION_PATH, payload, Void.class);
 
-        } catch (WebClientException ex) {
+        } catch (WebClientException | OutboundCallException ex) {
             log.error(writeLog(
                 String.format("Location deletion notification email failed to send with error: %s",
                               ex.getMessage())
@@ -295,12 +208,9 @@ public class PublicationService {
         DeleteLocationSubscriptionAction payload =
             formatSystemAdminAction(emails, requesterEmail, actionResult, additionalDetails);
         try {
-            webClient.post().uri(url + "/notify/sysadmin/update")
-                .body(BodyInserters.fromValue(payload))
-                .retrieve().bodyToMono(String.class)
-                .block();
+            post(SYSTEM_ADMIN_UPDATE_PATH, payload, String.class);
 
-        } catch (WebClientException ex) {
+        } catch (WebClientException | OutboundCallException ex) {
             log.error(writeLog(
                 String.format("System admin notification email failed to send with error: %s",
                               ex.getMessage())
@@ -308,6 +218,31 @@ public class PublicationService {
         }
     }
 
+    /**
+     * Post a request to publication services. The requests are not idempotent, as each one sends an email, so they
+     * are only retried if the connection could not be made.
+     */
+    private <T> T post(String path, Object body, Class<T> responseType) {
+        return outboundResilience.execute(
+            OutboundResilience.PUBLICATION_SERVICES, path, false, PublicationService::isServiceFailure,
+            () -> webClient.post().uri(url + path)
+                .body(BodyInserters.fromValue(body)).retrieve()
+                .bodyToMono(responseType)
+                .timeout(timeout, Mono.error(() -> new OutboundCallException(
+                    String.format("Request to publication services timed out after %s ms", timeout.toMillis())
+                )))
+                .block()
+        );
+    }
+
+    private static boolean isServiceFailure(Throwable ex) {
+        if (ex instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                || HttpStatus.TOO_MANY_REQUESTS.equals(responseException.getStatusCode());
+        }
+        return ex instanceof WebClientRequestException || ex instanceof OutboundCallException;
+    }
+
     private DeleteLocationSubscriptionAction formatSystemAdminAction(List<String> emails, String requesterEmail,
                                                                      ActionResult actionResult,
                                                                      String additionalDetails) {
@@ -319,42 +254,6 @@ public class PublicationService {
         return systemAdminAction;
     }
 
-    /**
-     * Process data to form a subscriptions summary model which can be sent to publication services.
-     *
-     * @param artefactId The artefact id associated with the list of subscriptions
-     * @param subscriptions A map containing each email which matches the criteria, alongside the subscriptions.
-     * @return A subscriptions summary model
-     */
-    private BulkSubscriptionsSummary formatSubscriptionsSummary(UUID artefactId,
-                                                                Map<String, List<Subscription>> subscriptions) {
-
-        BulkSubscriptionsSummary bulkSubscriptionsSummary = new BulkSubscriptionsSummary();
-        bulkSubscriptionsSummary.setArtefactId(artefactId);
-
-        subscriptions.forEach((email, listOfSubscriptions) -> {
-            SubscriptionsSummaryDetails subscriptionsSummaryDetails = new SubscriptionsSummaryDetails();
-            listOfSubscriptions.forEach(subscription -> {
-                switch (subscription.getSearchType()) {
-                    case CASE_URN -> subscriptionsSummaryDetails.addToCaseUrn(subscription.getSearchValue());
-                    case CASE_ID -> subscriptionsSummaryDetails.addToCaseNumber(subscription.getSearchValue());
-                    case LOCATION_ID -> subscriptionsSummaryDetails.addToLocationId(subscription.getSearchValue());
-                    default -> log.error(writeLog(
-                        String.format("Search type was not one of allowed options: %s", subscription.getSearchType())
-                    ));
-                }
-            });
-
-            SubscriptionsSummary subscriptionsSummary = new SubscriptionsSummary();
-            subscriptionsSummary.setEmail(email);
-            subscriptionsSummary.setSubscriptions(subscriptionsSummaryDetails);
-
-            bulkSubscriptionsSummary.addSubscriptionEmail(subscriptionsSummary);
-        });
-
-        return bulkSubscriptionsSummary;
-    }
-
     private LocationSubscriptionDeletion formatLocationSubscriptionDeletion(
         List<String> emails, String locationId) {
         LocationSubscriptionDeletion locationSubscriptionDeletion = new LocationSubscriptionDeletion();
@@ -362,23 +261,4 @@ public class PublicationService {
         locationSubscriptionDeletion.setSubscriberEmails(emails);
         return locationSubscriptionDeletion;
     }
-
-    private String processWebClientErrorMessage(WebClientResponseException webClientResponseException) {
-        String errorMessage = null;
-        try {
-            if (HttpStatus.INTERNAL_SERVER_ERROR.equals(webClientResponseException.getStatusCode())) {
-                JsonNode node = OBJECT_MAPPER.readTree(webClientResponseException.getResponseBodyAsString());
-                if (node.has("message")) {
-                    errorMessage = node.get("message").asText();
-                }
-            }
-
-            if (errorMessage != null) {
-                return errorMessage;
-            }
-            return webClientResponseException.getMessage();
-        } catch (JsonProcessingException e) {
-            return webClientResponseException.getMessage();
-        }
-    }
 }
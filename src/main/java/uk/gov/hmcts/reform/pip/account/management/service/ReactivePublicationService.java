@@ -0,0 +1,421 @@
+package uk.gov.hmcts.reform.pip.account.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.OutboundCallException;
+import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.OutboundCallRejectedException;
+import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.ThirdPartyHealthCheckException;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.BulkSubscriptionsSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.GroupedSubscriptionsSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionsSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionsSummaryDetails;
+import uk.gov.hmcts.reform.pip.account.management.service.resilience.OutboundResilience;
+import uk.gov.hmcts.reform.pip.model.subscription.LegacyThirdPartySubscription;
+import uk.gov.hmcts.reform.pip.model.subscription.LegacyThirdPartySubscriptionArtefact;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartySubscription;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+
+/**
+ * Non-blocking variant of {@link PublicationService} for the notifications sent to the subscribers of a publication.
+ * Each method returns a {@link Mono} which completes once publication services has responded, so that a single
+ * thread can drive many requests at once.
+ *
+ * <p>The number of requests in flight is limited, and further requests are queued until an earlier one completes.
+ * The queue is also limited, so that the requests and their payloads cannot build up without bound while publication
+ * services is slow, and a request is rejected once the queue is full.
+ * Once a request leaves the queue, it is made through the {@link OutboundResilience} layer, and each attempt is given
+ * a timeout. The in-flight limit may not be more than the bulkhead of the resilience layer, so that requests leaving
+ * the queue only wait for the bulkhead when other calls to publication services are holding its permits. The
+ * requests are not idempotent, so they are only retried if the connection could not be made. Health checks skip the
+ * queue, so they do not wait behind notifications, and have their own circuit breaker, so that a failing third party
+ * does not stop publications being sent.</p>
+ *
+ * <p>Subscription summaries are sent in the standard format unless version 2 of the format is configured. Version 2
+ * sends a {@link GroupedSubscriptionsSummary}, gzip-compressed once it reaches the configured size, with its own
+ * media type. The media type has no {@code +json} suffix, so a version of publication services which does not
+ * support the format rejects it as an unsupported media type, rather than reading it as a standard summary with no
+ * emails. The summaries are then resent in the standard format, which is used until the retry interval has passed
+ * and version 2 is tried again.</p>
+ */
+@Slf4j
+@Service
+public class ReactivePublicationService {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String NOTIFY_SUBSCRIPTION_PATH = "notify/subscription";
+    private static final String NOTIFY_API_PATH = "notify/api";
+    private static final String THIRD_PARTY_PATH = "/third-party";
+    private static final String THIRD_PARTY_HEALTH_CHECK_ENDPOINT = THIRD_PARTY_PATH + "/health-check";
+
+    static final MediaType GROUPED_SUMMARY_MEDIA_TYPE =
+        MediaType.parseMediaType("application/vnd.hmcts.subscription-summary.v2");
+    private static final int GROUPED_SUMMARY_VERSION = 2;
+    private static final String GZIP = "gzip";
+
+    private final WebClient webClient;
+    private final OutboundResilience outboundResilience;
+    private final Duration timeout;
+    private final Sinks.Many<Mono<Void>> requests;
+    private final int summaryVersion;
+    private final long gzipThresholdBytes;
+    private final Duration summaryRetryInterval;
+    private final AtomicReference<Instant> groupedSummariesRejectedUntil = new AtomicReference<>(Instant.MIN);
+
+    @Value("${service-to-service.publication-services}")
+    private String url;
+
+    @Autowired
+    public ReactivePublicationService(
+        WebClient webClient,
+        OutboundResilience outboundResilience,
+        @Value("${publication-services.max-in-flight-requests}") int maxInFlightRequests,
+        @Value("${publication-services.max-queued-requests}") int maxQueuedRequests,
+        @Value("${publication-services.timeout}") Duration timeout,
+        @Value("${publication-services.subscription-summary.version}") int summaryVersion,
+        @Value("${publication-services.subscription-summary.gzip-threshold}") DataSize gzipThreshold,
+        @Value("${publication-services.subscription-summary.retry-interval}") Duration summaryRetryInterval
+    ) {
+        int maxConcurrentCalls = outboundResilience.getMaxConcurrentCalls(OutboundResilience.PUBLICATION_SERVICES);
+        if (maxInFlightRequests > maxConcurrentCalls) {
+            throw new IllegalArgumentException(String.format(
+                "Publication services max in flight requests (%s) must not be more than its bulkhead's max "
+                    + "concurrent calls (%s)", maxInFlightRequests, maxConcurrentCalls
+            ));
+        }
+
+        this.webClient = webClient;
+        this.outboundResilience = outboundResilience;
+        this.timeout = timeout;
+        this.summaryVersion = summaryVersion;
+        this.gzipThresholdBytes = gzipThreshold.toBytes();
+        this.summaryRetryInterval = summaryRetryInterval;
+
+        requests = Sinks.many().unicast().onBackpressureBuffer(Queues.<Mono<Void>>get(maxQueuedRequests).get());
+        requests.asFlux()
+            .flatMap(request -> request, maxInFlightRequests)
+            .subscribe();
+    }
+
+    /**
+     * Send the subscription summaries for a publication to publication services, so the subscribers can be emailed.
+     *
+     * @param artefactId The ID of the publication.
+     * @param subscriptions A map containing each email which matches the criteria, alongside the subscriptions.
+     * @return true if the summaries were sent, or false if they failed to send.
+     */
+    public Mono<Boolean> postSubscriptionSummaries(UUID artefactId, Map<String, List<Subscription>> subscriptions) {
+        return postSubscriptionSummaries(formatSubscriptionsSummary(artefactId, subscriptions));
+    }
+
+    /**
+     * Send subscription summaries which have already been formatted to publication services.
+     *
+     * @param payload The subscription summaries for a publication.
+     * @return true if the summaries were sent, or false if they failed to send.
+     */
+    public Mono<Boolean> postSubscriptionSummaries(BulkSubscriptionsSummary payload) {
+        Mono<Void> request = useGroupedSubscriptionSummaries()
+            ? postGroupedSubscriptionSummaries(payload)
+                .onErrorResume(ReactivePublicationService::isUnsupportedSummaryVersion, ex -> {
+                    groupedSummariesRejectedUntil.set(Instant.now().plus(summaryRetryInterval));
+                    log.warn(writeLog(String.format(
+                        "Grouped subscription summaries are not supported by publication services, so the standard "
+                            + "format will be used for %s", summaryRetryInterval
+                    )));
+                    return postStandardSubscriptionSummaries(payload);
+                })
+            : postStandardSubscriptionSummaries(payload);
+
+        return request
+            .thenReturn(true)
+            .onErrorResume(ReactivePublicationService::isSendFailure, ex -> {
+                log.error(writeLog(
+                    String.format("Subscription email failed to send with error: %s", ex.getMessage())
+                ));
+                return Mono.just(false);
+            });
+    }
+
+    private boolean useGroupedSubscriptionSummaries() {
+        return summaryVersion >= GROUPED_SUMMARY_VERSION
+            && !Instant.now().isBefore(groupedSummariesRejectedUntil.get());
+    }
+
+    private Mono<Void> postStandardSubscriptionSummaries(BulkSubscriptionsSummary payload) {
+        Mono<Void> request = webClient.post().uri(url + "/" + NOTIFY_SUBSCRIPTION_PATH)
+            .body(BodyInserters.fromValue(payload)).retrieve()
+            .bodyToMono(Void.class);
+        return dispatch("/" + NOTIFY_SUBSCRIPTION_PATH, request);
+    }
+
+    private Mono<Void> postGroupedSubscriptionSummaries(BulkSubscriptionsSummary payload) {
+        return Mono.fromCallable(() -> encodeGroupedSubscriptionSummaries(payload))
+            .flatMap(encoded -> {
+                WebClient.RequestBodySpec request = webClient.post().uri(url + "/" + NOTIFY_SUBSCRIPTION_PATH)
+                    .contentType(GROUPED_SUMMARY_MEDIA_TYPE);
+                if (encoded.gzipped()) {
+                    request.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+                }
+                return dispatch("/" + NOTIFY_SUBSCRIPTION_PATH,
+                                request.bodyValue(encoded.body()).retrieve().bodyToMono(Void.class));
+            });
+    }
+
+    private EncodedBody encodeGroupedSubscriptionSummaries(BulkSubscriptionsSummary payload) throws IOException {
+        byte[] body = OBJECT_MAPPER.writeValueAsBytes(GroupedSubscriptionsSummary.from(payload));
+        if (body.length < gzipThresholdBytes) {
+            return new EncodedBody(body, false);
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return new EncodedBody(compressed.toByteArray(), true);
+    }
+
+    public Mono<Void> legacySendThirdPartyList(LegacyThirdPartySubscription subscriptions) {
+        Mono<Void> request = webClient.post().uri(url + "/" + NOTIFY_API_PATH)
+            .bodyValue(subscriptions).retrieve()
+            .bodyToMono(Void.class);
+
+        return dispatch("/" + NOTIFY_API_PATH, request)
+            .onErrorResume(ReactivePublicationService::isSendFailure, ex -> {
+                log.error(writeLog(
+                    String.format("Publication to third party failed to send with error: %s", errorMessage(ex))
+                ));
+                return Mono.empty();
+            });
+    }
+
+    public Mono<Void> legacySendEmptyArtefact(LegacyThirdPartySubscriptionArtefact subscriptionArtefact) {
+        Mono<Void> request = webClient.put().uri(url + "/" + NOTIFY_API_PATH)
+            .bodyValue(subscriptionArtefact).retrieve()
+            .bodyToMono(Void.class);
+
+        return dispatch("/" + NOTIFY_API_PATH, request)
+            .onErrorResume(ReactivePublicationService::isSendFailure, ex -> {
+                log.error(writeLog(
+                    String.format("Deleted artefact notification to third party failed to send with error: %s",
+                                  errorMessage(ex))
+                ));
+                return Mono.empty();
+            });
+    }
+
+    /**
+     * Send a publication, or a health check, to the third party subscribers through publication services.
+     *
+     * @param thirdPartySubscription The third party subscribers and the publication to send them.
+     * @param isHealthCheck Whether this is a health check. A failed health check errors with a
+     *                      {@link ThirdPartyHealthCheckException} rather than being logged.
+     * @return true if the request was sent, or false if it failed to send.
+     */
+    public Mono<Boolean> sendThirdPartySubscription(ThirdPartySubscription thirdPartySubscription,
+                                                 boolean isHealthCheck) {
+        if (isHealthCheck) {
+            return sendThirdPartyHealthCheck(thirdPartySubscription, timeout);
+        }
+
+        return dispatch(THIRD_PARTY_PATH, thirdPartyRequest(thirdPartySubscription))
+            .thenReturn(true)
+            .onErrorResume(ReactivePublicationService::isSendFailure, ex -> {
+                log.error(writeLog(
+                    String.format("Third party subscriptions failed to send with error: %s", errorMessage(ex))
+                ));
+                return Mono.just(false);
+            });
+    }
+
+    /**
+     * Send a health check to a third party through publication services. Health checks are not queued behind the
+     * notifications, and do not take up their in-flight slots, so the caller limits how many it sends at once. Only
+     * the exchange with publication services is timed, and a check which times out is cancelled.
+     *
+     * @param thirdPartySubscription The third party to check.
+     * @param timeout How long to wait for publication services to respond to the check.
+     * @return true once the check has passed. A failed check errors with a {@link ThirdPartyHealthCheckException}.
+     */
+    public Mono<Boolean> sendThirdPartyHealthCheck(ThirdPartySubscription thirdPartySubscription, Duration timeout) {
+        return outboundResilience.executeReactive(
+                OutboundResilience.PUBLICATION_SERVICES, THIRD_PARTY_HEALTH_CHECK_ENDPOINT, false,
+                ReactivePublicationService::isServiceFailure,
+                () -> thirdPartyRequest(thirdPartySubscription).timeout(timeout)
+            )
+            .thenReturn(true)
+            .onErrorResume(ReactivePublicationService::isSendFailure, ex -> Mono.error(
+                new ThirdPartyHealthCheckException(healthCheckErrorMessage(ex, timeout))
+            ));
+    }
+
+    private Mono<Void> thirdPartyRequest(ThirdPartySubscription thirdPartySubscription) {
+        return webClient.post().uri(url + THIRD_PARTY_PATH)
+            .bodyValue(thirdPartySubscription)
+            .retrieve()
+            .bodyToMono(Void.class);
+    }
+
+    /**
+     * Queue a request to publication services, to be sent once there is capacity for it. The returned Mono signals
+     * the outcome of the request, and errors with an {@link OutboundCallRejectedException} if the queue is full.
+     * Cancelling it cancels the request, which frees its in-flight slot, or stops it being sent if it is still queued.
+     *
+     * @param endpoint The endpoint the request is sent to, which has its own circuit breaker.
+     * @param request The request to send.
+     */
+    private <T> Mono<T> dispatch(String endpoint, Mono<T> request) {
+        Mono<T> resilientRequest = outboundResilience.executeReactive(
+            OutboundResilience.PUBLICATION_SERVICES, endpoint, false, ReactivePublicationService::isServiceFailure,
+            () -> request.timeout(timeout)
+        );
+
+        return Mono.create(sink -> {
+            Sinks.One<Boolean> cancelled = Sinks.one();
+            sink.onCancel(() -> cancelled.tryEmitValue(true));
+            Mono<Void> limitedRequest = resilientRequest
+                .doOnSuccess(sink::success)
+                .doOnError(sink::error)
+                .onErrorResume(ex -> Mono.empty())
+                .then()
+                .takeUntilOther(cancelled.asMono());
+
+            // The sink only accepts one request at a time, so requests are queued in turn
+            Sinks.EmitResult result;
+            synchronized (requests) {
+                result = requests.tryEmitNext(limitedRequest);
+            }
+            if (result.isFailure()) {
+                log.warn(writeLog(String.format(
+                    "Request to publication services endpoint %s rejected as too many requests are queued", endpoint
+                )));
+                sink.error(new OutboundCallRejectedException(OutboundResilience.PUBLICATION_SERVICES, endpoint,
+                                                             "too many requests are queued"));
+            }
+        });
+    }
+
+    private static boolean isUnsupportedSummaryVersion(Throwable ex) {
+        return ex instanceof WebClientResponseException responseException
+            && HttpStatus.UNSUPPORTED_MEDIA_TYPE.equals(responseException.getStatusCode());
+    }
+
+    private static boolean isSendFailure(Throwable ex) {
+        return ex instanceof WebClientException || ex instanceof TimeoutException
+            || ex instanceof OutboundCallException;
+    }
+
+    /**
+     * Whether a failed request means publication services is failing, rather than the request being invalid.
+     */
+    private static boolean isServiceFailure(Throwable ex) {
+        if (ex instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError()
+                || HttpStatus.TOO_MANY_REQUESTS.equals(responseException.getStatusCode());
+        }
+        return ex instanceof WebClientRequestException || ex instanceof TimeoutException;
+    }
+
+    private String healthCheckErrorMessage(Throwable ex, Duration timeout) {
+        if (ex instanceof TimeoutException) {
+            return String.format("Health check timed out after %s ms", timeout.toMillis());
+        }
+        return ex instanceof WebClientResponseException responseException
+            ? processWebClientErrorMessage(responseException)
+            : ex.getMessage();
+    }
+
+    private static String errorMessage(Throwable ex) {
+        return ex instanceof WebClientResponseException responseException
+            ? responseException.getResponseBodyAsString()
+            : ex.getMessage();
+    }
+
+    /**
+     * Process data to form a subscriptions summary model which can be sent to publication services.
+     *
+     * @param artefactId The artefact id associated with the list of subscriptions
+     * @param subscriptions A map containing each email which matches the criteria, alongside the subscriptions.
+     * @return A subscriptions summary model
+     */
+    public BulkSubscriptionsSummary formatSubscriptionsSummary(UUID artefactId,
+                                                               Map<String, List<Subscription>> subscriptions) {
+
+        BulkSubscriptionsSummary bulkSubscriptionsSummary = new BulkSubscriptionsSummary();
+        bulkSubscriptionsSummary.setArtefactId(artefactId);
+
+        subscriptions.forEach((email, listOfSubscriptions) -> {
+            SubscriptionsSummaryDetails subscriptionsSummaryDetails = new SubscriptionsSummaryDetails();
+            listOfSubscriptions.forEach(subscription -> {
+                switch (subscription.getSearchType()) {
+                    case CASE_URN -> subscriptionsSummaryDetails.addToCaseUrn(subscription.getSearchValue());
+                    case CASE_ID -> subscriptionsSummaryDetails.addToCaseNumber(subscription.getSearchValue());
+                    case LOCATION_ID -> subscriptionsSummaryDetails.addToLocationId(subscription.getSearchValue());
+                    default -> log.error(writeLog(
+                        String.format("Search type was not one of allowed options: %s", subscription.getSearchType())
+                    ));
+                }
+            });
+
+            SubscriptionsSummary subscriptionsSummary = new SubscriptionsSummary();
+            subscriptionsSummary.setEmail(email);
+            subscriptionsSummary.setSubscriptions(subscriptionsSummaryDetails);
+
+            bulkSubscriptionsSummary.addSubscriptionEmail(subscriptionsSummary);
+        });
+
+        return bulkSubscriptionsSummary;
+    }
+
+    private String processWebClientErrorMessage(WebClientResponseException webClientResponseException) {
+        String errorMessage = null;
+        try {
+            if (HttpStatus.INTERNAL_SERVER_ERROR.equals(webClientResponseException.getStatusCode())) {
+                JsonNode node = OBJECT_MAPPER.readTree(webClientResponseException.getResponseBodyAsString());
+                if (node.has("message")) {
+                    errorMessage = node.get("message").asText();
+                }
+            }
+
+            if (errorMessage != null) {
+                return errorMessage;
+            }
+            return webClientResponseException.getMessage();
+        } catch (JsonProcessingException e) {
+            return webClientResponseException.getMessage();
+        }
+    }
+
+    private record EncodedBody(byte[] body, boolean gzipped) {
+    }
+}
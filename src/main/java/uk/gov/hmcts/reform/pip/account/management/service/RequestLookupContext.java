@@ -0,0 +1,96 @@
+package uk.gov.hmcts.reform.pip.account.management.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Remembers the users and subscriptions looked up by ID for the lifetime of one HTTP request. A single request
+ * checks the same users several times across the authorisation services and the services which then handle it, so
+ * this saves loading them again for each check.
+ *
+ * <p>The lookups are kept as attributes of the current request, and are only used by the thread handling it. Outside
+ * of a request, such as in scheduled jobs, every lookup goes straight to the loader. Services which change a user or
+ * subscription must evict it, so that it is loaded again if it is looked up later in the same request.</p>
+ */
+@Component
+public class RequestLookupContext {
+    private static final String USERS_ATTRIBUTE = RequestLookupContext.class.getName() + ".users";
+    private static final String SUBSCRIPTIONS_ATTRIBUTE = RequestLookupContext.class.getName() + ".subscriptions";
+
+    /**
+     * Find a user, loading it if it has not already been looked up in this request.
+     *
+     * @param userId The ID of the user.
+     * @param loader Loads the user from the database.
+     * @return The user, if found.
+     */
+    public Optional<PiUser> findUser(UUID userId, Function<UUID, Optional<PiUser>> loader) {
+        return find(USERS_ATTRIBUTE, userId, loader);
+    }
+
+    /**
+     * Find a subscription, loading it if it has not already been looked up in this request.
+     *
+     * @param subscriptionId The ID of the subscription.
+     * @param loader Loads the subscription from the database.
+     * @return The subscription, if found.
+     */
+    public Optional<Subscription> findSubscription(UUID subscriptionId,
+                                                   Function<UUID, Optional<Subscription>> loader) {
+        return find(SUBSCRIPTIONS_ATTRIBUTE, subscriptionId, loader);
+    }
+
+    public void evictUser(UUID userId) {
+        evict(USERS_ATTRIBUTE, userId);
+    }
+
+    public void evictSubscription(UUID subscriptionId) {
+        evict(SUBSCRIPTIONS_ATTRIBUTE, subscriptionId);
+    }
+
+    private static <T> Optional<T> find(String attribute, UUID id, Function<UUID, Optional<T>> loader) {
+        Map<UUID, Optional<T>> lookups = lookups(attribute);
+        if (lookups == null || id == null) {
+            return loader.apply(id);
+        }
+
+        Optional<T> result = lookups.get(id);
+        if (result == null) { //NOSONAR
+            result = loader.apply(id);
+            lookups.put(id, result);
+        }
+        return result;
+    }
+
+    private static void evict(String attribute, UUID id) {
+        Map<UUID, ?> lookups = lookups(attribute);
+        if (lookups != null) {
+            lookups.remove(id);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Map<UUID, Optional<T>> lookups(String attribute) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return null;
+        }
+
+        Map<UUID, Optional<T>> lookups = (Map<UUID, Optional<T>>) requestAttributes
+            .getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (lookups == null) {
+            lookups = new HashMap<>();
+            requestAttributes.setAttribute(attribute, lookups, RequestAttributes.SCOPE_REQUEST);
+        }
+        return lookups;
+    }
+}
@@ -2,19 +2,54 @@ package uk.gov.hmcts.reform.pip.account.management.service;
 
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
+import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 import uk.gov.hmcts.reform.pip.model.publication.ListType;
 import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import static uk.gov.hmcts.reform.pip.model.account.Roles.SYSTEM_ADMIN;
 import static uk.gov.hmcts.reform.pip.model.account.Roles.VERIFIED;
 import static uk.gov.hmcts.reform.pip.model.account.UserProvenances.THIRD_PARTY;
 
 /**
  * This class handles the checking whether a user has permission to see a publication.
+ *
+ * <p>The decision for every combination of role, provenance, list type and sensitivity is worked out once when the
+ * service is created, and held in a flat table indexed by the enum ordinals. The entries for one list type and
+ * sensitivity are next to each other, so checking all the subscribers of a publication reads one small block of
+ * the table.</p>
  */
 @Service
 public class SensitivityService {
+    private static final Roles[] ROLES = Roles.values();
+    private static final UserProvenances[] PROVENANCES = UserProvenances.values();
+    private static final ListType[] LIST_TYPES = ListType.values();
+    private static final Sensitivity[] SENSITIVITIES = Sensitivity.values();
+    private static final int USER_COMBINATIONS = ROLES.length * PROVENANCES.length;
+
+    private final boolean[] permissions;
+
+    public SensitivityService() {
+        permissions = new boolean[LIST_TYPES.length * SENSITIVITIES.length * USER_COMBINATIONS];
+        for (ListType listType : LIST_TYPES) {
+            for (Sensitivity sensitivity : SENSITIVITIES) {
+                int offset = publicationOffset(listType, sensitivity);
+                for (Roles role : ROLES) {
+                    for (UserProvenances userProvenance : PROVENANCES) {
+                        permissions[offset + userOffset(role, userProvenance)] = evaluateAuthorisation(
+                            role, userProvenance, listType, sensitivity
+                        );
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Checks the sensitivity / list type and user, to determine if they have permission to see the publication.
      * @param user The user to check permissions for.
@@ -23,14 +58,79 @@ public class SensitivityService {
      * @return true if user has permission to see the publication, false if not.
      */
     public boolean checkAuthorisation(PiUser user, ListType listType, Sensitivity sensitivity) {
-        return SYSTEM_ADMIN.equals(user.getRoles()) || switch (sensitivity) {
+        return checkAuthorisation(user.getRoles(), user.getUserProvenance(), listType, sensitivity);
+    }
+
+    /**
+     * Checks the sensitivity / list type against the role and provenance of a user, to determine if they have
+     * permission to see the publication.
+     * @param role The role of the user to check permissions for.
+     * @param userProvenance The provenance of the user to check permissions for.
+     * @param listType The list type of the publication.
+     * @param sensitivity The sensitivity of the publication.
+     * @return true if user has permission to see the publication, false if not.
+     */
+    public boolean checkAuthorisation(Roles role, UserProvenances userProvenance, ListType listType,
+                                      Sensitivity sensitivity) {
+        if (role == null || userProvenance == null || listType == null || sensitivity == null) {
+            return evaluateAuthorisation(role, userProvenance, listType, sensitivity);
+        }
+        return permissions[publicationOffset(listType, sensitivity) + userOffset(role, userProvenance)];
+    }
+
+    /**
+     * Filters users to those with permission to see the publication. The block of the table for the publication is
+     * found once, so each user only costs a single lookup.
+     * @param users The summaries of the users to check permissions for.
+     * @param listType The list type of the publication.
+     * @param sensitivity The sensitivity of the publication.
+     * @return The users with permission to see the publication, in their original order.
+     */
+    public List<PiUserSummary> filterAuthorised(Collection<PiUserSummary> users, ListType listType,
+                                                Sensitivity sensitivity) {
+        if (listType == null || sensitivity == null) {
+            return users.stream()
+                .filter(user -> checkAuthorisation(user.getRoles(), user.getUserProvenance(), listType, sensitivity))
+                .toList();
+        }
+
+        int offset = publicationOffset(listType, sensitivity);
+        List<PiUserSummary> authorisedUsers = new ArrayList<>(users.size());
+        for (PiUserSummary user : users) {
+            Roles role = user.getRoles();
+            UserProvenances userProvenance = user.getUserProvenance();
+            boolean authorised = role == null || userProvenance == null
+                ? evaluateAuthorisation(role, userProvenance, listType, sensitivity)
+                : permissions[offset + userOffset(role, userProvenance)];
+            if (authorised) {
+                authorisedUsers.add(user);
+            }
+        }
+        return authorisedUsers;
+    }
+
+    /**
+     * Works out whether a user can see a publication from the rules for each sensitivity. This is used to build the
+     * permission table, and for users with no role or provenance, which are not in the table.
+     */
+    static boolean evaluateAuthorisation(Roles role, UserProvenances userProvenance, ListType listType,
+                                         Sensitivity sensitivity) {
+        return SYSTEM_ADMIN.equals(role) || switch (sensitivity) {
             case PUBLIC -> true;
-            case PRIVATE -> Roles.getAllVerifiedRoles().contains(user.getRoles());
-            case CLASSIFIED -> VERIFIED.equals(user.getRoles())
-                && listType.getAllowedProvenances().contains(user.getUserProvenance())
-                || THIRD_PARTY.equals(user.getUserProvenance())
-                && listType.getAllowedThirdPartyRoles().contains(user.getRoles());
+            case PRIVATE -> Roles.getAllVerifiedRoles().contains(role);
+            case CLASSIFIED -> VERIFIED.equals(role)
+                && listType.getAllowedProvenances().contains(userProvenance)
+                || THIRD_PARTY.equals(userProvenance)
+                && listType.getAllowedThirdPartyRoles().contains(role);
             default -> false;
         };
     }
+
+    private static int publicationOffset(ListType listType, Sensitivity sensitivity) {
+        return (listType.ordinal() * SENSITIVITIES.length + sensitivity.ordinal()) * USER_COMBINATIONS;
+    }
+
+    private static int userOffset(Roles role, UserProvenances userProvenance) {
+        return role.ordinal() * PROVENANCES.length + userProvenance.ordinal();
+    }
 }
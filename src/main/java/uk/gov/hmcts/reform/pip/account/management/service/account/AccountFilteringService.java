@@ -2,17 +2,22 @@ package uk.gov.hmcts.reform.pip.account.management.service.account;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.pip.account.management.database.UserRepository;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.NotFoundException;
 import uk.gov.hmcts.reform.pip.account.management.helpers.EmailHelper;
+import uk.gov.hmcts.reform.pip.account.management.helpers.KeysetCursorHelper;
+import uk.gov.hmcts.reform.pip.account.management.model.account.KeysetSlice;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 import uk.gov.hmcts.reform.pip.model.report.AccountMiData;
 
 import java.util.List;
+import java.util.UUID;
 
 import static uk.gov.hmcts.reform.pip.model.account.Roles.ALL_NON_RESTRICTED_ADMIN_ROLES;
 import static uk.gov.hmcts.reform.pip.model.account.Roles.ALL_NON_THIRD_PARTY_ROLES;
@@ -20,6 +25,8 @@ import static uk.gov.hmcts.reform.pip.model.account.UserProvenances.ALL_NON_THIR
 
 @Service
 public class AccountFilteringService {
+    private static final UUID FIRST_USER_ID = new UUID(0, 0);
+
     private final UserRepository userRepository;
 
     @Autowired
@@ -65,31 +72,76 @@ public class AccountFilteringService {
             return userRepository.findByUserIdPageable(userId, pageable);
         }
 
-        //  If a list of user provenances are supplied then use that else use all non third party user provenances
-        List<UserProvenances> userProvenancesToQuery = ALL_NON_THIRD_PARTY_PROVENANCES;
-        if (!userProvenances.isEmpty()) {
-            userProvenancesToQuery = userProvenances;
-        }
+        return userRepository.findAllByEmailLikeIgnoreCaseAndUserProvenanceInAndRolesInAndProvenanceUserIdLike(
+            "%" + email + "%",
+            userProvenancesToQuery(userProvenances),
+            rolesToQuery(roles),
+            userProvenanceIdToQuery(userProvenanceId),
+            pageable
+        );
+    }
 
-        // If a list of roles are supplied then use that else use all non third party roles
-        List<Roles> rolesToQuery = ALL_NON_THIRD_PARTY_ROLES;
-        if (!roles.isEmpty()) {
-            rolesToQuery = roles;
-        }
+    /**
+     * Request a page of users that can be filtered down with the supplied parameters, using keyset pagination. Users
+     * are ordered by their user ID, and each page seeks past the last user ID of the previous page, so the time
+     * taken does not grow with how deep the page is.
+     *
+     * @param pageSize The number of users in the page.
+     * @param cursor The cursor returned with the previous page, or blank for the first page.
+     * @param includeCount Whether to count the total number of users matching the filters.
+     * @param email The email to query by.
+     * @param userProvenanceId The user provenance id to query by.
+     * @param userProvenances A list of user provenances to query by.
+     * @param roles A list of roles to query by.
+     * @param userId The user id to query by.
+     * @return A slice with a list of piUsers and the cursor for the next page.
+     */
+    public KeysetSlice<PiUser> findAllAccountsExceptThirdPartyKeyset(int pageSize, String cursor,
+                                                                    boolean includeCount, String email,
+                                                                    String userProvenanceId,
+                                                                    List<UserProvenances> userProvenances,
+                                                                    List<Roles> roles, String userId) {
+        Pageable pageable = PageRequest.of(0, pageSize);
 
-        // If user provenance id is supplied then find by an exact match
-        String userProvenanceIdToQuery = "%%";
-        if (!userProvenanceId.isBlank()) {
-            userProvenanceIdToQuery = userProvenanceId;
+        // If a user ID is supplied then only find by that
+        if (!userId.isBlank()) {
+            List<PiUser> users = userRepository.findByUserIdPageable(userId, pageable).getContent();
+            return new KeysetSlice<>(users, false, null, includeCount ? Long.valueOf(users.size()) : null);
         }
 
-        return userRepository.findAllByEmailLikeIgnoreCaseAndUserProvenanceInAndRolesInAndProvenanceUserIdLike(
-            "%" + email + "%",
-            userProvenancesToQuery,
-            rolesToQuery,
-            userProvenanceIdToQuery,
-            pageable
+        String emailToQuery = "%" + email + "%";
+        List<UserProvenances> userProvenancesToQuery = userProvenancesToQuery(userProvenances);
+        List<Roles> rolesToQuery = rolesToQuery(roles);
+        String userProvenanceIdToQuery = userProvenanceIdToQuery(userProvenanceId);
+        UUID afterUserId = cursor.isBlank() ? FIRST_USER_ID : KeysetCursorHelper.decodeIdCursor(cursor);
+
+        Slice<PiUser> users = userRepository.findAccountsAfter(
+            emailToQuery, userProvenancesToQuery, rolesToQuery, userProvenanceIdToQuery, afterUserId, pageable
         );
+
+        String nextCursor = users.hasNext()
+            ? KeysetCursorHelper.encodeCursor(users.getContent().getLast().getUserId())
+            : null;
+        Long totalCount = includeCount
+            ? userRepository.countAccounts(emailToQuery, userProvenancesToQuery, rolesToQuery,
+                                           userProvenanceIdToQuery)
+            : null;
+        return new KeysetSlice<>(users.getContent(), users.hasNext(), nextCursor, totalCount);
+    }
+
+    //  If a list of user provenances are supplied then use that else use all non third party user provenances
+    private static List<UserProvenances> userProvenancesToQuery(List<UserProvenances> userProvenances) {
+        return userProvenances.isEmpty() ? ALL_NON_THIRD_PARTY_PROVENANCES : userProvenances;
+    }
+
+    // If a list of roles are supplied then use that else use all non third party roles
+    private static List<Roles> rolesToQuery(List<Roles> roles) {
+        return roles.isEmpty() ? ALL_NON_THIRD_PARTY_ROLES : roles;
+    }
+
+    // If user provenance id is supplied then find by an exact match
+    private static String userProvenanceIdToQuery(String userProvenanceId) {
+        return userProvenanceId.isBlank() ? "%%" : userProvenanceId;
     }
 
     /**
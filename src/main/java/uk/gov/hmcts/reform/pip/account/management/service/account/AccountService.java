@@ -17,8 +17,13 @@ import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.UserW
 import uk.gov.hmcts.reform.pip.account.management.model.account.AzureAccount;
 import uk.gov.hmcts.reform.pip.account.management.model.account.CreationEnum;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationAuthorisationRequest;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationAuthorisationResponse;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationClassification;
 import uk.gov.hmcts.reform.pip.account.management.model.errored.ErroredAzureAccount;
 import uk.gov.hmcts.reform.pip.account.management.model.errored.ErroredPiUser;
+import uk.gov.hmcts.reform.pip.account.management.service.RequestLookupContext;
 import uk.gov.hmcts.reform.pip.account.management.service.SensitivityService;
 import uk.gov.hmcts.reform.pip.account.management.service.helpers.DateTimeHelper;
 import uk.gov.hmcts.reform.pip.account.management.service.subscription.UserSubscriptionService;
@@ -33,7 +38,11 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -53,6 +62,7 @@ import static uk.gov.hmcts.reform.pip.model.account.UserProvenances.PI_AAD;
 public class AccountService {
 
     private static final int MAX_PAGE_SIZE = 25;
+    private static final int USER_LOOKUP_BATCH_SIZE = 1000;
 
     private final Validator validator;
     private final AzureUserService azureUserService;
@@ -61,6 +71,8 @@ public class AccountService {
     private final UserRepository userRepository;
     private final SensitivityService sensitivityService;
     private final UserSubscriptionService userSubscriptionService;
+    private final PiUserCache piUserCache;
+    private final RequestLookupContext requestLookupContext;
 
     @Autowired
     public AccountService(
@@ -70,7 +82,9 @@ public class AccountService {
         AccountFilteringService accountFilteringService,
         UserRepository userRepository,
         SensitivityService sensitivityService,
-        UserSubscriptionService userSubscriptionService) {
+        UserSubscriptionService userSubscriptionService,
+        PiUserCache piUserCache,
+        RequestLookupContext requestLookupContext) {
         this.validator = validator;
         this.azureUserService = azureUserService;
         this.azureAccountService = azureAccountService;
@@ -78,6 +92,8 @@ public class AccountService {
         this.userRepository = userRepository;
         this.sensitivityService = sensitivityService;
         this.userSubscriptionService = userSubscriptionService;
+        this.piUserCache = piUserCache;
+        this.requestLookupContext = requestLookupContext;
     }
 
     /**
@@ -106,6 +122,7 @@ public class AccountService {
                 erroredAccounts.add(erroredUser);
             } else if (constraintViolationSet.isEmpty()) {
                 PiUser addedUser = userRepository.save(user);
+                evictUser(addedUser.getUserId());
                 createdAccounts.add(addedUser.getUserId());
                 log.info(writeLog(requesterId, UserActions.CREATE_ACCOUNT,
                                   addedUser.getUserId().toString()));
@@ -167,6 +184,95 @@ public class AccountService {
         throw new UserWithProvenanceNotFoundException(provenanceUserId);
     }
 
+    /**
+     * Used to check if a user can see a given publication, using the user details which have already been loaded.
+     *
+     * @param user        the summary of the user to check permissions for.
+     * @param listType    the list type of the publication.
+     * @param sensitivity the sensitivity of the publication.
+     * @return bool of true if user can see it, else false.
+     */
+    public boolean isUserAuthorisedForPublication(PiUserSummary user, ListType listType, Sensitivity sensitivity) {
+        return sensitivityService.checkAuthorisation(user.getRoles(), user.getUserProvenance(), listType, sensitivity);
+    }
+
+    /**
+     * Used to check in one call either whether many users can see a publication, or whether one user can see many
+     * publications. Exactly one of these forms must be supplied.
+     *
+     * @param request the users and publications to check.
+     * @return whether each user can see the publication, or whether the user can see each publication.
+     */
+    public PublicationAuthorisationResponse isUserAuthorisedForPublications(PublicationAuthorisationRequest request) {
+        boolean manyUsersSupplied = request.getUserIds() != null && request.getListType() != null
+            && request.getSensitivity() != null;
+        boolean manyPublicationsSupplied = request.getUserId() != null && request.getPublications() != null;
+        boolean manyUsersStarted = request.getUserIds() != null || request.getListType() != null
+            || request.getSensitivity() != null;
+        boolean manyPublicationsStarted = request.getUserId() != null || request.getPublications() != null;
+
+        if (manyUsersSupplied && !manyPublicationsStarted) {
+            return new PublicationAuthorisationResponse(
+                areUsersAuthorisedForPublication(request.getUserIds(), request.getListType(),
+                                                 request.getSensitivity()),
+                null
+            );
+        }
+
+        if (manyPublicationsSupplied && !manyUsersStarted) {
+            return new PublicationAuthorisationResponse(
+                null, isUserAuthorisedForPublications(request.getUserId(), request.getPublications())
+            );
+        }
+
+        throw new IllegalArgumentException(
+            "Either userIds with listType and sensitivity, or userId with publications, must be supplied"
+        );
+    }
+
+    /**
+     * Used to check whether each of the users can see a publication. The users are loaded together rather than one
+     * at a time.
+     *
+     * @param userIds     the user ids of the users to check permissions for.
+     * @param listType    the list type of the publication.
+     * @param sensitivity the sensitivity of the publication.
+     * @return a map of user ids to whether the user can see the publication. Users which could not be found cannot
+     *     see it.
+     */
+    public Map<UUID, Boolean> areUsersAuthorisedForPublication(Collection<UUID> userIds, ListType listType,
+                                                               Sensitivity sensitivity) {
+        Map<UUID, PiUserSummary> users = findUserSummariesByIds(userIds);
+
+        Map<UUID, Boolean> authorisations = new LinkedHashMap<>();
+        userIds.forEach(userId -> {
+            PiUserSummary user = users.get(userId);
+            authorisations.put(userId, user != null && isUserAuthorisedForPublication(user, listType, sensitivity));
+        });
+        return authorisations;
+    }
+
+    /**
+     * Used to check whether a user can see each of the publications.
+     *
+     * @param userId       the user id of the user to check permissions for.
+     * @param publications the list type and sensitivity of each publication.
+     * @return a map of list type and sensitivity to whether the user can see the publication, else exception is
+     *     thrown if the user could not be found.
+     */
+    public Map<ListType, Map<Sensitivity, Boolean>> isUserAuthorisedForPublications(
+        UUID userId, Collection<PublicationClassification> publications) {
+        PiUser userToCheck = checkUserReturned(userRepository.findByUserId(userId), userId);
+
+        Map<ListType, Map<Sensitivity, Boolean>> authorisations = new EnumMap<>(ListType.class);
+        publications.forEach(publication -> authorisations
+            .computeIfAbsent(publication.getListType(), listType -> new EnumMap<>(Sensitivity.class))
+            .put(publication.getSensitivity(), sensitivityService.checkAuthorisation(
+                userToCheck, publication.getListType(), publication.getSensitivity()
+            )));
+        return authorisations;
+    }
+
     /**
      * Return a map of user ids to emails by querying the user table in the database.
      * User ids with no matching emails will not be added but will be logged
@@ -174,20 +280,40 @@ public class AccountService {
      * @return a map of user ids to emails
      */
     public Map<String, String> findUserEmailsByIds(List<String> userIdsList) {
+        Map<UUID, PiUserSummary> users = findUserSummariesByIds(userIdsList.stream().map(UUID::fromString).toList());
+
         Map<String, String> emailMap = new ConcurrentHashMap<>();
-        for (String userId : userIdsList) {
-            userRepository.findByUserId(UUID.fromString(userId))
-                .ifPresent(value -> {
-                    if (StringUtils.isNotEmpty(value.getEmail())) {
-                        emailMap.put(userId, value.getEmail());
-                    } else {
-                        log.error(writeLog(String.format("No email with user ID %s found", userId)));
-                    }
-                });
-        }
+        users.forEach((userId, user) -> {
+            if (StringUtils.isNotEmpty(user.getEmail())) {
+                emailMap.put(userId.toString(), user.getEmail());
+            } else {
+                log.error(writeLog(String.format("No email with user ID %s found", userId)));
+            }
+        });
         return emailMap;
     }
 
+    /**
+     * Return a map of user ids to the email, role and provenance of each user. The users are loaded in batches so
+     * that the number of queries does not grow with the number of users. User ids with no matching user will not be
+     * added to the map.
+     *
+     * @param userIds user ids to query
+     * @return a map of user ids to user summaries
+     */
+    public Map<UUID, PiUserSummary> findUserSummariesByIds(Collection<UUID> userIds) {
+        List<UUID> distinctUserIds = userIds.stream().distinct().toList();
+
+        Map<UUID, PiUserSummary> users = new HashMap<>();
+        for (int i = 0; i < distinctUserIds.size(); i += USER_LOOKUP_BATCH_SIZE) {
+            List<UUID> batch = distinctUserIds.subList(i, Math.min(i + USER_LOOKUP_BATCH_SIZE,
+                                                                   distinctUserIds.size()));
+            userRepository.findUserSummariesByUserIdIn(batch)
+                .forEach(user -> users.put(user.getUserId(), user));
+        }
+        return users;
+    }
+
     /**
      * Delete a user account by the supplied email.
      * This deletes the user from AAD, our user table and subscriptions.
@@ -212,6 +338,7 @@ public class AccountService {
 
         userSubscriptionService.deleteAllByUserId(userToDelete.getUserId());
         userRepository.delete(userToDelete);
+        evictUser(userToDelete.getUserId());
         return String.format("User with ID %s has been deleted", userToDelete.getUserId());
     }
 
@@ -266,6 +393,7 @@ public class AccountService {
         });
 
         userRepository.save(userToUpdate);
+        evictUser(userToUpdate.getUserId());
         return String.format("Account with provenance %s and provenance id %s has been updated",
                              userProvenance.name(), provenanceUserId
         );
@@ -290,6 +418,7 @@ public class AccountService {
         }
 
         userRepository.save(userToUpdate);
+        evictUser(userToUpdate.getUserId());
 
         String returnMessage = String.format(
             "User with ID %s has been updated to a %s", userToUpdate.getUserId(), updatedRole);
@@ -299,14 +428,23 @@ public class AccountService {
     }
 
     /**
-     * This method retrieves a user by their ID.
+     * This method retrieves a user by their ID. The user is only loaded once per request, and may be served from the
+     * {@link PiUserCache}, so it must not be modified.
      * @param userId The user ID to retrieve
      * @return The user that is found.
      * @throws NotFoundException if a user is not found.
      */
     public PiUser getUserById(UUID userId) {
-        return userRepository.findByUserId(userId).orElseThrow(() -> new NotFoundException(String.format(
-            "User with supplied user id: %s could not be found", userId)));
+        return requestLookupContext.findUser(userId, id -> Optional.ofNullable(
+                piUserCache.get(id, key -> userRepository.findByUserId(key).orElse(null))
+            ))
+            .orElseThrow(() -> new NotFoundException(String.format(
+                "User with supplied user id: %s could not be found", userId)));
+    }
+
+    private void evictUser(UUID userId) {
+        piUserCache.invalidate(userId);
+        requestLookupContext.evictUser(userId);
     }
 
     /**
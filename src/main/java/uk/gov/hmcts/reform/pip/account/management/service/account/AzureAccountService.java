@@ -14,6 +14,7 @@ import uk.gov.hmcts.reform.pip.account.management.model.account.CreationEnum;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
 import uk.gov.hmcts.reform.pip.account.management.model.errored.ErroredAzureAccount;
 import uk.gov.hmcts.reform.pip.account.management.service.PublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.notification.OutboundNotificationService;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 import uk.gov.hmcts.reform.pip.model.enums.UserActions;
 
@@ -41,17 +42,21 @@ public class AzureAccountService {
 
     private final PublicationService publicationService;
 
+    private final OutboundNotificationService outboundNotificationService;
+
     @Autowired
     public AzureAccountService(
         Validator validator,
         AzureUserService azureUserService,
         UserRepository userRepository,
-        PublicationService publicationService
+        PublicationService publicationService,
+        OutboundNotificationService outboundNotificationService
     ) {
         this.validator = validator;
         this.azureUserService = azureUserService;
         this.userRepository = userRepository;
         this.publicationService = publicationService;
+        this.outboundNotificationService = outboundNotificationService;
     }
 
     /**
@@ -88,7 +93,7 @@ public class AzureAccountService {
                     createdAzureAccounts.add(azureAccount);
 
                     log.info(writeLog(issuerId, UserActions.CREATE_ACCOUNT, azureAccount.getAzureAccountId()));
-                    boolean emailSent =  publicationService.sendMediaNotificationEmail(
+                    boolean emailSent = outboundNotificationService.sendMediaNotificationEmail(
                         azureAccount.getEmail(), user.getGivenName(), isExisting);
                     checkAndAddToErrorAccount(
                         emailSent, azureAccount, List.of(EMAIL_NOT_SENT_MESSAGE), erroredAccounts);
@@ -12,18 +12,25 @@ import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.pip.account.management.config.ClientConfiguration;
 import uk.gov.hmcts.reform.pip.account.management.config.UserConfiguration;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.AzureCustomException;
+import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.OutboundCallException;
 import uk.gov.hmcts.reform.pip.account.management.model.account.AzureAccount;
+import uk.gov.hmcts.reform.pip.account.management.service.resilience.OutboundResilience;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 /**
- * A class that wraps any interacts with Azure active directory.
+ * A class that wraps any interacts with Azure active directory. Each call is made through the
+ * {@link OutboundResilience} layer, and only the lookup and deletion of users are retried.
  */
 @Service
 public class AzureUserService {
+    private static final int NO_RESPONSE = 0;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
 
     private final GraphServiceClient graphClient;
 
@@ -31,15 +38,19 @@ public class AzureUserService {
 
     private final ClientConfiguration clientConfiguration;
 
+    private final OutboundResilience outboundResilience;
+
     @Autowired
     public AzureUserService(
         GraphServiceClient graphClient,
         UserConfiguration userConfiguration,
-        ClientConfiguration clientConfiguration
+        ClientConfiguration clientConfiguration,
+        OutboundResilience outboundResilience
     ) {
         this.graphClient = graphClient;
         this.userConfiguration = userConfiguration;
         this.clientConfiguration = clientConfiguration;
+        this.outboundResilience = outboundResilience;
     }
 
     /**
@@ -52,9 +63,10 @@ public class AzureUserService {
     public User createUser(AzureAccount azureAccount, boolean useSuppliedPassword) throws AzureCustomException {
         try {
             User user = createUserObject(azureAccount, useSuppliedPassword);
-            return graphClient.users()
-                .post(user);
-        } catch (ApiException e) {
+            return outboundResilience.execute(OutboundResilience.GRAPH, "users.create", false,
+                                              AzureUserService::isServiceFailure,
+                                              () -> graphClient.users().post(user));
+        } catch (ApiException | OutboundCallException e) {
             throw new AzureCustomException("Error when persisting account into Azure. "
                                                + "Check that the user doesn't already exist in the directory");
         }
@@ -101,12 +113,15 @@ public class AzureUserService {
      */
     public User getUser(String email) throws AzureCustomException {
         try {
-            UserCollectionResponse users = graphClient.users()
-                .get((configuration) -> {
-                    configuration.queryParameters.filter = String.format(
-                        "identities/any(c:c/issuerAssignedId eq '%s' and c/issuer eq '%s')",
-                        email, clientConfiguration.getB2cUrl());
-                });
+            UserCollectionResponse users = outboundResilience.execute(
+                OutboundResilience.GRAPH, "users.get", true, AzureUserService::isServiceFailure,
+                () -> graphClient.users()
+                    .get((configuration) -> {
+                        configuration.queryParameters.filter = String.format(
+                            "identities/any(c:c/issuerAssignedId eq '%s' and c/issuer eq '%s')",
+                            email, clientConfiguration.getB2cUrl());
+                    })
+            );
 
             User returnUser = null;
             if (users.getValue() != null && !users.getValue().isEmpty()) {
@@ -114,7 +129,7 @@ public class AzureUserService {
             }
             return returnUser;
 
-        } catch (ApiException e) {
+        } catch (ApiException | OutboundCallException e) {
             throw new AzureCustomException("Error when checking account into Azure.");
         }
     }
@@ -126,10 +141,34 @@ public class AzureUserService {
      */
     public void deleteUser(String userId) throws AzureCustomException {
         try {
-            graphClient.users().byUserId(userId).delete();
-        } catch (ApiException e) {
+            outboundResilience.execute(
+                OutboundResilience.GRAPH, "users.delete", true, AzureUserService::isServiceFailure,
+                () -> {
+                    graphClient.users().byUserId(userId).delete();
+                    return null;
+                }
+            );
+        } catch (ApiException | OutboundCallException e) {
             throw new AzureCustomException("Error when deleting account in Azure.");
         }
     }
 
+    /**
+     * Whether an exception from Graph means the service is failing. Error responses count only if they are server
+     * errors, throttling, or have no status as no response was received. Other exceptions count only if they were
+     * caused by an I/O failure, so invalid requests and client side validation errors are not retried and do not
+     * open the circuit breaker.
+     */
+    private static boolean isServiceFailure(Throwable ex) {
+        if (ex instanceof ApiException apiException) {
+            int statusCode = apiException.getResponseStatusCode();
+            return statusCode == NO_RESPONSE || statusCode >= SERVER_ERROR || statusCode == TOO_MANY_REQUESTS;
+        }
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException || cause instanceof OutboundCallException) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,133 @@
+package uk.gov.hmcts.reform.pip.account.management.service.account;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotificationHandler;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotifications;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of users by their user ID. Users are looked up on most authorisation checks, so this saves loading
+ * the same user again for each request they make.
+ *
+ * <p>Entries are removed whenever the user is changed through the {@link AccountService}, and expire after a time to
+ * live. Users which are not found are not cached. The size, hit rate and evictions of the cache are published to
+ * Micrometer under the name {@value #CACHE_NAME}.</p>
+ *
+ * <p>The ID of each changed user is also sent to the other instances as a Postgres notification once the change has
+ * committed, and they remove the user from their own caches. Every entry is removed whenever notifications may have
+ * been missed, and the cache is not used while notifications are not being received, so an instance does not keep
+ * returning a user's old roles, or a deleted user, to its authorisation checks.</p>
+ *
+ * <p>The same user object is returned to every caller, so it must not be modified.</p>
+ */
+@Component
+public class PiUserCache implements ClusterNotificationHandler {
+    static final String CACHE_NAME = "piUser";
+    static final String NOTIFICATION_CHANNEL = "pi_user_cache";
+
+    private final ClusterNotifications clusterNotifications;
+    private final boolean enabled;
+    private final Cache<UUID, PiUser> cache;
+
+    @Autowired
+    public PiUserCache(ClusterNotifications clusterNotifications,
+                       MeterRegistry meterRegistry,
+                       @Value("${account.user-cache.enabled}") boolean enabled,
+                       @Value("${account.user-cache.max-size}") long maxSize,
+                       @Value("${account.user-cache.time-to-live}") Duration timeToLive) {
+        this.clusterNotifications = clusterNotifications;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    /**
+     * Get a user from the cache, loading it if it is not cached.
+     *
+     * @param userId The ID of the user.
+     * @param loader Loads the user from the database, returning null if the user is not found. Nothing is cached if
+     *               it returns null or throws an exception.
+     * @return The user, or null if not found.
+     */
+    public PiUser get(UUID userId, Function<UUID, PiUser> loader) {
+        if (!enabled || !clusterNotifications.isListening()) {
+            return loader.apply(userId);
+        }
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * Remove a user from the cache once they have been changed, and tell the other instances to remove them once the
+     * current transaction (if any) has committed. If a transaction is active, the user is also removed again once it
+     * commits, so that a lookup made before then cannot cache the user as they were.
+     *
+     * @param userId The ID of the user which has been changed.
+     */
+    public void invalidate(UUID userId) {
+        if (!enabled) {
+            return;
+        }
+
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                    clusterNotifications.publish(NOTIFICATION_CHANNEL, userId.toString());
+                }
+            });
+        } else {
+            clusterNotifications.publish(NOTIFICATION_CHANNEL, userId.toString());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String getNotificationChannel() {
+        return NOTIFICATION_CHANNEL;
+    }
+
+    /**
+     * Remove the users changed by other instances from the cache.
+     * @param messages The message of each notification, which is the ID of the changed user.
+     */
+    @Override
+    public void handleNotifications(List<String> messages) {
+        messages.forEach(userId -> cache.invalidate(UUID.fromString(userId)));
+    }
+
+    @Override
+    public void handleMissedNotifications() {
+        cache.invalidateAll();
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+}
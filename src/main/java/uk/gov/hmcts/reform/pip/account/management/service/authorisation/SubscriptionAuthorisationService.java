@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.service.RequestLookupContext;
 import uk.gov.hmcts.reform.pip.account.management.service.account.AccountService;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 
@@ -24,6 +25,7 @@ public class SubscriptionAuthorisationService {
     private final SubscriptionRepository subscriptionRepository;
     private final AccountService accountService;
     private final AuthorisationCommonService authorisationCommonService;
+    private final RequestLookupContext requestLookupContext;
 
     private boolean isVerifiedUser(UUID userId) {
         PiUser user = accountService.getUserById(userId);
@@ -143,7 +145,9 @@ public class SubscriptionAuthorisationService {
     }
 
     private boolean isSubscriptionUserMatch(UUID subscriptionId, UUID userId) {
-        Optional<Subscription> subscription = subscriptionRepository.findById(subscriptionId);
+        Optional<Subscription> subscription = requestLookupContext.findSubscription(
+            subscriptionId, subscriptionRepository::findById
+        );
 
         if (subscription.isPresent()) {
             if (userId.toString().equals(subscription.get().getUserId().toString())) {
@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.pip.account.management.service.cluster;
+
+import java.util.List;
+
+/**
+ * An in-memory cache or index which is kept up to date with the changes made through other instances, using the
+ * notifications they send on its channel through {@link ClusterNotifications}.
+ */
+public interface ClusterNotificationHandler {
+
+    /**
+     * The Postgres channel the notifications are sent on, which must be a lower case identifier.
+     * @return The notification channel.
+     */
+    String getNotificationChannel();
+
+    /**
+     * Whether notifications should be listened for.
+     * @return true if the cache or index is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Handle the notifications sent by other instances. Notifications sent by this instance are not passed on.
+     * @param messages The message of each notification, in the order they were sent.
+     */
+    void handleNotifications(List<String> messages);
+
+    /**
+     * Handle notifications having been missed. This is called each time the listener connects, before any
+     * notification received on the connection is handled, as notifications sent while it was not connected are lost.
+     */
+    void handleMissedNotifications();
+}
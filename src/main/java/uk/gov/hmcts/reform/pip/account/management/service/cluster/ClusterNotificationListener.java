@@ -0,0 +1,165 @@
+package uk.gov.hmcts.reform.pip.account.management.service.cluster;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.sql.DataSource;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+
+/**
+ * Listens for the changes made by other instances, using Postgres LISTEN/NOTIFY on a dedicated connection, and passes
+ * each notification to the enabled {@link ClusterNotificationHandler} for its channel. Each time the connection is
+ * opened, the handlers are told that notifications may have been missed before {@link ClusterNotifications} reports
+ * that notifications are being received. If the connection is lost, or any other failure occurs, the connection is
+ * reopened, so the listener only stops when the service does.
+ *
+ * <p>The listening connection is held for as long as the service runs, so when the data source is a connection pool
+ * the connection is opened with the pool's settings, rather than taken from the pool and leaving it one short.</p>
+ */
+@Component
+@Slf4j
+public class ClusterNotificationListener {
+    private final DataSource dataSource;
+    private final ClusterNotifications clusterNotifications;
+    private final List<ClusterNotificationHandler> handlers;
+    private final int listenTimeoutMillis;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cluster-notification-listener");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running;
+
+    @Autowired
+    public ClusterNotificationListener(DataSource dataSource,
+                                       ClusterNotifications clusterNotifications,
+                                       List<ClusterNotificationHandler> handlers,
+                                       @Value("${cluster-notification.listen-timeout}") Duration listenTimeout) {
+        this.dataSource = dataSource;
+        this.clusterNotifications = clusterNotifications;
+        this.handlers = handlers;
+        this.listenTimeoutMillis = Math.toIntExact(listenTimeout.toMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Map<String, ClusterNotificationHandler> enabledHandlers = new LinkedHashMap<>();
+        handlers.stream()
+            .filter(ClusterNotificationHandler::isEnabled)
+            .forEach(handler -> enabledHandlers.put(handler.getNotificationChannel(), handler));
+        if (!enabledHandlers.isEmpty()) {
+            running = true;
+            executor.execute(() -> listen(enabledHandlers));
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        clusterNotifications.setListening(false);
+        executor.shutdownNow();
+    }
+
+    private void listen(Map<String, ClusterNotificationHandler> enabledHandlers) {
+        while (running) {
+            try (Connection connection = openConnection();
+                 Statement statement = connection.createStatement()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.warn(writeLog("Changes made by other instances cannot be listened for on this database, "
+                                          + "so in-memory caches will not be used"));
+                    return;
+                }
+
+                for (String channel : enabledHandlers.keySet()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                enabledHandlers.values().forEach(ClusterNotificationHandler::handleMissedNotifications);
+                clusterNotifications.setListening(true);
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(listenTimeoutMillis);
+                    if (notifications != null && notifications.length > 0) {
+                        handleNotifications(enabledHandlers, notifications);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                clusterNotifications.setListening(false);
+                if (!running) {
+                    return;
+                }
+                log.warn(writeLog(String.format("Failed listening for changes made by other instances: %s",
+                                                e.getMessage())));
+                if (!waitBeforeReconnecting()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handleNotifications(Map<String, ClusterNotificationHandler> enabledHandlers,
+                                     PGNotification... notifications) {
+        Map<String, List<String>> messagesByChannel = new LinkedHashMap<>();
+        for (PGNotification notification : notifications) {
+            String message = clusterNotifications.messageFrom(notification.getParameter());
+            if (message != null) {
+                messagesByChannel.computeIfAbsent(notification.getName(), k -> new ArrayList<>()).add(message);
+            }
+        }
+        messagesByChannel.forEach((channel, messages) -> {
+            ClusterNotificationHandler handler = enabledHandlers.get(channel);
+            if (handler != null) {
+                handler.handleNotifications(messages);
+            }
+        });
+    }
+
+    private Connection openConnection() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return dataSource.getConnection();
+        }
+
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        Properties properties = new Properties();
+        properties.putAll(pool.getDataSourceProperties());
+        if (pool.getUsername() != null) {
+            properties.setProperty("user", pool.getUsername());
+        }
+        if (pool.getPassword() != null) {
+            properties.setProperty("password", pool.getPassword());
+        }
+        return DriverManager.getConnection(pool.getJdbcUrl(), properties);
+    }
+
+    private boolean waitBeforeReconnecting() {
+        try {
+            Thread.sleep(listenTimeoutMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
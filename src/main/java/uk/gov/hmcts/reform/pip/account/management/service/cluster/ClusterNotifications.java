@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.pip.account.management.service.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+
+/**
+ * Sends notifications to the other instances of the service through Postgres NOTIFY, so that their in-memory caches
+ * and indexes can be kept up to date with the changes made through this instance. The notifications are received by
+ * the {@link ClusterNotificationListener} of each instance, and passed to the {@link ClusterNotificationHandler} for
+ * the channel.
+ *
+ * <p>Each notification is tagged with the ID of the instance which sent it, so that instances ignore their own. A
+ * notification sent inside a transaction is only delivered once the transaction has committed.</p>
+ */
+@Component
+@Slf4j
+public class ClusterNotifications {
+    private static final String SEPARATOR = ":";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile boolean listening;
+
+    @Autowired
+    public ClusterNotifications(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Send a notification to the other instances. A failure is logged rather than thrown, as notifications are sent
+     * once a change has been committed, and the other instances catch up when their caches next expire or rebuild.
+     *
+     * @param channel The channel to send the notification on.
+     * @param message The message, which must fit in a Postgres notification payload along with the instance ID.
+     */
+    public void publish(String channel, String message) {
+        try {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, instanceId + SEPARATOR + message);
+        } catch (RuntimeException e) {
+            log.warn(writeLog(String.format("Failed to notify other instances on channel %s: %s",
+                                            channel, e.getMessage())));
+        }
+    }
+
+    /**
+     * Whether notifications from other instances are being received. Caches should not be read while they are not,
+     * as changes made through other instances would be missed.
+     *
+     * @return true if the listener is connected and has handled any notifications it missed.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    void setListening(boolean listening) {
+        this.listening = listening;
+    }
+
+    /**
+     * Get the message from a notification payload.
+     * @param payload The notification payload.
+     * @return The message, or null if the notification was sent by this instance.
+     */
+    String messageFrom(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator < 0) {
+            return payload;
+        }
+        return instanceId.equals(payload.substring(0, separator)) ? null : payload.substring(separator + 1);
+    }
+}
@@ -0,0 +1,147 @@
+package uk.gov.hmcts.reform.pip.account.management.service.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotification;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotificationStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+
+/**
+ * Drains the outbound notification outbox. Due notifications are claimed in batches and sent to publication services
+ * concurrently, up to the configured parallelism. Failed notifications are retried with exponential backoff, and
+ * are moved to the dead-letter state once they have used all of their attempts.
+ */
+@Slf4j
+@Component
+public class OutboundNotificationDispatcher {
+    private static final int MAX_BACKOFF_DOUBLINGS = 30;
+    private static final String NOT_SENT_ERROR = "Publication services did not accept the notification";
+
+    private final OutboundNotificationService outboundNotificationService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+
+    @Autowired
+    public OutboundNotificationDispatcher(
+        OutboundNotificationService outboundNotificationService,
+        @Value("${outbound-notification.enabled}") boolean enabled,
+        @Value("${outbound-notification.batch-size}") int batchSize,
+        @Value("${outbound-notification.parallelism}") int parallelism,
+        @Value("${outbound-notification.max-attempts}") int maxAttempts,
+        @Value("${outbound-notification.initial-backoff}") Duration initialBackoff,
+        @Value("${outbound-notification.max-backoff}") Duration maxBackoff,
+        @Value("${outbound-notification.claim-timeout}") Duration claimTimeout
+    ) {
+        this.outboundNotificationService = outboundNotificationService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${outbound-notification.dispatch-interval}",
+        initialDelayString = "${outbound-notification.dispatch-interval}")
+    public void scheduledDispatch() {
+        if (enabled) {
+            dispatch();
+        }
+    }
+
+    /**
+     * Send the due notifications, a batch at a time, until there are none left.
+     *
+     * @return The number of notifications which were attempted.
+     */
+    public int dispatch() {
+        int attempted = 0;
+        List<OutboundNotification> batch;
+        do {
+            batch = outboundNotificationService.claimDueNotifications(batchSize, claimTimeout);
+            if (!batch.isEmpty()) {
+                dispatchBatch(batch);
+                attempted += batch.size();
+            }
+        } while (batch.size() >= batchSize);
+        return attempted;
+    }
+
+    private void dispatchBatch(List<OutboundNotification> batch) {
+        List<DispatchResult> results = Flux.fromIterable(batch)
+            .flatMap(notification -> outboundNotificationService.dispatch(notification)
+                .defaultIfEmpty(false)
+                .map(sent -> new DispatchResult(notification, Boolean.TRUE.equals(sent) ? null : NOT_SENT_ERROR))
+                .onErrorResume(e -> Mono.just(new DispatchResult(notification, describe(e)))), parallelism)
+            .collectList()
+            .block();
+
+        List<UUID> sentIds = new ArrayList<>();
+        List<OutboundNotification> failed = new ArrayList<>();
+        results.forEach(result -> {
+            if (result.error() == null) {
+                sentIds.add(result.notification().getId());
+            } else {
+                scheduleRetry(result.notification(), result.error());
+                failed.add(result.notification());
+            }
+        });
+
+        outboundNotificationService.recordDispatchResults(sentIds, failed);
+        log.info(writeLog(String.format("Outbound notifications dispatched: %s sent, %s failed",
+                                        sentIds.size(), failed.size())));
+    }
+
+    private void scheduleRetry(OutboundNotification notification, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        int attempts = notification.getAttempts() + 1;
+        notification.setAttempts(attempts);
+        notification.setLastUpdatedDate(now);
+        notification.setLastError(String.format("Attempt %s failed: %s", attempts, error));
+
+        if (attempts >= maxAttempts) {
+            notification.setStatus(OutboundNotificationStatus.DEAD_LETTER);
+            log.error(writeLog(String.format("Outbound %s notification %s moved to dead letter after %s attempts: %s",
+                                             notification.getNotificationType(), notification.getId(), attempts,
+                                             error)));
+        } else {
+            notification.setNextAttemptDate(now.plus(backoff(attempts)));
+        }
+    }
+
+    private static String describe(Throwable error) {
+        return error.getClass().getName() + ": " + error.getMessage();
+    }
+
+    /**
+     * The delay before the next attempt, which doubles after each failed attempt up to the maximum backoff.
+     */
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, MAX_BACKOFF_DOUBLINGS));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    /**
+     * The outcome of sending a notification, with the reason it failed if it was not sent.
+     */
+    private record DispatchResult(OutboundNotification notification, String error) {
+    }
+}
@@ -0,0 +1,243 @@
+package uk.gov.hmcts.reform.pip.account.management.service.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.hmcts.reform.pip.account.management.database.OutboundNotificationRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.MediaApplication;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.MediaRejectionEmail;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.MediaWelcomeEmail;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotification;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotificationStatus;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotificationType;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.BulkSubscriptionsSummary;
+import uk.gov.hmcts.reform.pip.account.management.service.PublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.ReactivePublicationService;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartySubscription;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+
+/**
+ * Sends the notifications which must not be lost to publication services. When the outbox is enabled, each
+ * notification is written to the outbound_notification table and is sent later by the
+ * {@link OutboundNotificationDispatcher}. Otherwise, the notification is sent straight away.
+ *
+ * <p>The notification only shares a transaction with the change which caused it when the caller runs both in one, as
+ * the media application rejection does. Media welcome emails are queued on their own once the Azure account has been
+ * created, as there is no database change to share a transaction with, so the account can still be created without
+ * its email being queued if the insert fails.</p>
+ */
+@Slf4j
+@Service
+public class OutboundNotificationService {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final OutboundNotificationRepository outboundNotificationRepository;
+    private final PublicationService publicationService;
+    private final ReactivePublicationService reactivePublicationService;
+    private final boolean enabled;
+
+    @Autowired
+    public OutboundNotificationService(OutboundNotificationRepository outboundNotificationRepository,
+                                       PublicationService publicationService,
+                                       ReactivePublicationService reactivePublicationService,
+                                       @Value("${outbound-notification.enabled}") boolean enabled) {
+        this.outboundNotificationRepository = outboundNotificationRepository;
+        this.publicationService = publicationService;
+        this.reactivePublicationService = reactivePublicationService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether notifications are written to the outbox, rather than sent straight away.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Send a media account welcome email.
+     *
+     * @return true if the email was sent or queued, otherwise false.
+     */
+    public boolean sendMediaNotificationEmail(String emailAddress, String fullName, boolean isExisting) {
+        if (!enabled) {
+            return publicationService.sendMediaNotificationEmail(emailAddress, fullName, isExisting);
+        }
+        enqueue(OutboundNotificationType.MEDIA_WELCOME_EMAIL,
+                new MediaWelcomeEmail(emailAddress, fullName, isExisting));
+        return true;
+    }
+
+    /**
+     * Send a media application rejection email.
+     */
+    public void sendMediaAccountRejectionEmail(MediaApplication mediaApplication, Map<String, List<String>> reasons) {
+        if (!enabled) {
+            publicationService.sendMediaAccountRejectionEmail(mediaApplication, reasons);
+            return;
+        }
+        enqueue(OutboundNotificationType.MEDIA_REJECTION_EMAIL,
+                new MediaRejectionEmail(mediaApplication.getId(), mediaApplication.getFullName(),
+                                        mediaApplication.getEmail(), reasons));
+    }
+
+    /**
+     * Send the subscription summaries for a publication.
+     *
+     * @param payload The subscription summaries, formatted by the {@link ReactivePublicationService}.
+     * @return true if the summaries were sent or queued, or false if they failed to send.
+     */
+    public Mono<Boolean> postSubscriptionSummaries(BulkSubscriptionsSummary payload) {
+        if (!enabled) {
+            return reactivePublicationService.postSubscriptionSummaries(payload);
+        }
+        enqueue(OutboundNotificationType.SUBSCRIPTION_SUMMARY, payload);
+        return Mono.just(true);
+    }
+
+    /**
+     * Send a publication to its third party subscribers.
+     */
+    public void sendThirdPartySubscription(ThirdPartySubscription thirdPartySubscription) {
+        if (!enabled) {
+            reactivePublicationService.sendThirdPartySubscription(thirdPartySubscription, false).subscribe(
+                null, ex -> log.error(writeLog(String.format(
+                    "Third party subscriptions failed to send with error: %s", ex.getMessage()
+                )))
+            );
+            return;
+        }
+        enqueue(OutboundNotificationType.THIRD_PARTY_SUBSCRIPTION, thirdPartySubscription);
+    }
+
+    /**
+     * Send a notification from the outbox to publication services.
+     *
+     * @param notification The notification to send.
+     * @return true if the notification was sent, otherwise false.
+     */
+    public Mono<Boolean> dispatch(OutboundNotification notification) {
+        try {
+            return switch (notification.getNotificationType()) {
+                case SUBSCRIPTION_SUMMARY -> reactivePublicationService.postSubscriptionSummaries(
+                    OBJECT_MAPPER.readValue(notification.getPayload(), BulkSubscriptionsSummary.class)
+                );
+                case THIRD_PARTY_SUBSCRIPTION -> reactivePublicationService.sendThirdPartySubscription(
+                    OBJECT_MAPPER.readValue(notification.getPayload(), ThirdPartySubscription.class), false
+                );
+                case MEDIA_WELCOME_EMAIL -> {
+                    MediaWelcomeEmail email = OBJECT_MAPPER.readValue(notification.getPayload(),
+                                                                      MediaWelcomeEmail.class);
+                    yield sendBlocking(() -> publicationService.sendMediaNotificationEmail(
+                        email.getEmail(), email.getFullName(), email.isExisting()
+                    ));
+                }
+                case MEDIA_REJECTION_EMAIL -> {
+                    MediaRejectionEmail email = OBJECT_MAPPER.readValue(notification.getPayload(),
+                                                                        MediaRejectionEmail.class);
+                    MediaApplication mediaApplication = new MediaApplication();
+                    mediaApplication.setId(email.getApplicantId());
+                    mediaApplication.setFullName(email.getFullName());
+                    mediaApplication.setEmail(email.getEmail());
+                    yield sendBlocking(() -> publicationService.sendMediaAccountRejectionEmail(
+                        mediaApplication, email.getReasons()
+                    ));
+                }
+            };
+        } catch (JsonProcessingException e) {
+            log.error(writeLog(String.format("Unable to read outbound notification %s: %s",
+                                             notification.getId(), e.getMessage())));
+            return Mono.just(false);
+        }
+    }
+
+    /**
+     * Claim the pending notifications which are due to be sent. The next attempt date of each claimed notification
+     * is moved forward by the claim timeout, so that no other instance sends it unless this one fails to record the
+     * result in time.
+     *
+     * @param batchSize The maximum number of notifications to claim.
+     * @param claimTimeout How long the notifications are claimed for.
+     * @return The claimed notifications.
+     */
+    @Transactional
+    public List<OutboundNotification> claimDueNotifications(int batchSize, Duration claimTimeout) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboundNotification> notifications = outboundNotificationRepository.findDueForDispatch(now, batchSize);
+        notifications.forEach(notification -> notification.setNextAttemptDate(now.plus(claimTimeout)));
+        return outboundNotificationRepository.saveAll(notifications);
+    }
+
+    /**
+     * Record the outcome of a dispatched batch. Sent notifications are removed from the outbox, and failed
+     * notifications are saved with their updated attempt count, next attempt date and status.
+     */
+    @Transactional
+    public void recordDispatchResults(Collection<UUID> sentIds, Collection<OutboundNotification> failed) {
+        if (!sentIds.isEmpty()) {
+            outboundNotificationRepository.deleteAllByIdInBatch(sentIds);
+        }
+        outboundNotificationRepository.saveAll(failed);
+    }
+
+    public List<OutboundNotification> findDeadLetters() {
+        return outboundNotificationRepository.findAllByStatus(OutboundNotificationStatus.DEAD_LETTER);
+    }
+
+    /**
+     * Queue dead-lettered notifications to be sent again, with their attempt count reset.
+     *
+     * @param ids The IDs of the notifications to replay, or empty to replay all dead-lettered notifications.
+     * @return The number of notifications queued for replay.
+     */
+    @Transactional
+    public int replayDeadLetters(List<UUID> ids) {
+        List<OutboundNotification> deadLetters = ids == null || ids.isEmpty()
+            ? findDeadLetters()
+            : outboundNotificationRepository.findAllByStatusAndIdIn(OutboundNotificationStatus.DEAD_LETTER, ids);
+
+        LocalDateTime now = LocalDateTime.now();
+        deadLetters.forEach(notification -> {
+            notification.setStatus(OutboundNotificationStatus.PENDING);
+            notification.setAttempts(0);
+            notification.setNextAttemptDate(now);
+            notification.setLastUpdatedDate(now);
+        });
+        outboundNotificationRepository.saveAll(deadLetters);
+
+        log.info(writeLog(String.format("%s dead-lettered outbound notification(s) queued for replay",
+                                        deadLetters.size())));
+        return deadLetters.size();
+    }
+
+    private void enqueue(OutboundNotificationType notificationType, Object payload) {
+        try {
+            outboundNotificationRepository.save(
+                new OutboundNotification(notificationType, OBJECT_MAPPER.writeValueAsString(payload))
+            );
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                String.format("Unable to write %s outbound notification", notificationType), e
+            );
+        }
+    }
+
+    private static Mono<Boolean> sendBlocking(Callable<Boolean> send) {
+        return Mono.fromCallable(send).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,130 @@
+package uk.gov.hmcts.reform.pip.account.management.service.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.gov.hmcts.reform.pip.account.management.config.OutboundResilienceProperties;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+
+/**
+ * Circuit breaker for a single endpoint, based on the outcome of its most recent calls. The breaker opens once the
+ * failure rate of the sliding window reaches the threshold, and calls are rejected while it is open. Once the open
+ * duration has passed, a single trial call is let through, which closes the breaker if it succeeds or opens it again
+ * if it fails.
+ */
+@Slf4j
+final class CircuitBreaker {
+
+    /**
+     * The state of the breaker. The ordinal is published as the state metric.
+     */
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+
+    private final boolean[] outcomes;
+    private int nextIndex;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialCallInFlight;
+
+    CircuitBreaker(String name, OutboundResilienceProperties.CircuitBreaker properties) {
+        this.name = name;
+        this.minimumCalls = properties.getMinimumCalls();
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.openDurationNanos = properties.getOpenDuration().toNanos();
+        this.outcomes = new boolean[properties.getSlidingWindowSize()];
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Check whether a call can be made.
+     * @return true if the breaker is closed, or if this is the trial call once the open duration has passed.
+     */
+    synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openDurationNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialCallInFlight = false;
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (trialCallInFlight) {
+                return false;
+            }
+            trialCallInFlight = true;
+        }
+        return true;
+    }
+
+    /**
+     * Give back a permission which was not used, as the call was not made.
+     */
+    synchronized void releasePermission() {
+        trialCallInFlight = false;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED);
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == outcomes.length) {
+            if (outcomes[nextIndex]) {
+                failedCalls--;
+            }
+        } else {
+            recordedCalls++;
+        }
+
+        outcomes[nextIndex] = failed;
+        if (failed) {
+            failedCalls++;
+        }
+        nextIndex = (nextIndex + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State newState) {
+        if (newState == State.OPEN) {
+            openedAt = System.nanoTime();
+            log.warn(writeLog(String.format("Circuit breaker for %s opened", name)));
+        } else {
+            log.info(writeLog(String.format("Circuit breaker for %s closed", name)));
+        }
+
+        state = newState;
+        trialCallInFlight = false;
+        nextIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+    }
+}
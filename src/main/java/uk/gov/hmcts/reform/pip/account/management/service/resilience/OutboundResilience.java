@@ -0,0 +1,349 @@
+package uk.gov.hmcts.reform.pip.account.management.service.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import uk.gov.hmcts.reform.pip.account.management.config.OutboundResilienceProperties;
+import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.OutboundCallRejectedException;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+
+/**
+ * Shared resilience layer for the calls made to other services. Each call is made through the bulkhead of its service
+ * and the circuit breaker of its endpoint, and failed calls are retried within the retry budget of the service.
+ * Blocking calls are made with {@link #execute}, and non-blocking calls with {@link #executeReactive}, which share
+ * the same bulkheads, circuit breakers and retry budgets.
+ *
+ * <p>Only idempotent calls are retried, unless the connection to the service could not be made, in which case the
+ * request was never sent. Calls rejected by a bulkhead or circuit breaker fail fast with an
+ * {@link OutboundCallRejectedException}, and are not retried.</p>
+ *
+ * <p>The state of each circuit breaker, the available bulkhead permits, the rejected calls and the retries are
+ * published to Micrometer, tagged with the service and endpoint.</p>
+ */
+@Component
+@Slf4j
+public class OutboundResilience {
+    public static final String PUBLICATION_SERVICES = "publication-services";
+    public static final String GRAPH = "graph";
+
+    static final String CIRCUIT_BREAKER_STATE = "outbound.circuitbreaker.state";
+    static final String BULKHEAD_AVAILABLE = "outbound.bulkhead.available";
+    static final String REJECTED_CALLS = "outbound.calls.rejected";
+    static final String RETRIES = "outbound.calls.retries";
+
+    private static final Duration BULKHEAD_POLL_INTERVAL = Duration.ofMillis(10);
+    private static final String DOWNSTREAM_TAG = "downstream";
+    private static final String ENDPOINT_TAG = "endpoint";
+
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Downstream> downstreams;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public OutboundResilience(OutboundResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.meterRegistry = meterRegistry;
+        this.downstreams = Map.of(
+            PUBLICATION_SERVICES, new Downstream(PUBLICATION_SERVICES, properties.getPublicationServices()),
+            GRAPH, new Downstream(GRAPH, properties.getGraph())
+        );
+    }
+
+    /**
+     * The number of calls which can be in flight to a service at once.
+     *
+     * @param downstream The service being called.
+     * @return The size of the service's bulkhead, or no limit if outbound calls are not protected.
+     */
+    public int getMaxConcurrentCalls(String downstream) {
+        return enabled ? downstreams.get(downstream).maxConcurrentCalls : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Make a call to another service.
+     *
+     * @param downstream The service being called.
+     * @param endpoint The endpoint being called, which has its own circuit breaker.
+     * @param idempotent Whether the call can safely be made more than once.
+     * @param isFailure Whether an exception thrown by the call means the service is failing, as opposed to the
+     *                  request being invalid. Only these exceptions count towards the circuit breaker or are retried.
+     * @param call The call to make.
+     * @return The result of the call.
+     * @throws OutboundCallRejectedException if the call was rejected by the circuit breaker or bulkhead.
+     */
+    public <T> T execute(String downstream, String endpoint, boolean idempotent,
+                         Predicate<Throwable> isFailure, Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        Downstream target = downstreams.get(downstream);
+        CircuitBreaker circuitBreaker = circuitBreaker(downstream, endpoint, target);
+        target.retryBudget.deposit();
+
+        int attempt = 1;
+        while (true) {
+            try {
+                return attempt(target, endpoint, circuitBreaker, isFailure, call);
+            } catch (OutboundCallRejectedException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (!shouldRetry(target, attempt, idempotent, isFailure, e) || !backOff(target, attempt)) {
+                    throw e;
+                }
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * Make a non-blocking call to another service. The call is made each time the returned Mono is subscribed to, and
+     * is retried in the same way as a blocking call, after a delay which does not hold a thread.
+     *
+     * <p>While the bulkhead is full, the call waits up to the bulkhead's maximum wait for a permit, checking for a
+     * free permit on a timer rather than blocking the subscribing thread, so that calls queued behind a full bulkhead
+     * are not rejected as soon as they are sent. A permit is given back when the call completes, fails or is
+     * cancelled.</p>
+     *
+     * @param downstream The service being called.
+     * @param endpoint The endpoint being called, which has its own circuit breaker.
+     * @param idempotent Whether the call can safely be made more than once.
+     * @param isFailure Whether an error signalled by the call means the service is failing, as opposed to the
+     *                  request being invalid. Only these errors count towards the circuit breaker or are retried.
+     * @param call Creates the call to make.
+     * @return A Mono which makes the call, and errors with an {@link OutboundCallRejectedException} if the call was
+     *     rejected by the circuit breaker or bulkhead.
+     */
+    public <T> Mono<T> executeReactive(String downstream, String endpoint, boolean idempotent,
+                                       Predicate<Throwable> isFailure, Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+
+        Downstream target = downstreams.get(downstream);
+        CircuitBreaker circuitBreaker = circuitBreaker(downstream, endpoint, target);
+
+        Mono<T> attempt = Mono.defer(() -> attemptReactive(target, endpoint, circuitBreaker, isFailure, call));
+        return Mono.defer(() -> {
+            target.retryBudget.deposit();
+            return attempt.retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                Throwable failure = signal.failure();
+                int attemptNumber = (int) signal.totalRetries() + 1;
+                if (failure instanceof OutboundCallRejectedException
+                    || !shouldRetry(target, attemptNumber, idempotent, isFailure, failure)) {
+                    return Mono.error(failure);
+                }
+                return Mono.delay(Duration.ofMillis(jitteredBackoff(target, attemptNumber)));
+            })));
+        });
+    }
+
+    private <T> Mono<T> attemptReactive(Downstream target, String endpoint, CircuitBreaker circuitBreaker,
+                                        Predicate<Throwable> isFailure, Supplier<Mono<T>> call) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return Mono.error(reject(target.name, endpoint, "circuit_open", "its circuit breaker is open"));
+        }
+
+        return target.acquireBulkheadReactive()
+            .doOnCancel(circuitBreaker::releasePermission)
+            .flatMap(acquired -> {
+                if (!acquired) {
+                    circuitBreaker.releasePermission();
+                    return Mono.error(reject(target.name, endpoint, "bulkhead_full", "too many calls are in flight"));
+                }
+
+                return Mono.defer(call)
+                    .doOnSuccess(result -> circuitBreaker.onSuccess())
+                    .doOnError(e -> {
+                        if (isFailure.test(e)) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnCancel(circuitBreaker::releasePermission)
+                    .doFinally(signal -> target.bulkhead.release());
+            });
+    }
+
+    private <T> T attempt(Downstream target, String endpoint, CircuitBreaker circuitBreaker,
+                          Predicate<Throwable> isFailure, Supplier<T> call) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw reject(target.name, endpoint, "circuit_open", "its circuit breaker is open");
+        }
+        if (!target.tryAcquireBulkhead()) {
+            circuitBreaker.releasePermission();
+            throw reject(target.name, endpoint, "bulkhead_full", "too many calls are in flight");
+        }
+
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            if (isFailure.test(e)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+        } finally {
+            target.bulkhead.release();
+        }
+    }
+
+    private boolean shouldRetry(Downstream target, int attempt, boolean idempotent,
+                                Predicate<Throwable> isFailure, Throwable e) {
+        if (attempt >= target.retry.getMaxAttempts() || !isFailure.test(e)
+            || !(idempotent || isConnectFailure(e))) {
+            return false;
+        }
+
+        if (!target.retryBudget.tryWithdraw()) {
+            retryCounter(target.name, "budget_exhausted").increment();
+            return false;
+        }
+        retryCounter(target.name, "attempted").increment();
+        return true;
+    }
+
+    /**
+     * Wait before the next attempt, for a random time up to the exponential backoff for the attempt.
+     * @return false if the thread was interrupted while waiting.
+     */
+    private boolean backOff(Downstream target, int attempt) {
+        try {
+            Thread.sleep(jitteredBackoff(target, attempt));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * A random time, in milliseconds, up to the exponential backoff for the attempt.
+     */
+    private static long jitteredBackoff(Downstream target, int attempt) {
+        long maxBackoff = target.retry.getMaxBackoff().toMillis();
+        long backoff = Math.min(maxBackoff, target.retry.getInitialBackoff().toMillis() << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(backoff + 1);
+    }
+
+    private static boolean isConnectFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private OutboundCallRejectedException reject(String downstream, String endpoint, String reason,
+                                                 String description) {
+        Counter.builder(REJECTED_CALLS)
+            .description("Calls to other services rejected by a circuit breaker or bulkhead")
+            .tag(DOWNSTREAM_TAG, downstream)
+            .tag(ENDPOINT_TAG, endpoint)
+            .tag("reason", reason)
+            .register(meterRegistry)
+            .increment();
+        log.warn(writeLog(String.format("Call to %s endpoint %s rejected as %s", downstream, endpoint, description)));
+        return new OutboundCallRejectedException(downstream, endpoint, description);
+    }
+
+    private Counter retryCounter(String downstream, String outcome) {
+        return Counter.builder(RETRIES)
+            .description("Retries of failed calls to other services, and retries denied by the retry budget")
+            .tag(DOWNSTREAM_TAG, downstream)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private CircuitBreaker circuitBreaker(String downstream, String endpoint, Downstream target) {
+        return circuitBreakers.computeIfAbsent(
+            downstream + ":" + endpoint, key -> createCircuitBreaker(downstream, endpoint, target)
+        );
+    }
+
+    private CircuitBreaker createCircuitBreaker(String downstream, String endpoint, Downstream target) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(downstream + " endpoint " + endpoint,
+                                                           target.circuitBreaker);
+        Gauge.builder(CIRCUIT_BREAKER_STATE, circuitBreaker, breaker -> breaker.getState().ordinal())
+            .description("State of the circuit breaker for an endpoint: 0 closed, 1 open, 2 half-open")
+            .tag(DOWNSTREAM_TAG, downstream)
+            .tag(ENDPOINT_TAG, endpoint)
+            .register(meterRegistry);
+        return circuitBreaker;
+    }
+
+    /**
+     * The bulkhead, retry budget and configuration of a service.
+     */
+    private final class Downstream {
+        private final String name;
+        private final Semaphore bulkhead;
+        private final int maxConcurrentCalls;
+        private final Duration bulkheadMaxWait;
+        private final OutboundResilienceProperties.Retry retry;
+        private final RetryBudget retryBudget;
+        private final OutboundResilienceProperties.CircuitBreaker circuitBreaker;
+
+        private Downstream(String name, OutboundResilienceProperties.Downstream properties) {
+            this.name = name;
+            this.maxConcurrentCalls = properties.getBulkhead().getMaxConcurrentCalls();
+            this.bulkhead = new Semaphore(maxConcurrentCalls);
+            this.bulkheadMaxWait = properties.getBulkhead().getMaxWait();
+            this.retry = properties.getRetry();
+            this.retryBudget = new RetryBudget(retry);
+            this.circuitBreaker = properties.getCircuitBreaker();
+
+            Gauge.builder(BULKHEAD_AVAILABLE, bulkhead, Semaphore::availablePermits)
+                .description("Calls which can be made to a service before its bulkhead is full")
+                .tag(DOWNSTREAM_TAG, name)
+                .register(meterRegistry);
+        }
+
+        private boolean tryAcquireBulkhead() {
+            try {
+                return bulkhead.tryAcquire(bulkheadMaxWait.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        /**
+         * Take a bulkhead permit without blocking, checking again every poll interval until the maximum wait has
+         * passed.
+         * @return A Mono of true once a permit has been taken, or false if none was free in time.
+         */
+        private Mono<Boolean> acquireBulkheadReactive() {
+            return Mono.defer(() -> {
+                long deadline = System.nanoTime() + bulkheadMaxWait.toNanos();
+                return Mono.fromSupplier(() -> bulkhead.tryAcquire() ? Boolean.TRUE : null)
+                    .repeatWhenEmpty(polls -> polls.concatMap(poll -> System.nanoTime() < deadline
+                        ? Mono.delay(BULKHEAD_POLL_INTERVAL)
+                        : Mono.empty()))
+                    .defaultIfEmpty(false);
+            });
+        }
+    }
+}
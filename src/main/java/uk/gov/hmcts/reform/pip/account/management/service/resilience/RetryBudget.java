@@ -0,0 +1,32 @@
+package uk.gov.hmcts.reform.pip.account.management.service.resilience;
+
+import uk.gov.hmcts.reform.pip.account.management.config.OutboundResilienceProperties;
+
+/**
+ * Limits the retries made to a service. Each call deposits a fraction of a token, up to the burst size, and each
+ * retry withdraws a whole token. Once the burst has been used, retries are limited to the configured ratio of calls,
+ * so that retries can't multiply the load on a service which is already failing.
+ */
+final class RetryBudget {
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    RetryBudget(OutboundResilienceProperties.Retry properties) {
+        this.ratio = properties.getBudgetRatio();
+        this.maxTokens = properties.getBudgetBurst();
+        this.tokens = maxTokens;
+    }
+
+    synchronized void deposit() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
@@ -0,0 +1,313 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotificationHandler;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotifications;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+import static uk.gov.hmcts.reform.pip.model.subscription.SearchType.CASE_ID;
+import static uk.gov.hmcts.reform.pip.model.subscription.SearchType.CASE_URN;
+
+/**
+ * Bloom filter over the search values of all case number and case URN subscriptions. It is used to skip the
+ * subscription lookup for cases which definitely have no subscribers.
+ *
+ * <p>The filter can return false positives, at the configured rate. Values are added when subscriptions are created,
+ * and are sent to the other instances as Postgres notifications, which add them to their own filters. The filter is
+ * rebuilt whenever the listener connects, as notifications may have been missed, and every value is passed while
+ * notifications are not being received. It is also periodically rebuilt to drop the values of deleted
+ * subscriptions.</p>
+ *
+ * <p>A subscription created on another instance is therefore only missed by a publication processed in the moment
+ * between the subscription being committed and the notification arriving. Such a publication is processed
+ * concurrently with the subscription being created, so it could equally have been processed just before it.</p>
+ */
+@Component
+@Slf4j
+public class CaseSubscriptionFilter implements ClusterNotificationHandler {
+    static final String NOTIFICATION_CHANNEL = "case_subscription_filter";
+
+    private static final int MIN_EXPECTED_VALUES = 10_000;
+    private static final int CAPACITY_HEADROOM = 2;
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final ClusterNotifications clusterNotifications;
+    private final boolean enabled;
+    private final double falsePositiveProbability;
+
+    private final Object lock = new Object();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer rebuildTimer;
+
+    private volatile BloomFilter filter;
+    private Set<String> valuesAddedDuringRebuild;
+
+    @Autowired
+    public CaseSubscriptionFilter(SubscriptionRepository subscriptionRepository,
+                                  ClusterNotifications clusterNotifications,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${subscription.case-filter.enabled}") boolean enabled,
+                                  @Value("${subscription.case-filter.false-positive-probability}")
+                                  double falsePositiveProbability) {
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("Case subscription filter false positive probability must be "
+                                                   + "between 0 and 1");
+        }
+        this.subscriptionRepository = subscriptionRepository;
+        this.clusterNotifications = clusterNotifications;
+        this.enabled = enabled;
+        this.falsePositiveProbability = falsePositiveProbability;
+
+        hitCounter = Counter.builder("subscription.case.filter.lookups")
+            .description("Case values which might have subscribers, according to the case subscription filter")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        missCounter = Counter.builder("subscription.case.filter.lookups")
+            .description("Case values which have no subscribers, according to the case subscription filter")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        rebuildTimer = Timer.builder("subscription.case.filter.rebuild")
+            .description("Time taken to rebuild the case subscription filter")
+            .register(meterRegistry);
+        Gauge.builder("subscription.case.filter.size", this, CaseSubscriptionFilter::size)
+            .description("Number of case values added to the case subscription filter")
+            .register(meterRegistry);
+        Gauge.builder("subscription.case.filter.hit.ratio", this, CaseSubscriptionFilter::hitRatio)
+            .description("Proportion of case values which the case subscription filter passes to the database")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String getNotificationChannel() {
+        return NOTIFICATION_CHANNEL;
+    }
+
+    @Scheduled(fixedDelayString = "${subscription.case-filter.rebuild-interval}",
+        initialDelayString = "${subscription.case-filter.rebuild-interval}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the filter from the case subscriptions in the database. Values added while the rebuild is loading
+     * are carried over into the rebuilt filter so that they are not lost when it is swapped in.
+     */
+    public void rebuild() {
+        long startTime = System.nanoTime();
+        synchronized (lock) {
+            valuesAddedDuringRebuild = new HashSet<>();
+        }
+
+        try {
+            List<String> values = subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(
+                List.of(CASE_ID, CASE_URN)
+            );
+
+            BloomFilter rebuiltFilter = new BloomFilter(
+                Math.max(MIN_EXPECTED_VALUES, (long) values.size() * CAPACITY_HEADROOM), falsePositiveProbability
+            );
+            values.forEach(rebuiltFilter::put);
+
+            synchronized (lock) {
+                valuesAddedDuringRebuild.forEach(rebuiltFilter::put);
+                filter = rebuiltFilter;
+            }
+
+            long duration = System.nanoTime() - startTime;
+            rebuildTimer.record(duration, TimeUnit.NANOSECONDS);
+            log.info(writeLog(String.format("Case subscription filter rebuilt with %s values in %s ms",
+                                            values.size(), TimeUnit.NANOSECONDS.toMillis(duration))));
+        } finally {
+            synchronized (lock) {
+                valuesAddedDuringRebuild = null;
+            }
+        }
+    }
+
+    /**
+     * Add the search value of a case subscription to the filter, and send it to the other instances once the current
+     * transaction (if any) has committed. Subscriptions which are not for a case number or case URN are ignored.
+     *
+     * @param subscription The subscription which has been created.
+     */
+    public void addSubscription(Subscription subscription) {
+        if (!enabled || !(CASE_ID.equals(subscription.getSearchType())
+            || CASE_URN.equals(subscription.getSearchType()))) {
+            return;
+        }
+
+        String value = subscription.getSearchValue();
+        add(value);
+
+        // Add the value again once committed, in case a rebuild has read the table before the commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(value);
+                    clusterNotifications.publish(NOTIFICATION_CHANNEL, value);
+                }
+            });
+        } else {
+            clusterNotifications.publish(NOTIFICATION_CHANNEL, value);
+        }
+    }
+
+    /**
+     * Add the values of the case subscriptions created by other instances.
+     * @param messages The message of each notification, which is the case number or case URN subscribed to.
+     */
+    @Override
+    public void handleNotifications(List<String> messages) {
+        if (enabled) {
+            messages.forEach(this::add);
+        }
+    }
+
+    @Override
+    public void handleMissedNotifications() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Whether there might be a case subscription with the given search value. Always returns true if the filter
+     * is disabled, has not yet been built, or is not receiving the values added by other instances.
+     *
+     * @param searchValue The case number or case URN to check.
+     * @return false if there is definitely no subscription with the search value, otherwise true.
+     */
+    public boolean mightContain(String searchValue) {
+        BloomFilter currentFilter = filter;
+        if (!enabled || currentFilter == null || !clusterNotifications.isListening()) {
+            return true;
+        }
+
+        boolean result = currentFilter.mightContain(searchValue);
+        if (result) {
+            hitCounter.increment();
+        } else {
+            missCounter.increment();
+        }
+        return result;
+    }
+
+    private void add(String value) {
+        synchronized (lock) {
+            if (filter != null) {
+                filter.put(value);
+            }
+            if (valuesAddedDuringRebuild != null) {
+                valuesAddedDuringRebuild.add(value);
+            }
+        }
+    }
+
+    private double size() {
+        BloomFilter currentFilter = filter;
+        return currentFilter == null ? 0 : currentFilter.size();
+    }
+
+    private double hitRatio() {
+        double lookups = hitCounter.count() + missCounter.count();
+        return lookups == 0 ? 0 : hitCounter.count() / lookups;
+    }
+
+    /**
+     * Thread safe bloom filter of strings. The bit indexes are derived by double hashing the two halves of a 64-bit
+     * FNV-1a hash, which is mixed so that both halves are well distributed.
+     */
+    static final class BloomFilter {
+        private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final AtomicLong valueCount = new AtomicLong();
+
+        BloomFilter(long expectedValues, double falsePositiveProbability) {
+            long optimalBits = (long) Math.ceil(-expectedValues * Math.log(falsePositiveProbability)
+                                                    / (Math.log(2) * Math.log(2)));
+            int words = (int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * Long.SIZE;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedValues * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            int firstHash = (int) hash;
+            int secondHash = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = bitIndex(firstHash + i * secondHash);
+                bits.getAndUpdate((int) (index >>> 6), word -> word | (1L << index));
+            }
+            valueCount.incrementAndGet();
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int firstHash = (int) hash;
+            int secondHash = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long index = bitIndex(firstHash + i * secondHash);
+                if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long size() {
+            return valueCount.get();
+        }
+
+        private long bitIndex(int combinedHash) {
+            return (combinedHash & Integer.MAX_VALUE) % bitCount;
+        }
+
+        private static long hash(String value) {
+            long hash = FNV_OFFSET_BASIS;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= FNV_PRIME;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
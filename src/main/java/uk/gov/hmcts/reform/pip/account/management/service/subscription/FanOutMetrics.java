@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.pip.model.publication.Artefact;
+
+import java.time.Duration;
+
+/**
+ * Records how long each stage of a subscription fan-out takes, and how many subscriptions or recipients each stage
+ * produces. All metrics are tagged with the list type and sensitivity of the publication.
+ *
+ * <p>Only the total duration publishes a percentile histogram. The stage timers are also tagged with the stage, which
+ * would multiply the histogram buckets by every stage, so they publish only their count, total and maximum.</p>
+ */
+@Component
+public class FanOutMetrics {
+    static final String STAGE_DURATION = "subscription.fanout.stage.duration";
+    static final String STAGE_SIZE = "subscription.fanout.stage.size";
+    static final String TOTAL_DURATION = "subscription.fanout.duration";
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public FanOutMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Start recording the fan-out for a publication.
+     *
+     * @param artefact The publication being sent to its subscribers.
+     * @return The trace to record each stage of the fan-out against.
+     */
+    public FanOutTrace start(Artefact artefact) {
+        Tags tags = Tags.of(
+            "listType", artefact.getListType() == null ? UNKNOWN : artefact.getListType().name(),
+            "sensitivity", artefact.getSensitivity() == null ? UNKNOWN : artefact.getSensitivity().name()
+        );
+        return new FanOutTrace(this, artefact.getArtefactId(), tags);
+    }
+
+    void recordStage(FanOutStage stage, Tags tags, Duration duration, int size) {
+        Timer.builder(STAGE_DURATION)
+            .description("Time taken by each stage of a subscription fan-out")
+            .tags(tags)
+            .tag("stage", stage.stageName)
+            .register(meterRegistry)
+            .record(duration);
+        DistributionSummary.builder(STAGE_SIZE)
+            .description("Number of subscriptions or recipients produced by each stage of a subscription fan-out")
+            .tags(tags)
+            .tag("stage", stage.stageName)
+            .register(meterRegistry)
+            .record(size);
+    }
+
+    void recordTotal(Tags tags, Duration duration) {
+        Timer.builder(TOTAL_DURATION)
+            .description("Time taken by a subscription fan-out from start to finish")
+            .tags(tags)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(duration);
+    }
+}
@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+/**
+ * The stages of collecting and sending the email subscribers for a publication, which are timed separately.
+ */
+public enum FanOutStage {
+    LOCATION_QUERY("location-query"),
+    CASE_QUERY("case-query"),
+    SUBSCRIBER_LOOKUP("subscriber-lookup"),
+    PERMISSION_FILTER("permission-filter"),
+    EMAIL_ENRICHMENT("email-enrichment"),
+    PAYLOAD_BUILD("payload-build"),
+    /**
+     * Sending the summary to publication services.
+     */
+    DISPATCH("dispatch"),
+    /**
+     * Queueing the summary in the outbox, when the outbox is enabled. The summary is sent to publication services
+     * later, so this does not include the time taken to send it.
+     */
+    OUTBOX_ENQUEUE("outbox-enqueue");
+
+    /**
+     * The name of the stage, used for the stage tag on the metrics and in the fan-out summary log.
+     */
+    public final String stageName;
+
+    FanOutStage(String stageName) {
+        this.stageName = stageName;
+    }
+}
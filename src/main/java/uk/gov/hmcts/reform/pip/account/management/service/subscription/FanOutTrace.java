@@ -0,0 +1,114 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+
+/**
+ * The stage timings of a single subscription fan-out. Each stage is recorded to {@link FanOutMetrics} as it
+ * finishes, and a summary of every stage is logged alongside the artefact ID once the fan-out is complete.
+ */
+@Slf4j
+public class FanOutTrace {
+    private final FanOutMetrics fanOutMetrics;
+    private final UUID artefactId;
+    private final Tags tags;
+    private final long startTime = System.nanoTime();
+    private final Map<FanOutStage, StageResult> stageResults = new EnumMap<>(FanOutStage.class);
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    FanOutTrace(FanOutMetrics fanOutMetrics, UUID artefactId, Tags tags) {
+        this.fanOutMetrics = fanOutMetrics;
+        this.artefactId = artefactId;
+        this.tags = tags;
+    }
+
+    /**
+     * Run and time a stage of the fan-out.
+     *
+     * @param stage The stage being run.
+     * @param step The work done by the stage.
+     * @param size Counts the subscriptions or recipients produced by the stage.
+     * @return The result of the stage.
+     */
+    public <T> T record(FanOutStage stage, Supplier<T> step, ToIntFunction<T> size) {
+        long start = System.nanoTime();
+        T result = step.get();
+        recordStage(stage, System.nanoTime() - start, size.applyAsInt(result));
+        return result;
+    }
+
+    /**
+     * Record a stage of the fan-out which has been timed by the caller, for a stage whose work is interleaved with
+     * other stages.
+     *
+     * @param stage The stage which was run.
+     * @param duration The time spent in the stage.
+     * @param size The number of subscriptions or recipients produced by the stage.
+     */
+    public void recordDuration(FanOutStage stage, Duration duration, int size) {
+        recordStage(stage, duration.toNanos(), size);
+    }
+
+    /**
+     * Time a non-blocking stage of the fan-out, from when it is subscribed to until it terminates.
+     *
+     * @param stage The stage being run.
+     * @param step The work done by the stage.
+     * @param size The number of recipients handled by the stage.
+     * @return The stage, which records its timing before its result is passed on.
+     */
+    public <T> Mono<T> recordAsync(FanOutStage stage, Mono<T> step, int size) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Runnable finish = () -> recordStage(stage, System.nanoTime() - start, size);
+            return step.doOnTerminate(finish).doOnCancel(finish);
+        });
+    }
+
+    /**
+     * Record the total time of the fan-out, and log the outcome of every stage. Only the first call has an effect.
+     */
+    public void complete() {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+
+        Duration total = Duration.ofNanos(System.nanoTime() - startTime);
+        fanOutMetrics.recordTotal(tags, total);
+
+        StringBuilder summary = new StringBuilder(String.format("Subscription fan-out completed: artefactId=%s",
+                                                                artefactId));
+        tags.forEach(tag -> summary.append(String.format(", %s=%s", tag.getKey(), tag.getValue())));
+        summary.append(String.format(", totalMs=%s", total.toMillis()));
+        synchronized (stageResults) {
+            stageResults.forEach((stage, result) -> summary.append(String.format(
+                ", %s.ms=%s, %s.size=%s", stage.stageName, Duration.ofNanos(result.nanos()).toMillis(),
+                stage.stageName, result.size()
+            )));
+        }
+        log.info(writeLog(summary.toString()));
+    }
+
+    private void recordStage(FanOutStage stage, long nanos, int size) {
+        fanOutMetrics.recordStage(stage, tags, Duration.ofNanos(nanos), size);
+        synchronized (stageResults) {
+            stageResults.merge(stage, new StageResult(nanos, size),
+                               (existing, added) -> new StageResult(existing.nanos() + added.nanos(),
+                                                                    existing.size() + added.size()));
+        }
+    }
+
+    private record StageResult(long nanos, int size) {
+    }
+}
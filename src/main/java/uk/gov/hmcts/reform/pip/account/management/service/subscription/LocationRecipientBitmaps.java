@@ -0,0 +1,232 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionListType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static uk.gov.hmcts.reform.pip.model.subscription.SearchType.LOCATION_ID;
+
+/**
+ * Compressed bitmaps used to resolve the recipients of a location publication. Each user is mapped to an int ordinal,
+ * and there is a bitmap of ordinals for the subscribers of each location, for each list type and for each language.
+ * Users with no list types configured are held in a separate bitmap, as they receive every list type.
+ *
+ * <p>The location subscriptions themselves are held in a table for each location, keyed by the ordinal of the user,
+ * so the subscriptions for a publication are found by walking only the ordinals set in the matching bitmap.</p>
+ *
+ * <p>Updates must be made by one thread at a time. Once built, bitmaps are copied on write, so that readers never
+ * see a partially updated bitmap.</p>
+ */
+final class LocationRecipientBitmaps {
+    private final Map<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+    private final Map<UUID, ListTypeFilter> listTypeFilters = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, Map<UUID, Subscription>>> locationSubscriptions =
+        new ConcurrentHashMap<>();
+    private final Map<String, RoaringBitmap> locationRecipients = new ConcurrentHashMap<>();
+    private final Map<String, RoaringBitmap> listTypeRecipients = new ConcurrentHashMap<>();
+    private final Map<String, RoaringBitmap> languageRecipients = new ConcurrentHashMap<>();
+    private volatile RoaringBitmap allListTypeRecipients = new RoaringBitmap();
+    private int nextOrdinal;
+    private boolean copyOnWrite;
+
+    private LocationRecipientBitmaps() {
+    }
+
+    /**
+     * Build the bitmaps from all location subscriptions and subscription list types.
+     * @param subscriptions All subscriptions. Subscriptions which are not for a location are ignored.
+     * @param subscriptionListTypes All subscription list types.
+     * @return The built bitmaps.
+     */
+    static LocationRecipientBitmaps build(Collection<Subscription> subscriptions,
+                                          Collection<SubscriptionListType> subscriptionListTypes) {
+        LocationRecipientBitmaps bitmaps = new LocationRecipientBitmaps();
+        subscriptions.stream()
+            .filter(subscription -> LOCATION_ID.equals(subscription.getSearchType()))
+            .forEach(bitmaps::addLocationSubscription);
+        subscriptionListTypes.forEach(bitmaps::setListTypes);
+        bitmaps.copyOnWrite = true;
+        return bitmaps;
+    }
+
+    /**
+     * Find the ordinals of the users who should receive a publication for the location, list type and language.
+     * @param locationId The location ID of the publication.
+     * @param listType The list type of the publication.
+     * @param listLanguage The language of the publication.
+     * @return The bitmap of matching user ordinals.
+     */
+    RoaringBitmap findRecipients(String locationId, String listType, String listLanguage) {
+        RoaringBitmap location = locationRecipients.get(locationId);
+        RoaringBitmap language = languageRecipients.get(listLanguage);
+        if (location == null || language == null) {
+            return new RoaringBitmap();
+        }
+
+        RoaringBitmap listTypeBitmap = listTypeRecipients.get(listType);
+        RoaringBitmap matchingListType = listTypeBitmap == null
+            ? allListTypeRecipients
+            : RoaringBitmap.or(listTypeBitmap, allListTypeRecipients);
+        return RoaringBitmap.and(RoaringBitmap.and(location, language), matchingListType);
+    }
+
+    /**
+     * Find the location subscriptions which should receive a publication for the location, list type and language.
+     * @param locationId The location ID of the publication.
+     * @param listType The list type of the publication.
+     * @param listLanguage The language of the publication.
+     * @return The subscriptions of the matching users to the location.
+     */
+    List<Subscription> findSubscriptions(String locationId, String listType, String listLanguage) {
+        Map<Integer, Map<UUID, Subscription>> subscriptionsByOrdinal = locationSubscriptions.get(locationId);
+        if (subscriptionsByOrdinal == null) {
+            return Collections.emptyList();
+        }
+
+        RoaringBitmap recipients = findRecipients(locationId, listType, listLanguage);
+        List<Subscription> subscriptions = new ArrayList<>(recipients.getCardinality());
+        IntIterator ordinalIterator = recipients.getIntIterator();
+        while (ordinalIterator.hasNext()) {
+            Map<UUID, Subscription> userSubscriptions = subscriptionsByOrdinal.get(ordinalIterator.next());
+            if (userSubscriptions != null) {
+                subscriptions.addAll(userSubscriptions.values());
+            }
+        }
+        return subscriptions;
+    }
+
+    /**
+     * Add a location subscription, and add its user to the subscribers of the location.
+     * @param subscription The subscription to add, which must be for a location.
+     */
+    void addLocationSubscription(Subscription subscription) {
+        String locationId = subscription.getSearchValue();
+        int ordinal = ordinalFor(subscription.getUserId());
+        locationSubscriptions.computeIfAbsent(locationId, k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(ordinal, k -> new ConcurrentHashMap<>())
+            .put(subscription.getId(), subscription);
+        updateBitmap(locationRecipients, locationId, ordinal, true);
+    }
+
+    /**
+     * Remove a location subscription, and remove its user from the subscribers of the location if they have no other
+     * subscriptions to it.
+     * @param subscription The subscription to remove, which must be for a location.
+     */
+    void removeLocationSubscription(Subscription subscription) {
+        String locationId = subscription.getSearchValue();
+        Integer ordinal = ordinals.get(subscription.getUserId());
+        Map<Integer, Map<UUID, Subscription>> subscriptionsByOrdinal = locationSubscriptions.get(locationId);
+        if (ordinal == null || subscriptionsByOrdinal == null) {
+            return;
+        }
+
+        Map<UUID, Subscription> userSubscriptions = subscriptionsByOrdinal.get(ordinal);
+        if (userSubscriptions != null) {
+            userSubscriptions.remove(subscription.getId());
+            if (!userSubscriptions.isEmpty()) {
+                return;
+            }
+        }
+        removeLocationSubscriber(locationId, ordinal);
+    }
+
+    void setListTypes(SubscriptionListType subscriptionListType) {
+        UUID userId = subscriptionListType.getUserId();
+        removeListTypes(userId);
+
+        ListTypeFilter filter = ListTypeFilter.from(subscriptionListType);
+        int ordinal = ordinalFor(userId);
+        if (filter.listTypes().isEmpty()) {
+            allListTypeRecipients = updateBitmap(allListTypeRecipients, ordinal, true);
+        } else {
+            filter.listTypes().forEach(listType -> updateBitmap(listTypeRecipients, listType, ordinal, true));
+        }
+        filter.listLanguages().forEach(language -> updateBitmap(languageRecipients, language, ordinal, true));
+        listTypeFilters.put(userId, filter);
+    }
+
+    void removeListTypes(UUID userId) {
+        ListTypeFilter filter = listTypeFilters.remove(userId);
+        Integer ordinal = ordinals.get(userId);
+        if (filter == null || ordinal == null) {
+            return;
+        }
+
+        if (filter.listTypes().isEmpty()) {
+            allListTypeRecipients = updateBitmap(allListTypeRecipients, ordinal, false);
+        } else {
+            filter.listTypes().forEach(listType -> updateBitmap(listTypeRecipients, listType, ordinal, false));
+        }
+        filter.listLanguages().forEach(language -> updateBitmap(languageRecipients, language, ordinal, false));
+    }
+
+    void removeUser(UUID userId) {
+        removeListTypes(userId);
+        Integer ordinal = ordinals.get(userId);
+        if (ordinal != null) {
+            Set.copyOf(locationSubscriptions.keySet())
+                .forEach(locationId -> removeLocationSubscriber(locationId, ordinal));
+        }
+    }
+
+    int userCount() {
+        return ordinals.size();
+    }
+
+    private void removeLocationSubscriber(String locationId, int ordinal) {
+        locationSubscriptions.computeIfPresent(locationId, (k, subscriptionsByOrdinal) -> {
+            subscriptionsByOrdinal.remove(ordinal);
+            return subscriptionsByOrdinal.isEmpty() ? null : subscriptionsByOrdinal;
+        });
+        updateBitmap(locationRecipients, locationId, ordinal, false);
+    }
+
+    private int ordinalFor(UUID userId) {
+        return ordinals.computeIfAbsent(userId, id -> nextOrdinal++);
+    }
+
+    private void updateBitmap(Map<String, RoaringBitmap> bitmaps, String key, int ordinal, boolean add) {
+        bitmaps.compute(key, (k, bitmap) -> {
+            RoaringBitmap updated = updateBitmap(bitmap == null ? new RoaringBitmap() : bitmap, ordinal, add);
+            return updated.isEmpty() ? null : updated;
+        });
+    }
+
+    private RoaringBitmap updateBitmap(RoaringBitmap bitmap, int ordinal, boolean add) {
+        if (bitmap.contains(ordinal) == add) {
+            return bitmap;
+        }
+        RoaringBitmap updated = copyOnWrite ? bitmap.clone() : bitmap;
+        if (add) {
+            updated.add(ordinal);
+        } else {
+            updated.remove(ordinal);
+        }
+        return updated;
+    }
+
+    /**
+     * The list types and languages a subscriber has configured for their location subscriptions.
+     */
+    private record ListTypeFilter(Set<String> listTypes, Set<String> listLanguages) {
+        static ListTypeFilter from(SubscriptionListType subscriptionListType) {
+            return new ListTypeFilter(toSet(subscriptionListType.getListType()),
+                                      toSet(subscriptionListType.getListLanguage()));
+        }
+
+        private static Set<String> toSet(List<String> values) {
+            return values == null ? Set.of() : Set.copyOf(values);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package uk.gov.hmcts.reform.pip.account.management.service.subscription;
 
+import io.micrometer.common.util.StringUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.pip.account.management.config.ThirdPartyApiConfigurationProperties;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
 import uk.gov.hmcts.reform.pip.account.management.service.account.AccountService;
 import uk.gov.hmcts.reform.pip.model.subscription.Channel;
@@ -12,6 +14,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -57,6 +60,35 @@ public class SubscriptionChannelService {
         return userIdToUserEmailSwitcher(mappedSubscriptions, mapOfUsersAndEmails);
     }
 
+    /**
+     * Builds the map of individual user emails to relevant subscription objects, using user details which have
+     * already been loaded rather than querying the users again.
+     * @param listOfSubs - a list of subscription objects associated with a publication
+     * @param users - a map of user ids to the details of the users who own the subscriptions
+     * @return A map of user emails to list of subscriptions
+     */
+    public Map<String, List<Subscription>> buildEmailSubscriptions(List<Subscription> listOfSubs,
+                                                                   Map<UUID, PiUserSummary> users) {
+        Map<String, List<Subscription>> mappedSubscriptions = deduplicateSubscriptions(listOfSubs);
+
+        Map<String, String> mapOfUsersAndEmails = new ConcurrentHashMap<>();
+        mappedSubscriptions.keySet().forEach(userId -> {
+            PiUserSummary user = users.get(UUID.fromString(userId));
+            if (user != null && StringUtils.isNotEmpty(user.getEmail())) {
+                mapOfUsersAndEmails.put(userId, user.getEmail());
+            } else if (user != null) {
+                log.error(writeLog(String.format("No email with user ID %s found", userId)));
+            }
+        });
+
+        if (mapOfUsersAndEmails.isEmpty()) {
+            log.error(writeLog("No email channel found for any of the users provided"));
+            return Collections.emptyMap();
+        }
+        mappedSubscriptions.keySet().retainAll(mapOfUsersAndEmails.keySet());
+        return userIdToUserEmailSwitcher(mappedSubscriptions, mapOfUsersAndEmails);
+    }
+
     /**
      * Creates map of legacy third party api urls and a list of Subscriptions associated with them.
      * @param subscriptions list of subscriptions to be trimmed of duplications and associated with an api.
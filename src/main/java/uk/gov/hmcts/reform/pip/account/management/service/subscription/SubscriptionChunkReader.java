@@ -0,0 +1,125 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the email subscribers of a location from the database a page of recipients at a time, keyed on the last
+ * recipient read, and hands them on in chunks of a bounded number of recipients. Only the current chunk and page are
+ * held in memory, so the memory used for a publication does not grow with the number of subscribers to its location.
+ */
+@Component
+public class SubscriptionChunkReader {
+    private static final UUID FIRST_USER_ID = new UUID(0, 0);
+
+    private final SubscriptionRepository repository;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    @Autowired
+    public SubscriptionChunkReader(SubscriptionRepository repository,
+                                   @Value("${subscription.chunked-dispatch.enabled}") boolean enabled,
+                                   @Value("${subscription.chunked-dispatch.chunk-size}") int chunkSize) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Read the email subscriptions for a location in chunks. All subscriptions of a recipient are in the same chunk,
+     * and each chunk has at most the configured number of recipients. Each chunk of location subscriptions is read
+     * in its own query, which has finished before the chunk is handed on, so no connection is held while the chunk
+     * is sent.
+     *
+     * @param locationId The location the publication is for.
+     * @param listType The list type of the publication.
+     * @param listLanguage The language of the publication.
+     * @param additionalSubscriptions Other email subscriptions for the publication, such as case subscriptions,
+     *                                which are added to the chunk of their recipient.
+     * @param chunkConsumer Receives each chunk along with its sequence number, starting from 0.
+     * @return The number of chunks read.
+     */
+    public int readEmailSubscriptions(String locationId, String listType, String listLanguage,
+                                      List<Subscription> additionalSubscriptions,
+                                      ObjIntConsumer<List<Subscription>> chunkConsumer) {
+        Map<UUID, List<Subscription>> additionalByUser = additionalSubscriptions.stream()
+            .collect(Collectors.groupingBy(Subscription::getUserId, LinkedHashMap::new, Collectors.toList()));
+        ChunkBuffer chunkBuffer = new ChunkBuffer(chunkConsumer);
+
+        // A page with fewer recipients than a full chunk is the last one. The chunk for a page is handed on when
+        // the first recipient of the next page is added, after the query for that page has finished
+        UUID afterUserId = FIRST_USER_ID;
+        long pageRecipients;
+        do {
+            List<Subscription> page = repository.findEmailSubscriptionPageByLocationSearchValue(
+                locationId, listType, listLanguage, afterUserId, chunkSize);
+            pageRecipients = page.stream().map(Subscription::getUserId).distinct().count();
+            page.forEach(subscription -> chunkBuffer.add(subscription.getUserId(), List.of(subscription),
+                                                         additionalByUser));
+            if (!page.isEmpty()) {
+                afterUserId = page.get(page.size() - 1).getUserId();
+            }
+        } while (pageRecipients == chunkSize);
+
+        additionalByUser.forEach((userId, userSubscriptions) -> chunkBuffer.add(userId, userSubscriptions, Map.of()));
+        chunkBuffer.flush();
+        return chunkBuffer.sequence;
+    }
+
+    /**
+     * The subscriptions of the chunk being built. The subscriptions from each page are ordered by user, so a chunk
+     * is complete once it is full and the next subscription belongs to a new recipient.
+     */
+    private final class ChunkBuffer {
+        private final ObjIntConsumer<List<Subscription>> chunkConsumer;
+        private List<Subscription> subscriptions = new ArrayList<>();
+        private UUID currentUserId;
+        private int recipients;
+        private int sequence;
+
+        private ChunkBuffer(ObjIntConsumer<List<Subscription>> chunkConsumer) {
+            this.chunkConsumer = chunkConsumer;
+        }
+
+        private void add(UUID userId, List<Subscription> userSubscriptions,
+                         Map<UUID, List<Subscription>> additionalByUser) {
+            if (!userId.equals(currentUserId)) {
+                if (recipients == chunkSize) {
+                    flush();
+                }
+                currentUserId = userId;
+                recipients++;
+
+                List<Subscription> additional = additionalByUser.remove(userId);
+                if (additional != null) {
+                    subscriptions.addAll(additional);
+                }
+            }
+            subscriptions.addAll(userSubscriptions);
+        }
+
+        private void flush() {
+            if (subscriptions.isEmpty()) {
+                return;
+            }
+            chunkConsumer.accept(subscriptions, sequence++);
+            subscriptions = new ArrayList<>();
+            recipients = 0;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionListTypeR
 import uk.gov.hmcts.reform.pip.account.management.database.UserRepository;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.UserNotFoundException;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionListType;
+import uk.gov.hmcts.reform.pip.account.management.service.RequestLookupContext;
 import uk.gov.hmcts.reform.pip.model.enums.UserActions;
 
 import java.util.Optional;
@@ -20,29 +21,36 @@ import static uk.gov.hmcts.reform.pip.model.subscription.SearchType.LOCATION_ID;
 public class SubscriptionListTypeService {
     private final SubscriptionListTypeRepository subscriptionListTypeRepository;
     private final UserRepository userRepository;
+    private final SubscriptionRoutingIndex subscriptionRoutingIndex;
+    private final RequestLookupContext requestLookupContext;
 
     @Autowired
     public SubscriptionListTypeService(SubscriptionListTypeRepository subscriptionListTypeRepository,
-                                       UserRepository userRepository) {
+                                       UserRepository userRepository,
+                                       SubscriptionRoutingIndex subscriptionRoutingIndex,
+                                       RequestLookupContext requestLookupContext) {
         this.subscriptionListTypeRepository = subscriptionListTypeRepository;
         this.userRepository = userRepository;
+        this.subscriptionRoutingIndex = subscriptionRoutingIndex;
+        this.requestLookupContext = requestLookupContext;
     }
 
     public void addListTypesForSubscription(SubscriptionListType subscriptionListType, UUID userId) {
         log.info(writeLog(userId, UserActions.CREATE_SUBSCRIPTION, LOCATION_ID.name()));
 
-        if (userRepository.findByUserId(subscriptionListType.getUserId()).isEmpty()) {
+        if (requestLookupContext.findUser(subscriptionListType.getUserId(), userRepository::findByUserId).isEmpty()) {
             throw new UserNotFoundException("userId", subscriptionListType.getUserId().toString());
         }
 
         subscriptionListTypeRepository.deleteByUserId(subscriptionListType.getUserId());
         subscriptionListTypeRepository.save(subscriptionListType);
+        subscriptionRoutingIndex.addListType(subscriptionListType);
     }
 
     public void configureListTypesForSubscription(SubscriptionListType subscriptionListType, UUID userId) {
         log.info(writeLog(userId, UserActions.CREATE_SUBSCRIPTION, LOCATION_ID.name()));
 
-        if (userRepository.findByUserId(subscriptionListType.getUserId()).isEmpty()) {
+        if (requestLookupContext.findUser(subscriptionListType.getUserId(), userRepository::findByUserId).isEmpty()) {
             throw new UserNotFoundException("userId", subscriptionListType.getUserId().toString());
         }
 
@@ -50,13 +58,16 @@ public class SubscriptionListTypeService {
             .findByUserId(subscriptionListType.getUserId());
         existingSubscriptionListType.ifPresent(listType -> subscriptionListType.setId(listType.getId()));
         subscriptionListTypeRepository.save(subscriptionListType);
+        subscriptionRoutingIndex.addListType(subscriptionListType);
     }
 
     public void deleteListTypesForSubscription(UUID userId) {
         Optional<SubscriptionListType> subscriptionListTypes =
             subscriptionListTypeRepository.findByUserId(userId);
 
-        subscriptionListTypes.ifPresent(subscriptionListType -> subscriptionListTypeRepository
-            .deleteByUserId(subscriptionListType.getUserId()));
+        subscriptionListTypes.ifPresent(subscriptionListType -> {
+            subscriptionListTypeRepository.deleteByUserId(subscriptionListType.getUserId());
+            subscriptionRoutingIndex.removeListType(subscriptionListType.getUserId());
+        });
     }
 }
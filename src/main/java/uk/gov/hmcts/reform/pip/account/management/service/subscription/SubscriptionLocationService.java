@@ -31,6 +31,7 @@ public class SubscriptionLocationService {
     private final PublicationService publicationService;
     private final AccountService accountService;
     private final UserRepository userRepository;
+    private final SubscriptionRoutingIndex subscriptionRoutingIndex;
 
 
     @Autowired
@@ -39,13 +40,15 @@ public class SubscriptionLocationService {
         AccountService accountService,
         UserRepository userRepository,
         SubscriptionRepository subscriptionRepository,
-        SubscriptionListTypeRepository subscriptionListTypeRepository
+        SubscriptionListTypeRepository subscriptionListTypeRepository,
+        SubscriptionRoutingIndex subscriptionRoutingIndex
     ) {
         this.publicationService = publicationService;
         this.accountService = accountService;
         this.userRepository = userRepository;
         this.subscriptionRepository = subscriptionRepository;
         this.subscriptionListTypeRepository = subscriptionListTypeRepository;
+        this.subscriptionRoutingIndex = subscriptionRoutingIndex;
     }
 
     public List<Subscription> findSubscriptionsByLocationId(String value) {
@@ -68,6 +71,7 @@ public class SubscriptionLocationService {
             .map(Subscription::getId)
             .toList();
         subscriptionRepository.deleteByIdIn(subIds);
+        subscriptionRoutingIndex.removeSubscriptions(locationSubscriptions);
 
         //DELETE DATA FROM SUBSCRIPTION LIST TYPE TABLE AS WELL.
         deleteAllSubscriptionListTypeForLocation(locationSubscriptions);
@@ -92,17 +96,21 @@ public class SubscriptionLocationService {
 
     public void deleteSubscriptionListTypeByUser(UUID userId) {
         subscriptionListTypeRepository.findByUserId(userId)
-            .ifPresent(subscriptionListTypeRepository::delete);
+            .ifPresent(subscriptionListType -> {
+                subscriptionListTypeRepository.delete(subscriptionListType);
+                subscriptionRoutingIndex.removeListType(userId);
+            });
     }
 
     public String deleteAllSubscriptionsWithLocationNamePrefix(String prefix) {
-        List<UUID> subscriptionIds = subscriptionRepository.findAllByLocationNameStartingWithIgnoreCase(prefix)
-            .stream()
+        List<Subscription> subscriptions = subscriptionRepository.findAllByLocationNameStartingWithIgnoreCase(prefix);
+        List<UUID> subscriptionIds = subscriptions.stream()
             .map(Subscription::getId)
             .toList();
 
         if (!subscriptionIds.isEmpty()) {
             subscriptionRepository.deleteByIdIn(subscriptionIds);
+            subscriptionRoutingIndex.removeSubscriptions(subscriptions);
         }
         return String.format("%s subscription(s) deleted for location name starting with %s",
                              subscriptionIds.size(), prefix);
@@ -2,23 +2,48 @@ package uk.gov.hmcts.reform.pip.account.management.service.subscription;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.ArtefactRecipientStatus;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.BulkSubscriptionsSummary;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
-import uk.gov.hmcts.reform.pip.account.management.service.PublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.ReactivePublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.SensitivityService;
 import uk.gov.hmcts.reform.pip.account.management.service.account.AccountService;
+import uk.gov.hmcts.reform.pip.account.management.service.notification.OutboundNotificationService;
 import uk.gov.hmcts.reform.pip.account.management.service.thirdparty.ThirdPartySubscriptionNotificationService;
 import uk.gov.hmcts.reform.pip.model.publication.Artefact;
 import uk.gov.hmcts.reform.pip.model.subscription.Channel;
 import uk.gov.hmcts.reform.pip.model.subscription.LegacyThirdPartySubscription;
 import uk.gov.hmcts.reform.pip.model.subscription.LegacyThirdPartySubscriptionArtefact;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static uk.gov.hmcts.reform.pip.account.management.config.SubscriptionExecutorConfiguration.DELETION_EXECUTOR;
+import static uk.gov.hmcts.reform.pip.account.management.config.SubscriptionExecutorConfiguration.FAN_OUT_EXECUTOR;
+import static uk.gov.hmcts.reform.pip.account.management.model.subscription.RecipientRequestStatus.ACCEPTED;
+import static uk.gov.hmcts.reform.pip.account.management.model.subscription.RecipientRequestStatus.FAILED;
 import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
 import static uk.gov.hmcts.reform.pip.model.publication.Sensitivity.CLASSIFIED;
 import static uk.gov.hmcts.reform.pip.model.subscription.SearchType.CASE_ID;
@@ -28,8 +53,18 @@ import static uk.gov.hmcts.reform.pip.model.subscription.SearchType.LIST_TYPE;
 @Service
 @Slf4j
 public class SubscriptionNotificationService {
+    private static final String CASES_KEY = "cases";
     private static final String CASE_NUMBER_KEY = "caseNumber";
     private static final String CASE_URN_KEY = "caseUrn";
+    private static final String SUBSCRIPTION_SUMMARY = "Subscription summary";
+    private static final String THIRD_PARTY_LIST = "Publication to third party";
+
+    /**
+     * The most artefacts accepted in a single batch. The request thread waits for the summaries of every artefact in
+     * the batch to be sent, so this bounds how long a batch can hold it and how many tasks it can give the fan-out
+     * executor.
+     */
+    static final int MAX_BATCH_SIZE = 100;
 
     private final SubscriptionRepository repository;
 
@@ -37,23 +72,55 @@ public class SubscriptionNotificationService {
 
     private final AccountService accountService;
 
-    private final PublicationService publicationService;
+    private final SensitivityService sensitivityService;
+
+    private final ReactivePublicationService reactivePublicationService;
+
+    private final OutboundNotificationService outboundNotificationService;
 
     private final ThirdPartySubscriptionNotificationService thirdPartySubscriptionNotificationService;
 
+    private final SubscriptionRoutingIndex subscriptionRoutingIndex;
+
+    private final CaseSubscriptionFilter caseSubscriptionFilter;
+
+    private final SubscriptionRecipientCache subscriptionRecipientCache;
+
+    private final FanOutMetrics fanOutMetrics;
+
+    private final SubscriptionChunkReader subscriptionChunkReader;
+
+    private final Executor fanOutExecutor;
+
     @Autowired
     public SubscriptionNotificationService(
         SubscriptionRepository repository,
         SubscriptionChannelService subscriptionChannelService,
         AccountService accountService,
-        PublicationService publicationService,
-        ThirdPartySubscriptionNotificationService thirdPartySubscriptionNotificationService
+        SensitivityService sensitivityService,
+        ReactivePublicationService reactivePublicationService,
+        OutboundNotificationService outboundNotificationService,
+        ThirdPartySubscriptionNotificationService thirdPartySubscriptionNotificationService,
+        SubscriptionRoutingIndex subscriptionRoutingIndex,
+        CaseSubscriptionFilter caseSubscriptionFilter,
+        SubscriptionRecipientCache subscriptionRecipientCache,
+        FanOutMetrics fanOutMetrics,
+        SubscriptionChunkReader subscriptionChunkReader,
+        @Qualifier(FAN_OUT_EXECUTOR) Executor fanOutExecutor
     ) {
         this.repository = repository;
         this.subscriptionChannelService = subscriptionChannelService;
         this.accountService = accountService;
-        this.publicationService = publicationService;
+        this.sensitivityService = sensitivityService;
+        this.reactivePublicationService = reactivePublicationService;
+        this.outboundNotificationService = outboundNotificationService;
         this.thirdPartySubscriptionNotificationService = thirdPartySubscriptionNotificationService;
+        this.subscriptionRoutingIndex = subscriptionRoutingIndex;
+        this.caseSubscriptionFilter = caseSubscriptionFilter;
+        this.subscriptionRecipientCache = subscriptionRecipientCache;
+        this.fanOutMetrics = fanOutMetrics;
+        this.subscriptionChunkReader = subscriptionChunkReader;
+        this.fanOutExecutor = fanOutExecutor;
     }
 
     /**
@@ -61,7 +128,7 @@ public class SubscriptionNotificationService {
      * the subscribers.
      * @param artefact the artefact to collect the subscriptions for.
      */
-    @Async
+    @Async(FAN_OUT_EXECUTOR)
     @Deprecated
     // Method to be removed after related data-management changes merged to use the more specific endpoints
     // for email and API subscribers
@@ -73,9 +140,7 @@ public class SubscriptionNotificationService {
 
         subscriptionList.addAll(querySubscriptionValue(LIST_TYPE.name(), artefact.getListType().name()));
 
-        if (artefact.getSearch().containsKey("cases")) {
-            artefact.getSearch().get("cases").forEach(object -> subscriptionList.addAll(extractSearchValue(object)));
-        }
+        subscriptionList.addAll(queryCaseSubscriptions(artefact));
 
         List<Subscription> subscriptionsToContact = CLASSIFIED.equals(artefact.getSensitivity())
             ? validateSubscriptionPermissions(subscriptionList, artefact)
@@ -86,32 +151,223 @@ public class SubscriptionNotificationService {
     }
 
     /**
-     * Collect all email subscribers for the artefact, and handle sending of email to the subscribers.
+     * Collect all email subscribers for the artefact, and handle sending of email to the subscribers. Each stage
+     * is timed through {@link FanOutMetrics}. When chunked dispatch is enabled, the subscribers are read from the
+     * database and sent in chunks instead. The executor thread waits for the summary to be sent, so that the fan-out
+     * executor limits how many summaries are held in memory at once.
      * @param artefact the artefact to collect the subscriptions for.
      */
-    @Async
+    @Async(FAN_OUT_EXECUTOR)
     public void collectEmailSubscribers(Artefact artefact) {
-        List<Subscription> subscriptionList = new ArrayList<>(
-            querySubscriptionValueForLocation(artefact.getLocationId(), artefact.getListType().toString(),
-                                              artefact.getLanguage().toString())
+        FanOutTrace trace = fanOutMetrics.start(artefact);
+        if (useChunkedDispatch()) {
+            collectEmailSubscribersInChunks(artefact, trace);
+            return;
+        }
+
+        List<Subscription> locationSubscriptions = trace.record(
+            FanOutStage.LOCATION_QUERY,
+            () -> querySubscriptionValueForLocation(artefact.getLocationId(), artefact.getListType().toString(),
+                                                    artefact.getLanguage().toString()),
+            List::size
         );
 
-        if (artefact.getSearch().containsKey("cases")) {
-            artefact.getSearch().get("cases").forEach(object -> subscriptionList.addAll(extractSearchValue(object)));
+        sendEmailSubscribers(artefact, locationSubscriptions, trace)
+            .onErrorResume(ex -> {
+                logSendFailure(SUBSCRIPTION_SUMMARY, ex);
+                return Mono.just(false);
+            })
+            .block();
+    }
+
+    private boolean useChunkedDispatch() {
+        return subscriptionChunkReader.isEnabled() && !subscriptionRoutingIndex.isActive();
+    }
+
+    /**
+     * Add the case subscriptions for the artefact to its location subscriptions, and send a subscription summary to
+     * the email subscribers who are permitted to see the artefact.
+     *
+     * @param artefact the artefact to send the summary for.
+     * @param locationSubscriptions the location subscriptions for the artefact.
+     * @param trace the trace of the fan-out.
+     * @return false if the summary failed to send, otherwise true.
+     */
+    private Mono<Boolean> sendEmailSubscribers(Artefact artefact, List<Subscription> locationSubscriptions,
+                                               FanOutTrace trace) {
+        List<Subscription> subscriptionList = new ArrayList<>(locationSubscriptions);
+        subscriptionList.addAll(trace.record(FanOutStage.CASE_QUERY, () -> queryCaseSubscriptions(artefact),
+                                             List::size));
+
+        List<Subscription> emailList = sortSubscriptionByChannel(subscriptionList, Channel.EMAIL.notificationRoute);
+        Map<UUID, PiUserSummary> subscribers = trace.record(FanOutStage.SUBSCRIBER_LOOKUP,
+                                                            () -> findSubscribers(emailList), Map::size);
+
+        List<Subscription> subscriptionsToContact = filterForSensitivity(emailList, subscribers, artefact, trace);
+
+        return handleEmailSubscriptionSending(artefact.getArtefactId(), subscriptionsToContact, subscribers, trace);
+    }
+
+    /**
+     * Read the email subscribers for the artefact from the database in chunks, and send a subscription summary for
+     * each chunk as soon as it is read. Each summary carries the artefact ID and the sequence number of its chunk.
+     *
+     * @param artefact the artefact to collect the subscriptions for.
+     * @param trace the trace of the fan-out.
+     * @return false if any of the chunks failed to send, otherwise true.
+     */
+    private boolean collectEmailSubscribersInChunks(Artefact artefact, FanOutTrace trace) {
+        List<Subscription> caseSubscriptions = sortSubscriptionByChannel(
+            trace.record(FanOutStage.CASE_QUERY, () -> queryCaseSubscriptions(artefact), List::size),
+            Channel.EMAIL.notificationRoute
+        );
+
+        // The location query is read a page at a time between the chunks being sent, so the time spent sending the
+        // chunks is taken away from the time spent reading to leave the time taken by the queries
+        AtomicLong chunkNanos = new AtomicLong();
+        AtomicInteger subscriptionsRead = new AtomicInteger();
+        AtomicBoolean allSent = new AtomicBoolean(true);
+        long start = System.nanoTime();
+        int chunks = subscriptionChunkReader.readEmailSubscriptions(
+            artefact.getLocationId(), artefact.getListType().toString(), artefact.getLanguage().toString(),
+            caseSubscriptions, (chunk, sequence) -> {
+                long chunkStart = System.nanoTime();
+                subscriptionsRead.addAndGet(chunk.size());
+                if (!sendEmailSubscriptionChunk(artefact, chunk, sequence, trace)) {
+                    allSent.set(false);
+                }
+                chunkNanos.addAndGet(System.nanoTime() - chunkStart);
+            }
+        );
+        trace.recordDuration(FanOutStage.LOCATION_QUERY,
+                             Duration.ofNanos(System.nanoTime() - start - chunkNanos.get()),
+                             subscriptionsRead.get() - caseSubscriptions.size());
+        trace.complete();
+
+        log.info(writeLog(String.format("Email subscribers for artefact %s sent in %s chunks",
+                                        artefact.getArtefactId(), chunks)));
+        return allSent.get();
+    }
+
+    private boolean sendEmailSubscriptionChunk(Artefact artefact, List<Subscription> chunk, int sequence,
+                                            FanOutTrace trace) {
+        Map<UUID, PiUserSummary> subscribers = trace.record(FanOutStage.SUBSCRIBER_LOOKUP,
+                                                            () -> findSubscribers(chunk), Map::size);
+        List<Subscription> subscriptionsToContact = filterForSensitivity(chunk, subscribers, artefact, trace);
+
+        Map<String, List<Subscription>> emailSubscriptions = trace.record(
+            FanOutStage.EMAIL_ENRICHMENT,
+            () -> subscriptionChannelService.buildEmailSubscriptions(subscriptionsToContact, subscribers),
+            Map::size
+        );
+        if (emailSubscriptions.isEmpty()) {
+            return true;
         }
 
-        List<Subscription> subscriptionsToContact = CLASSIFIED.equals(artefact.getSensitivity())
-            ? validateSubscriptionPermissions(subscriptionList, artefact)
-            : subscriptionList;
+        BulkSubscriptionsSummary payload = trace.record(
+            FanOutStage.PAYLOAD_BUILD,
+            () -> reactivePublicationService.formatSubscriptionsSummary(artefact.getArtefactId(), emailSubscriptions),
+            summary -> emailSubscriptions.size()
+        );
+        payload.setChunkSequence(sequence);
+
+        // No query is open while the chunk is sent, and the next chunk is only read once it has been sent so that
+        // one chunk is held at a time
+        return Boolean.TRUE.equals(
+            trace.recordAsync(dispatchStage(),
+                              Mono.defer(() -> outboundNotificationService.postSubscriptionSummaries(payload)),
+                              emailSubscriptions.size())
+                .block()
+        );
+    }
+
+    /**
+     * Collect the email subscribers for a batch of artefacts, and send the subscription summaries for each artefact.
+     * Each artefact is handled by a task on the fan-out executor in the same way as {@link #collectEmailSubscribers},
+     * except that the location subscriptions are resolved once for each location, list type and language in the
+     * batch. An artefact whose subscribers could not be resolved or sent is reported as failed, without failing the
+     * rest of the batch.
+     *
+     * @param artefacts the artefacts to collect the subscriptions for.
+     * @return the status of each artefact, in the order the artefacts were provided.
+     * @throws IllegalArgumentException if the batch contains more than {@link #MAX_BATCH_SIZE} artefacts.
+     */
+    public List<ArtefactRecipientStatus> collectEmailSubscribersForBatch(List<Artefact> artefacts) {
+        if (artefacts.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(String.format(
+                "A batch can contain at most %s artefacts, but %s were provided", MAX_BATCH_SIZE, artefacts.size()
+            ));
+        }
+
+        Map<LocationQuery, CompletableFuture<List<Subscription>>> locationSubscriptions = new HashMap<>();
+        List<CompletableFuture<ArtefactRecipientStatus>> statuses = new ArrayList<>();
+        artefacts.forEach(artefact -> {
+            if (!isValidForBatch(artefact)) {
+                statuses.add(CompletableFuture.completedFuture(new ArtefactRecipientStatus(
+                    artefact == null ? null : artefact.getArtefactId(), FAILED
+                )));
+                return;
+            }
+
+            statuses.add(collectEmailSubscribersForBatchArtefact(artefact, locationSubscriptions)
+                             .handle((sent, ex) -> toRecipientStatus(artefact, sent, ex)));
+        });
+
+        // The artefacts are handled concurrently, so this only waits for the slowest of them
+        List<ArtefactRecipientStatus> results = statuses.stream().map(CompletableFuture::join).toList();
+
+        log.info(writeLog(String.format("Email subscribers collected for a batch of %s artefacts using %s "
+                                            + "location lookups", artefacts.size(), locationSubscriptions.size())));
+        return results;
+    }
 
-        handleEmailSubscriptionSending(artefact.getArtefactId(), subscriptionsToContact);
+    /**
+     * Start the task which sends the subscription summaries for an artefact in a batch. When chunked dispatch is
+     * enabled, the subscribers of each artefact are read and sent in chunks, so the location lookups are not shared.
+     * Otherwise the artefact is sent once the lookup for its location has completed, and as the lookup is shared
+     * it is not traced.
+     */
+    private CompletableFuture<Boolean> collectEmailSubscribersForBatchArtefact(
+        Artefact artefact, Map<LocationQuery, CompletableFuture<List<Subscription>>> locationSubscriptions) {
+        try {
+            if (useChunkedDispatch()) {
+                return CompletableFuture.supplyAsync(
+                    () -> collectEmailSubscribersInChunks(artefact, fanOutMetrics.start(artefact)), fanOutExecutor
+                );
+            }
+
+            LocationQuery locationQuery = new LocationQuery(artefact.getLocationId(),
+                                                            artefact.getListType().toString(),
+                                                            artefact.getLanguage().toString());
+            return locationSubscriptions
+                .computeIfAbsent(locationQuery, query -> CompletableFuture.supplyAsync(
+                    () -> querySubscriptionValueForLocation(query.locationId(), query.listType(),
+                                                            query.listLanguage()),
+                    fanOutExecutor
+                ))
+                .thenApplyAsync(subscriptions -> Boolean.TRUE.equals(
+                    sendEmailSubscribers(artefact, subscriptions, fanOutMetrics.start(artefact)).block()
+                ), fanOutExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private ArtefactRecipientStatus toRecipientStatus(Artefact artefact, Boolean sent, Throwable ex) {
+        if (ex != null) {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            log.error(writeLog(String.format("Failed to collect email subscribers for artefact %s with error: %s",
+                                             artefact.getArtefactId(), cause.getMessage())));
+        }
+        return new ArtefactRecipientStatus(artefact.getArtefactId(),
+                                           ex == null && Boolean.TRUE.equals(sent) ? ACCEPTED : FAILED);
     }
 
     /**
      * Collect all API subscribers for the artefact, and handle sending of third party subscriptions.
      * @param artefact the artefact to collect the subscriptions for.
      */
-    @Async
+    @Async(FAN_OUT_EXECUTOR)
     public void collectApiSubscribers(Artefact artefact) {
         List<Subscription> subscriptionList = new ArrayList<>(
             querySubscriptionValue(LIST_TYPE.name(), artefact.getListType().name())
@@ -129,7 +385,7 @@ public class SubscriptionNotificationService {
      * Collect the third party subscribers for the deleted artefact, and handle sending of notification emails to them.
      * @param artefactBeingDeleted the artefact which has been deleted.
      */
-    @Async
+    @Async(DELETION_EXECUTOR)
     public void collectThirdPartyForDeletion(Artefact artefactBeingDeleted) {
         List<Subscription> subscriptionList = new ArrayList<>(querySubscriptionValue(
             LIST_TYPE.name(), artefactBeingDeleted.getListType().name()));
@@ -144,44 +400,142 @@ public class SubscriptionNotificationService {
         );
     }
 
+    private boolean isValidForBatch(Artefact artefact) {
+        if (artefact == null || artefact.getArtefactId() == null || artefact.getLocationId() == null
+            || artefact.getListType() == null || artefact.getLanguage() == null) {
+            log.error(writeLog(String.format(
+                "Unable to collect email subscribers for artefact %s as it is missing required fields",
+                artefact == null ? null : artefact.getArtefactId()
+            )));
+            return false;
+        }
+        return true;
+    }
+
+    private List<Subscription> filterForSensitivity(List<Subscription> subscriptions,
+                                                    Map<UUID, PiUserSummary> subscribers,
+                                                    Artefact artefact, FanOutTrace trace) {
+        if (!CLASSIFIED.equals(artefact.getSensitivity())) {
+            return subscriptions;
+        }
+        return trace.record(FanOutStage.PERMISSION_FILTER,
+                            () -> filterAuthorisedSubscriptions(subscriptions, subscribers, artefact),
+                            List::size);
+    }
+
     private List<Subscription> validateSubscriptionPermissions(List<Subscription> subscriptions, Artefact artefact) {
+        return filterAuthorisedSubscriptions(subscriptions, findSubscribers(subscriptions), artefact);
+    }
+
+    /**
+     * Filter the subscriptions to those whose users are permitted to see the artefact. The users are checked together
+     * against the permission table for the artefact, and subscriptions belonging to users which no longer exist are
+     * removed.
+     *
+     * @param subscriptions the subscriptions to filter.
+     * @param subscribers the users who own the subscriptions, keyed by user ID.
+     * @param artefact the artefact being sent.
+     * @return the list of subscriptions which the users are permitted to receive.
+     */
+    private List<Subscription> filterAuthorisedSubscriptions(List<Subscription> subscriptions,
+                                                             Map<UUID, PiUserSummary> subscribers,
+                                                             Artefact artefact) {
+        Set<UUID> authorisedUserIds = sensitivityService
+            .filterAuthorised(subscribers.values(), artefact.getListType(), artefact.getSensitivity()).stream()
+            .map(PiUserSummary::getUserId)
+            .collect(Collectors.toSet());
+
         List<Subscription> filteredList = new ArrayList<>();
         subscriptions.forEach(subscription -> {
-            if (Boolean.TRUE.equals(accountService.isUserAuthorisedForPublication(
-                subscription.getUserId(), artefact.getListType(), artefact.getSensitivity()
-            ))) {
+            if (!subscribers.containsKey(subscription.getUserId())) {
+                log.error(writeLog(String.format("User %s not found when checking subscription permissions",
+                                                 subscription.getUserId())));
+            } else if (authorisedUserIds.contains(subscription.getUserId())) {
                 filteredList.add(subscription);
             }
         });
         return filteredList;
     }
 
+    private Map<UUID, PiUserSummary> findSubscribers(List<Subscription> subscriptions) {
+        if (subscriptions.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return accountService.findUserSummariesByIds(subscriptions.stream().map(Subscription::getUserId).toList());
+    }
+
     private List<Subscription> querySubscriptionValue(String term, String value) {
+        if (subscriptionRoutingIndex.isActive()) {
+            return subscriptionRoutingIndex.findSubscriptionsBySearchValue(SearchType.valueOf(term), value);
+        }
         return repository.findSubscriptionsBySearchValue(term, value);
     }
 
     private List<Subscription> querySubscriptionValueForLocation(String value, String listType,
                                                                  String listLanguage) {
-        return repository.findSubscriptionsByLocationSearchValue(value, listType, listLanguage);
+        if (subscriptionRoutingIndex.isActive()) {
+            return subscriptionRoutingIndex.findSubscriptionsByLocation(value, listType, listLanguage);
+        }
+        return subscriptionRecipientCache.getLocationSubscriptions(
+            value, listType, listLanguage,
+            () -> repository.findSubscriptionsByLocationSearchValue(value, listType, listLanguage)
+        );
+    }
+
+    /**
+     * Collect the case subscriptions for all cases in the artefact. The case numbers and URNs are deduplicated
+     * and each set is resolved in a single query, rather than querying the database for every case. Cases which the
+     * case subscription filter reports as having no subscribers are not queried.
+     *
+     * @param artefact the artefact to collect the case subscriptions for.
+     * @return the list of case number and case URN subscriptions.
+     */
+    private List<Subscription> queryCaseSubscriptions(Artefact artefact) {
+        if (artefact.getSearch() == null || !artefact.getSearch().containsKey(CASES_KEY)) {
+            return Collections.emptyList();
+        }
+
+        Set<String> caseNumbers = new LinkedHashSet<>();
+        Set<String> caseUrns = new LinkedHashSet<>();
+        artefact.getSearch().get(CASES_KEY).forEach(object -> extractSearchValue(object, caseNumbers, caseUrns));
+
+        List<Subscription> subscriptionList = new ArrayList<>(querySubscriptionValues(CASE_ID, caseNumbers));
+        subscriptionList.addAll(querySubscriptionValues(CASE_URN, caseUrns));
+        return subscriptionList;
+    }
+
+    private List<Subscription> querySubscriptionValues(SearchType searchType, Set<String> values) {
+        if (subscriptionRoutingIndex.isActive()) {
+            return values.isEmpty()
+                ? Collections.emptyList()
+                : subscriptionRoutingIndex.findSubscriptionsBySearchValues(searchType, values);
+        }
+
+        Set<String> candidateValues = new LinkedHashSet<>(values);
+        candidateValues.removeIf(value -> !caseSubscriptionFilter.mightContain(value));
+        return candidateValues.isEmpty()
+            ? Collections.emptyList()
+            : subscriptionRecipientCache.getCaseSubscriptions(
+                searchType, candidateValues,
+                uncachedValues -> repository.findBySearchTypeAndSearchValueIn(searchType, uncachedValues)
+            );
     }
 
     @SuppressWarnings("unchecked")
-    private List<Subscription> extractSearchValue(Object caseObject) {
-        List<Subscription> subscriptionList = new ArrayList<>();
+    private void extractSearchValue(Object caseObject, Set<String> caseNumbers, Set<String> caseUrns) {
         Map<String, Object> caseMap = (Map) caseObject;
 
         if (caseMap.containsKey(CASE_NUMBER_KEY) && caseMap.get(CASE_NUMBER_KEY) != null) {
-            subscriptionList.addAll(querySubscriptionValue(CASE_ID.name(), caseMap.get(CASE_NUMBER_KEY).toString()));
+            caseNumbers.add(caseMap.get(CASE_NUMBER_KEY).toString());
         }
 
         if (caseMap.containsKey(CASE_URN_KEY) && caseMap.get(CASE_URN_KEY) != null) {
-            subscriptionList.addAll(querySubscriptionValue(CASE_URN.name(), caseMap.get(CASE_URN_KEY).toString()));
+            caseUrns.add(caseMap.get(CASE_URN_KEY).toString());
         }
 
         if (!caseMap.containsKey(CASE_NUMBER_KEY) || !caseMap.containsKey(CASE_URN_KEY)) {
             log.warn(writeLog(String.format("No value found in %s for case number or urn", caseObject)));
         }
-        return subscriptionList;
     }
 
     /**
@@ -202,13 +556,15 @@ public class SubscriptionNotificationService {
             subscriptionChannelService.buildEmailSubscriptions(emailList);
         if (!emailSubscriptions.isEmpty()) {
             log.info(writeLog("Summary being sent to publication services for id " + artefactId));
-            publicationService.postSubscriptionSummaries(artefactId, emailSubscriptions);
+            outboundNotificationService.postSubscriptionSummaries(
+                reactivePublicationService.formatSubscriptionsSummary(artefactId, emailSubscriptions)
+            ).subscribe(null, ex -> logSendFailure(SUBSCRIPTION_SUMMARY, ex));
         }
 
         subscriptionChannelService.buildLegacyApiSubscriptions(apiList)
-            .forEach((api, subscriptions) -> publicationService.legacySendThirdPartyList(
+            .forEach((api, subscriptions) -> reactivePublicationService.legacySendThirdPartyList(
                 new LegacyThirdPartySubscription(api, artefactId)
-            ));
+            ).subscribe(null, ex -> logSendFailure(THIRD_PARTY_LIST, ex)));
         log.info(writeLog(String.format("Collected %s api subscribers", apiList.size())));
     }
 
@@ -217,16 +573,41 @@ public class SubscriptionNotificationService {
      *
      * @param artefactId The id of the artefact being sent
      * @param subscriptionsList The list of subscriptions being sent
+     * @param subscribers The users who own the subscriptions, keyed by user ID
+     * @param trace The trace of the fan-out, which is completed once the summary has been sent
+     * @return false if the summary failed to send, otherwise true
      */
-    private void handleEmailSubscriptionSending(UUID artefactId, List<Subscription> subscriptionsList) {
-        List<Subscription> emailList = sortSubscriptionByChannel(subscriptionsList, Channel.EMAIL.notificationRoute);
-
-        Map<String, List<Subscription>> emailSubscriptions = subscriptionChannelService
-            .buildEmailSubscriptions(emailList);
-        if (!emailSubscriptions.isEmpty()) {
-            log.info(writeLog("Summary being sent to publication services for id " + artefactId));
-            publicationService.postSubscriptionSummaries(artefactId, emailSubscriptions);
+    private Mono<Boolean> handleEmailSubscriptionSending(UUID artefactId, List<Subscription> subscriptionsList,
+                                                         Map<UUID, PiUserSummary> subscribers, FanOutTrace trace) {
+        Map<String, List<Subscription>> emailSubscriptions = trace.record(
+            FanOutStage.EMAIL_ENRICHMENT,
+            () -> subscriptionChannelService.buildEmailSubscriptions(subscriptionsList, subscribers),
+            Map::size
+        );
+        if (emailSubscriptions.isEmpty()) {
+            trace.complete();
+            return Mono.just(true);
         }
+
+        BulkSubscriptionsSummary payload = trace.record(
+            FanOutStage.PAYLOAD_BUILD,
+            () -> reactivePublicationService.formatSubscriptionsSummary(artefactId, emailSubscriptions),
+            summary -> emailSubscriptions.size()
+        );
+
+        log.info(writeLog("Summary being sent to publication services for id " + artefactId));
+        return trace.recordAsync(dispatchStage(),
+                                 Mono.defer(() -> outboundNotificationService.postSubscriptionSummaries(payload)),
+                                 emailSubscriptions.size())
+            .doFinally(signal -> trace.complete());
+    }
+
+    /**
+     * When the outbox is enabled, the summary is only queued during the fan-out, so it is timed as its own stage
+     * rather than as the dispatch to publication services.
+     */
+    private FanOutStage dispatchStage() {
+        return outboundNotificationService.isEnabled() ? FanOutStage.OUTBOX_ENQUEUE : FanOutStage.DISPATCH;
     }
 
     /**
@@ -239,9 +620,9 @@ public class SubscriptionNotificationService {
         List<Subscription> apiList = sortSubscriptionByChannel(subscriptionsList,
                                                                Channel.API_COURTEL.notificationRoute);
         subscriptionChannelService.buildLegacyApiSubscriptions(apiList)
-            .forEach((api, subscriptions) -> publicationService.legacySendThirdPartyList(
+            .forEach((api, subscriptions) -> reactivePublicationService.legacySendThirdPartyList(
                 new LegacyThirdPartySubscription(api, artefactId)
-            ));
+            ).subscribe(null, ex -> logSendFailure(THIRD_PARTY_LIST, ex)));
         log.info(writeLog(String.format("Collected %s api subscribers", apiList.size())));
     }
 
@@ -268,8 +649,15 @@ public class SubscriptionNotificationService {
         List<Subscription> apiList = sortSubscriptionByChannel(subscriptions,
                                                                Channel.API_COURTEL.notificationRoute);
         subscriptionChannelService.buildLegacyApiSubscriptions(apiList)
-            .forEach((api, subscription) -> publicationService.legacySendEmptyArtefact(
+            .forEach((api, subscription) -> reactivePublicationService.legacySendEmptyArtefact(
                 new LegacyThirdPartySubscriptionArtefact(api, artefactBeingDeleted)
-            ));
+            ).subscribe(null, ex -> logSendFailure("Deleted artefact notification", ex)));
+    }
+
+    private static void logSendFailure(String notification, Throwable ex) {
+        log.error(writeLog(String.format("%s failed to send with error: %s", notification, ex.getMessage())));
+    }
+
+    private record LocationQuery(String locationId, String listType, String listLanguage) {
     }
 }
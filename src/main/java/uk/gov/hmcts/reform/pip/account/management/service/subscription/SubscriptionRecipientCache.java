@@ -0,0 +1,182 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotifications;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded cache of the subscriptions resolved for a location (by list type and language) and for a case value.
+ * Courts republish the same lists several times a day, so this saves resolving the same subscribers again.
+ *
+ * <p>Each entry is stamped with the subscription version of the {@link SubscriptionRoutingIndex}, and entries with an
+ * older stamp are not returned. The version is incremented by changes made through any instance, as the index sends
+ * each change to the other instances as a Postgres notification, and whenever notifications may have been missed.
+ * The cache is not used while notifications are not being received. Entries also expire a fixed time to live after
+ * they were loaded, however often they are read, to bound the memory held by entries which are no longer read.</p>
+ */
+@Component
+public class SubscriptionRecipientCache {
+    private final SubscriptionRoutingIndex subscriptionRoutingIndex;
+    private final ClusterNotifications clusterNotifications;
+    private final boolean enabled;
+
+    private final Cache<Object, CacheEntry> entries;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    @Autowired
+    public SubscriptionRecipientCache(SubscriptionRoutingIndex subscriptionRoutingIndex,
+                                      ClusterNotifications clusterNotifications,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${subscription.recipient-cache.enabled}") boolean enabled,
+                                      @Value("${subscription.recipient-cache.max-entries}") int maxEntries,
+                                      @Value("${subscription.recipient-cache.time-to-live}") Duration timeToLive) {
+        this.subscriptionRoutingIndex = subscriptionRoutingIndex;
+        this.clusterNotifications = clusterNotifications;
+        this.enabled = enabled;
+
+        hitCounter = Counter.builder("subscription.recipient.cache.requests")
+            .description("Subscription recipient lookups served from the cache")
+            .tag("result", "hit")
+            .register(meterRegistry);
+        missCounter = Counter.builder("subscription.recipient.cache.requests")
+            .description("Subscription recipient lookups not served from the cache")
+            .tag("result", "miss")
+            .register(meterRegistry);
+        evictionCounter = Counter.builder("subscription.recipient.cache.evictions")
+            .description("Subscription recipient cache entries evicted to keep the cache within its maximum size")
+            .register(meterRegistry);
+
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(timeToLive)
+            .removalListener((Object key, CacheEntry entry, RemovalCause cause) -> {
+                if (cause == RemovalCause.SIZE) {
+                    evictionCounter.increment();
+                }
+            })
+            .build();
+        Gauge.builder("subscription.recipient.cache.size", entries, Cache::estimatedSize)
+            .description("Number of entries in the subscription recipient cache")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Get the location subscriptions for a publication, loading them if they are not cached.
+     *
+     * @param locationId The location ID of the publication.
+     * @param listType The list type of the publication.
+     * @param listLanguage The language of the publication.
+     * @param loader Loads the location subscriptions on a cache miss.
+     * @return The list of location subscriptions.
+     */
+    public List<Subscription> getLocationSubscriptions(String locationId, String listType, String listLanguage,
+                                                       Supplier<List<Subscription>> loader) {
+        if (!isActive()) {
+            return loader.get();
+        }
+
+        // The version is read before loading, so that changes made during the load invalidate the entry
+        long version = subscriptionRoutingIndex.getVersion();
+        LocationKey key = new LocationKey(locationId, listType, listLanguage);
+        List<Subscription> cached = get(key, version);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<Subscription> subscriptions = List.copyOf(loader.get());
+        put(key, version, subscriptions);
+        return subscriptions;
+    }
+
+    /**
+     * Get the case subscriptions for the search values, loading only the values which are not cached.
+     *
+     * @param searchType The search type of the case subscriptions.
+     * @param searchValues The case numbers or case URNs to get the subscriptions for.
+     * @param loader Loads the subscriptions for the search values which are not cached.
+     * @return The list of case subscriptions.
+     */
+    public List<Subscription> getCaseSubscriptions(SearchType searchType, Set<String> searchValues,
+                                                   Function<Set<String>, List<Subscription>> loader) {
+        if (!isActive()) {
+            return loader.apply(searchValues);
+        }
+
+        long version = subscriptionRoutingIndex.getVersion();
+        List<Subscription> subscriptions = new ArrayList<>();
+        Set<String> uncachedValues = new LinkedHashSet<>();
+        searchValues.forEach(searchValue -> {
+            List<Subscription> cached = get(new CaseKey(searchType, searchValue), version);
+            if (cached == null) {
+                uncachedValues.add(searchValue);
+            } else {
+                subscriptions.addAll(cached);
+            }
+        });
+
+        if (!uncachedValues.isEmpty()) {
+            Map<String, List<Subscription>> loaded = loader.apply(uncachedValues).stream()
+                .collect(Collectors.groupingBy(Subscription::getSearchValue));
+            uncachedValues.forEach(searchValue -> {
+                List<Subscription> valueSubscriptions = List.copyOf(
+                    loaded.getOrDefault(searchValue, Collections.emptyList())
+                );
+                put(new CaseKey(searchType, searchValue), version, valueSubscriptions);
+                subscriptions.addAll(valueSubscriptions);
+            });
+        }
+        return subscriptions;
+    }
+
+    private boolean isActive() {
+        return enabled && clusterNotifications.isListening();
+    }
+
+    private List<Subscription> get(Object key, long version) {
+        CacheEntry entry = entries.getIfPresent(key);
+        if (entry != null && entry.version() == version) {
+            hitCounter.increment();
+            return entry.subscriptions();
+        }
+        if (entry != null) {
+            entries.asMap().remove(key, entry);
+        }
+        missCounter.increment();
+        return null;
+    }
+
+    private void put(Object key, long version, List<Subscription> subscriptions) {
+        entries.put(key, new CacheEntry(version, subscriptions));
+    }
+
+    private record LocationKey(String locationId, String listType, String listLanguage) {
+    }
+
+    private record CaseKey(SearchType searchType, String searchValue) {
+    }
+
+    private record CacheEntry(long version, List<Subscription> subscriptions) {
+    }
+}
@@ -0,0 +1,366 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionListTypeRepository;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionListType;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotificationHandler;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotifications;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+import static uk.gov.hmcts.reform.pip.model.subscription.SearchType.LOCATION_ID;
+
+/**
+ * In-memory inverted index of subscriptions, keyed by search type and search value, which is used to resolve the
+ * subscribers of a publication without querying the database.
+ *
+ * <p>Location subscriptions are held by {@link LocationRecipientBitmaps}, which matches location subscribers to a
+ * publication's list type and language using compressed bitmaps, rather than checking each subscriber's list type
+ * configuration in turn.</p>
+ *
+ * <p>The index is kept up to date by the subscription services whenever subscriptions or subscription list types
+ * change. Each change is also sent to the other instances as a Postgres notification naming the users whose
+ * subscriptions changed, and those users are reloaded from the database when a notification is received. The index
+ * is rebuilt whenever the listener connects, as notifications may have been missed, and is not used while
+ * notifications are not being received. It is also periodically rebuilt, as a safeguard.</p>
+ */
+@Component
+@Slf4j
+public class SubscriptionRoutingIndex implements ClusterNotificationHandler {
+    static final String NOTIFICATION_CHANNEL = "subscription_routing";
+
+    private static final int MAX_REBUILD_ATTEMPTS = 3;
+    // Keeps the user IDs within the Postgres notification payload limit. Larger changes rebuild the whole index.
+    private static final int MAX_USERS_PER_NOTIFICATION = 100;
+    private static final String USER_ID_SEPARATOR = ",";
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionListTypeRepository subscriptionListTypeRepository;
+    private final ClusterNotifications clusterNotifications;
+    private final boolean enabled;
+    private final boolean versionShared;
+
+    private final Object lock = new Object();
+
+    private volatile Map<SearchType, Map<String, Map<UUID, Subscription>>> subscriptionIndex =
+        new ConcurrentHashMap<>();
+    private volatile LocationRecipientBitmaps recipientBitmaps = LocationRecipientBitmaps.build(List.of(), List.of());
+    private volatile boolean ready;
+    private long version;
+
+    @Autowired
+    public SubscriptionRoutingIndex(SubscriptionRepository subscriptionRepository,
+                                    SubscriptionListTypeRepository subscriptionListTypeRepository,
+                                    ClusterNotifications clusterNotifications,
+                                    @Value("${subscription.routing-index.enabled}") boolean enabled,
+                                    @Value("${subscription.recipient-cache.enabled}") boolean versionShared) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.subscriptionListTypeRepository = subscriptionListTypeRepository;
+        this.clusterNotifications = clusterNotifications;
+        this.enabled = enabled;
+        this.versionShared = versionShared;
+    }
+
+    /**
+     * Whether subscriber lookups should be resolved from the index rather than from the database.
+     * @return true if the index is enabled and has been built, and changes made by other instances are being received.
+     */
+    public boolean isActive() {
+        return enabled && ready && clusterNotifications.isListening();
+    }
+
+    /**
+     * Whether changes should be sent to and received from other instances, which they are if the index is enabled or
+     * the subscription version is used by the {@link SubscriptionRecipientCache}.
+     * @return true if the index or the subscription recipient cache is enabled.
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled || versionShared;
+    }
+
+    @Override
+    public String getNotificationChannel() {
+        return NOTIFICATION_CHANNEL;
+    }
+
+    /**
+     * The subscription version, which is incremented whenever a subscription or subscription list type changes,
+     * including when another instance sends a change, and whenever changes may have been missed. This is maintained
+     * even when the index is disabled, so that it can be used to invalidate cached subscribers.
+     * @return The current subscription version.
+     */
+    public long getVersion() {
+        synchronized (lock) {
+            return version;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${subscription.routing-index.rebuild-interval}",
+        initialDelayString = "${subscription.routing-index.rebuild-interval}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the index from the database. If the index is updated while the rebuild is loading, the load is
+     * retried so that the update is not lost when the rebuilt index is swapped in.
+     */
+    public void rebuild() {
+        long startTime = System.currentTimeMillis();
+        for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+            long versionAtStart;
+            synchronized (lock) {
+                versionAtStart = version;
+            }
+
+            List<Subscription> subscriptions = subscriptionRepository.findAll();
+            Map<SearchType, Map<String, Map<UUID, Subscription>>> rebuiltSubscriptionIndex =
+                new ConcurrentHashMap<>();
+            subscriptions.stream()
+                .filter(subscription -> !LOCATION_ID.equals(subscription.getSearchType()))
+                .forEach(subscription -> addToIndex(rebuiltSubscriptionIndex, subscription));
+
+            LocationRecipientBitmaps rebuiltBitmaps = LocationRecipientBitmaps.build(
+                subscriptions, subscriptionListTypeRepository.findAll()
+            );
+
+            synchronized (lock) {
+                if (version == versionAtStart) {
+                    subscriptionIndex = rebuiltSubscriptionIndex;
+                    recipientBitmaps = rebuiltBitmaps;
+                    ready = true;
+                    log.info(writeLog(String.format("Subscription routing index rebuilt with %s users in %s ms",
+                                                    rebuiltBitmaps.userCount(),
+                                                    System.currentTimeMillis() - startTime)));
+                    return;
+                }
+            }
+        }
+        log.warn(writeLog("Subscription routing index changed during rebuild, retrying at the next interval"));
+    }
+
+    /**
+     * Find the subscriptions with the given search type and search value. Location subscriptions are found with
+     * {@link #findSubscriptionsByLocation}.
+     * @param searchType The search type of the subscriptions.
+     * @param searchValue The search value of the subscriptions.
+     * @return The list of matching subscriptions.
+     */
+    public List<Subscription> findSubscriptionsBySearchValue(SearchType searchType, String searchValue) {
+        Map<UUID, Subscription> subscriptions = valuesForSearchType(searchType).get(searchValue);
+        return subscriptions == null ? Collections.emptyList() : new ArrayList<>(subscriptions.values());
+    }
+
+    /**
+     * Find the subscriptions with the given search type, matching any of the search values. Location subscriptions are
+     * found with {@link #findSubscriptionsByLocation}.
+     * @param searchType The search type of the subscriptions.
+     * @param searchValues The search values of the subscriptions.
+     * @return The list of matching subscriptions.
+     */
+    public List<Subscription> findSubscriptionsBySearchValues(SearchType searchType,
+                                                              Collection<String> searchValues) {
+        Map<String, Map<UUID, Subscription>> values = valuesForSearchType(searchType);
+        List<Subscription> subscriptions = new ArrayList<>();
+        searchValues.forEach(searchValue -> {
+            Map<UUID, Subscription> matched = values.get(searchValue);
+            if (matched != null) {
+                subscriptions.addAll(matched.values());
+            }
+        });
+        return subscriptions;
+    }
+
+    /**
+     * Find the location subscriptions for a publication, applying each subscriber's list type and list language
+     * configuration. A subscriber with no list types configured receives all list types for the location.
+     *
+     * @param locationId The location ID of the publication.
+     * @param listType The list type of the publication.
+     * @param listLanguage The language of the publication.
+     * @return The list of matching location subscriptions.
+     */
+    public List<Subscription> findSubscriptionsByLocation(String locationId, String listType, String listLanguage) {
+        return recipientBitmaps.findSubscriptions(locationId, listType, listLanguage);
+    }
+
+    public void addSubscription(Subscription subscription) {
+        update(Set.of(subscription.getUserId()), () -> add(subscription));
+    }
+
+    public void removeSubscriptions(Collection<Subscription> subscriptions) {
+        List<Subscription> removed = List.copyOf(subscriptions);
+        Set<UUID> userIds = removed.stream().map(Subscription::getUserId).collect(Collectors.toSet());
+        update(userIds, () -> removed.forEach(subscription -> {
+            if (LOCATION_ID.equals(subscription.getSearchType())) {
+                recipientBitmaps.removeLocationSubscription(subscription);
+                return;
+            }
+
+            Map<UUID, Subscription> matched = valuesForSearchType(subscription.getSearchType())
+                .get(subscription.getSearchValue());
+            if (matched != null) {
+                matched.remove(subscription.getId());
+            }
+        }));
+    }
+
+    public void removeAllForUser(UUID userId) {
+        update(Set.of(userId), () -> removeUsers(Set.of(userId)));
+    }
+
+    public void addListType(SubscriptionListType subscriptionListType) {
+        update(Set.of(subscriptionListType.getUserId()), () -> recipientBitmaps.setListTypes(subscriptionListType));
+    }
+
+    public void removeListType(UUID userId) {
+        update(Set.of(userId), () -> recipientBitmaps.removeListTypes(userId));
+    }
+
+    /**
+     * Increment the subscription version for the changes made by other instances, and reload the users whose
+     * subscriptions they changed, or rebuild the index if a change affected too many users to be named in a
+     * notification.
+     *
+     * @param messages The message of each notification, which is a comma separated list of user IDs, or empty.
+     */
+    @Override
+    public void handleNotifications(List<String> messages) {
+        incrementVersion();
+        if (!enabled) {
+            return;
+        }
+
+        if (messages.stream().anyMatch(String::isEmpty)) {
+            rebuild();
+        } else {
+            refreshUsers(messages.stream()
+                             .flatMap(message -> Arrays.stream(message.split(USER_ID_SEPARATOR)))
+                             .map(UUID::fromString)
+                             .collect(Collectors.toSet()));
+        }
+    }
+
+    @Override
+    public void handleMissedNotifications() {
+        incrementVersion();
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    private void incrementVersion() {
+        synchronized (lock) {
+            version++;
+        }
+    }
+
+    /**
+     * Replace the subscriptions and list types of the users in the index with those in the database. As with a
+     * rebuild, the load is retried if the index is updated while it is loading. If it cannot be applied, the index is
+     * not used until the next rebuild.
+     */
+    private void refreshUsers(Set<UUID> userIds) {
+        for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+            long versionAtStart;
+            synchronized (lock) {
+                versionAtStart = version;
+            }
+
+            List<Subscription> subscriptions = subscriptionRepository.findByUserIdIn(userIds);
+            List<SubscriptionListType> subscriptionListTypes = subscriptionListTypeRepository.findByUserIdIn(userIds);
+
+            synchronized (lock) {
+                if (version == versionAtStart) {
+                    version++;
+                    removeUsers(userIds);
+                    subscriptions.forEach(this::add);
+                    subscriptionListTypes.forEach(recipientBitmaps::setListTypes);
+                    return;
+                }
+            }
+        }
+        ready = false;
+        log.warn(writeLog("Subscription routing index changed while reloading users, so it will not be used until "
+                              + "the next rebuild"));
+    }
+
+    private void removeUsers(Set<UUID> userIds) {
+        subscriptionIndex.values().forEach(values -> values.values().forEach(
+            subscriptions -> subscriptions.values().removeIf(s -> userIds.contains(s.getUserId()))
+        ));
+        userIds.forEach(recipientBitmaps::removeUser);
+    }
+
+    private void add(Subscription subscription) {
+        if (LOCATION_ID.equals(subscription.getSearchType())) {
+            recipientBitmaps.addLocationSubscription(subscription);
+        } else {
+            addToIndex(subscriptionIndex, subscription);
+        }
+    }
+
+    private Map<String, Map<UUID, Subscription>> valuesForSearchType(SearchType searchType) {
+        return subscriptionIndex.getOrDefault(searchType, Collections.emptyMap());
+    }
+
+    private static void addToIndex(Map<SearchType, Map<String, Map<UUID, Subscription>>> index,
+                                   Subscription subscription) {
+        index.computeIfAbsent(subscription.getSearchType(), k -> new ConcurrentHashMap<>())
+            .computeIfAbsent(subscription.getSearchValue(), k -> new ConcurrentHashMap<>())
+            .put(subscription.getId(), subscription);
+    }
+
+    /**
+     * Apply an update to the index, and notify the other instances of the users it affects, once the current
+     * transaction (if any) has committed, so that the index never reflects changes which have been rolled back. The
+     * subscription version is incremented even if the index is disabled.
+     */
+    private void update(Set<UUID> userIds, Runnable update) {
+        Runnable versionedUpdate = () -> {
+            synchronized (lock) {
+                version++;
+                if (enabled) {
+                    update.run();
+                }
+            }
+            if (isEnabled() && !userIds.isEmpty()) {
+                clusterNotifications.publish(NOTIFICATION_CHANNEL, userIds.size() > MAX_USERS_PER_NOTIFICATION
+                    ? "" : userIds.stream().map(UUID::toString).collect(Collectors.joining(USER_ID_SEPARATOR)));
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versionedUpdate.run();
+                }
+            });
+        } else {
+            versionedUpdate.run();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import uk.gov.hmcts.reform.pip.account.management.database.UserRepository;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.SubscriptionNotFoundException;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.UserNotFoundException;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.service.RequestLookupContext;
 import uk.gov.hmcts.reform.pip.model.enums.UserActions;
 import uk.gov.hmcts.reform.pip.model.report.AllSubscriptionMiData;
 import uk.gov.hmcts.reform.pip.model.report.LocationSubscriptionMiData;
@@ -30,36 +31,50 @@ public class SubscriptionService {
     private final SubscriptionRepository subscriptionRepository;
     private final SubscriptionListTypeService subscriptionListTypeService;
     private final UserRepository userRepository;
+    private final SubscriptionRoutingIndex subscriptionRoutingIndex;
+    private final CaseSubscriptionFilter caseSubscriptionFilter;
+    private final RequestLookupContext requestLookupContext;
 
     @Autowired
     public SubscriptionService(SubscriptionRepository subscriptionRepository,
                                SubscriptionListTypeService subscriptionListTypeService,
-                               UserRepository userRepository) {
+                               UserRepository userRepository,
+                               SubscriptionRoutingIndex subscriptionRoutingIndex,
+                               CaseSubscriptionFilter caseSubscriptionFilter,
+                               RequestLookupContext requestLookupContext) {
         this.subscriptionRepository = subscriptionRepository;
         this.subscriptionListTypeService = subscriptionListTypeService;
         this.userRepository = userRepository;
+        this.subscriptionRoutingIndex = subscriptionRoutingIndex;
+        this.caseSubscriptionFilter = caseSubscriptionFilter;
+        this.requestLookupContext = requestLookupContext;
     }
 
     public Subscription createSubscription(Subscription subscription, UUID actioningUserId) {
         log.info(writeLog(actioningUserId, UserActions.CREATE_SUBSCRIPTION,
                           subscription.getSearchType().toString()));
 
-        if (userRepository.findByUserId(subscription.getUserId()).isEmpty()) {
+        if (requestLookupContext.findUser(subscription.getUserId(), userRepository::findByUserId).isEmpty()) {
             throw new UserNotFoundException("userId", subscription.getUserId().toString());
         }
 
         duplicateSubscriptionHandler(subscription);
         subscription.setLastUpdatedDate(subscription.getCreatedDate());
 
-        return subscriptionRepository.save(subscription);
+        Subscription createdSubscription = subscriptionRepository.save(subscription);
+        subscriptionRoutingIndex.addSubscription(createdSubscription);
+        caseSubscriptionFilter.addSubscription(createdSubscription);
+        return createdSubscription;
     }
 
     public void deleteById(UUID id, UUID actioningUserId) {
-        Subscription subscription = subscriptionRepository.findById(id)
+        Subscription subscription = requestLookupContext.findSubscription(id, subscriptionRepository::findById)
             .orElseThrow(() -> new SubscriptionNotFoundException(String.format(
                 "No subscription found with the subscription id %s", id
             )));
         subscriptionRepository.deleteById(id);
+        requestLookupContext.evictSubscription(id);
+        subscriptionRoutingIndex.removeSubscriptions(List.of(subscription));
 
         if (subscription.getSearchType().equals(LOCATION_ID)
             && subscriptionRepository.findLocationSubscriptionsByUserId(subscription.getUserId()).isEmpty()) {
@@ -82,6 +97,8 @@ public class SubscriptionService {
         }
 
         subscriptionRepository.deleteByIdIn(ids);
+        ids.forEach(requestLookupContext::evictSubscription);
+        subscriptionRoutingIndex.removeSubscriptions(subscriptions);
         UUID userID = subscriptions.get(0).getUserId();
 
         if (subscriptionRepository.findLocationSubscriptionsByUserId(userID).isEmpty()) {
@@ -97,7 +114,9 @@ public class SubscriptionService {
     }
 
     public Subscription findById(UUID subscriptionId) {
-        Optional<Subscription> subscription = subscriptionRepository.findById(subscriptionId);
+        Optional<Subscription> subscription = requestLookupContext.findSubscription(
+            subscriptionId, subscriptionRepository::findById
+        );
         if (subscription.isEmpty()) {
             throw new SubscriptionNotFoundException(String.format(
                 "No subscription found with the subscription id %s",
@@ -118,6 +137,8 @@ public class SubscriptionService {
             if (existingSub.getSearchType().equals(subscription.getSearchType())
                 && existingSub.getSearchValue().equals(subscription.getSearchValue())) {
                 subscriptionRepository.delete(existingSub);
+                requestLookupContext.evictSubscription(existingSub.getId());
+                subscriptionRoutingIndex.removeSubscriptions(List.of(existingSub));
             }
         });
     }
@@ -25,11 +25,15 @@ public class UserSubscriptionService {
 
     private final SubscriptionListTypeRepository subscriptionListTypeRepository;
 
+    private final SubscriptionRoutingIndex subscriptionRoutingIndex;
+
     @Autowired
     public UserSubscriptionService(SubscriptionRepository subscriptionRepository,
-                                   SubscriptionListTypeRepository subscriptionListTypeRepository) {
+                                   SubscriptionListTypeRepository subscriptionListTypeRepository,
+                                   SubscriptionRoutingIndex subscriptionRoutingIndex) {
         this.subscriptionRepository = subscriptionRepository;
         this.subscriptionListTypeRepository = subscriptionListTypeRepository;
+        this.subscriptionRoutingIndex = subscriptionRoutingIndex;
     }
 
     /**
@@ -53,6 +57,7 @@ public class UserSubscriptionService {
     public String deleteAllByUserId(UUID userId) {
         subscriptionListTypeRepository.deleteByUserId(userId);
         subscriptionRepository.deleteAllByUserId(userId);
+        subscriptionRoutingIndex.removeAllForUser(userId);
         String message = String.format("All subscriptions deleted for user id %s", userId);
         log.info(writeLog(message));
         return message;
@@ -19,21 +19,28 @@ public class ThirdPartyConfigurationService {
     private final ApiOauthConfigurationRepository apiOauthConfigurationRepository;
     private final ApiUserRepository apiUserRepository;
     private final ThirdPartySubscriptionNotificationService thirdPartySubscriptionNotificationService;
+    private final ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot;
 
     @Autowired
     public ThirdPartyConfigurationService(
         ApiOauthConfigurationRepository apiOauthConfigurationRepository,
         ApiUserRepository apiUserRepository,
-        ThirdPartySubscriptionNotificationService thirdPartySubscriptionNotificationService
+        ThirdPartySubscriptionNotificationService thirdPartySubscriptionNotificationService,
+        ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot
     ) {
         this.apiOauthConfigurationRepository = apiOauthConfigurationRepository;
         this.apiUserRepository = apiUserRepository;
         this.thirdPartySubscriptionNotificationService = thirdPartySubscriptionNotificationService;
+        this.thirdPartyRoutingSnapshot = thirdPartyRoutingSnapshot;
     }
 
     public ApiOauthConfiguration createThirdPartyConfiguration(ApiOauthConfigurationDto apiOauthConfigurationDto) {
         ApiOauthConfiguration apiOauthConfiguration = mapDtoToEntity(apiOauthConfigurationDto);
-        return apiOauthConfigurationRepository.save(apiOauthConfiguration);
+        ApiOauthConfiguration createdApiOauthConfiguration = apiOauthConfigurationRepository.save(
+            apiOauthConfiguration
+        );
+        thirdPartyRoutingSnapshot.invalidate();
+        return createdApiOauthConfiguration;
     }
 
     public ApiOauthConfiguration findThirdPartyConfigurationByUserId(UUID userId) {
@@ -51,6 +58,7 @@ public class ThirdPartyConfigurationService {
 
     public void deleteThirdPartyConfigurationByUserId(UUID userId) {
         apiOauthConfigurationRepository.deleteByUserId(userId);
+        thirdPartyRoutingSnapshot.invalidate();
     }
 
     public void validateThirdPartyConfiguration(UUID userId) {
@@ -65,6 +73,7 @@ public class ThirdPartyConfigurationService {
         suppliedApiOAuthConfiguration.setCreatedDate(existingApiOauthConfiguration.getCreatedDate());
         suppliedApiOAuthConfiguration.setLastUpdatedDate(existingApiOauthConfiguration.getLastUpdatedDate());
         apiOauthConfigurationRepository.save(suppliedApiOAuthConfiguration);
+        thirdPartyRoutingSnapshot.invalidate();
     }
 
     private ApiOauthConfiguration mapDtoToEntity(ApiOauthConfigurationDto apiOauthConfigurationDto) {
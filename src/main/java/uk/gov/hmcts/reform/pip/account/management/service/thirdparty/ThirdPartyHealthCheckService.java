@@ -0,0 +1,120 @@
+package uk.gov.hmcts.reform.pip.account.management.service.thirdparty;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.pip.account.management.database.ApiOauthConfigurationRepository;
+import uk.gov.hmcts.reform.pip.account.management.database.ApiUserRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiOauthConfiguration;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUserStatus;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ThirdPartyHealthCheckResult;
+import uk.gov.hmcts.reform.pip.account.management.service.ReactivePublicationService;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyAction;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartySubscription;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+
+/**
+ * Runs the health check for every active third-party user at once. The checks are sent concurrently, up to the
+ * configured parallelism, so a full sweep takes about as long as the slowest check rather than the sum of them all.
+ * The checks do not share the queue used for notifications, so the parallelism is the only limit on them.
+ */
+@Service
+@Slf4j
+public class ThirdPartyHealthCheckService {
+    private static final String NO_CONFIGURATION_MESSAGE = "No OAuth configuration found for third-party user";
+    private static final String DUPLICATE_CONFIGURATION_MESSAGE =
+        "More than one OAuth configuration found for third-party user";
+
+    private final ApiUserRepository apiUserRepository;
+    private final ApiOauthConfigurationRepository apiOauthConfigurationRepository;
+    private final ReactivePublicationService reactivePublicationService;
+    private final int parallelism;
+    private final Duration timeout;
+
+    @Autowired
+    public ThirdPartyHealthCheckService(
+        ApiUserRepository apiUserRepository,
+        ApiOauthConfigurationRepository apiOauthConfigurationRepository,
+        ReactivePublicationService reactivePublicationService,
+        @Value("${third-party.health-check.parallelism}") int parallelism,
+        @Value("${third-party.health-check.timeout}") Duration timeout
+    ) {
+        this.apiUserRepository = apiUserRepository;
+        this.apiOauthConfigurationRepository = apiOauthConfigurationRepository;
+        this.reactivePublicationService = reactivePublicationService;
+        this.parallelism = parallelism;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Perform the health check for all active third-party users.
+     *
+     * @return The outcome of the health check for each user, in the order the users were found.
+     */
+    public List<ThirdPartyHealthCheckResult> validateAllThirdPartyConfigurations() {
+        List<UUID> userIds = apiUserRepository.findAllByStatus(ApiUserStatus.ACTIVE).stream()
+            .map(ApiUser::getUserId)
+            .toList();
+        Map<UUID, List<ApiOauthConfiguration>> configurations = apiOauthConfigurationRepository
+            .findAllByUserIdIn(userIds).stream()
+            .collect(Collectors.groupingBy(ApiOauthConfiguration::getUserId));
+
+        List<ThirdPartyHealthCheckResult> results = Flux.fromIterable(userIds)
+            .flatMapSequential(userId -> healthCheck(userId, configurations.getOrDefault(userId, List.of())),
+                               parallelism)
+            .collectList()
+            .block();
+
+        long failedCount = results.stream().filter(result -> !result.isHealthy()).count();
+        log.info(writeLog(String.format("Third-party health check completed for %s users with %s failures",
+                                        results.size(), failedCount)));
+        return results;
+    }
+
+    /**
+     * Perform the health check for a single user. The user's check fails without being sent if they do not have
+     * exactly one OAuth configuration, as it is not known which configuration would be used.
+     */
+    private Mono<ThirdPartyHealthCheckResult> healthCheck(UUID userId,
+                                                          List<ApiOauthConfiguration> apiOauthConfigurations) {
+        if (apiOauthConfigurations.isEmpty()) {
+            return Mono.just(new ThirdPartyHealthCheckResult(userId, false, null, NO_CONFIGURATION_MESSAGE));
+        }
+        if (apiOauthConfigurations.size() > 1) {
+            return Mono.just(new ThirdPartyHealthCheckResult(userId, false, null, DUPLICATE_CONFIGURATION_MESSAGE));
+        }
+        ApiOauthConfiguration apiOauthConfiguration = apiOauthConfigurations.get(0);
+
+        ThirdPartySubscription thirdPartySubscription = new ThirdPartySubscription(
+            List.of(ThirdPartySubscriptionNotificationService.buildThirdPartySubscriberConfiguration(
+                apiOauthConfiguration
+            )),
+            null,
+            ThirdPartyAction.HEALTH_CHECK
+        );
+
+        return Mono.defer(() -> {
+            long startTime = System.nanoTime();
+            return reactivePublicationService.sendThirdPartyHealthCheck(thirdPartySubscription, timeout)
+                .map(sent -> new ThirdPartyHealthCheckResult(userId, true, elapsedMillis(startTime), null))
+                .onErrorResume(ex -> Mono.just(
+                    new ThirdPartyHealthCheckResult(userId, false, elapsedMillis(startTime), ex.getMessage())
+                ));
+        });
+    }
+
+    private static long elapsedMillis(long startTime) {
+        return Duration.ofNanos(System.nanoTime() - startTime).toMillis();
+    }
+}
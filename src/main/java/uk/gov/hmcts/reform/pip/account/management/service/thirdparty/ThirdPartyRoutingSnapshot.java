@@ -0,0 +1,227 @@
+package uk.gov.hmcts.reform.pip.account.management.service.thirdparty;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.pip.account.management.database.ApiSubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiSubscriberConfiguration;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotificationHandler;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotificationListener;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotifications;
+import uk.gov.hmcts.reform.pip.model.publication.ListType;
+import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyOauthConfiguration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
+
+/**
+ * Immutable in-memory snapshot of the third-party routing data, which maps the list type and sensitivity of a
+ * publication to the OAuth configuration of the third-party users it is sent to. This is used to resolve the
+ * third-party subscribers of a publication without querying the database.
+ *
+ * <p>The third-party subscription, configuration and user services invalidate the snapshot whenever the routing
+ * data changes. A new snapshot is then built and swapped in, and the other instances are told to rebuild their own
+ * through a Postgres notification, which is picked up by the {@link ClusterNotificationListener}. The snapshot is
+ * also rebuilt whenever the listener reconnects, and periodically, in case a notification is missed.</p>
+ */
+@Component
+@Slf4j
+public class ThirdPartyRoutingSnapshot implements ClusterNotificationHandler {
+    static final String NOTIFICATION_CHANNEL = "third_party_routing";
+
+    private static final ThirdPartyRoute EMPTY_ROUTE = new ThirdPartyRoute(List.of(), List.of());
+
+    private final ApiSubscriptionRepository apiSubscriptionRepository;
+    private final ClusterNotifications clusterNotifications;
+    private final boolean enabled;
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Map<RouteKey, ThirdPartyRoute> routes = Map.of();
+    private volatile boolean ready;
+
+    @Autowired
+    public ThirdPartyRoutingSnapshot(ApiSubscriptionRepository apiSubscriptionRepository,
+                                     ClusterNotifications clusterNotifications,
+                                     @Value("${third-party.routing-snapshot.enabled}") boolean enabled) {
+        this.apiSubscriptionRepository = apiSubscriptionRepository;
+        this.clusterNotifications = clusterNotifications;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether third-party subscribers should be resolved from the snapshot rather than from the database.
+     * @return true if the snapshot is enabled and has been built.
+     */
+    public boolean isActive() {
+        return enabled && ready;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String getNotificationChannel() {
+        return NOTIFICATION_CHANNEL;
+    }
+
+    /**
+     * Find the third-party subscribers for a publication.
+     *
+     * @param listType The list type of the publication.
+     * @param sensitivity The sensitivity of the publication.
+     * @return The OAuth configuration of the subscribers, and the subscribers which could not be resolved.
+     */
+    public ThirdPartyRoute findRoute(ListType listType, Sensitivity sensitivity) {
+        return routes.getOrDefault(new RouteKey(listType, sensitivity), EMPTY_ROUTE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialise() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${third-party.routing-snapshot.rebuild-interval}",
+        initialDelayString = "${third-party.routing-snapshot.rebuild-interval}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuild the snapshot from the database and swap it in. Rebuilds are run one at a time, so a rebuild which
+     * starts after a change has been committed always includes it. If the rebuild fails for any reason, including
+     * failing to get a connection, the snapshot is no longer used until a later rebuild succeeds. The failure is not
+     * rethrown, as rebuilds are run after a change has been committed and on the listener thread.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long startTime = System.currentTimeMillis();
+            try {
+                List<ApiSubscriberConfiguration> subscribers = apiSubscriptionRepository
+                    .findAllSubscriberConfigurations();
+                routes = buildRoutes(subscribers);
+                ready = true;
+                log.info(writeLog(String.format("Third-party routing snapshot rebuilt with %s subscriptions in %s ms",
+                                                subscribers.size(), System.currentTimeMillis() - startTime)));
+            } catch (RuntimeException e) {
+                ready = false;
+                log.error(writeLog(String.format("Failed to rebuild third-party routing snapshot: %s",
+                                                 e.getMessage())));
+            }
+        }
+    }
+
+    /**
+     * Rebuild the snapshot, and tell the other instances to rebuild theirs, once the current transaction (if any)
+     * has committed. A transaction which makes several changes only causes one rebuild.
+     */
+    public void invalidate() {
+        if (!enabled) {
+            return;
+        }
+
+        Runnable invalidation = () -> {
+            rebuild();
+            clusterNotifications.publish(NOTIFICATION_CHANNEL, "");
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidation.run();
+        } else if (!TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ThirdPartyRoutingSnapshot.this);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rebuild the snapshot when another instance has changed the routing data.
+     * @param messages The message of each notification, which is not used.
+     */
+    @Override
+    public void handleNotifications(List<String> messages) {
+        rebuild();
+    }
+
+    @Override
+    public void handleMissedNotifications() {
+        rebuild();
+    }
+
+    /**
+     * Precompute the subscribers for every list type and publication sensitivity. A subscriber to a sensitivity
+     * receives publications of that sensitivity and below.
+     */
+    private static Map<RouteKey, ThirdPartyRoute> buildRoutes(List<ApiSubscriberConfiguration> subscribers) {
+        Map<RouteKey, List<ThirdPartyOauthConfiguration>> oauthConfigurations = new HashMap<>();
+        Map<RouteKey, List<ApiSubscriberConfiguration>> misconfiguredSubscribers = new HashMap<>();
+
+        for (Sensitivity sensitivity : Sensitivity.values()) {
+            List<Sensitivity> allowedSensitivities = ThirdPartySubscriptionNotificationService
+                .determineAllowedApiSensitivities(sensitivity);
+            subscribers.stream()
+                .filter(subscriber -> allowedSensitivities.contains(subscriber.sensitivity()))
+                .forEach(subscriber -> {
+                    RouteKey routeKey = new RouteKey(subscriber.listType(), sensitivity);
+                    if (subscriber.userStatus() == null || subscriber.oauthConfiguration() == null) {
+                        misconfiguredSubscribers.computeIfAbsent(routeKey, k -> new ArrayList<>()).add(subscriber);
+                    } else {
+                        oauthConfigurations.computeIfAbsent(routeKey, k -> new ArrayList<>())
+                            .add(subscriber.oauthConfiguration());
+                    }
+                });
+        }
+
+        Set<RouteKey> routeKeys = new HashSet<>(oauthConfigurations.keySet());
+        routeKeys.addAll(misconfiguredSubscribers.keySet());
+
+        Map<RouteKey, ThirdPartyRoute> builtRoutes = new HashMap<>();
+        routeKeys.forEach(routeKey -> builtRoutes.put(routeKey, new ThirdPartyRoute(
+            List.copyOf(oauthConfigurations.getOrDefault(routeKey, Collections.emptyList())),
+            List.copyOf(misconfiguredSubscribers.getOrDefault(routeKey, Collections.emptyList()))
+        )));
+        return Map.copyOf(builtRoutes);
+    }
+
+    /**
+     * The third-party subscribers for a list type and publication sensitivity.
+     *
+     * @param oauthConfigurations The OAuth configuration of each subscriber the publication is sent to.
+     * @param misconfiguredSubscribers The subscribers whose user or OAuth configuration is missing.
+     */
+    public record ThirdPartyRoute(List<ThirdPartyOauthConfiguration> oauthConfigurations,
+                                  List<ApiSubscriberConfiguration> misconfiguredSubscribers) {
+    }
+
+    private record RouteKey(ListType listType, Sensitivity sensitivity) {
+    }
+}
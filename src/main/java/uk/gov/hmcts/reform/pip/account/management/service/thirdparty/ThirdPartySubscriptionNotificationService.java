@@ -3,13 +3,11 @@ package uk.gov.hmcts.reform.pip.account.management.service.thirdparty;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import uk.gov.hmcts.reform.pip.account.management.database.ApiOauthConfigurationRepository;
 import uk.gov.hmcts.reform.pip.account.management.database.ApiSubscriptionRepository;
-import uk.gov.hmcts.reform.pip.account.management.database.ApiUserRepository;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiOauthConfiguration;
-import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiSubscription;
-import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUserStatus;
-import uk.gov.hmcts.reform.pip.account.management.service.PublicationService;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiSubscriberConfiguration;
+import uk.gov.hmcts.reform.pip.account.management.service.ReactivePublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.notification.OutboundNotificationService;
 import uk.gov.hmcts.reform.pip.model.publication.Artefact;
 import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
 import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyAction;
@@ -18,7 +16,6 @@ import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartySubscription;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
 
@@ -26,20 +23,20 @@ import static uk.gov.hmcts.reform.pip.model.LogBuilder.writeLog;
 @Slf4j
 public class ThirdPartySubscriptionNotificationService {
     private final ApiSubscriptionRepository apiSubscriptionRepository;
-    private final ApiOauthConfigurationRepository apiOauthConfigurationRepository;
-    private final PublicationService publicationService;
-    private final ApiUserRepository apiUserRepository;
+    private final ReactivePublicationService reactivePublicationService;
+    private final OutboundNotificationService outboundNotificationService;
+    private final ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot;
 
     @Autowired
     public ThirdPartySubscriptionNotificationService(
         ApiSubscriptionRepository apiSubscriptionRepository,
-        ApiOauthConfigurationRepository apiOauthConfigurationRepository,
-        PublicationService publicationService,
-        ApiUserRepository apiUserRepository) {
+        ReactivePublicationService reactivePublicationService,
+        OutboundNotificationService outboundNotificationService,
+        ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot) {
         this.apiSubscriptionRepository = apiSubscriptionRepository;
-        this.apiOauthConfigurationRepository = apiOauthConfigurationRepository;
-        this.publicationService = publicationService;
-        this.apiUserRepository = apiUserRepository;
+        this.reactivePublicationService = reactivePublicationService;
+        this.outboundNotificationService = outboundNotificationService;
+        this.thirdPartyRoutingSnapshot = thirdPartyRoutingSnapshot;
     }
 
     public void handleThirdPartySubscription(Artefact artefact) {
@@ -51,9 +48,9 @@ public class ThirdPartySubscriptionNotificationService {
             : ThirdPartyAction.NEW_PUBLICATION;
 
         if (!thirdPartyOauthConfigurationList.isEmpty()) {
-            publicationService.sendThirdPartySubscription(new ThirdPartySubscription(
+            outboundNotificationService.sendThirdPartySubscription(new ThirdPartySubscription(
                 thirdPartyOauthConfigurationList, artefact.getArtefactId(), thirdPartyAction
-            ), false);
+            ));
         }
     }
 
@@ -62,9 +59,9 @@ public class ThirdPartySubscriptionNotificationService {
             collectThirdPartySubscriberConfigurationList(artefact);
 
         if (!thirdPartyOauthConfigurationList.isEmpty()) {
-            publicationService.sendThirdPartySubscription(new ThirdPartySubscription(
+            outboundNotificationService.sendThirdPartySubscription(new ThirdPartySubscription(
                 thirdPartyOauthConfigurationList, artefact.getArtefactId(), ThirdPartyAction.DELETE_PUBLICATION
-            ), false);
+            ));
         }
     }
 
@@ -75,37 +72,49 @@ public class ThirdPartySubscriptionNotificationService {
         ThirdPartySubscription thirdPartySubscription = new ThirdPartySubscription(
             List.of(thirdPartyOauthConfiguration), null, ThirdPartyAction.HEALTH_CHECK
         );
-        publicationService.sendThirdPartySubscription(thirdPartySubscription, true);
+        reactivePublicationService.sendThirdPartySubscription(thirdPartySubscription, true).block();
     }
 
+    /**
+     * Collect the OAuth configuration of the active third-party users subscribed to the artefact. The subscribers
+     * are taken from the routing snapshot when it is active. Otherwise, the subscribers, their users and their
+     * configuration are resolved in a single query.
+     */
     private List<ThirdPartyOauthConfiguration> collectThirdPartySubscriberConfigurationList(Artefact artefact) {
-        List<ApiSubscription> apiSubscriptions = buildThirdPartySubscriberList(artefact);
+        if (thirdPartyRoutingSnapshot.isActive()) {
+            ThirdPartyRoutingSnapshot.ThirdPartyRoute route = thirdPartyRoutingSnapshot.findRoute(
+                artefact.getListType(), artefact.getSensitivity()
+            );
+            route.misconfiguredSubscribers().forEach(this::logMisconfiguredSubscriber);
+            return route.oauthConfigurations();
+        }
+
+        List<ApiSubscriberConfiguration> subscriberConfigurations = apiSubscriptionRepository
+            .findSubscriberConfigurations(artefact.getListType(),
+                                          determineAllowedApiSensitivities(artefact.getSensitivity()));
         List<ThirdPartyOauthConfiguration> thirdPartyOauthConfigurationList = new ArrayList<>();
 
-        apiSubscriptions.forEach(apiSubscription -> {
-            apiUserRepository.findByUserId(apiSubscription.getUserId()).ifPresentOrElse(apiUser -> {
-                if (ApiUserStatus.ACTIVE.equals(apiUser.getStatus())) {
-                    Optional<ApiOauthConfiguration> foundApiOauthConfiguration = apiOauthConfigurationRepository
-                        .findByUserId(apiSubscription.getUserId());
-
-                    if (foundApiOauthConfiguration.isPresent()) {
-                        thirdPartyOauthConfigurationList.add(
-                            buildThirdPartySubscriberConfiguration(foundApiOauthConfiguration.get())
-                        );
-                    } else {
-                        log.error(writeLog(String.format("No OAuth configuration found for third-party user with ID %s",
-                                                        apiSubscription.getUserId())));
-                    }
-                }
-            }, () -> {
-                log.error(writeLog(String.format("No third-party user found with ID %s",
-                    apiSubscription.getUserId())));
-            });
+        subscriberConfigurations.forEach(subscriberConfiguration -> {
+            if (subscriberConfiguration.userStatus() == null || subscriberConfiguration.oauthConfiguration() == null) {
+                logMisconfiguredSubscriber(subscriberConfiguration);
+            } else {
+                thirdPartyOauthConfigurationList.add(subscriberConfiguration.oauthConfiguration());
+            }
         });
         return thirdPartyOauthConfigurationList;
     }
 
-    private ThirdPartyOauthConfiguration buildThirdPartySubscriberConfiguration(
+    private void logMisconfiguredSubscriber(ApiSubscriberConfiguration subscriberConfiguration) {
+        if (subscriberConfiguration.userStatus() == null) {
+            log.error(writeLog(String.format("No third-party user found with ID %s",
+                subscriberConfiguration.userId())));
+        } else {
+            log.error(writeLog(String.format("No OAuth configuration found for third-party user with ID %s",
+                                             subscriberConfiguration.userId())));
+        }
+    }
+
+    static ThirdPartyOauthConfiguration buildThirdPartySubscriberConfiguration(
         ApiOauthConfiguration foundApiOauthConfiguration
     ) {
         ThirdPartyOauthConfiguration thirdPartyOauthConfiguration = new ThirdPartyOauthConfiguration();
@@ -118,15 +127,10 @@ public class ThirdPartySubscriptionNotificationService {
         return thirdPartyOauthConfiguration;
     }
 
-    private List<ApiSubscription> buildThirdPartySubscriberList(Artefact artefact) {
-        List<Sensitivity> allowedApiSensitivities = determineAllowedApiSensitivities(artefact.getSensitivity());
-        return apiSubscriptionRepository.findByListTypeAndSensitivityIn(
-            artefact.getListType(),
-            allowedApiSensitivities
-        );
-    }
-
-    private List<Sensitivity> determineAllowedApiSensitivities(Sensitivity sensitivity) {
+    /**
+     * The API subscription sensitivities which receive a publication of the given sensitivity.
+     */
+    static List<Sensitivity> determineAllowedApiSensitivities(Sensitivity sensitivity) {
         List<Sensitivity> allowedApiSensitivities = new ArrayList<>(List.of(Sensitivity.CLASSIFIED));
 
         if (Sensitivity.PUBLIC.equals(sensitivity)) {
@@ -17,14 +17,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ThirdPartySubscriptionService {
     private final ApiSubscriptionRepository apiSubscriptionRepository;
+    private final ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot;
 
     @Autowired
-    public ThirdPartySubscriptionService(ApiSubscriptionRepository apiSubscriptionRepository) {
+    public ThirdPartySubscriptionService(ApiSubscriptionRepository apiSubscriptionRepository,
+                                         ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot) {
         this.apiSubscriptionRepository = apiSubscriptionRepository;
+        this.thirdPartyRoutingSnapshot = thirdPartyRoutingSnapshot;
     }
 
     public List<ApiSubscription> createThirdPartySubscriptions(List<ApiSubscription> apiSubscriptions) {
-        return apiSubscriptionRepository.saveAll(apiSubscriptions);
+        List<ApiSubscription> createdApiSubscriptions = apiSubscriptionRepository.saveAll(apiSubscriptions);
+        thirdPartyRoutingSnapshot.invalidate();
+        return createdApiSubscriptions;
     }
 
     public List<ApiSubscription> findThirdPartySubscriptionsByUserId(UUID userId) {
@@ -41,11 +46,12 @@ public class ThirdPartySubscriptionService {
     public void updateThirdPartySubscriptionsByUserId(UUID userId, List<ApiSubscription> apiSubscriptions) {
         List<ApiSubscription> foundApiSubscriptions = findThirdPartySubscriptionsByUserId(userId);
         updateExistingThirdPartySubscriptions(apiSubscriptions, foundApiSubscriptions);
-
+        thirdPartyRoutingSnapshot.invalidate();
     }
 
     public void deleteThirdPartySubscriptionsByUserId(UUID userId) {
         apiSubscriptionRepository.deleteAllByUserId(userId);
+        thirdPartyRoutingSnapshot.invalidate();
     }
 
     private void updateExistingThirdPartySubscriptions(List<ApiSubscription> suppliedApiSubscriptions,
@@ -17,16 +17,19 @@ public class ThirdPartyUserService {
     private final ApiUserRepository apiUserRepository;
     private final ThirdPartySubscriptionService thirdPartySubscriptionService;
     private final ThirdPartyConfigurationService thirdPartyConfigurationService;
+    private final ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot;
 
     @Autowired
     public ThirdPartyUserService(
         ApiUserRepository apiUserRepository,
         ThirdPartySubscriptionService thirdPartySubscriptionService,
-        ThirdPartyConfigurationService thirdPartyConfigurationService
+        ThirdPartyConfigurationService thirdPartyConfigurationService,
+        ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot
     ) {
         this.apiUserRepository = apiUserRepository;
         this.thirdPartySubscriptionService = thirdPartySubscriptionService;
         this.thirdPartyConfigurationService = thirdPartyConfigurationService;
+        this.thirdPartyRoutingSnapshot = thirdPartyRoutingSnapshot;
     }
 
     public ApiUser createThirdPartyUser(ApiUser apiUser) {
@@ -50,7 +53,9 @@ public class ThirdPartyUserService {
                 String.format("Third-party user with ID %s could not be found", userId)
             ));
         user.setStatus(newStatus);
-        return apiUserRepository.save(user);
+        ApiUser updatedUser = apiUserRepository.save(user);
+        thirdPartyRoutingSnapshot.invalidate();
+        return updatedUser;
     }
 
     public void deleteThirdPartyUser(UUID userId) {
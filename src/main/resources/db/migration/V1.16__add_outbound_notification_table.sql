@@ -0,0 +1,18 @@
+--
+-- Outbox for the notifications sent to publication services, so that they are not lost if sending fails
+-- or the service restarts.
+--
+CREATE TABLE IF NOT EXISTS outbound_notification (
+  id uuid NOT NULL PRIMARY KEY,
+  notification_type VARCHAR(50) NOT NULL,
+  payload text NOT NULL,
+  status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+  attempts integer NOT NULL DEFAULT 0,
+  next_attempt_date timestamp NOT NULL,
+  last_error text,
+  created_date timestamp NOT NULL,
+  last_updated_date timestamp
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbound_notification_status_next_attempt
+  ON outbound_notification (status, next_attempt_date);
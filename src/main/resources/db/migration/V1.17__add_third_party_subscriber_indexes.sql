@@ -0,0 +1,9 @@
+--
+-- Indexes for resolving the third-party subscribers of a publication, along with their OAuth configuration,
+-- in a single query.
+--
+CREATE INDEX IF NOT EXISTS idx_api_subscription_list_type_sensitivity
+  ON api_subscription (list_type, sensitivity);
+
+CREATE INDEX IF NOT EXISTS idx_api_oauth_configuration_user_id
+  ON api_oauth_configuration (user_id);
@@ -0,0 +1,6 @@
+--
+-- Index for keyset pagination of audit logs, which seeks past the timestamp and ID of the last audit log of the
+-- previous page.
+--
+CREATE INDEX IF NOT EXISTS idx_audit_log_timestamp_id
+  ON audit_log (timestamp DESC, id DESC);
@@ -0,0 +1,11 @@
+--
+-- Trigram indexes for the case insensitive substring searches on user and audit log emails. The queries search
+-- on lower(email) and lower(user_email) so that these indexes can be used.
+--
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_pi_user_email_trgm
+  ON pi_user USING gin (lower(email) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_audit_log_user_email_trgm
+  ON audit_log USING gin (lower(user_email) gin_trgm_ops);
@@ -0,0 +1,16 @@
+--
+-- Indexes for the subscription lookups made when a publication is received, when a user's subscriptions are
+-- managed, and when test data is cleared down.
+--
+CREATE INDEX IF NOT EXISTS idx_subscription_search_type_search_value
+  ON subscription (search_type, search_value);
+
+CREATE INDEX IF NOT EXISTS idx_subscription_user_id_search_type
+  ON subscription (user_id, search_type);
+
+-- text_pattern_ops allows prefix searches to use the index whatever the collation of the database
+CREATE INDEX IF NOT EXISTS idx_subscription_lower_location_name
+  ON subscription (lower(location_name) text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_subscription_list_type_user_id
+  ON subscription_list_type (user_id);
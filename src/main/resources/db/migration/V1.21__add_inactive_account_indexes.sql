@@ -0,0 +1,12 @@
+--
+-- Indexes for the nightly inactive account sweeps, which look up users by provenance and by a range on the date
+-- they were last verified or last signed in.
+--
+CREATE INDEX IF NOT EXISTS idx_pi_user_verified_last_verified_date
+  ON pi_user (user_provenance, roles, last_verified_date)
+  WHERE user_provenance = 'PI_AAD' AND roles = 'VERIFIED';
+
+-- Third party users never sign in, so are left out of the index
+CREATE INDEX IF NOT EXISTS idx_pi_user_provenance_last_signed_in_date
+  ON pi_user (user_provenance, last_signed_in_date)
+  WHERE user_provenance IN ('PI_AAD', 'SSO', 'CFT_IDAM', 'CRIME_IDAM');
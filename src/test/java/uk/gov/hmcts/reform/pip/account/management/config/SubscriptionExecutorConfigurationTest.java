@@ -0,0 +1,145 @@
+package uk.gov.hmcts.reform.pip.account.management.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SubscriptionExecutorConfigurationTest {
+    private static final String EXECUTOR_NAME = "test-executor";
+    private static final String NAME_TAG = "name";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private MeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void teardown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private void createExecutor(SubscriptionExecutorProperties.RejectionPolicy rejectionPolicy) {
+        SubscriptionExecutorProperties.Pool pool = new SubscriptionExecutorProperties.Pool();
+        pool.setCoreSize(1);
+        pool.setMaxSize(1);
+        pool.setQueueCapacity(1);
+        pool.setRejectionPolicy(rejectionPolicy);
+
+        executor = SubscriptionExecutorConfiguration.createExecutor(EXECUTOR_NAME, pool, meterRegistry);
+        executor.initialize();
+    }
+
+    private void fillPool() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        executor.execute(this::awaitRelease);
+        assertThat(started.await(5, TimeUnit.SECONDS))
+            .as("First task should have started")
+            .isTrue();
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double rejections() {
+        return meterRegistry.get("subscription.executor.rejections").tag(NAME_TAG, EXECUTOR_NAME).counter().count();
+    }
+
+    @Test
+    void testPoolMetricsAreRecorded() throws InterruptedException {
+        createExecutor(SubscriptionExecutorProperties.RejectionPolicy.CALLER_RUNS);
+        fillPool();
+
+        assertThat(meterRegistry.get("subscription.executor.active").tag(NAME_TAG, EXECUTOR_NAME).gauge().value())
+            .as("Active thread count does not match")
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("subscription.executor.queued").tag(NAME_TAG, EXECUTOR_NAME).gauge().value())
+            .as("Queue depth does not match")
+            .isEqualTo(1);
+
+        release.countDown();
+        executor.shutdown();
+        executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS);
+
+        assertThat(meterRegistry.get("subscription.executor.task.wait").tag(NAME_TAG, EXECUTOR_NAME).timer().count())
+            .as("Task wait count does not match")
+            .isEqualTo(2);
+        assertThat(meterRegistry.get("subscription.executor.task.duration").tag(NAME_TAG, EXECUTOR_NAME).timer()
+                       .count())
+            .as("Task duration count does not match")
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testCallerRunsWhenPoolIsFull() throws InterruptedException {
+        createExecutor(SubscriptionExecutorProperties.RejectionPolicy.CALLER_RUNS);
+        fillPool();
+
+        AtomicReference<Thread> taskThread = new AtomicReference<>();
+        executor.execute(() -> taskThread.set(Thread.currentThread()));
+
+        assertThat(taskThread.get())
+            .as("Task should run on the calling thread when the pool is full")
+            .isEqualTo(Thread.currentThread());
+        assertThat(rejections())
+            .as("Rejection count does not match")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testRejectWhenPoolIsFull() throws InterruptedException {
+        createExecutor(SubscriptionExecutorProperties.RejectionPolicy.REJECT);
+        fillPool();
+
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+            .isInstanceOf(TaskRejectedException.class);
+        assertThat(rejections())
+            .as("Rejection count does not match")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testThreadsAreNamedAfterPool() throws InterruptedException {
+        createExecutor(SubscriptionExecutorProperties.RejectionPolicy.CALLER_RUNS);
+
+        AtomicReference<String> threadName = new AtomicReference<>();
+        CountDownLatch finished = new CountDownLatch(1);
+        executor.execute(() -> {
+            threadName.set(Thread.currentThread().getName());
+            finished.countDown();
+        });
+
+        assertThat(finished.await(5, TimeUnit.SECONDS))
+            .as("Task should have finished")
+            .isTrue();
+        assertThat(threadName.get())
+            .as("Thread name does not match")
+            .startsWith(EXECUTOR_NAME + "-");
+    }
+}
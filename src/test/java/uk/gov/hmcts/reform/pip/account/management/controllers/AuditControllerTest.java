@@ -9,6 +9,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import uk.gov.hmcts.reform.pip.account.management.model.account.AuditLog;
+import uk.gov.hmcts.reform.pip.account.management.model.account.KeysetSlice;
 import uk.gov.hmcts.reform.pip.account.management.service.AuditService;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
@@ -43,6 +44,13 @@ class AuditControllerTest {
         assertEquals(HttpStatus.OK, response.getStatusCode(), STATUS_CODE_MATCH);
     }
 
+    @Test
+    void testGetAllAuditLogsKeyset() {
+        ResponseEntity<KeysetSlice<AuditLog>> response = auditController.getAllAuditLogsKeyset(USER_ID, 25, "",
+            false, EMAIL, USER_ID.toString(), AUDIT_ACTIONS, FILTER_DATE);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), STATUS_CODE_MATCH);
+    }
+
     @Test
     void testGetAuditLogById() {
         UUID id = UUID.randomUUID();
@@ -0,0 +1,52 @@
+package uk.gov.hmcts.reform.pip.account.management.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotification;
+import uk.gov.hmcts.reform.pip.account.management.service.notification.OutboundNotificationService;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboundNotificationControllerTest {
+
+    @Mock
+    private OutboundNotificationService outboundNotificationService;
+
+    @InjectMocks
+    private OutboundNotificationController outboundNotificationController;
+
+    private static final String STATUS_CODE_MATCH = "Status code responses should match";
+
+    @Test
+    void testGetDeadLetters() {
+        List<OutboundNotification> deadLetters = List.of(new OutboundNotification());
+        when(outboundNotificationService.findDeadLetters()).thenReturn(deadLetters);
+
+        ResponseEntity<List<OutboundNotification>> response = outboundNotificationController.getDeadLetters();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode(), STATUS_CODE_MATCH);
+        assertEquals(deadLetters, response.getBody(), "Returned dead letters do not match expected");
+    }
+
+    @Test
+    void testReplayDeadLetters() {
+        List<UUID> ids = List.of(UUID.randomUUID());
+        when(outboundNotificationService.replayDeadLetters(ids)).thenReturn(1);
+
+        ResponseEntity<String> response = outboundNotificationController.replayDeadLetters(ids);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode(), STATUS_CODE_MATCH);
+        assertEquals("1 outbound notification(s) queued for replay", response.getBody(),
+                     "Should return expected replay message");
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import uk.gov.hmcts.reform.pip.account.management.model.account.CreationEnum;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationAuthorisationRequest;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationAuthorisationResponse;
 import uk.gov.hmcts.reform.pip.account.management.service.account.AccountService;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
@@ -61,7 +63,7 @@ class AccountControllerTest {
 
     @Test
     void testIsUserAuthorised() {
-        when(accountService.isUserAuthorisedForPublication(any(), any(), any())).thenReturn(true);
+        when(accountService.isUserAuthorisedForPublication(any(UUID.class), any(), any())).thenReturn(true);
         assertEquals(
             HttpStatus.OK,
             accountController.checkUserAuthorised(UUID.randomUUID(), ListType.MAGISTRATES_PUBLIC_LIST,
@@ -76,6 +78,23 @@ class AccountControllerTest {
         );
     }
 
+    @Test
+    void testCheckUsersAuthorised() {
+        UUID userId = UUID.randomUUID();
+        PublicationAuthorisationRequest request = new PublicationAuthorisationRequest(
+            List.of(userId), ListType.MAGISTRATES_PUBLIC_LIST, Sensitivity.PUBLIC, null, null
+        );
+        PublicationAuthorisationResponse expectedResponse = new PublicationAuthorisationResponse(
+            Map.of(userId, true), null
+        );
+        when(accountService.isUserAuthorisedForPublications(request)).thenReturn(expectedResponse);
+
+        ResponseEntity<PublicationAuthorisationResponse> response = accountController.checkUsersAuthorised(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode(), STATUS_CODE_MATCH);
+        assertEquals(expectedResponse, response.getBody(), "Should return the authorisation of each user");
+    }
+
     @Test
     void testGetUserByProvenanceId() {
         PiUser user = new PiUser();
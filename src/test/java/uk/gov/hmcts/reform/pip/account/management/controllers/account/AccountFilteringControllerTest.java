@@ -68,6 +68,15 @@ class AccountFilteringControllerTest {
             .isEqualTo(HttpStatus.OK);
     }
 
+    @Test
+    void testGetAllAccountsExceptThirdPartyKeyset() {
+        assertThat(accountFilteringController.getAllAccountsExceptThirdPartyKeyset(USER_ID,
+            25, "", true, "test", "5678",
+            List.of(UserProvenances.PI_AAD), List.of(Roles.VERIFIED), "").getStatusCode())
+            .as(STATUS_CODE_MATCH)
+            .isEqualTo(HttpStatus.OK);
+    }
+
     @Test
     void testGetAdminUserByEmailAndProvenance() {
         PiUser piUser = new PiUser();
@@ -9,6 +9,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import uk.gov.hmcts.reform.pip.account.management.helpers.SubscriptionUtils;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.ArtefactRecipientStatus;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.RecipientRequestStatus;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionListType;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.usersubscription.UserSubscription;
@@ -193,6 +195,22 @@ class SubscriptionControllerTest {
         );
     }
 
+    @Test
+    void testEmailSubscriptionRecipientsBatchReturnsStatuses() {
+        Artefact artefact = new Artefact();
+        artefact.setArtefactId(UUID.randomUUID());
+        List<ArtefactRecipientStatus> statuses = List.of(
+            new ArtefactRecipientStatus(artefact.getArtefactId(), RecipientRequestStatus.ACCEPTED)
+        );
+        when(subscriptionNotificationService.collectEmailSubscribersForBatch(List.of(artefact))).thenReturn(statuses);
+
+        ResponseEntity<List<ArtefactRecipientStatus>> response =
+            subscriptionController.buildEmailSubscriberLists(List.of(artefact));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode(), STATUS_CODE_MATCH);
+        assertEquals(statuses, response.getBody(), "Returned artefact statuses do not match");
+    }
+
     @Test
     void testApiSubscriptionRecipientsReturnsAccepted() {
         doNothing().when(subscriptionNotificationService).collectApiSubscribers(any());
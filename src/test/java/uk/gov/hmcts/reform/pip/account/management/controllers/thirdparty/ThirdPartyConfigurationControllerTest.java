@@ -9,8 +9,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiOauthConfiguration;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiOauthConfigurationDto;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ThirdPartyHealthCheckResult;
 import uk.gov.hmcts.reform.pip.account.management.service.thirdparty.ThirdPartyConfigurationService;
+import uk.gov.hmcts.reform.pip.account.management.service.thirdparty.ThirdPartyHealthCheckService;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,6 +28,9 @@ class ThirdPartyConfigurationControllerTest {
     @Mock
     private ThirdPartyConfigurationService thirdPartyConfigurationService;
 
+    @Mock
+    private ThirdPartyHealthCheckService thirdPartyHealthCheckService;
+
     @InjectMocks
     private ThirdPartyConfigurationController controller;
 
@@ -93,4 +99,23 @@ class ThirdPartyConfigurationControllerTest {
 
         verify(thirdPartyConfigurationService).validateThirdPartyConfiguration(USER_ID);
     }
+
+    @Test
+    void testThirdPartyConfigurationBulkHealthCheck() {
+        List<ThirdPartyHealthCheckResult> results = List.of(
+            new ThirdPartyHealthCheckResult(USER_ID, true, 10L, null)
+        );
+        when(thirdPartyHealthCheckService.validateAllThirdPartyConfigurations()).thenReturn(results);
+
+        ResponseEntity<List<ThirdPartyHealthCheckResult>> response =
+            controller.thirdPartyConfigurationBulkHealthCheck(REQUESTER_ID);
+
+        assertThat(response.getStatusCode())
+            .as("Response status should be OK")
+            .isEqualTo(HttpStatus.OK);
+
+        assertThat(response.getBody())
+            .as("Response body should contain the health check results")
+            .isEqualTo(results);
+    }
 }
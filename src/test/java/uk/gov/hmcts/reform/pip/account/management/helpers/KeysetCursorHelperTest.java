@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.pip.account.management.helpers;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorHelperTest {
+    private static final UUID ID = UUID.randomUUID();
+    private static final String CURSOR_MATCH = "Decoded cursor does not match the encoded values";
+
+    @Test
+    void testIdCursor() {
+        assertEquals(ID, KeysetCursorHelper.decodeIdCursor(KeysetCursorHelper.encodeCursor(ID)), CURSOR_MATCH);
+    }
+
+    @Test
+    void testTimestampCursor() {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 11, 1, 9, 30, 15, 123_456_000);
+
+        assertEquals(Pair.of(timestamp, ID),
+                     KeysetCursorHelper.decodeTimestampCursor(KeysetCursorHelper.encodeCursor(timestamp, ID)),
+                     CURSOR_MATCH);
+    }
+
+    @Test
+    void testInvalidIdCursor() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursorHelper.decodeIdCursor("%%%"),
+                     "Cursor which is not base64 should be rejected");
+    }
+
+    @Test
+    void testTimestampCursorWithoutTimestamp() {
+        String cursor = KeysetCursorHelper.encodeCursor(ID);
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursorHelper.decodeTimestampCursor(cursor),
+                     "Cursor without a timestamp should be rejected");
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.pip.account.management.service;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,9 +11,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import uk.gov.hmcts.reform.pip.account.management.database.AuditRepository;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.NotFoundException;
+import uk.gov.hmcts.reform.pip.account.management.helpers.KeysetCursorHelper;
 import uk.gov.hmcts.reform.pip.account.management.model.account.AuditLog;
+import uk.gov.hmcts.reform.pip.account.management.model.account.KeysetSlice;
 import uk.gov.hmcts.reform.pip.model.enums.AuditAction;
 
 import java.time.LocalDate;
@@ -26,8 +31,11 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -96,6 +104,58 @@ class AuditServiceTest {
                      "Returned audit log does not match the expected");
     }
 
+    @Test
+    void testGetAllAuditLogsKeysetFirstPage() {
+        LocalDateTime filterStartDate = LocalDate.parse(FILTER_DATE).atStartOfDay();
+        LocalDateTime filterEndDate = filterStartDate.plusDays(1);
+        Slice<AuditLog> slice = new SliceImpl<>(List.of(auditLogExample), PageRequest.of(0, 1), true);
+        when(auditRepository.findAuditLogsBefore("%" + EMAIL + "%", USER_ID, AUDIT_ACTIONS, filterStartDate,
+                                                 filterEndDate, new UUID(0, 0), PageRequest.of(0, 1)))
+            .thenReturn(slice);
+
+        KeysetSlice<AuditLog> returnedAuditLogs = auditService.getAllAuditLogsKeyset(
+            1, "", false, EMAIL, USER_ID, AUDIT_ACTIONS, FILTER_DATE
+        );
+
+        assertEquals(List.of(auditLogExample), returnedAuditLogs.getContent(),
+                     "Returned audit logs do not match the expected");
+        assertEquals(Pair.of(auditLogExample.getTimestamp(), ID),
+                     KeysetCursorHelper.decodeTimestampCursor(returnedAuditLogs.getNextCursor()),
+                     "Next cursor should point at the last audit log in the slice");
+        assertNull(returnedAuditLogs.getTotalCount(), "Total count should not be returned unless requested");
+        verify(auditRepository, never()).countAuditLogs(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testGetAllAuditLogsKeysetNextPageWithCount() {
+        LocalDateTime lastTimestamp = LocalDateTime.now().minusDays(1);
+        UUID lastId = UUID.randomUUID();
+        Slice<AuditLog> slice = new SliceImpl<>(List.of(auditLogExample), PageRequest.of(0, 25), false);
+        when(auditRepository.findAuditLogsBefore(eq("%%"), eq("%%"), any(), any(), eq(lastTimestamp), eq(lastId),
+                                                 eq(PageRequest.of(0, 25))))
+            .thenReturn(slice);
+        when(auditRepository.countAuditLogs(eq("%%"), eq("%%"), any(), any(), any())).thenReturn(26L);
+
+        KeysetSlice<AuditLog> returnedAuditLogs = auditService.getAllAuditLogsKeyset(
+            25, KeysetCursorHelper.encodeCursor(lastTimestamp, lastId), true, "", "", new ArrayList<>(), ""
+        );
+
+        assertEquals(List.of(auditLogExample), returnedAuditLogs.getContent(),
+                     "Returned audit logs do not match the expected");
+        assertNull(returnedAuditLogs.getNextCursor(), "Last page should not have a next cursor");
+        assertEquals(26L, returnedAuditLogs.getTotalCount(), "Total count does not match the expected");
+    }
+
+    @Test
+    void testGetAllAuditLogsKeysetInvalidCursor() {
+        List<AuditAction> emptyAuditActions = new ArrayList<>();
+
+        assertThatThrownBy(() -> auditService.getAllAuditLogsKeyset(25, "bm90LWEtY3Vyc29y", false, "", "",
+                                                                    emptyAuditActions, ""))
+            .as("Invalid cursor should be rejected")
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void testGetAuditLogById() {
         when(auditRepository.findById(ID)).thenReturn(Optional.of(auditLogExample));
@@ -9,11 +9,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.Resource;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import uk.gov.hmcts.reform.pip.account.management.database.AzureBlobService;
 import uk.gov.hmcts.reform.pip.account.management.database.MediaApplicationRepository;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.NotFoundException;
 import uk.gov.hmcts.reform.pip.account.management.model.MediaApplication;
 import uk.gov.hmcts.reform.pip.account.management.model.MediaApplicationStatus;
+import uk.gov.hmcts.reform.pip.account.management.service.notification.OutboundNotificationService;
 
 import java.util.Collections;
 import java.util.List;
@@ -21,6 +24,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -29,6 +33,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -53,6 +58,12 @@ class MediaApplicationServiceTest {
     @Mock
     private PublicationService publicationService;
 
+    @Mock
+    private OutboundNotificationService outboundNotificationService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private MediaApplicationService mediaApplicationService;
 
@@ -174,18 +185,46 @@ class MediaApplicationServiceTest {
         verify(azureBlobService, times(1)).deleteBlob(BLOB_UUID);
     }
 
+    /**
+     * Runs the transaction callback straight away, recording whether the transaction is open while it runs.
+     */
+    private AtomicBoolean runInTransaction() {
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            inTransaction.set(true);
+            try {
+                return invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+            } finally {
+                inTransaction.set(false);
+            }
+        });
+        return inTransaction;
+    }
+
     @Test
     void testUpdateApplicationRejected() {
+        AtomicBoolean inTransaction = runInTransaction();
+        AtomicBoolean emailSentInTransaction = new AtomicBoolean(true);
+        AtomicBoolean blobDeletedInTransaction = new AtomicBoolean(true);
+
         when(mediaApplicationRepository.findById(TEST_ID)).thenReturn(Optional.ofNullable(
             mediaApplicationExample));
 
         when(mediaApplicationRepository.save(mediaApplicationExample))
             .thenReturn(mediaApplicationExample);
 
-
         Map<String, List<String>> reasons = new ConcurrentHashMap<>();
         reasons.put("Reason A", List.of("Reason Text", "Reason Text"));
 
+        doAnswer(invocation -> {
+            emailSentInTransaction.set(inTransaction.get());
+            return null;
+        }).when(outboundNotificationService).sendMediaAccountRejectionEmail(mediaApplicationExample, reasons);
+        doAnswer(invocation -> {
+            blobDeletedInTransaction.set(inTransaction.get());
+            return BLOB_UUID;
+        }).when(azureBlobService).deleteBlob(BLOB_UUID);
+
         MediaApplication returnedApplication = mediaApplicationService
             .updateApplication(TEST_ID, MediaApplicationStatus.REJECTED, reasons);
 
@@ -193,6 +232,55 @@ class MediaApplicationServiceTest {
                      "Application status was not updated");
 
         verify(azureBlobService, times(1)).deleteBlob(BLOB_UUID);
+        verify(outboundNotificationService).sendMediaAccountRejectionEmail(mediaApplicationExample, reasons);
+        assertThat(emailSentInTransaction)
+            .as("Rejection email should be sent after the transaction when the outbox is disabled")
+            .isFalse();
+        assertThat(blobDeletedInTransaction)
+            .as("Image should be deleted after the transaction")
+            .isFalse();
+    }
+
+    @Test
+    void testUpdateApplicationRejectedQueuesEmailInTransaction() {
+        AtomicBoolean inTransaction = runInTransaction();
+        AtomicBoolean emailQueuedInTransaction = new AtomicBoolean();
+
+        when(outboundNotificationService.isEnabled()).thenReturn(true);
+        when(mediaApplicationRepository.findById(TEST_ID)).thenReturn(Optional.ofNullable(
+            mediaApplicationExample));
+        when(mediaApplicationRepository.save(mediaApplicationExample))
+            .thenReturn(mediaApplicationExample);
+
+        Map<String, List<String>> reasons = Map.of("Reason A", List.of("Reason Text"));
+        doAnswer(invocation -> {
+            emailQueuedInTransaction.set(inTransaction.get());
+            return null;
+        }).when(outboundNotificationService).sendMediaAccountRejectionEmail(mediaApplicationExample, reasons);
+
+        mediaApplicationService.updateApplication(TEST_ID, MediaApplicationStatus.REJECTED, reasons);
+
+        verify(outboundNotificationService, times(1))
+            .sendMediaAccountRejectionEmail(mediaApplicationExample, reasons);
+        verify(azureBlobService).deleteBlob(BLOB_UUID);
+        assertThat(emailQueuedInTransaction)
+            .as("Rejection email should be queued in the same transaction as the status change")
+            .isTrue();
+    }
+
+    @Test
+    void testUpdateApplicationApprovedWithReasonsDoesNotSendEmail() {
+        runInTransaction();
+
+        when(mediaApplicationRepository.findById(TEST_ID)).thenReturn(Optional.ofNullable(
+            mediaApplicationExample));
+        when(mediaApplicationRepository.save(mediaApplicationExample))
+            .thenReturn(mediaApplicationExample);
+
+        mediaApplicationService.updateApplication(TEST_ID, MediaApplicationStatus.APPROVED, Map.of());
+
+        verify(azureBlobService).deleteBlob(BLOB_UUID);
+        verify(outboundNotificationService, never()).sendMediaAccountRejectionEmail(any(), any());
     }
 
     @Test
@@ -1,49 +1,34 @@
 package uk.gov.hmcts.reform.pip.account.management.service;
 
-import com.azure.core.http.ContentType;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import nl.altindag.log.LogCaptor;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
-import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.reactive.function.client.WebClient;
-import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.ThirdPartyHealthCheckException;
+import uk.gov.hmcts.reform.pip.account.management.config.OutboundResilienceProperties;
 import uk.gov.hmcts.reform.pip.account.management.model.MediaApplication;
 import uk.gov.hmcts.reform.pip.account.management.model.MediaApplicationStatus;
-import uk.gov.hmcts.reform.pip.account.management.model.subscription.BulkSubscriptionsSummary;
-import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
-import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionsSummary;
-import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionsSummaryDetails;
+import uk.gov.hmcts.reform.pip.account.management.service.resilience.OutboundResilience;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
-import uk.gov.hmcts.reform.pip.model.publication.Artefact;
-import uk.gov.hmcts.reform.pip.model.subscription.LegacyThirdPartySubscription;
-import uk.gov.hmcts.reform.pip.model.subscription.LegacyThirdPartySubscriptionArtefact;
-import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
 import uk.gov.hmcts.reform.pip.model.system.admin.ActionResult;
 import uk.gov.hmcts.reform.pip.model.system.admin.CreateSystemAdminAction;
-import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyAction;
-import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyOauthConfiguration;
-import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartySubscription;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.junit.Assert.fail;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static uk.gov.hmcts.reform.pip.account.management.helpers.MediaApplicationHelper.createApplication;
 import static uk.gov.hmcts.reform.pip.account.management.helpers.MediaApplicationHelper.createApplicationList;
@@ -54,42 +39,39 @@ class PublicationServiceTest {
 
     private final MockWebServer mockPublicationServicesEndpoint = new MockWebServer();
 
-    private static final UUID USER_ID = UUID.randomUUID();
     private static final String SENT_MESSAGE = "test email sent";
     private static final String EMAIL = "test@email.com";
     private static final String FULL_NAME = "FULL_NAME";
     private static final String LAST_SIGNED_IN_DATE = "15 July 2022";
-    private static final String CONTENT_TYPE = "Content-Type";
-    private static final String TEST_ID = "123";
-    private static final UUID ARTEFACT_ID = UUID.randomUUID();
 
-    private static final String TEST_API_DESTINATION = "http://www.abc.com";
     private static final String SUCCESSFULLY_SENT = "Successfully sent";
-    private static final Artefact TEST_ARTEFACT = new Artefact();
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
 
     private static final String ERROR_LOG_EMPTY_MESSAGE = "Error log is not empty";
     private static final String ERROR_LOG_MATCH_MESSAGE = "Error log does not match";
 
     private PublicationService publicationService;
 
+    private WebClient mockedWebClient;
+
     private final LogCaptor logCaptor = LogCaptor.forClass(PublicationService.class);
-    private final SubscriptionsSummary subscriptionsSummary = new SubscriptionsSummary();
-    private final Subscription subscription = new Subscription();
 
     @BeforeEach
     void setup() throws IOException {
-        subscriptionsSummary.setEmail(EMAIL);
-        subscription.setSearchType(SearchType.CASE_ID);
-        subscription.setSearchValue(TEST_ID);
-
         mockPublicationServicesEndpoint.start(8081);
 
-        WebClient mockedWebClient =
+        mockedWebClient =
             WebClient.builder()
                      .baseUrl(mockPublicationServicesEndpoint.url("/").toString())
                      .build();
 
-        publicationService = new PublicationService(mockedWebClient);
+        publicationService = createService(new OutboundResilienceProperties(), TIMEOUT);
+    }
+
+    private PublicationService createService(OutboundResilienceProperties properties, Duration timeout) {
+        return new PublicationService(mockedWebClient,
+                                      new OutboundResilience(properties, new SimpleMeterRegistry()),
+                                      timeout);
     }
 
     @AfterEach
@@ -165,7 +147,8 @@ class PublicationServiceTest {
         Map<String, List<String>> reasons = new ConcurrentHashMap<>();
         reasons.put("Reason A", List.of("Text A", "Text B"));
 
-        publicationService.sendMediaAccountRejectionEmail(mediaApplication, reasons);
+        assertTrue(publicationService.sendMediaAccountRejectionEmail(mediaApplication, reasons),
+                   "Media account rejection email should be sent");
         assertTrue(logCaptor.getErrorLogs().isEmpty(), ERROR_LOG_EMPTY_MESSAGE);
     }
 
@@ -178,7 +161,8 @@ class PublicationServiceTest {
         Map<String, List<String>> reasons = new ConcurrentHashMap<>();
         reasons.put("Reason A", List.of("Text A", "Text B"));
 
-        publicationService.sendMediaAccountRejectionEmail(mediaApplication, reasons);
+        assertFalse(publicationService.sendMediaAccountRejectionEmail(mediaApplication, reasons),
+                    "Media account rejection email should not be sent");
         assertTrue(logCaptor.getErrorLogs().get(0).contains("Media account rejection email failed to send with error:"),
                    ERROR_LOG_MATCH_MESSAGE);
     }
@@ -245,253 +229,6 @@ class PublicationServiceTest {
                    ERROR_LOG_MATCH_MESSAGE);
     }
 
-    @Test
-    void testPostSubscriptionSummariesRequestUrl() throws InterruptedException {
-        subscription.setSearchType(SearchType.LIST_TYPE);
-        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
-        subscriptionsMap.put(EMAIL, List.of(subscription));
-
-        mockPublicationServicesEndpoint.enqueue(new MockResponse()
-                                                    .addHeader(CONTENT_TYPE,
-                                                               ContentType.APPLICATION_JSON)
-                                                    .setResponseCode(200));
-
-        publicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap);
-
-        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
-        assertNotNull(recordedRequest.getRequestUrl(), "Request URL should not be null");
-        assertTrue(recordedRequest.getRequestUrl().toString().contains("/notify/subscription"),
-                   "Request URL should be correct");
-    }
-
-    @Test
-    void testPostSubscriptionSummariesRequestBodyEmail() throws IOException, InterruptedException {
-        subscription.setSearchType(SearchType.LIST_TYPE);
-        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
-        subscriptionsMap.put(EMAIL, List.of(subscription));
-
-        mockPublicationServicesEndpoint.enqueue(new MockResponse()
-                                                    .addHeader(CONTENT_TYPE,
-                                                               ContentType.APPLICATION_JSON)
-                                                    .setResponseCode(200));
-
-        publicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap);
-        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        BulkSubscriptionsSummary bulkSubscriptionsSummary =
-            objectMapper.readValue(recordedRequest.getBody().readByteArray(), BulkSubscriptionsSummary.class);
-
-        SubscriptionsSummary subscriptionsSummary = bulkSubscriptionsSummary.getSubscriptionEmails().get(0);
-        assertEquals(EMAIL, subscriptionsSummary.getEmail(), "Subscription email should match");
-    }
-
-    @Test
-    void testPostSubscriptionSummariesRequestBodyLegacySendEmptyArtefactId() throws IOException, InterruptedException {
-        subscription.setSearchType(SearchType.LIST_TYPE);
-        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
-        subscriptionsMap.put(EMAIL, List.of(subscription));
-
-        mockPublicationServicesEndpoint.enqueue(new MockResponse()
-                                                    .addHeader(CONTENT_TYPE,
-                                                               ContentType.APPLICATION_JSON)
-                                                    .setResponseCode(200));
-
-        publicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap);
-        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        BulkSubscriptionsSummary bulkSubscriptionsSummary =
-            objectMapper.readValue(recordedRequest.getBody().readByteArray(), BulkSubscriptionsSummary.class);
-
-        assertEquals(ARTEFACT_ID, bulkSubscriptionsSummary.getArtefactId(), "Subscription artefact ID should match");
-    }
-
-    @ParameterizedTest
-    @EnumSource(value = SearchType.class, names = {"LOCATION_ID", "CASE_URN", "CASE_ID"})
-    void testPostSubscriptionDifferentTypes(SearchType searchType)
-        throws InterruptedException, IOException {
-        subscription.setSearchType(searchType);
-        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
-        subscriptionsMap.put(EMAIL, List.of(subscription));
-
-        mockPublicationServicesEndpoint.enqueue(new MockResponse()
-                                                    .addHeader(CONTENT_TYPE,
-                                                               ContentType.APPLICATION_JSON)
-                                                    .setResponseCode(200));
-
-        publicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap);
-        assertTrue(logCaptor.getErrorLogs().isEmpty(), ERROR_LOG_EMPTY_MESSAGE);
-
-        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        BulkSubscriptionsSummary bulkSubscriptionsSummary =
-            objectMapper.readValue(recordedRequest.getBody().readByteArray(), BulkSubscriptionsSummary.class);
-
-        SubscriptionsSummaryDetails subscriptionsSummaryDetailsReturned = bulkSubscriptionsSummary
-            .getSubscriptionEmails().get(0).getSubscriptions();
-
-        switch (searchType) {
-            case LOCATION_ID -> {
-                assertEquals(1, subscriptionsSummaryDetailsReturned.getLocationId().size(),
-                             "Size of location IDs should match");
-                assertEquals(TEST_ID, subscriptionsSummaryDetailsReturned.getLocationId().get(0),
-                             "Location ID should match");
-            }
-            case CASE_URN -> {
-                assertEquals(1, subscriptionsSummaryDetailsReturned.getCaseUrn().size(),
-                             "Size of case URNs should match");
-                assertEquals(TEST_ID, subscriptionsSummaryDetailsReturned.getCaseUrn().get(0),
-                             "Case URN should match");
-            }
-            case CASE_ID -> {
-                assertEquals(1, subscriptionsSummaryDetailsReturned.getCaseNumber().size(),
-                             "Size of case numbers should match");
-                assertEquals(TEST_ID, subscriptionsSummaryDetailsReturned.getCaseNumber().get(0),
-                             "Case number should match");
-            }
-            default -> fail("Invalid search type");
-        }
-    }
-
-    @Test
-    void testPostSubscriptionSummariesWhenMultipleSubscriptions() throws InterruptedException, IOException {
-        subscription.setSearchType(SearchType.LOCATION_ID);
-        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
-        subscriptionsMap.put(EMAIL, List.of(subscription));
-        subscriptionsMap.put("OtherTestEmail", List.of(subscription));
-
-        mockPublicationServicesEndpoint.enqueue(new MockResponse()
-                                                    .addHeader(CONTENT_TYPE,
-                                                               ContentType.APPLICATION_JSON)
-                                                    .setResponseCode(200));
-
-        publicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap);
-
-        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        BulkSubscriptionsSummary bulkSubscriptionsSummary =
-            objectMapper.readValue(recordedRequest.getBody().readByteArray(), BulkSubscriptionsSummary.class);
-
-        assertEquals(2, bulkSubscriptionsSummary.getSubscriptionEmails().size(),
-                     "Number of subscriptions should match when there are multiple subscriptions");
-    }
-
-    @Test
-    void testPostSubscriptionSummariesThrows() {
-        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
-        subscriptionsMap.put(EMAIL, List.of(subscription));
-
-        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(404));
-
-        publicationService.postSubscriptionSummaries(ARTEFACT_ID,
-                                                             subscriptionsMap);
-
-        assertTrue(
-            logCaptor.getErrorLogs().get(0).contains("Subscription email failed to send with error"),
-            ERROR_LOG_MATCH_MESSAGE
-        );
-    }
-
-    @Test
-    void testLegacySendThirdPartyList() {
-        mockPublicationServicesEndpoint.enqueue(new MockResponse()
-                                                    .addHeader(CONTENT_TYPE, ContentType.APPLICATION_JSON)
-                                                    .setResponseCode(200));
-
-        publicationService.legacySendThirdPartyList(
-            new LegacyThirdPartySubscription(TEST_API_DESTINATION, UUID.randomUUID())
-        );
-        assertTrue(logCaptor.getErrorLogs().isEmpty(), ERROR_LOG_EMPTY_MESSAGE);
-    }
-
-    @Test
-    void testSendEmptyLegacySendEmptyArtefact() {
-        mockPublicationServicesEndpoint.enqueue(new MockResponse()
-                                                    .addHeader(CONTENT_TYPE, ContentType.APPLICATION_JSON)
-                                                    .setResponseCode(200));
-
-        publicationService.legacySendEmptyArtefact(
-            new LegacyThirdPartySubscriptionArtefact(TEST_API_DESTINATION, TEST_ARTEFACT)
-        );
-        assertTrue(logCaptor.getErrorLogs().isEmpty(), ERROR_LOG_EMPTY_MESSAGE);
-    }
-
-    @Test
-    void testSendEmptyLegacySendEmptyArtefactReturnsFailed() {
-        mockPublicationServicesEndpoint.enqueue(new MockResponse()
-                                                    .setResponseCode(404));
-
-        publicationService.legacySendEmptyArtefact(
-            new LegacyThirdPartySubscriptionArtefact(TEST_API_DESTINATION, TEST_ARTEFACT)
-        );
-
-        assertTrue(logCaptor.getErrorLogs().get(0)
-                       .contains("Deleted artefact notification to third party failed to send with error"),
-                   ERROR_LOG_MATCH_MESSAGE
-        );
-    }
-
-    @Test
-    void testLegacySendThirdPartyListReturnsFailed() {
-        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(404));
-
-        publicationService.legacySendThirdPartyList(
-            new LegacyThirdPartySubscription(TEST_API_DESTINATION, UUID.randomUUID())
-        );
-        assertTrue(
-            logCaptor.getErrorLogs().get(0).contains("Publication to third party failed to send with error"),
-            ERROR_LOG_MATCH_MESSAGE
-        );
-    }
-
-    @Test
-    void testSendThirdPartySubscription() {
-        ThirdPartyOauthConfiguration thirdPartyOauthConfiguration = new ThirdPartyOauthConfiguration(
-            USER_ID,
-            TEST_API_DESTINATION,
-            "http://token.url",
-            "clientIdKey",
-            "clientSecretKey",
-            "scopeKey"
-        );
-        ThirdPartySubscription thirdPartySubscription = new ThirdPartySubscription(
-            List.of(thirdPartyOauthConfiguration), UUID.randomUUID(), ThirdPartyAction.NEW_PUBLICATION
-        );
-
-        mockPublicationServicesEndpoint.enqueue(new MockResponse()
-                                                    .addHeader(CONTENT_TYPE, ContentType.APPLICATION_JSON)
-                                                    .setResponseCode(200));
-
-        publicationService.sendThirdPartySubscription(thirdPartySubscription, false);
-        assertTrue(logCaptor.getErrorLogs().isEmpty(), ERROR_LOG_EMPTY_MESSAGE);
-    }
-
-    @Test
-    void testSendThirdPartySubscriptionForHealthCheckWithError() {
-        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
-        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
-        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
-        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
-
-        ThirdPartyOauthConfiguration thirdPartyOauthConfiguration = new ThirdPartyOauthConfiguration(
-            USER_ID,
-            TEST_API_DESTINATION,
-            "http://token.url",
-            "clientIdKey",
-            "clientSecretKey",
-            "scopeKey"
-        );
-        ThirdPartySubscription thirdPartySubscription = new ThirdPartySubscription(
-            List.of(thirdPartyOauthConfiguration), UUID.randomUUID(), ThirdPartyAction.NEW_PUBLICATION
-        );
-
-        assertThatThrownBy(() -> publicationService.sendThirdPartySubscription(thirdPartySubscription, true))
-            .isInstanceOf(ThirdPartyHealthCheckException.class);
-    }
-
     @Test
     void testSendSystemAdminEmail() {
         mockPublicationServicesEndpoint.enqueue(new MockResponse().setBody(SUCCESSFULLY_SENT));
@@ -514,4 +251,41 @@ class PublicationServiceTest {
             ERROR_LOG_MATCH_MESSAGE
         );
     }
+
+    @Test
+    void testSlowResponseTimesOut() {
+        publicationService = createService(new OutboundResilienceProperties(), Duration.ofMillis(200));
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setBody(SENT_MESSAGE)
+                                                    .setHeadersDelay(2, TimeUnit.SECONDS));
+
+        assertFalse(publicationService.sendMediaNotificationEmail(EMAIL, FULL_NAME, true),
+                    "Should return false when publication services is too slow to respond");
+        assertTrue(logCaptor.getErrorLogs().get(0).contains("timed out after 200 ms"),
+                   ERROR_LOG_MATCH_MESSAGE);
+    }
+
+    @Test
+    void testCallsAreRejectedWhileCircuitBreakerIsOpen() {
+        OutboundResilienceProperties properties = new OutboundResilienceProperties();
+        properties.setEnabled(true);
+        properties.getPublicationServices().getCircuitBreaker().setSlidingWindowSize(2);
+        properties.getPublicationServices().getCircuitBreaker().setMinimumCalls(2);
+        publicationService = createService(properties, TIMEOUT);
+
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(503));
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(503));
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setBody(SENT_MESSAGE));
+
+        assertFalse(publicationService.sendMediaNotificationEmail(EMAIL, FULL_NAME, true),
+                    "Should return false for a server error");
+        assertFalse(publicationService.sendMediaNotificationEmail(EMAIL, FULL_NAME, true),
+                    "Should return false for a server error");
+        assertFalse(publicationService.sendMediaNotificationEmail(EMAIL, FULL_NAME, true),
+                    "Should return false while the circuit breaker is open");
+
+        assertEquals(2, mockPublicationServicesEndpoint.getRequestCount(),
+                     "Request should not be sent while the circuit breaker is open");
+        assertTrue(logCaptor.getErrorLogs().get(2).contains("rejected as its circuit breaker is open"),
+                   ERROR_LOG_MATCH_MESSAGE);
+    }
 }
@@ -0,0 +1,695 @@
+package uk.gov.hmcts.reform.pip.account.management.service;
+
+import com.azure.core.http.ContentType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.altindag.log.LogCaptor;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import uk.gov.hmcts.reform.pip.account.management.config.OutboundResilienceProperties;
+import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.ThirdPartyHealthCheckException;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.BulkSubscriptionsSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.GroupedSubscriptionsSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionsSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionsSummaryDetails;
+import uk.gov.hmcts.reform.pip.account.management.service.resilience.OutboundResilience;
+import uk.gov.hmcts.reform.pip.model.publication.Artefact;
+import uk.gov.hmcts.reform.pip.model.subscription.LegacyThirdPartySubscription;
+import uk.gov.hmcts.reform.pip.model.subscription.LegacyThirdPartySubscriptionArtefact;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyAction;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyOauthConfiguration;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartySubscription;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.fail;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+@ActiveProfiles({"test", "non-async"})
+class ReactivePublicationServiceTest {
+
+    private final MockWebServer mockPublicationServicesEndpoint = new MockWebServer();
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final String EMAIL = "test@email.com";
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String TEST_ID = "123";
+    private static final UUID ARTEFACT_ID = UUID.randomUUID();
+
+    private static final String TEST_API_DESTINATION = "http://www.abc.com";
+    private static final Artefact TEST_ARTEFACT = new Artefact();
+
+    private static final int MAX_IN_FLIGHT_REQUESTS = 10;
+    private static final int MAX_QUEUED_REQUESTS = 100;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final long RESPONSE_DELAY_MILLIS = 1000;
+    private static final DataSize GZIP_THRESHOLD = DataSize.ofKilobytes(8);
+    private static final Duration SUMMARY_RETRY_INTERVAL = Duration.ofMinutes(10);
+    private static final String GROUPED_SUMMARY_MEDIA_TYPE = "application/vnd.hmcts.subscription-summary.v2";
+
+    private static final String ERROR_LOG_EMPTY_MESSAGE = "Error log is not empty";
+    private static final String ERROR_LOG_MATCH_MESSAGE = "Error log does not match";
+
+    private WebClient mockedWebClient;
+    private OutboundResilience outboundResilience = new OutboundResilience(new OutboundResilienceProperties(),
+                                                                           new SimpleMeterRegistry());
+    private ReactivePublicationService reactivePublicationService;
+
+    private final LogCaptor logCaptor = LogCaptor.forClass(ReactivePublicationService.class);
+    private final Subscription subscription = new Subscription();
+
+    @BeforeEach
+    void setup() throws IOException {
+        subscription.setSearchType(SearchType.CASE_ID);
+        subscription.setSearchValue(TEST_ID);
+
+        mockPublicationServicesEndpoint.start(8081);
+
+        mockedWebClient = WebClient.builder()
+            .baseUrl(mockPublicationServicesEndpoint.url("/").toString())
+            .build();
+
+        reactivePublicationService = createService(MAX_IN_FLIGHT_REQUESTS, TIMEOUT, 1);
+    }
+
+    private ReactivePublicationService createService(int maxInFlightRequests, Duration timeout, int summaryVersion) {
+        return createService(maxInFlightRequests, MAX_QUEUED_REQUESTS, timeout, summaryVersion);
+    }
+
+    private ReactivePublicationService createService(int maxInFlightRequests, int maxQueuedRequests,
+                                                     Duration timeout, int summaryVersion) {
+        return new ReactivePublicationService(mockedWebClient, outboundResilience, maxInFlightRequests,
+                                              maxQueuedRequests, timeout, summaryVersion, GZIP_THRESHOLD,
+                                              SUMMARY_RETRY_INTERVAL);
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        mockPublicationServicesEndpoint.shutdown();
+    }
+
+    private MockResponse slowResponse() {
+        return new MockResponse()
+            .addHeader(CONTENT_TYPE, ContentType.APPLICATION_JSON)
+            .setResponseCode(200)
+            .setHeadersDelay(RESPONSE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private long timeSummariesSent(int numberOfSummaries) {
+        Map<String, List<Subscription>> subscriptionsMap = Map.of(EMAIL, List.of(subscription));
+
+        long start = System.nanoTime();
+        List<Boolean> results = Flux.merge(
+            IntStream.range(0, numberOfSummaries)
+                .mapToObj(i -> reactivePublicationService.postSubscriptionSummaries(UUID.randomUUID(),
+                                                                                    subscriptionsMap))
+                .toList()
+        ).collectList().block();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(results)
+            .as("All subscription summaries should be reported as sent")
+            .hasSize(numberOfSummaries)
+            .containsOnly(true);
+        return elapsedMillis;
+    }
+
+    @Test
+    void testConcurrentSummariesCompleteInTimeOfSlowestResponse() {
+        IntStream.range(0, MAX_IN_FLIGHT_REQUESTS)
+            .forEach(i -> mockPublicationServicesEndpoint.enqueue(slowResponse()));
+
+        long elapsedMillis = timeSummariesSent(MAX_IN_FLIGHT_REQUESTS);
+
+        assertThat(elapsedMillis)
+            .as("Concurrent summaries should complete in about the time of a single slow response")
+            .isLessThan(RESPONSE_DELAY_MILLIS * 3);
+        assertThat(mockPublicationServicesEndpoint.getRequestCount())
+            .as("Each summary should be sent to publication services")
+            .isEqualTo(MAX_IN_FLIGHT_REQUESTS);
+    }
+
+    @Test
+    void testRequestsAboveMaxInFlightAreQueued() {
+        reactivePublicationService = createService(1, TIMEOUT, 1);
+        mockPublicationServicesEndpoint.enqueue(slowResponse());
+        mockPublicationServicesEndpoint.enqueue(slowResponse());
+
+        long elapsedMillis = timeSummariesSent(2);
+
+        assertThat(elapsedMillis)
+            .as("Summaries should be sent one at a time when only one request can be in flight")
+            .isGreaterThanOrEqualTo(RESPONSE_DELAY_MILLIS * 2);
+    }
+
+    @Test
+    void testRequestsAboveMaxQueuedAreRejected() throws InterruptedException {
+        reactivePublicationService = createService(1, 1, TIMEOUT, 1);
+        mockPublicationServicesEndpoint.enqueue(slowResponse());
+        mockPublicationServicesEndpoint.enqueue(okResponse());
+        Map<String, List<Subscription>> subscriptionsMap = Map.of(EMAIL, List.of(subscription));
+
+        CompletableFuture<Boolean> inFlightResult = reactivePublicationService
+            .postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).toFuture();
+        mockPublicationServicesEndpoint.takeRequest();
+        CompletableFuture<Boolean> queuedResult = reactivePublicationService
+            .postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).toFuture();
+
+        assertFalse(reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).block(),
+                    "Subscription summaries should not be reported as sent while the queue is full");
+        assertTrue(logCaptor.getErrorLogs().get(0).contains("rejected as too many requests are queued"),
+                   ERROR_LOG_MATCH_MESSAGE);
+        assertTrue(inFlightResult.join(), "Request in flight should be sent");
+        assertTrue(queuedResult.join(), "Queued request should be sent");
+        assertThat(mockPublicationServicesEndpoint.getRequestCount())
+            .as("Rejected request should not be sent to publication services")
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testCancelledRequestFreesInFlightSlot() throws InterruptedException {
+        reactivePublicationService = createService(1, TIMEOUT, 1);
+        mockPublicationServicesEndpoint.enqueue(slowResponse());
+        mockPublicationServicesEndpoint.enqueue(okResponse());
+        Map<String, List<Subscription>> subscriptionsMap = Map.of(EMAIL, List.of(subscription));
+
+        Disposable cancelledRequest = reactivePublicationService
+            .postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).subscribe();
+        mockPublicationServicesEndpoint.takeRequest();
+        cancelledRequest.dispose();
+
+        long start = System.nanoTime();
+        assertTrue(reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).block(),
+                   "Subscription summaries should be reported as sent");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+            .as("Request should not wait for the cancelled request to complete")
+            .isLessThan(RESPONSE_DELAY_MILLIS);
+    }
+
+    @Test
+    void testPostSubscriptionSummariesTimesOut() {
+        reactivePublicationService = createService(MAX_IN_FLIGHT_REQUESTS, Duration.ofMillis(100), 1);
+        mockPublicationServicesEndpoint.enqueue(slowResponse());
+
+        assertFalse(reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, Map.of(EMAIL, List.of(
+            subscription))).block(), "Subscription summaries should not be reported as sent");
+        assertTrue(logCaptor.getErrorLogs().get(0).contains("Subscription email failed to send with error"),
+                   ERROR_LOG_MATCH_MESSAGE);
+    }
+
+    @Test
+    void testPostSubscriptionSummariesRequestUrl() throws InterruptedException {
+        subscription.setSearchType(SearchType.LIST_TYPE);
+        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
+        subscriptionsMap.put(EMAIL, List.of(subscription));
+
+        mockPublicationServicesEndpoint.enqueue(new MockResponse()
+                                                    .addHeader(CONTENT_TYPE,
+                                                               ContentType.APPLICATION_JSON)
+                                                    .setResponseCode(200));
+
+        assertTrue(reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).block(),
+                   "Subscription summaries should be reported as sent");
+
+        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
+        assertNotNull(recordedRequest.getRequestUrl(), "Request URL should not be null");
+        assertTrue(recordedRequest.getRequestUrl().toString().contains("/notify/subscription"),
+                   "Request URL should be correct");
+    }
+
+    @Test
+    void testPostSubscriptionSummariesRequestBodyEmail() throws IOException, InterruptedException {
+        subscription.setSearchType(SearchType.LIST_TYPE);
+        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
+        subscriptionsMap.put(EMAIL, List.of(subscription));
+
+        mockPublicationServicesEndpoint.enqueue(new MockResponse()
+                                                    .addHeader(CONTENT_TYPE,
+                                                               ContentType.APPLICATION_JSON)
+                                                    .setResponseCode(200));
+
+        reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).block();
+        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        BulkSubscriptionsSummary bulkSubscriptionsSummary =
+            objectMapper.readValue(recordedRequest.getBody().readByteArray(), BulkSubscriptionsSummary.class);
+
+        SubscriptionsSummary subscriptionsSummary = bulkSubscriptionsSummary.getSubscriptionEmails().get(0);
+        assertEquals(EMAIL, subscriptionsSummary.getEmail(), "Subscription email should match");
+    }
+
+    @Test
+    void testPostSubscriptionSummariesRequestBodyLegacySendEmptyArtefactId() throws IOException, InterruptedException {
+        subscription.setSearchType(SearchType.LIST_TYPE);
+        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
+        subscriptionsMap.put(EMAIL, List.of(subscription));
+
+        mockPublicationServicesEndpoint.enqueue(new MockResponse()
+                                                    .addHeader(CONTENT_TYPE,
+                                                               ContentType.APPLICATION_JSON)
+                                                    .setResponseCode(200));
+
+        reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).block();
+        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        BulkSubscriptionsSummary bulkSubscriptionsSummary =
+            objectMapper.readValue(recordedRequest.getBody().readByteArray(), BulkSubscriptionsSummary.class);
+
+        assertEquals(ARTEFACT_ID, bulkSubscriptionsSummary.getArtefactId(), "Subscription artefact ID should match");
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SearchType.class, names = {"LOCATION_ID", "CASE_URN", "CASE_ID"})
+    void testPostSubscriptionDifferentTypes(SearchType searchType)
+        throws InterruptedException, IOException {
+        subscription.setSearchType(searchType);
+        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
+        subscriptionsMap.put(EMAIL, List.of(subscription));
+
+        mockPublicationServicesEndpoint.enqueue(new MockResponse()
+                                                    .addHeader(CONTENT_TYPE,
+                                                               ContentType.APPLICATION_JSON)
+                                                    .setResponseCode(200));
+
+        reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).block();
+        assertTrue(logCaptor.getErrorLogs().isEmpty(), ERROR_LOG_EMPTY_MESSAGE);
+
+        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        BulkSubscriptionsSummary bulkSubscriptionsSummary =
+            objectMapper.readValue(recordedRequest.getBody().readByteArray(), BulkSubscriptionsSummary.class);
+
+        SubscriptionsSummaryDetails subscriptionsSummaryDetailsReturned = bulkSubscriptionsSummary
+            .getSubscriptionEmails().get(0).getSubscriptions();
+
+        switch (searchType) {
+            case LOCATION_ID -> {
+                assertEquals(1, subscriptionsSummaryDetailsReturned.getLocationId().size(),
+                             "Size of location IDs should match");
+                assertEquals(TEST_ID, subscriptionsSummaryDetailsReturned.getLocationId().get(0),
+                             "Location ID should match");
+            }
+            case CASE_URN -> {
+                assertEquals(1, subscriptionsSummaryDetailsReturned.getCaseUrn().size(),
+                             "Size of case URNs should match");
+                assertEquals(TEST_ID, subscriptionsSummaryDetailsReturned.getCaseUrn().get(0),
+                             "Case URN should match");
+            }
+            case CASE_ID -> {
+                assertEquals(1, subscriptionsSummaryDetailsReturned.getCaseNumber().size(),
+                             "Size of case numbers should match");
+                assertEquals(TEST_ID, subscriptionsSummaryDetailsReturned.getCaseNumber().get(0),
+                             "Case number should match");
+            }
+            default -> fail("Invalid search type");
+        }
+    }
+
+    @Test
+    void testPostSubscriptionSummariesWhenMultipleSubscriptions() throws InterruptedException, IOException {
+        subscription.setSearchType(SearchType.LOCATION_ID);
+        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
+        subscriptionsMap.put(EMAIL, List.of(subscription));
+        subscriptionsMap.put("OtherTestEmail", List.of(subscription));
+
+        mockPublicationServicesEndpoint.enqueue(new MockResponse()
+                                                    .addHeader(CONTENT_TYPE,
+                                                               ContentType.APPLICATION_JSON)
+                                                    .setResponseCode(200));
+
+        reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).block();
+
+        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        BulkSubscriptionsSummary bulkSubscriptionsSummary =
+            objectMapper.readValue(recordedRequest.getBody().readByteArray(), BulkSubscriptionsSummary.class);
+
+        assertEquals(2, bulkSubscriptionsSummary.getSubscriptionEmails().size(),
+                     "Number of subscriptions should match when there are multiple subscriptions");
+    }
+
+    private MockResponse okResponse() {
+        return new MockResponse()
+            .addHeader(CONTENT_TYPE, ContentType.APPLICATION_JSON)
+            .setResponseCode(200);
+    }
+
+    private Map<String, List<Subscription>> createSharedSubscriptions() {
+        subscription.setSearchType(SearchType.LOCATION_ID);
+        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
+        subscriptionsMap.put(EMAIL, List.of(subscription));
+        subscriptionsMap.put("OtherTestEmail", List.of(subscription));
+        return subscriptionsMap;
+    }
+
+    @Test
+    void testPostGroupedSubscriptionSummaries() throws InterruptedException, IOException {
+        reactivePublicationService = createService(MAX_IN_FLIGHT_REQUESTS, TIMEOUT, 2);
+        mockPublicationServicesEndpoint.enqueue(okResponse());
+
+        assertTrue(reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, createSharedSubscriptions())
+                       .block(), "Subscription summaries should be reported as sent");
+
+        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
+        assertEquals(GROUPED_SUMMARY_MEDIA_TYPE, recordedRequest.getHeader(CONTENT_TYPE),
+                     "Summary media type should match");
+        assertNull(recordedRequest.getHeader("Content-Encoding"), "Small summaries should not be compressed");
+
+        GroupedSubscriptionsSummary groupedSummary = new ObjectMapper()
+            .readValue(recordedRequest.getBody().readByteArray(), GroupedSubscriptionsSummary.class);
+        assertEquals(ARTEFACT_ID, groupedSummary.getArtefactId(), "Subscription artefact ID should match");
+        assertEquals(1, groupedSummary.getSubscriptionGroups().size(),
+                     "Emails with the same subscriptions should be grouped");
+        assertEquals(2, groupedSummary.getSubscriptionGroups().get(0).getEmails().size(),
+                     "Number of emails in the group should match");
+    }
+
+    @Test
+    void testPostGroupedSubscriptionSummariesCompressesLargeBodies() throws InterruptedException, IOException {
+        reactivePublicationService = new ReactivePublicationService(mockedWebClient, outboundResilience,
+                                                                    MAX_IN_FLIGHT_REQUESTS, MAX_QUEUED_REQUESTS,
+                                                                    TIMEOUT, 2,
+                                                                    DataSize.ofBytes(1), SUMMARY_RETRY_INTERVAL);
+        mockPublicationServicesEndpoint.enqueue(okResponse());
+
+        reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, createSharedSubscriptions()).block();
+
+        RecordedRequest recordedRequest = mockPublicationServicesEndpoint.takeRequest();
+        assertEquals("gzip", recordedRequest.getHeader("Content-Encoding"), "Content encoding should match");
+
+        try (InputStream body = new GZIPInputStream(recordedRequest.getBody().inputStream())) {
+            GroupedSubscriptionsSummary groupedSummary = new ObjectMapper()
+                .readValue(body, GroupedSubscriptionsSummary.class);
+            assertEquals(ARTEFACT_ID, groupedSummary.getArtefactId(), "Subscription artefact ID should match");
+        }
+    }
+
+    @Test
+    void testPostGroupedSubscriptionSummariesFallsBackWhenUnsupported() throws InterruptedException {
+        reactivePublicationService = createService(MAX_IN_FLIGHT_REQUESTS, TIMEOUT, 2);
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(415));
+        mockPublicationServicesEndpoint.enqueue(okResponse());
+        mockPublicationServicesEndpoint.enqueue(okResponse());
+
+        assertTrue(reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, createSharedSubscriptions())
+                       .block(), "Subscription summaries should be reported as sent");
+        reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, createSharedSubscriptions()).block();
+
+        assertEquals(GROUPED_SUMMARY_MEDIA_TYPE, mockPublicationServicesEndpoint.takeRequest().getHeader(CONTENT_TYPE),
+                     "First request should use the grouped format");
+        assertEquals(MediaType.APPLICATION_JSON_VALUE,
+                     mockPublicationServicesEndpoint.takeRequest().getHeader(CONTENT_TYPE),
+                     "Rejected request should be resent in the standard format");
+        assertEquals(MediaType.APPLICATION_JSON_VALUE,
+                     mockPublicationServicesEndpoint.takeRequest().getHeader(CONTENT_TYPE),
+                     "Later requests should use the standard format");
+        assertTrue(logCaptor.getErrorLogs().isEmpty(), ERROR_LOG_EMPTY_MESSAGE);
+    }
+
+    @Test
+    void testPostGroupedSubscriptionSummariesRetriedAfterInterval() throws InterruptedException {
+        reactivePublicationService = new ReactivePublicationService(mockedWebClient, outboundResilience,
+                                                                    MAX_IN_FLIGHT_REQUESTS, MAX_QUEUED_REQUESTS,
+                                                                    TIMEOUT, 2,
+                                                                    GZIP_THRESHOLD, Duration.ZERO);
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(415));
+        mockPublicationServicesEndpoint.enqueue(okResponse());
+        mockPublicationServicesEndpoint.enqueue(okResponse());
+
+        reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, createSharedSubscriptions()).block();
+        assertTrue(reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, createSharedSubscriptions())
+                       .block(), "Subscription summaries should be reported as sent");
+
+        mockPublicationServicesEndpoint.takeRequest();
+        mockPublicationServicesEndpoint.takeRequest();
+        assertEquals(GROUPED_SUMMARY_MEDIA_TYPE, mockPublicationServicesEndpoint.takeRequest().getHeader(CONTENT_TYPE),
+                     "Grouped format should be tried again once the retry interval has passed");
+    }
+
+    @Test
+    void testPostSubscriptionSummariesThrows() {
+        Map<String, List<Subscription>> subscriptionsMap = new ConcurrentHashMap<>();
+        subscriptionsMap.put(EMAIL, List.of(subscription));
+
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(404));
+
+        assertFalse(reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).block(),
+                    "Subscription summaries should not be reported as sent");
+
+        assertTrue(
+            logCaptor.getErrorLogs().get(0).contains("Subscription email failed to send with error"),
+            ERROR_LOG_MATCH_MESSAGE
+        );
+    }
+
+    @Test
+    void testLegacySendThirdPartyList() {
+        mockPublicationServicesEndpoint.enqueue(new MockResponse()
+                                                    .addHeader(CONTENT_TYPE, ContentType.APPLICATION_JSON)
+                                                    .setResponseCode(200));
+
+        reactivePublicationService.legacySendThirdPartyList(
+            new LegacyThirdPartySubscription(TEST_API_DESTINATION, UUID.randomUUID())
+        ).block();
+        assertTrue(logCaptor.getErrorLogs().isEmpty(), ERROR_LOG_EMPTY_MESSAGE);
+    }
+
+    @Test
+    void testSendEmptyLegacySendEmptyArtefact() {
+        mockPublicationServicesEndpoint.enqueue(new MockResponse()
+                                                    .addHeader(CONTENT_TYPE, ContentType.APPLICATION_JSON)
+                                                    .setResponseCode(200));
+
+        reactivePublicationService.legacySendEmptyArtefact(
+            new LegacyThirdPartySubscriptionArtefact(TEST_API_DESTINATION, TEST_ARTEFACT)
+        ).block();
+        assertTrue(logCaptor.getErrorLogs().isEmpty(), ERROR_LOG_EMPTY_MESSAGE);
+    }
+
+    @Test
+    void testSendEmptyLegacySendEmptyArtefactReturnsFailed() {
+        mockPublicationServicesEndpoint.enqueue(new MockResponse()
+                                                    .setResponseCode(404));
+
+        reactivePublicationService.legacySendEmptyArtefact(
+            new LegacyThirdPartySubscriptionArtefact(TEST_API_DESTINATION, TEST_ARTEFACT)
+        ).block();
+
+        assertTrue(logCaptor.getErrorLogs().get(0)
+                       .contains("Deleted artefact notification to third party failed to send with error"),
+                   ERROR_LOG_MATCH_MESSAGE
+        );
+    }
+
+    @Test
+    void testLegacySendThirdPartyListReturnsFailed() {
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(404));
+
+        reactivePublicationService.legacySendThirdPartyList(
+            new LegacyThirdPartySubscription(TEST_API_DESTINATION, UUID.randomUUID())
+        ).block();
+        assertTrue(
+            logCaptor.getErrorLogs().get(0).contains("Publication to third party failed to send with error"),
+            ERROR_LOG_MATCH_MESSAGE
+        );
+    }
+
+    @Test
+    void testSendThirdPartySubscription() {
+        ThirdPartyOauthConfiguration thirdPartyOauthConfiguration = new ThirdPartyOauthConfiguration(
+            USER_ID,
+            TEST_API_DESTINATION,
+            "http://token.url",
+            "clientIdKey",
+            "clientSecretKey",
+            "scopeKey"
+        );
+        ThirdPartySubscription thirdPartySubscription = new ThirdPartySubscription(
+            List.of(thirdPartyOauthConfiguration), UUID.randomUUID(), ThirdPartyAction.NEW_PUBLICATION
+        );
+
+        mockPublicationServicesEndpoint.enqueue(new MockResponse()
+                                                    .addHeader(CONTENT_TYPE, ContentType.APPLICATION_JSON)
+                                                    .setResponseCode(200));
+
+        assertTrue(reactivePublicationService.sendThirdPartySubscription(thirdPartySubscription, false).block(),
+                   "Third party subscription should be sent");
+        assertTrue(logCaptor.getErrorLogs().isEmpty(), ERROR_LOG_EMPTY_MESSAGE);
+    }
+
+    @Test
+    void testSendThirdPartySubscriptionForHealthCheckWithError() {
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
+
+        ThirdPartyOauthConfiguration thirdPartyOauthConfiguration = new ThirdPartyOauthConfiguration(
+            USER_ID,
+            TEST_API_DESTINATION,
+            "http://token.url",
+            "clientIdKey",
+            "clientSecretKey",
+            "scopeKey"
+        );
+        ThirdPartySubscription thirdPartySubscription = new ThirdPartySubscription(
+            List.of(thirdPartyOauthConfiguration), UUID.randomUUID(), ThirdPartyAction.NEW_PUBLICATION
+        );
+
+        assertThatThrownBy(() -> reactivePublicationService.sendThirdPartySubscription(thirdPartySubscription, true)
+            .block())
+            .isInstanceOf(ThirdPartyHealthCheckException.class);
+    }
+
+    private ThirdPartySubscription createThirdPartySubscription() {
+        ThirdPartyOauthConfiguration thirdPartyOauthConfiguration = new ThirdPartyOauthConfiguration(
+            USER_ID, TEST_API_DESTINATION, "http://token.url", "clientIdKey", "clientSecretKey", "scopeKey"
+        );
+        return new ThirdPartySubscription(List.of(thirdPartyOauthConfiguration), UUID.randomUUID(),
+                                          ThirdPartyAction.NEW_PUBLICATION);
+    }
+
+    private void enableResilience() {
+        OutboundResilienceProperties properties = new OutboundResilienceProperties();
+        properties.setEnabled(true);
+        properties.getPublicationServices().getCircuitBreaker().setSlidingWindowSize(2);
+        properties.getPublicationServices().getCircuitBreaker().setMinimumCalls(2);
+        properties.getPublicationServices().getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1));
+        outboundResilience = new OutboundResilience(properties, new SimpleMeterRegistry());
+        reactivePublicationService = createService(MAX_IN_FLIGHT_REQUESTS, TIMEOUT, 1);
+    }
+
+    @Test
+    void testMaxInFlightRequestsOverBulkheadIsRejected() {
+        OutboundResilienceProperties properties = new OutboundResilienceProperties();
+        properties.setEnabled(true);
+        properties.getPublicationServices().getBulkhead().setMaxConcurrentCalls(MAX_IN_FLIGHT_REQUESTS - 1);
+        outboundResilience = new OutboundResilience(properties, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> createService(MAX_IN_FLIGHT_REQUESTS, TIMEOUT, 1))
+            .as("More requests should not be let out of the queue than the bulkhead allows")
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("must not be more than its bulkhead's max concurrent calls");
+    }
+
+    @Test
+    void testThirdPartySubscriptionRejectedOnceCircuitBreakerOpens() {
+        enableResilience();
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
+
+        ThirdPartySubscription thirdPartySubscription = createThirdPartySubscription();
+        reactivePublicationService.sendThirdPartySubscription(thirdPartySubscription, false).block();
+        reactivePublicationService.sendThirdPartySubscription(thirdPartySubscription, false).block();
+
+        assertFalse(reactivePublicationService.sendThirdPartySubscription(thirdPartySubscription, false).block(),
+                    "Third party subscription should not be reported as sent");
+        assertEquals(2, mockPublicationServicesEndpoint.getRequestCount(),
+                     "Request should not be sent while the circuit breaker is open");
+        assertTrue(logCaptor.getErrorLogs().get(2).contains("rejected as its circuit breaker is open"),
+                   ERROR_LOG_MATCH_MESSAGE);
+    }
+
+    @Test
+    void testHealthCheckHasOwnCircuitBreaker() {
+        enableResilience();
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(500));
+        mockPublicationServicesEndpoint.enqueue(okResponse());
+
+        ThirdPartySubscription thirdPartySubscription = createThirdPartySubscription();
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> reactivePublicationService.sendThirdPartySubscription(thirdPartySubscription, true)
+                .block())
+                .isInstanceOf(ThirdPartyHealthCheckException.class);
+        }
+
+        assertThatThrownBy(() -> reactivePublicationService.sendThirdPartySubscription(thirdPartySubscription, true)
+            .block())
+            .as("Health check should fail fast while its circuit breaker is open")
+            .isInstanceOf(ThirdPartyHealthCheckException.class)
+            .hasMessageContaining("circuit breaker is open");
+        assertTrue(reactivePublicationService.sendThirdPartySubscription(thirdPartySubscription, false).block(),
+                   "Publications should still be sent while the health check circuit breaker is open");
+        assertEquals(3, mockPublicationServicesEndpoint.getRequestCount(), "Number of requests does not match");
+    }
+
+    @Test
+    void testHealthCheckIsNotQueuedBehindNotifications() throws InterruptedException {
+        reactivePublicationService = createService(1, TIMEOUT, 1);
+        mockPublicationServicesEndpoint.enqueue(slowResponse());
+        mockPublicationServicesEndpoint.enqueue(okResponse());
+
+        CompletableFuture<Boolean> summaries = reactivePublicationService
+            .postSubscriptionSummaries(ARTEFACT_ID, Map.of(EMAIL, List.of(subscription))).toFuture();
+        mockPublicationServicesEndpoint.takeRequest();
+
+        long start = System.nanoTime();
+        assertTrue(reactivePublicationService.sendThirdPartyHealthCheck(createThirdPartySubscription(), TIMEOUT)
+                       .block(), "Health check should pass");
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+            .as("Health check should not wait for the notification using the only in-flight slot")
+            .isLessThan(RESPONSE_DELAY_MILLIS);
+        assertFalse(summaries.isDone(), "Subscription summaries should still be in flight");
+    }
+
+    @Test
+    void testHealthCheckTimesOut() {
+        mockPublicationServicesEndpoint.enqueue(slowResponse());
+
+        assertThatThrownBy(() -> reactivePublicationService
+            .sendThirdPartyHealthCheck(createThirdPartySubscription(), Duration.ofMillis(100)).block())
+            .isInstanceOf(ThirdPartyHealthCheckException.class)
+            .hasMessage("Health check timed out after 100 ms");
+    }
+
+    @Test
+    void testSubscriptionSummariesAreNotRetriedAfterServerError() {
+        enableResilience();
+        mockPublicationServicesEndpoint.enqueue(new MockResponse().setResponseCode(503));
+        mockPublicationServicesEndpoint.enqueue(okResponse());
+
+        Map<String, List<Subscription>> subscriptionsMap = Map.of(EMAIL, List.of(subscription));
+        assertFalse(reactivePublicationService.postSubscriptionSummaries(ARTEFACT_ID, subscriptionsMap).block(),
+                    "Subscription summaries should not be reported as sent");
+        assertEquals(1, mockPublicationServicesEndpoint.getRequestCount(),
+                     "Summaries should not be resent, as the request is not idempotent");
+    }
+}
@@ -0,0 +1,124 @@
+package uk.gov.hmcts.reform.pip.account.management.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLookupContextTest {
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID SUBSCRIPTION_ID = UUID.randomUUID();
+    private static final String LOAD_COUNT_MESSAGE = "Number of times the lookup was loaded does not match";
+
+    private final RequestLookupContext requestLookupContext = new RequestLookupContext();
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private final Function<UUID, Optional<PiUser>> userLoader = userId -> {
+        loadCount.incrementAndGet();
+        PiUser user = new PiUser();
+        user.setUserId(userId);
+        return Optional.of(user);
+    };
+
+    private final Function<UUID, Optional<Subscription>> subscriptionLoader = subscriptionId -> {
+        loadCount.incrementAndGet();
+        return Optional.empty();
+    };
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testUserIsLoadedOncePerRequest() {
+        startRequest();
+
+        Optional<PiUser> user = requestLookupContext.findUser(USER_ID, userLoader);
+
+        assertThat(requestLookupContext.findUser(USER_ID, userLoader))
+            .as("User looked up earlier in the request should be returned")
+            .isSameAs(user);
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testUserIsLoadedAgainInNextRequest() {
+        startRequest();
+        requestLookupContext.findUser(USER_ID, userLoader);
+
+        startRequest();
+        requestLookupContext.findUser(USER_ID, userLoader);
+
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testEvictedUserIsLoadedAgain() {
+        startRequest();
+
+        requestLookupContext.findUser(USER_ID, userLoader);
+        requestLookupContext.evictUser(USER_ID);
+        requestLookupContext.findUser(USER_ID, userLoader);
+
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testMissingSubscriptionIsLoadedOncePerRequest() {
+        startRequest();
+
+        requestLookupContext.findSubscription(SUBSCRIPTION_ID, subscriptionLoader);
+
+        assertThat(requestLookupContext.findSubscription(SUBSCRIPTION_ID, subscriptionLoader))
+            .as("Subscription should not be found")
+            .isEmpty();
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testUsersAndSubscriptionsAreKeptSeparately() {
+        startRequest();
+
+        requestLookupContext.findUser(USER_ID, userLoader);
+
+        assertThat(requestLookupContext.findSubscription(USER_ID, subscriptionLoader))
+            .as("Subscription should not be found")
+            .isEmpty();
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testLookupsAreNotKeptOutsideRequest() {
+        requestLookupContext.findUser(USER_ID, userLoader);
+        requestLookupContext.findUser(USER_ID, userLoader);
+
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(2);
+    }
+}
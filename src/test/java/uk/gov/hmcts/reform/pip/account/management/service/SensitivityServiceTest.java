@@ -8,13 +8,19 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 import uk.gov.hmcts.reform.pip.model.publication.ListType;
 import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -228,6 +234,93 @@ class SensitivityServiceTest {
                      String.format("Should return %s for list type %s and role %s", isAuthorised, listType, roles));
     }
 
+    @Test
+    void checkClassifiedUsingRoleAndProvenance() {
+        assertTrue(
+            sensitivityService.checkAuthorisation(Roles.VERIFIED, UserProvenances.CRIME_IDAM,
+                                                  ListType.CROWN_FIRM_PDDA_LIST, Sensitivity.CLASSIFIED),
+            "Returned false for classified list type with allowed provenance");
+
+        assertFalse(
+            sensitivityService.checkAuthorisation(Roles.VERIFIED, UserProvenances.CFT_IDAM,
+                                                  ListType.CROWN_FIRM_PDDA_LIST, Sensitivity.CLASSIFIED),
+            "Returned true for classified list type with disallowed provenance");
+    }
+
+    @Test
+    void checkPermissionTableMatchesRulesForEveryCombination() {
+        List<String> mismatches = new ArrayList<>();
+        for (ListType listType : ListType.values()) {
+            for (Sensitivity sensitivity : Sensitivity.values()) {
+                for (Roles role : Roles.values()) {
+                    for (UserProvenances userProvenance : UserProvenances.values()) {
+                        boolean expected = expectedAuthorisation(role, userProvenance, listType, sensitivity);
+                        if (sensitivityService.checkAuthorisation(role, userProvenance, listType, sensitivity)
+                            != expected) {
+                            mismatches.add(String.join(", ", role.name(), userProvenance.name(), listType.name(),
+                                                       sensitivity.name()));
+                        }
+                    }
+                }
+            }
+        }
+
+        assertThat(mismatches)
+            .as("Permission table should match the sensitivity rules for every combination")
+            .isEmpty();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Sensitivity.class)
+    void checkUserWithNoRoleOrProvenanceMatchesRules(Sensitivity sensitivity) {
+        assertEquals(expectedAuthorisation(null, UserProvenances.PI_AAD, ListType.CIVIL_DAILY_CAUSE_LIST, sensitivity),
+                     sensitivityService.checkAuthorisation(null, UserProvenances.PI_AAD,
+                                                           ListType.CIVIL_DAILY_CAUSE_LIST, sensitivity),
+                     "Should match the sensitivity rules for a user with no role");
+        assertEquals(expectedAuthorisation(Roles.VERIFIED, null, ListType.CIVIL_DAILY_CAUSE_LIST, sensitivity),
+                     sensitivityService.checkAuthorisation(Roles.VERIFIED, null,
+                                                           ListType.CIVIL_DAILY_CAUSE_LIST, sensitivity),
+                     "Should match the sensitivity rules for a user with no provenance");
+    }
+
+    @ParameterizedTest
+    @EnumSource(Sensitivity.class)
+    void checkFilterAuthorisedMatchesRules(Sensitivity sensitivity) {
+        List<PiUserSummary> users = new ArrayList<>();
+        for (Roles role : Roles.values()) {
+            for (UserProvenances userProvenance : UserProvenances.values()) {
+                users.add(new PiUserSummary(UUID.randomUUID(), null, role, userProvenance));
+            }
+        }
+        users.add(new PiUserSummary());
+
+        assertThat(sensitivityService.filterAuthorised(users, ListType.CROWN_FIRM_PDDA_LIST, sensitivity))
+            .as("Filtered users should match the users authorised by the sensitivity rules, in the same order")
+            .containsExactlyElementsOf(users.stream()
+                .filter(user -> expectedAuthorisation(user.getRoles(), user.getUserProvenance(),
+                                                      ListType.CROWN_FIRM_PDDA_LIST, sensitivity))
+                .toList());
+    }
+
+    /**
+     * The sensitivity rules as they were checked before the permission table was added, written out separately so
+     * the table is not checked against the code which built it.
+     */
+    private static boolean expectedAuthorisation(Roles role, UserProvenances userProvenance, ListType listType,
+                                                 Sensitivity sensitivity) {
+        if (Roles.SYSTEM_ADMIN.equals(role)) {
+            return true;
+        }
+        return switch (sensitivity) {
+            case PUBLIC -> true;
+            case PRIVATE -> Roles.getAllVerifiedRoles().contains(role);
+            case CLASSIFIED -> Roles.VERIFIED.equals(role) && listType.getAllowedProvenances().contains(userProvenance)
+                || UserProvenances.THIRD_PARTY.equals(userProvenance)
+                && listType.getAllowedThirdPartyRoles().contains(role);
+            default -> false;
+        };
+    }
+
     private static Stream<Arguments> parameters() {
         return Stream.of(
             Arguments.of(ListType.SJP_PUBLIC_LIST, Roles.VERIFIED_THIRD_PARTY_ALL, true),
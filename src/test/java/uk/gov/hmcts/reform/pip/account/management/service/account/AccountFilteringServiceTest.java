@@ -10,8 +10,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import uk.gov.hmcts.reform.pip.account.management.database.UserRepository;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.NotFoundException;
+import uk.gov.hmcts.reform.pip.account.management.helpers.KeysetCursorHelper;
+import uk.gov.hmcts.reform.pip.account.management.model.account.KeysetSlice;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
@@ -24,6 +28,7 @@ import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,6 +37,8 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.pip.model.account.Roles.ALL_NON_RESTRICTED_ADMIN_ROLES;
+import static uk.gov.hmcts.reform.pip.model.account.Roles.ALL_NON_THIRD_PARTY_ROLES;
+import static uk.gov.hmcts.reform.pip.model.account.UserProvenances.ALL_NON_THIRD_PARTY_PROVENANCES;
 import static uk.gov.hmcts.reform.pip.model.account.UserProvenances.PI_AAD;
 import static uk.gov.hmcts.reform.pip.model.account.UserProvenances.SSO;
 
@@ -156,6 +163,75 @@ class AccountFilteringServiceTest {
         assertEquals(page, response, "Returned page did not match expected");
     }
 
+    @Test
+    void testFindAllAccountsExceptThirdPartyKeysetFirstPage() {
+        PiUser secondUser = new PiUser();
+        secondUser.setUserId(UUID.randomUUID());
+        Slice<PiUser> slice = new SliceImpl<>(List.of(PI_USER, secondUser), PageRequest.of(0, 2), true);
+        when(userRepository.findAccountsAfter("%%", ALL_NON_THIRD_PARTY_PROVENANCES, ALL_NON_THIRD_PARTY_ROLES, "%%",
+                                              new UUID(0, 0), PageRequest.of(0, 2)))
+            .thenReturn(slice);
+
+        KeysetSlice<PiUser> response = accountFilteringService.findAllAccountsExceptThirdPartyKeyset(
+            2, "", false, "", "", new ArrayList<>(), new ArrayList<>(), ""
+        );
+
+        assertEquals(List.of(PI_USER, secondUser), response.getContent(), "Returned users did not match expected");
+        assertTrue(response.isHasNext(), "Slice should have a next page");
+        assertEquals(secondUser.getUserId(), KeysetCursorHelper.decodeIdCursor(response.getNextCursor()),
+                     "Next cursor should point at the last user in the slice");
+        assertNull(response.getTotalCount(), "Total count should not be returned unless requested");
+        verify(userRepository, never()).countAccounts(any(), any(), any(), any());
+    }
+
+    @Test
+    void testFindAllAccountsExceptThirdPartyKeysetNextPageWithCount() {
+        UUID lastUserId = UUID.randomUUID();
+        List<UserProvenances> userProvenancesList = List.of(PI_AAD);
+        List<Roles> roleList = List.of(Roles.VERIFIED);
+        Slice<PiUser> slice = new SliceImpl<>(List.of(PI_USER), PageRequest.of(0, 25), false);
+        when(userRepository.findAccountsAfter("%test%", userProvenancesList, roleList, ID, lastUserId,
+                                              PageRequest.of(0, 25)))
+            .thenReturn(slice);
+        when(userRepository.countAccounts("%test%", userProvenancesList, roleList, ID)).thenReturn(26L);
+
+        KeysetSlice<PiUser> response = accountFilteringService.findAllAccountsExceptThirdPartyKeyset(
+            25, KeysetCursorHelper.encodeCursor(lastUserId), true, "test", ID, userProvenancesList, roleList, ""
+        );
+
+        assertEquals(List.of(PI_USER), response.getContent(), "Returned users did not match expected");
+        assertNull(response.getNextCursor(), "Last page should not have a next cursor");
+        assertEquals(26L, response.getTotalCount(), "Total count did not match expected");
+    }
+
+    @Test
+    void testFindAllAccountsExceptThirdPartyKeysetOnlyUserId() {
+        Pageable pageable = PageRequest.of(0, 25);
+        String userId = PI_USER.getUserId().toString();
+        when(userRepository.findByUserIdPageable(userId, pageable))
+            .thenReturn(new PageImpl<>(List.of(PI_USER), pageable, 1));
+
+        KeysetSlice<PiUser> response = accountFilteringService.findAllAccountsExceptThirdPartyKeyset(
+            25, "", true, "", "", new ArrayList<>(), new ArrayList<>(), userId
+        );
+
+        assertEquals(List.of(PI_USER), response.getContent(), "Returned users did not match expected");
+        assertNull(response.getNextCursor(), "Single user should not have a next cursor");
+        assertEquals(1L, response.getTotalCount(), "Total count did not match expected");
+        verify(userRepository, never()).findAccountsAfter(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testFindAllAccountsExceptThirdPartyKeysetInvalidCursor() {
+        List<UserProvenances> emptyUserProvenancesList = new ArrayList<>();
+        List<Roles> emptyRoleList = new ArrayList<>();
+
+        assertThrows(IllegalArgumentException.class, () ->
+            accountFilteringService.findAllAccountsExceptThirdPartyKeyset(
+                25, "not-a-cursor", false, "", "", emptyUserProvenancesList, emptyRoleList, ""
+            ), "Invalid cursor should be rejected");
+    }
+
     @Test
     void testGetAdminUserByEmailAndProvenance() {
         PiUser user = new PiUser();
@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.pip.account.management.service.account;
 
 import com.microsoft.graph.models.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import nl.altindag.log.LogCaptor;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -23,15 +25,22 @@ import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.UserW
 import uk.gov.hmcts.reform.pip.account.management.model.account.AzureAccount;
 import uk.gov.hmcts.reform.pip.account.management.model.account.CreationEnum;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationAuthorisationRequest;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationAuthorisationResponse;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PublicationClassification;
 import uk.gov.hmcts.reform.pip.account.management.model.errored.ErroredAzureAccount;
 import uk.gov.hmcts.reform.pip.account.management.model.errored.ErroredPiUser;
+import uk.gov.hmcts.reform.pip.account.management.service.RequestLookupContext;
 import uk.gov.hmcts.reform.pip.account.management.service.SensitivityService;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotifications;
 import uk.gov.hmcts.reform.pip.account.management.service.subscription.UserSubscriptionService;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 import uk.gov.hmcts.reform.pip.model.publication.ListType;
 import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -50,6 +59,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -83,6 +93,13 @@ class AccountServiceTest {
     @Mock
     AzureAccountService azureAccountService;
 
+    @Spy
+    private PiUserCache piUserCache = new PiUserCache(listeningClusterNotifications(), new SimpleMeterRegistry(),
+                                                      true, 100, Duration.ofMinutes(1));
+
+    @Spy
+    private RequestLookupContext requestLookupContext = new RequestLookupContext();
+
     @InjectMocks
     private AccountService accountService;
 
@@ -115,6 +132,12 @@ class AccountServiceTest {
 
     private static final String RETURN_USER_ERROR = "Returned user does not match expected user";
 
+    private static ClusterNotifications listeningClusterNotifications() {
+        ClusterNotifications clusterNotifications = mock(ClusterNotifications.class);
+        when(clusterNotifications.isListening()).thenReturn(true);
+        return clusterNotifications;
+    }
+
     @BeforeEach
     void setup() {
         PI_USER.setUserId(VALID_USER_ID);
@@ -148,6 +171,7 @@ class AccountServiceTest {
         when(userRepository.save(user)).thenReturn(user);
 
         assertEquals(expected, accountService.addUsers(List.of(user), ISSUER_ID), "Returned maps should match");
+        verify(piUserCache).invalidate(user.getUserId());
     }
 
     @Test
@@ -250,8 +274,125 @@ class AccountServiceTest {
     }
 
     @Test
-    void testFindUserEmailsByIds() {
+    void testIsUserAuthorisedForPublicationWithUserSummary() {
+        PiUserSummary user = new PiUserSummary(VALID_USER_ID, EMAIL, Roles.VERIFIED, UserProvenances.PI_AAD);
+        when(sensitivityService.checkAuthorisation(Roles.VERIFIED, UserProvenances.PI_AAD, ListType.SJP_PRESS_LIST,
+                                                   Sensitivity.CLASSIFIED))
+            .thenReturn(true);
+
+        assertTrue(
+            accountService.isUserAuthorisedForPublication(user, ListType.SJP_PRESS_LIST, Sensitivity.CLASSIFIED),
+            "User summary should be authorised using its role and provenance"
+        );
+        verify(userRepository, never()).findByUserId(any());
+    }
+
+    @Test
+    void testIsUserAuthorisedForPublicationsWithManyUsers() {
+        UUID missingUserId = UUID.randomUUID();
+        when(userRepository.findUserSummariesByUserIdIn(List.of(VALID_USER_ID, VALID_USER_ID_SSO, missingUserId)))
+            .thenReturn(List.of(
+                new PiUserSummary(VALID_USER_ID, EMAIL, Roles.VERIFIED, UserProvenances.PI_AAD),
+                new PiUserSummary(VALID_USER_ID_SSO, EMAIL, Roles.INTERNAL_ADMIN_CTSC, UserProvenances.SSO)
+            ));
+        when(sensitivityService.checkAuthorisation(Roles.VERIFIED, UserProvenances.PI_AAD, ListType.SJP_PRESS_LIST,
+                                                   Sensitivity.CLASSIFIED))
+            .thenReturn(true);
+        when(sensitivityService.checkAuthorisation(Roles.INTERNAL_ADMIN_CTSC, UserProvenances.SSO,
+                                                   ListType.SJP_PRESS_LIST, Sensitivity.CLASSIFIED))
+            .thenReturn(false);
+
+        PublicationAuthorisationResponse response = accountService.isUserAuthorisedForPublications(
+            new PublicationAuthorisationRequest(List.of(VALID_USER_ID, VALID_USER_ID_SSO, missingUserId),
+                                                ListType.SJP_PRESS_LIST, Sensitivity.CLASSIFIED, null, null)
+        );
+
+        assertThat(response.getUsers())
+            .as("Each user should be mapped to whether they can see the publication")
+            .containsExactly(
+                Map.entry(VALID_USER_ID, true),
+                Map.entry(VALID_USER_ID_SSO, false),
+                Map.entry(missingUserId, false)
+            );
+        assertThat(response.getPublications())
+            .as("Publications should not be returned when checking many users")
+            .isNull();
+        verify(userRepository, times(1)).findUserSummariesByUserIdIn(any());
+        verify(userRepository, never()).findByUserId(any());
+    }
+
+    @Test
+    void testIsUserAuthorisedForPublicationsWithManyPublications() {
         when(userRepository.findByUserId(VALID_USER_ID)).thenReturn(Optional.of(PI_USER));
+        when(sensitivityService.checkAuthorisation(PI_USER, ListType.SJP_PRESS_LIST, Sensitivity.PUBLIC))
+            .thenReturn(true);
+        when(sensitivityService.checkAuthorisation(PI_USER, ListType.SJP_PRESS_LIST, Sensitivity.CLASSIFIED))
+            .thenReturn(false);
+        when(sensitivityService.checkAuthorisation(PI_USER, ListType.CIVIL_DAILY_CAUSE_LIST, Sensitivity.PRIVATE))
+            .thenReturn(true);
+
+        PublicationAuthorisationResponse response = accountService.isUserAuthorisedForPublications(
+            new PublicationAuthorisationRequest(null, null, null, VALID_USER_ID, List.of(
+                new PublicationClassification(ListType.SJP_PRESS_LIST, Sensitivity.PUBLIC),
+                new PublicationClassification(ListType.SJP_PRESS_LIST, Sensitivity.CLASSIFIED),
+                new PublicationClassification(ListType.CIVIL_DAILY_CAUSE_LIST, Sensitivity.PRIVATE)
+            ))
+        );
+
+        assertThat(response.getPublications())
+            .as("Each publication should be mapped to whether the user can see it")
+            .isEqualTo(Map.of(
+                ListType.SJP_PRESS_LIST, Map.of(Sensitivity.PUBLIC, true, Sensitivity.CLASSIFIED, false),
+                ListType.CIVIL_DAILY_CAUSE_LIST, Map.of(Sensitivity.PRIVATE, true)
+            ));
+        assertThat(response.getUsers())
+            .as("Users should not be returned when checking many publications")
+            .isNull();
+        verify(userRepository, times(1)).findByUserId(VALID_USER_ID);
+    }
+
+    @Test
+    void testIsUserAuthorisedForPublicationsWithMissingUser() {
+        when(userRepository.findByUserId(VALID_USER_ID)).thenReturn(Optional.empty());
+        PublicationAuthorisationRequest request = new PublicationAuthorisationRequest(
+            null, null, null, VALID_USER_ID,
+            List.of(new PublicationClassification(ListType.SJP_PRESS_LIST, Sensitivity.PUBLIC))
+        );
+
+        UserNotFoundException ex = assertThrows(UserNotFoundException.class, () ->
+            accountService.isUserAuthorisedForPublications(request));
+
+        assertTrue(ex.getMessage().contains("No user found with the userId"), MESSAGES_MATCH);
+    }
+
+    @Test
+    void testIsUserAuthorisedForPublicationsWithBothForms() {
+        PublicationAuthorisationRequest request = new PublicationAuthorisationRequest(
+            List.of(VALID_USER_ID), ListType.SJP_PRESS_LIST, Sensitivity.PUBLIC, VALID_USER_ID,
+            List.of(new PublicationClassification(ListType.SJP_PRESS_LIST, Sensitivity.PUBLIC))
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> accountService.isUserAuthorisedForPublications(request),
+                     "Supplying both forms of the request should be rejected");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testIsUserAuthorisedForPublicationsWithIncompleteRequest() {
+        PublicationAuthorisationRequest request = new PublicationAuthorisationRequest(
+            List.of(VALID_USER_ID), ListType.SJP_PRESS_LIST, null, null, null
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> accountService.isUserAuthorisedForPublications(request),
+                     "A request without a sensitivity should be rejected");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testFindUserEmailsByIds() {
+        when(userRepository.findUserSummariesByUserIdIn(List.of(VALID_USER_ID))).thenReturn(List.of(
+            new PiUserSummary(VALID_USER_ID, EMAIL, Roles.VERIFIED, UserProvenances.PI_AAD)
+        ));
 
         Map<String, String> expectedUserEmailMap = new ConcurrentHashMap<>();
         expectedUserEmailMap.put(VALID_USER_ID.toString(), EMAIL);
@@ -262,15 +403,45 @@ class AccountServiceTest {
 
     @Test
     void testFindUserEmailsByIdsNoEmails() {
-        when(userRepository.findByUserId(VALID_USER_ID)).thenReturn(Optional.empty());
-        when(userRepository.findByUserId(VALID_USER_ID)).thenReturn(Optional.of(PI_USER_SSO));
+        when(userRepository.findUserSummariesByUserIdIn(List.of(VALID_USER_ID, VALID_USER_ID_SSO))).thenReturn(List.of(
+            new PiUserSummary(VALID_USER_ID_SSO, null, Roles.INTERNAL_ADMIN_CTSC, UserProvenances.SSO)
+        ));
 
         List<String> userIdsList = List.of(VALID_USER_ID.toString(), VALID_USER_ID_SSO.toString());
-        Map<String, Optional<String>> expectedUserEmailMap = new ConcurrentHashMap<>();
-        expectedUserEmailMap.put(VALID_USER_ID.toString(), Optional.empty());
 
-        assertTrue(accountService.findUserEmailsByIds(userIdsList).isEmpty(),
-                   "Returned map does not match with expected map");
+        try (LogCaptor logCaptor = LogCaptor.forClass(AccountService.class)) {
+            assertTrue(accountService.findUserEmailsByIds(userIdsList).isEmpty(),
+                       "Returned map does not match with expected map");
+            assertTrue(logCaptor.getErrorLogs().get(0).contains(VALID_USER_ID_SSO.toString()), MESSAGES_MATCH);
+        }
+    }
+
+    @Test
+    void testFindUserSummariesByIdsLoadsUsersInBatches() {
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            userIds.add(UUID.randomUUID());
+        }
+        userIds.add(userIds.get(0));
+
+        when(userRepository.findUserSummariesByUserIdIn(any())).thenAnswer(invocation -> {
+            List<UUID> batch = invocation.getArgument(0);
+            return batch.stream()
+                .map(id -> new PiUserSummary(id, EMAIL, Roles.VERIFIED, UserProvenances.PI_AAD))
+                .toList();
+        });
+
+        Map<UUID, PiUserSummary> users = accountService.findUserSummariesByIds(userIds);
+
+        assertEquals(2500, users.size(), "All distinct users should be returned");
+        verify(userRepository, times(3)).findUserSummariesByUserIdIn(any());
+    }
+
+    @Test
+    void testFindUserSummariesByIdsWithNoUsers() {
+        assertTrue(accountService.findUserSummariesByIds(Collections.emptyList()).isEmpty(),
+                   "No users should be returned");
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -287,6 +458,7 @@ class AccountServiceTest {
         verify(azureUserService).deleteUser(PI_USER.getProvenanceUserId());
         verify(userSubscriptionService).deleteAllByUserId(VALID_USER_ID);
         verify(userRepository).delete(PI_USER);
+        verify(piUserCache).invalidate(VALID_USER_ID);
     }
 
     @Test
@@ -405,6 +577,7 @@ class AccountServiceTest {
         assertEquals("Account with provenance PI_AAD and provenance id " + ID + " has been updated",
                      accountService.updateAccount(UserProvenances.PI_AAD, ID, updateParameters),
                      "Return message does not match expected");
+        verify(piUserCache).invalidate(VALID_USER_ID);
     }
 
     @Test
@@ -468,6 +641,40 @@ class AccountServiceTest {
         assertEquals(user, returnedUser, RETURN_USER_ERROR);
     }
 
+    @Test
+    void testGetUserByIdIsCached() {
+        UUID userId = UUID.randomUUID();
+
+        PiUser user = new PiUser();
+        user.setUserId(userId);
+
+        when(userRepository.findByUserId(userId)).thenReturn(Optional.of(user));
+
+        accountService.getUserById(userId);
+        PiUser returnedUser = accountService.getUserById(userId);
+
+        assertEquals(user, returnedUser, RETURN_USER_ERROR);
+        verify(userRepository).findByUserId(userId);
+    }
+
+    @Test
+    void testGetUserByIdAfterRoleUpdateIsNotCached() {
+        UUID userId = UUID.randomUUID();
+
+        PiUser user = new PiUser();
+        user.setUserId(userId);
+        user.setUserProvenance(UserProvenances.PI_AAD);
+
+        when(userRepository.findByUserId(userId)).thenReturn(Optional.of(user));
+
+        accountService.getUserById(userId);
+        accountService.updateAccountRole(userId, Roles.VERIFIED);
+        accountService.getUserById(userId);
+
+        verify(piUserCache).invalidate(userId);
+        verify(userRepository, times(3)).findByUserId(userId);
+    }
+
     @Test
     void testGetUserByIdNotFound() {
         UUID userId = UUID.randomUUID();
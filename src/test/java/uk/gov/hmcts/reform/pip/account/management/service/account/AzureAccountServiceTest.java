@@ -21,6 +21,7 @@ import uk.gov.hmcts.reform.pip.account.management.model.account.CreationEnum;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
 import uk.gov.hmcts.reform.pip.account.management.model.errored.ErroredAzureAccount;
 import uk.gov.hmcts.reform.pip.account.management.service.PublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.notification.OutboundNotificationService;
 import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 
 import java.util.List;
@@ -87,6 +88,9 @@ class AzureAccountServiceTest {
     @Mock
     private PublicationService publicationService;
 
+    @Mock
+    private OutboundNotificationService outboundNotificationService;
+
     @InjectMocks
     private AzureAccountService azureAccountService;
 
@@ -118,7 +122,7 @@ class AzureAccountServiceTest {
         when(azureUserService.createUser(argThat(user -> user.getEmail().equals(azureAccount.getEmail())),
                                          anyBoolean())).thenReturn(expectedUser);
 
-        when(publicationService.sendMediaNotificationEmail(azureAccount.getEmail(), TEST, false))
+        when(outboundNotificationService.sendMediaNotificationEmail(azureAccount.getEmail(), TEST, false))
             .thenReturn(TRUE);
 
         Map<CreationEnum, List<? extends AzureAccount>> createdAccounts =
@@ -146,7 +150,7 @@ class AzureAccountServiceTest {
         when(azureUserService.createUser(argThat(user -> user.getEmail().equals(azureAccount.getEmail())),
                                          anyBoolean())).thenReturn(expectedUser);
 
-        when(publicationService.sendMediaNotificationEmail(azureAccount.getEmail(), TEST, false))
+        when(outboundNotificationService.sendMediaNotificationEmail(azureAccount.getEmail(), TEST, false))
             .thenReturn(TRUE);
 
         Map<CreationEnum, List<? extends AzureAccount>> createdAccounts =
@@ -332,7 +336,7 @@ class AzureAccountServiceTest {
         when(azureUserService.createUser(argThat(user -> user.getEmail().equals(azureAccount.getEmail())),
                                          anyBoolean())).thenReturn(expectedUser);
 
-        when(publicationService.sendMediaNotificationEmail(any(), any(), anyBoolean())).thenReturn(TRUE);
+        when(outboundNotificationService.sendMediaNotificationEmail(any(), any(), anyBoolean())).thenReturn(TRUE);
 
         Map<CreationEnum, List<? extends AzureAccount>> createdAccounts =
             azureAccountService.addAzureAccounts(List.of(azureAccount, erroredAzureAccount), ISSUER_ID, FALSE, FALSE);
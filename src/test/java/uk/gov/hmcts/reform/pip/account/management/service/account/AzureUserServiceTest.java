@@ -8,19 +8,26 @@ import com.microsoft.graph.serviceclient.GraphServiceClient;
 import com.microsoft.graph.users.UsersRequestBuilder;
 import com.microsoft.graph.users.item.UserItemRequestBuilder;
 import com.microsoft.kiota.ApiException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.pip.account.management.config.ClientConfiguration;
+import uk.gov.hmcts.reform.pip.account.management.config.OutboundResilienceProperties;
 import uk.gov.hmcts.reform.pip.account.management.config.UserConfiguration;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.AzureCustomException;
 import uk.gov.hmcts.reform.pip.account.management.model.account.AzureAccount;
+import uk.gov.hmcts.reform.pip.account.management.service.resilience.OutboundResilience;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -56,6 +63,10 @@ class AzureUserServiceTest {
     @Mock
     private GraphServiceClient graphClient;
 
+    @Spy
+    private OutboundResilience outboundResilience = new OutboundResilience(new OutboundResilienceProperties(),
+                                                                           new SimpleMeterRegistry());
+
     @InjectMocks
     private AzureUserService azureUserService;
 
@@ -65,6 +76,8 @@ class AzureUserServiceTest {
     private static final String SURNAME = "Surname";
     private static final String EXTENSION_ID = "1234-1234";
     private static final String DISPLAY_NAME = "Display Name";
+    private static final int BAD_REQUEST = 400;
+    private static final int SERVICE_UNAVAILABLE = 503;
     private static final String ERROR_MESSAGE = "Error message should be present when failing to communicate with the"
         + " AD service";
 
@@ -272,4 +285,80 @@ class AzureUserServiceTest {
                      azureCustomException.getMessage(), ERROR_MESSAGE);
     }
 
+    private AzureUserService createServiceWithRetries() {
+        OutboundResilienceProperties properties = new OutboundResilienceProperties();
+        properties.setEnabled(true);
+        properties.getGraph().getRetry().setInitialBackoff(Duration.ofMillis(1));
+        return new AzureUserService(graphClient, userConfiguration, clientConfiguration,
+                                    new OutboundResilience(properties, new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void testGetUserIsRetriedWhenGraphIsUnavailable() throws AzureCustomException {
+        User user = new User();
+        user.setDisplayName(DISPLAY_NAME);
+        UserCollectionResponse userCollectionResponse = new UserCollectionResponse();
+        userCollectionResponse.setValue(List.of(user));
+
+        when(apiException.getResponseStatusCode()).thenReturn(SERVICE_UNAVAILABLE);
+        when(graphClient.users()).thenReturn(usersRequestBuilder);
+        when(usersRequestBuilder.get(any())).thenThrow(apiException).thenReturn(userCollectionResponse);
+
+        User returnedUser = createServiceWithRetries().getUser(EMAIL);
+
+        assertEquals(DISPLAY_NAME, returnedUser.getDisplayName(), "User should be returned once the retry succeeds");
+        verify(usersRequestBuilder, times(2)).get(any());
+    }
+
+    @Test
+    void testCreateUserIsNotRetriedWhenGraphIsUnavailable() {
+        when(apiException.getResponseStatusCode()).thenReturn(SERVICE_UNAVAILABLE);
+        when(graphClient.users()).thenReturn(usersRequestBuilder);
+        when(clientConfiguration.getExtensionId()).thenReturn(EXTENSION_ID);
+        when(usersRequestBuilder.post(any())).thenThrow(apiException);
+
+        AzureUserService service = createServiceWithRetries();
+        assertThrows(AzureCustomException.class, () -> service.createUser(azureAccount, false),
+                     ERROR_MESSAGE);
+        verify(usersRequestBuilder, times(1)).post(any());
+    }
+
+    @Test
+    void testGetUserIsRetriedAfterConnectionFailure() throws AzureCustomException {
+        User user = new User();
+        user.setDisplayName(DISPLAY_NAME);
+        UserCollectionResponse userCollectionResponse = new UserCollectionResponse();
+        userCollectionResponse.setValue(List.of(user));
+
+        when(graphClient.users()).thenReturn(usersRequestBuilder);
+        when(usersRequestBuilder.get(any()))
+            .thenThrow(new UncheckedIOException(new IOException("Connection reset")))
+            .thenReturn(userCollectionResponse);
+
+        User returnedUser = createServiceWithRetries().getUser(EMAIL);
+
+        assertEquals(DISPLAY_NAME, returnedUser.getDisplayName(), "User should be returned once the retry succeeds");
+        verify(usersRequestBuilder, times(2)).get(any());
+    }
+
+    @Test
+    void testGetUserIsNotRetriedForClientError() {
+        when(apiException.getResponseStatusCode()).thenReturn(BAD_REQUEST);
+        when(graphClient.users()).thenReturn(usersRequestBuilder);
+        when(usersRequestBuilder.get(any())).thenThrow(apiException);
+
+        AzureUserService service = createServiceWithRetries();
+        assertThrows(AzureCustomException.class, () -> service.getUser(EMAIL), ERROR_MESSAGE);
+        verify(usersRequestBuilder, times(1)).get(any());
+    }
+
+    @Test
+    void testGetUserIsNotRetriedForValidationError() {
+        when(graphClient.users()).thenReturn(usersRequestBuilder);
+        when(usersRequestBuilder.get(any())).thenThrow(new IllegalArgumentException("Invalid filter"));
+
+        AzureUserService service = createServiceWithRetries();
+        assertThrows(IllegalArgumentException.class, () -> service.getUser(EMAIL), ERROR_MESSAGE);
+        verify(usersRequestBuilder, times(1)).get(any());
+    }
 }
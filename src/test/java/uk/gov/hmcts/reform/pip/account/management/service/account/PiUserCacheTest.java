@@ -0,0 +1,216 @@
+package uk.gov.hmcts.reform.pip.account.management.service.account;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.NotFoundException;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotifications;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PiUserCacheTest {
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final String LOAD_COUNT_MESSAGE = "Number of times the user was loaded does not match";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ClusterNotifications clusterNotifications = mock(ClusterNotifications.class);
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private final Function<UUID, PiUser> loader = userId -> {
+        loadCount.incrementAndGet();
+        PiUser user = new PiUser();
+        user.setUserId(userId);
+        return user;
+    };
+
+    private PiUserCache createCache(boolean enabled, long maxSize) {
+        when(clusterNotifications.isListening()).thenReturn(true);
+        return new PiUserCache(clusterNotifications, meterRegistry, enabled, maxSize, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testUserIsLoadedOnce() {
+        PiUserCache piUserCache = createCache(true, 10);
+
+        PiUser user = piUserCache.get(USER_ID, loader);
+
+        assertThat(piUserCache.get(USER_ID, loader))
+            .as("Cached user should be returned")
+            .isSameAs(user);
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testInvalidatedUserIsLoadedAgain() {
+        PiUserCache piUserCache = createCache(true, 10);
+
+        piUserCache.get(USER_ID, loader);
+        piUserCache.invalidate(USER_ID);
+        piUserCache.get(USER_ID, loader);
+
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testUserIsInvalidatedAgainAfterCommit() {
+        PiUserCache piUserCache = createCache(true, 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        piUserCache.invalidate(USER_ID);
+        piUserCache.get(USER_ID, loader);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        piUserCache.get(USER_ID, loader);
+
+        assertThat(loadCount.get())
+            .as("User loaded before the transaction committed should not be kept in the cache")
+            .isEqualTo(2);
+        verify(clusterNotifications).publish(PiUserCache.NOTIFICATION_CHANNEL, USER_ID.toString());
+    }
+
+    @Test
+    void testOtherInstancesAreNotifiedOfInvalidatedUser() {
+        PiUserCache piUserCache = createCache(true, 10);
+
+        piUserCache.invalidate(USER_ID);
+
+        verify(clusterNotifications).publish(PiUserCache.NOTIFICATION_CHANNEL, USER_ID.toString());
+    }
+
+    @Test
+    void testOtherInstancesAreNotNotifiedBeforeCommit() {
+        PiUserCache piUserCache = createCache(true, 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        piUserCache.invalidate(USER_ID);
+
+        verify(clusterNotifications, never()).publish(PiUserCache.NOTIFICATION_CHANNEL, USER_ID.toString());
+    }
+
+    @Test
+    void testUserChangedByOtherInstanceIsLoadedAgain() {
+        PiUserCache piUserCache = createCache(true, 10);
+
+        piUserCache.get(USER_ID, loader);
+        piUserCache.handleNotifications(List.of(USER_ID.toString()));
+        piUserCache.get(USER_ID, loader);
+
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testAllUsersAreLoadedAgainAfterMissedNotifications() {
+        PiUserCache piUserCache = createCache(true, 10);
+
+        piUserCache.get(USER_ID, loader);
+        piUserCache.handleMissedNotifications();
+        piUserCache.get(USER_ID, loader);
+
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testUserIsAlwaysLoadedWhileNotListening() {
+        PiUserCache piUserCache = createCache(true, 10);
+        when(clusterNotifications.isListening()).thenReturn(false);
+
+        piUserCache.get(USER_ID, loader);
+        piUserCache.get(USER_ID, loader);
+
+        assertThat(loadCount.get())
+            .as("Users should not be cached while changes made by other instances are not being received")
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testUserNotFoundIsNotCached() {
+        PiUserCache piUserCache = createCache(true, 10);
+        Function<UUID, PiUser> notFoundLoader = userId -> {
+            loadCount.incrementAndGet();
+            throw new NotFoundException("User could not be found");
+        };
+
+        assertThatThrownBy(() -> piUserCache.get(USER_ID, notFoundLoader))
+            .isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> piUserCache.get(USER_ID, notFoundLoader))
+            .isInstanceOf(NotFoundException.class);
+
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        PiUserCache piUserCache = createCache(true, 2);
+
+        for (int i = 0; i < 10; i++) {
+            piUserCache.get(UUID.randomUUID(), loader);
+        }
+
+        assertThat(piUserCache.size())
+            .as("Cache should not grow beyond its maximum size")
+            .isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void testCacheStatisticsArePublished() {
+        PiUserCache piUserCache = createCache(true, 10);
+
+        piUserCache.get(USER_ID, loader);
+        piUserCache.get(USER_ID, loader);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", PiUserCache.CACHE_NAME).tag("result", "hit")
+                       .functionCounter().count())
+            .as("Cache hits should be published")
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", PiUserCache.CACHE_NAME).tag("result", "miss")
+                       .functionCounter().count())
+            .as("Cache misses should be published")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testUserIsAlwaysLoadedWhenDisabled() {
+        PiUserCache piUserCache = createCache(false, 10);
+
+        piUserCache.get(USER_ID, loader);
+        piUserCache.get(USER_ID, loader);
+
+        assertThat(loadCount.get())
+            .as(LOAD_COUNT_MESSAGE)
+            .isEqualTo(2);
+        assertThat(meterRegistry.find("cache.gets").meters())
+            .as("Cache statistics should not be published when disabled")
+            .isEmpty();
+    }
+}
@@ -10,10 +10,12 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.service.RequestLookupContext;
 import uk.gov.hmcts.reform.pip.account.management.service.account.AccountService;
 import uk.gov.hmcts.reform.pip.model.account.Roles;
 
@@ -84,6 +86,9 @@ class SubscriptionAuthorisationServiceTest {
     @Mock
     private AuthorisationCommonService authorisationCommonService;
 
+    @Spy
+    private RequestLookupContext requestLookupContext = new RequestLookupContext();
+
     @InjectMocks
     private SubscriptionAuthorisationService subscriptionAuthorisationService;
 
@@ -0,0 +1,86 @@
+package uk.gov.hmcts.reform.pip.account.management.service.cluster;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterNotificationsTest {
+    private static final String NOTIFY_QUERY = "SELECT pg_notify(?, ?)";
+    private static final String CHANNEL = "test_channel";
+    private static final String MESSAGE = "message:with:separators";
+    private static final String MESSAGE_MATCH = "Notification message does not match";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ClusterNotifications clusterNotifications;
+
+    @BeforeEach
+    void setup() {
+        clusterNotifications = new ClusterNotifications(jdbcTemplate);
+    }
+
+    private String publishedPayload() {
+        clusterNotifications.publish(CHANNEL, MESSAGE);
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(jdbcTemplate).queryForList(eq(NOTIFY_QUERY), eq(CHANNEL), payload.capture());
+        return (String) payload.getValue();
+    }
+
+    @Test
+    void testOwnNotificationsAreIgnored() {
+        assertThat(clusterNotifications.messageFrom(publishedPayload()))
+            .as("Notifications sent by this instance should be ignored")
+            .isNull();
+    }
+
+    @Test
+    void testNotificationsFromOtherInstancesArePassedOn() {
+        String payload = publishedPayload();
+        String otherInstancePayload = "other-instance" + payload.substring(payload.indexOf(':'));
+
+        assertThat(new ClusterNotifications(jdbcTemplate).messageFrom(payload))
+            .as(MESSAGE_MATCH)
+            .isEqualTo(MESSAGE);
+        assertThat(clusterNotifications.messageFrom(otherInstancePayload))
+            .as(MESSAGE_MATCH)
+            .isEqualTo(MESSAGE);
+    }
+
+    @Test
+    void testFailedNotificationIsNotThrown() {
+        when(jdbcTemplate.queryForList(anyString(), any(Object[].class)))
+            .thenThrow(new CannotCreateTransactionException("No connection"));
+
+        assertThatCode(() -> clusterNotifications.publish(CHANNEL, MESSAGE))
+            .as("Failed notification should not be thrown")
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void testNotListeningUntilConnected() {
+        assertThat(clusterNotifications.isListening())
+            .as("Notifications should not be reported as received before the listener connects")
+            .isFalse();
+
+        clusterNotifications.setListening(true);
+
+        assertThat(clusterNotifications.isListening())
+            .as("Notifications should be reported as received once the listener connects")
+            .isTrue();
+    }
+}
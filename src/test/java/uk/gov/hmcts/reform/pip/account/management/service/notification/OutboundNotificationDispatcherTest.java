@@ -0,0 +1,139 @@
+package uk.gov.hmcts.reform.pip.account.management.service.notification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotification;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotificationStatus;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotificationType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboundNotificationDispatcherTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(5);
+
+    @Mock
+    private OutboundNotificationService outboundNotificationService;
+
+    private OutboundNotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setup() {
+        dispatcher = createDispatcher(true);
+    }
+
+    private OutboundNotificationDispatcher createDispatcher(boolean enabled) {
+        return new OutboundNotificationDispatcher(outboundNotificationService, enabled, BATCH_SIZE, 2, MAX_ATTEMPTS,
+                                                  INITIAL_BACKOFF, MAX_BACKOFF, CLAIM_TIMEOUT);
+    }
+
+    private OutboundNotification createNotification(int attempts) {
+        OutboundNotification notification = new OutboundNotification(OutboundNotificationType.SUBSCRIPTION_SUMMARY,
+                                                                      "{}");
+        notification.setId(UUID.randomUUID());
+        notification.setAttempts(attempts);
+        return notification;
+    }
+
+    @Test
+    void testSentNotificationsAreRemoved() {
+        OutboundNotification notification = createNotification(0);
+        when(outboundNotificationService.claimDueNotifications(BATCH_SIZE, CLAIM_TIMEOUT))
+            .thenReturn(List.of(notification));
+        when(outboundNotificationService.dispatch(notification)).thenReturn(Mono.just(true));
+
+        assertThat(dispatcher.dispatch())
+            .as("Attempted count does not match")
+            .isEqualTo(1);
+        verify(outboundNotificationService).recordDispatchResults(List.of(notification.getId()),
+                                                                  Collections.emptyList());
+    }
+
+    @Test
+    void testFailedNotificationsAreRetriedWithBackoff() {
+        OutboundNotification failed = createNotification(0);
+        OutboundNotification errored = createNotification(0);
+        when(outboundNotificationService.claimDueNotifications(BATCH_SIZE, CLAIM_TIMEOUT))
+            .thenReturn(List.of(failed, errored))
+            .thenReturn(Collections.emptyList());
+        when(outboundNotificationService.dispatch(failed)).thenReturn(Mono.just(false));
+        when(outboundNotificationService.dispatch(errored))
+            .thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+
+        LocalDateTime before = LocalDateTime.now();
+        assertThat(dispatcher.dispatch())
+            .as("Attempted count does not match")
+            .isEqualTo(2);
+
+        verify(outboundNotificationService).recordDispatchResults(Collections.emptyList(), List.of(failed, errored));
+        assertThat(List.of(failed, errored))
+            .as("Failed notifications should be scheduled for retry")
+            .allSatisfy(notification -> {
+                assertThat(notification.getAttempts()).isEqualTo(1);
+                assertThat(notification.getStatus()).isEqualTo(OutboundNotificationStatus.PENDING);
+                assertThat(notification.getNextAttemptDate()).isAfterOrEqualTo(before.plus(INITIAL_BACKOFF));
+            });
+
+        assertThat(failed.getLastError())
+            .as("Last error should record that the notification was not accepted")
+            .isEqualTo("Attempt 1 failed: Publication services did not accept the notification");
+        assertThat(errored.getLastError())
+            .as("Last error should record the exception class and message")
+            .isEqualTo("Attempt 1 failed: java.lang.IllegalStateException: Connection refused");
+    }
+
+    @Test
+    void testNotificationIsDeadLetteredAtMaxAttempts() {
+        OutboundNotification notification = createNotification(MAX_ATTEMPTS - 1);
+        when(outboundNotificationService.claimDueNotifications(anyInt(), eq(CLAIM_TIMEOUT)))
+            .thenReturn(List.of(notification));
+        when(outboundNotificationService.dispatch(notification)).thenReturn(Mono.just(false));
+
+        dispatcher.dispatch();
+
+        assertThat(notification.getStatus())
+            .as("Notification should be dead-lettered")
+            .isEqualTo(OutboundNotificationStatus.DEAD_LETTER);
+        assertThat(notification.getAttempts())
+            .as("Attempt count does not match")
+            .isEqualTo(MAX_ATTEMPTS);
+    }
+
+    @Test
+    void testBackoffDoublesUpToMaximum() {
+        assertThat(dispatcher.backoff(1))
+            .as("First backoff should be the initial backoff")
+            .isEqualTo(INITIAL_BACKOFF);
+        assertThat(dispatcher.backoff(3))
+            .as("Backoff should double after each attempt")
+            .isEqualTo(INITIAL_BACKOFF.multipliedBy(4));
+        assertThat(dispatcher.backoff(100))
+            .as("Backoff should not exceed the maximum")
+            .isEqualTo(MAX_BACKOFF);
+    }
+
+    @Test
+    void testScheduledDispatchWhenDisabled() {
+        createDispatcher(false).scheduledDispatch();
+        verifyNoInteractions(outboundNotificationService);
+    }
+}
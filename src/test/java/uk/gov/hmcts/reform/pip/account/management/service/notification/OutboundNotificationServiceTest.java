@@ -0,0 +1,312 @@
+package uk.gov.hmcts.reform.pip.account.management.service.notification;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.pip.account.management.database.OutboundNotificationRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.MediaApplication;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotification;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotificationStatus;
+import uk.gov.hmcts.reform.pip.account.management.model.notification.OutboundNotificationType;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.BulkSubscriptionsSummary;
+import uk.gov.hmcts.reform.pip.account.management.service.PublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.ReactivePublicationService;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyAction;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyOauthConfiguration;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartySubscription;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboundNotificationServiceTest {
+    private static final UUID ARTEFACT_ID = UUID.randomUUID();
+    private static final String EMAIL = "test@justice.gov.uk";
+    private static final String FULL_NAME = "Test Name";
+    private static final String SENT_MESSAGE = "Notification should be sent";
+    private static final String NOTIFICATION_TYPE_MESSAGE = "Notification type does not match";
+
+    @Mock
+    private OutboundNotificationRepository outboundNotificationRepository;
+
+    @Mock
+    private PublicationService publicationService;
+
+    @Mock
+    private ReactivePublicationService reactivePublicationService;
+
+    private OutboundNotificationService enabledService;
+    private OutboundNotificationService disabledService;
+
+    @BeforeEach
+    void setup() {
+        enabledService = new OutboundNotificationService(outboundNotificationRepository, publicationService,
+                                                         reactivePublicationService, true);
+        disabledService = new OutboundNotificationService(outboundNotificationRepository, publicationService,
+                                                          reactivePublicationService, false);
+    }
+
+    private OutboundNotification captureSaved() {
+        ArgumentCaptor<OutboundNotification> captor = ArgumentCaptor.forClass(OutboundNotification.class);
+        verify(outboundNotificationRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private BulkSubscriptionsSummary createSubscriptionsSummary() {
+        BulkSubscriptionsSummary summary = new BulkSubscriptionsSummary();
+        summary.setArtefactId(ARTEFACT_ID);
+        return summary;
+    }
+
+    private ThirdPartySubscription createThirdPartySubscription() {
+        ThirdPartyOauthConfiguration configuration = new ThirdPartyOauthConfiguration(
+            UUID.randomUUID(), "https://test.url", "https://token.url", "clientIdKey", "clientSecretKey", "scopeKey"
+        );
+        return new ThirdPartySubscription(List.of(configuration), ARTEFACT_ID, ThirdPartyAction.NEW_PUBLICATION);
+    }
+
+    @Test
+    void testSendMediaNotificationEmailWhenDisabled() {
+        when(publicationService.sendMediaNotificationEmail(EMAIL, FULL_NAME, true)).thenReturn(true);
+
+        assertThat(disabledService.sendMediaNotificationEmail(EMAIL, FULL_NAME, true))
+            .as(SENT_MESSAGE)
+            .isTrue();
+        verifyNoInteractions(outboundNotificationRepository);
+    }
+
+    @Test
+    void testSendMediaNotificationEmailWhenEnabled() {
+        assertThat(enabledService.sendMediaNotificationEmail(EMAIL, FULL_NAME, true))
+            .as("Notification should be queued")
+            .isTrue();
+
+        OutboundNotification notification = captureSaved();
+        assertThat(notification.getNotificationType())
+            .as(NOTIFICATION_TYPE_MESSAGE)
+            .isEqualTo(OutboundNotificationType.MEDIA_WELCOME_EMAIL);
+        assertThat(notification.getStatus())
+            .as("Notification status does not match")
+            .isEqualTo(OutboundNotificationStatus.PENDING);
+        assertThat(notification.getPayload())
+            .as("Notification payload does not match")
+            .contains(EMAIL, FULL_NAME);
+        verifyNoInteractions(publicationService);
+    }
+
+    @Test
+    void testSendMediaAccountRejectionEmailWhenDisabled() {
+        MediaApplication mediaApplication = new MediaApplication();
+        Map<String, List<String>> reasons = Map.of("Reason A", List.of("Text A"));
+
+        disabledService.sendMediaAccountRejectionEmail(mediaApplication, reasons);
+
+        verify(publicationService).sendMediaAccountRejectionEmail(mediaApplication, reasons);
+        verifyNoInteractions(outboundNotificationRepository);
+    }
+
+    @Test
+    void testSendMediaAccountRejectionEmailWhenEnabled() {
+        MediaApplication mediaApplication = new MediaApplication();
+        mediaApplication.setId(UUID.randomUUID());
+        mediaApplication.setFullName(FULL_NAME);
+        mediaApplication.setEmail(EMAIL);
+
+        enabledService.sendMediaAccountRejectionEmail(mediaApplication, Map.of("Reason A", List.of("Text A")));
+
+        assertThat(captureSaved().getNotificationType())
+            .as(NOTIFICATION_TYPE_MESSAGE)
+            .isEqualTo(OutboundNotificationType.MEDIA_REJECTION_EMAIL);
+        verifyNoInteractions(publicationService);
+    }
+
+    @Test
+    void testPostSubscriptionSummariesWhenDisabled() {
+        BulkSubscriptionsSummary summary = createSubscriptionsSummary();
+        when(reactivePublicationService.postSubscriptionSummaries(summary)).thenReturn(Mono.just(true));
+
+        assertThat(disabledService.postSubscriptionSummaries(summary).block())
+            .as(SENT_MESSAGE)
+            .isTrue();
+        verifyNoInteractions(outboundNotificationRepository);
+    }
+
+    @Test
+    void testPostSubscriptionSummariesWhenEnabled() {
+        assertThat(enabledService.postSubscriptionSummaries(createSubscriptionsSummary()).block())
+            .as("Notification should be queued")
+            .isTrue();
+
+        OutboundNotification notification = captureSaved();
+        assertThat(notification.getNotificationType())
+            .as(NOTIFICATION_TYPE_MESSAGE)
+            .isEqualTo(OutboundNotificationType.SUBSCRIPTION_SUMMARY);
+        assertThat(notification.getPayload())
+            .as("Notification payload does not match")
+            .contains(ARTEFACT_ID.toString());
+        verifyNoInteractions(reactivePublicationService);
+    }
+
+    @Test
+    void testSendThirdPartySubscriptionWhenDisabled() {
+        ThirdPartySubscription thirdPartySubscription = createThirdPartySubscription();
+        when(reactivePublicationService.sendThirdPartySubscription(thirdPartySubscription, false))
+            .thenReturn(Mono.just(true));
+
+        disabledService.sendThirdPartySubscription(thirdPartySubscription);
+
+        verify(reactivePublicationService).sendThirdPartySubscription(thirdPartySubscription, false);
+        verifyNoInteractions(outboundNotificationRepository);
+    }
+
+    @Test
+    void testSendThirdPartySubscriptionWhenEnabled() {
+        enabledService.sendThirdPartySubscription(createThirdPartySubscription());
+
+        assertThat(captureSaved().getNotificationType())
+            .as(NOTIFICATION_TYPE_MESSAGE)
+            .isEqualTo(OutboundNotificationType.THIRD_PARTY_SUBSCRIPTION);
+        verifyNoInteractions(reactivePublicationService);
+    }
+
+    @Test
+    void testDispatchSubscriptionSummary() {
+        BulkSubscriptionsSummary summary = createSubscriptionsSummary();
+        enabledService.postSubscriptionSummaries(summary);
+
+        when(reactivePublicationService.postSubscriptionSummaries(summary)).thenReturn(Mono.just(true));
+
+        assertThat(enabledService.dispatch(captureSaved()).block())
+            .as(SENT_MESSAGE)
+            .isTrue();
+        verify(reactivePublicationService).postSubscriptionSummaries(summary);
+    }
+
+    @Test
+    void testDispatchThirdPartySubscription() {
+        ThirdPartySubscription thirdPartySubscription = createThirdPartySubscription();
+        enabledService.sendThirdPartySubscription(thirdPartySubscription);
+
+        when(reactivePublicationService.sendThirdPartySubscription(any(), eq(false))).thenReturn(Mono.just(true));
+
+        assertThat(enabledService.dispatch(captureSaved()).block())
+            .as(SENT_MESSAGE)
+            .isTrue();
+    }
+
+    @Test
+    void testDispatchMediaWelcomeEmail() {
+        enabledService.sendMediaNotificationEmail(EMAIL, FULL_NAME, false);
+
+        when(publicationService.sendMediaNotificationEmail(EMAIL, FULL_NAME, false)).thenReturn(true);
+
+        assertThat(enabledService.dispatch(captureSaved()).block())
+            .as(SENT_MESSAGE)
+            .isTrue();
+    }
+
+    @Test
+    void testDispatchMediaRejectionEmail() {
+        MediaApplication mediaApplication = new MediaApplication();
+        mediaApplication.setId(UUID.randomUUID());
+        mediaApplication.setFullName(FULL_NAME);
+        mediaApplication.setEmail(EMAIL);
+        Map<String, List<String>> reasons = Map.of("Reason A", List.of("Text A"));
+        enabledService.sendMediaAccountRejectionEmail(mediaApplication, reasons);
+
+        when(publicationService.sendMediaAccountRejectionEmail(any(), eq(reasons))).thenReturn(false);
+
+        assertThat(enabledService.dispatch(captureSaved()).block())
+            .as("Notification should not be sent")
+            .isFalse();
+    }
+
+    @Test
+    void testDispatchWithUnreadablePayload() {
+        OutboundNotification notification = new OutboundNotification(OutboundNotificationType.SUBSCRIPTION_SUMMARY,
+                                                                      "not json");
+
+        assertThat(enabledService.dispatch(notification).block())
+            .as("Unreadable notification should not be sent")
+            .isFalse();
+        verifyNoInteractions(reactivePublicationService);
+    }
+
+    @Test
+    void testClaimDueNotificationsMovesNextAttemptDate() {
+        OutboundNotification notification = new OutboundNotification(OutboundNotificationType.SUBSCRIPTION_SUMMARY,
+                                                                      "{}");
+        when(outboundNotificationRepository.findDueForDispatch(any(), anyInt())).thenReturn(List.of(notification));
+        when(outboundNotificationRepository.saveAll(List.of(notification))).thenReturn(List.of(notification));
+
+        List<OutboundNotification> claimed = enabledService.claimDueNotifications(10, Duration.ofMinutes(5));
+
+        assertThat(claimed)
+            .as("Claimed notifications do not match")
+            .containsExactly(notification);
+        assertThat(notification.getNextAttemptDate())
+            .as("Next attempt date should be moved forward by the claim timeout")
+            .isAfter(LocalDateTime.now().plusMinutes(4));
+    }
+
+    @Test
+    void testRecordDispatchResults() {
+        UUID sentId = UUID.randomUUID();
+        OutboundNotification failed = new OutboundNotification(OutboundNotificationType.SUBSCRIPTION_SUMMARY, "{}");
+
+        enabledService.recordDispatchResults(List.of(sentId), List.of(failed));
+
+        verify(outboundNotificationRepository).deleteAllByIdInBatch(List.of(sentId));
+        verify(outboundNotificationRepository).saveAll(List.of(failed));
+    }
+
+    @Test
+    void testReplayAllDeadLetters() {
+        OutboundNotification notification = new OutboundNotification(OutboundNotificationType.SUBSCRIPTION_SUMMARY,
+                                                                      "{}");
+        notification.setStatus(OutboundNotificationStatus.DEAD_LETTER);
+        notification.setAttempts(8);
+        when(outboundNotificationRepository.findAllByStatus(OutboundNotificationStatus.DEAD_LETTER))
+            .thenReturn(List.of(notification));
+
+        assertThat(enabledService.replayDeadLetters(null))
+            .as("Replayed count does not match")
+            .isEqualTo(1);
+        assertThat(notification.getStatus())
+            .as("Replayed notification should be pending")
+            .isEqualTo(OutboundNotificationStatus.PENDING);
+        assertThat(notification.getAttempts())
+            .as("Replayed notification attempts should be reset")
+            .isZero();
+        verify(outboundNotificationRepository).saveAll(List.of(notification));
+    }
+
+    @Test
+    void testReplaySelectedDeadLetters() {
+        List<UUID> ids = List.of(UUID.randomUUID());
+        when(outboundNotificationRepository.findAllByStatusAndIdIn(OutboundNotificationStatus.DEAD_LETTER, ids))
+            .thenReturn(Collections.emptyList());
+
+        assertThat(enabledService.replayDeadLetters(ids))
+            .as("Replayed count does not match")
+            .isZero();
+        verify(outboundNotificationRepository, never()).findAllByStatus(any());
+    }
+}
@@ -0,0 +1,374 @@
+package uk.gov.hmcts.reform.pip.account.management.service.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.pip.account.management.config.OutboundResilienceProperties;
+import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.OutboundCallException;
+import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.OutboundCallRejectedException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class OutboundResilienceTest {
+    private static final String ENDPOINT = "/test";
+    private static final String RESPONSE_BODY = "response";
+    private static final Duration TIMEOUT = Duration.ofMillis(200);
+    private static final String REQUEST_COUNT_MESSAGE = "Number of requests does not match";
+
+    private final MockWebServer mockServer = new MockWebServer();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private WebClient webClient;
+
+    @BeforeEach
+    void setup() throws IOException {
+        mockServer.start();
+        webClient = WebClient.builder()
+            .baseUrl(mockServer.url("/").toString())
+            .build();
+    }
+
+    @AfterEach
+    void teardown() throws IOException {
+        mockServer.shutdown();
+    }
+
+    private static OutboundResilienceProperties createProperties() {
+        OutboundResilienceProperties properties = new OutboundResilienceProperties();
+        properties.setEnabled(true);
+
+        OutboundResilienceProperties.Downstream downstream = properties.getPublicationServices();
+        downstream.getBulkhead().setMaxConcurrentCalls(1);
+        downstream.getBulkhead().setMaxWait(Duration.ZERO);
+        downstream.getRetry().setMaxAttempts(3);
+        downstream.getRetry().setInitialBackoff(Duration.ofMillis(10));
+        downstream.getRetry().setMaxBackoff(Duration.ofMillis(20));
+        downstream.getCircuitBreaker().setSlidingWindowSize(4);
+        downstream.getCircuitBreaker().setMinimumCalls(4);
+        downstream.getCircuitBreaker().setFailureRateThreshold(50);
+        downstream.getCircuitBreaker().setOpenDuration(Duration.ofMillis(300));
+        return properties;
+    }
+
+    private String get(OutboundResilience outboundResilience, boolean idempotent) {
+        return outboundResilience.execute(
+            OutboundResilience.PUBLICATION_SERVICES, ENDPOINT, idempotent, OutboundResilienceTest::isServiceFailure,
+            () -> webClient.get().uri(ENDPOINT).retrieve()
+                .bodyToMono(String.class)
+                .timeout(TIMEOUT, Mono.error(() -> new OutboundCallException("Timed out")))
+                .block()
+        );
+    }
+
+    private Mono<String> getReactive(OutboundResilience outboundResilience, boolean idempotent) {
+        return outboundResilience.executeReactive(
+            OutboundResilience.PUBLICATION_SERVICES, ENDPOINT, idempotent, OutboundResilienceTest::isServiceFailure,
+            () -> webClient.get().uri(ENDPOINT).retrieve().bodyToMono(String.class)
+        );
+    }
+
+    private static boolean isServiceFailure(Throwable ex) {
+        return ex instanceof WebClientResponseException responseException
+            ? responseException.getStatusCode().is5xxServerError()
+            : ex instanceof OutboundCallException;
+    }
+
+    private double circuitBreakerState() {
+        return meterRegistry.get(OutboundResilience.CIRCUIT_BREAKER_STATE)
+            .tag("endpoint", ENDPOINT)
+            .gauge()
+            .value();
+    }
+
+    private double rejectedCalls(String reason) {
+        return meterRegistry.get(OutboundResilience.REJECTED_CALLS)
+            .tag("reason", reason)
+            .counter()
+            .count();
+    }
+
+    private double retries(String outcome) {
+        return meterRegistry.get(OutboundResilience.RETRIES)
+            .tag("outcome", outcome)
+            .counter()
+            .count();
+    }
+
+    @Test
+    void testIdempotentCallIsRetriedAfterServerError() {
+        OutboundResilience outboundResilience = new OutboundResilience(createProperties(), meterRegistry);
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+        mockServer.enqueue(new MockResponse().setResponseCode(502));
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY));
+
+        assertThat(get(outboundResilience, true))
+            .as("Response should be returned once the call succeeds")
+            .isEqualTo(RESPONSE_BODY);
+        assertThat(mockServer.getRequestCount())
+            .as(REQUEST_COUNT_MESSAGE)
+            .isEqualTo(3);
+        assertThat(retries("attempted"))
+            .as("Retries should be counted")
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testNonIdempotentCallIsNotRetried() {
+        OutboundResilience outboundResilience = new OutboundResilience(createProperties(), meterRegistry);
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThatThrownBy(() -> get(outboundResilience, false))
+            .as("Server error should be thrown")
+            .isInstanceOf(WebClientResponseException.class);
+        assertThat(mockServer.getRequestCount())
+            .as(REQUEST_COUNT_MESSAGE)
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testClientErrorIsNotRetried() {
+        OutboundResilience outboundResilience = new OutboundResilience(createProperties(), meterRegistry);
+        mockServer.enqueue(new MockResponse().setResponseCode(400));
+
+        assertThatThrownBy(() -> get(outboundResilience, true))
+            .as("Client error should be thrown")
+            .isInstanceOf(WebClientResponseException.BadRequest.class);
+        assertThat(mockServer.getRequestCount())
+            .as(REQUEST_COUNT_MESSAGE)
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testRetriesAreLimitedByBudget() {
+        OutboundResilienceProperties properties = createProperties();
+        properties.getPublicationServices().getRetry().setBudgetBurst(1);
+        properties.getPublicationServices().getRetry().setBudgetRatio(0);
+        OutboundResilience outboundResilience = new OutboundResilience(properties, meterRegistry);
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY));
+
+        assertThatThrownBy(() -> get(outboundResilience, true))
+            .as("Server error should be thrown once the retry budget is used")
+            .isInstanceOf(WebClientResponseException.class);
+        assertThat(mockServer.getRequestCount())
+            .as(REQUEST_COUNT_MESSAGE)
+            .isEqualTo(2);
+        assertThat(retries("budget_exhausted"))
+            .as("Retries denied by the budget should be counted")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testCircuitBreakerOpensAndFailsFast() {
+        OutboundResilience outboundResilience = new OutboundResilience(createProperties(), meterRegistry);
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY));
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY));
+        mockServer.enqueue(new MockResponse().setResponseCode(500));
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY).setHeadersDelay(1, TimeUnit.SECONDS));
+
+        get(outboundResilience, false);
+        get(outboundResilience, false);
+        assertThatThrownBy(() -> get(outboundResilience, false))
+            .isInstanceOf(WebClientResponseException.class);
+        assertThatThrownBy(() -> get(outboundResilience, false))
+            .as("Slow response should time out")
+            .isInstanceOf(OutboundCallException.class)
+            .isNotInstanceOf(OutboundCallRejectedException.class);
+
+        assertThat(circuitBreakerState())
+            .as("Circuit breaker should be open once half of the calls have failed")
+            .isEqualTo(CircuitBreaker.State.OPEN.ordinal());
+
+        assertThatThrownBy(() -> get(outboundResilience, false))
+            .as("Call should be rejected while the circuit breaker is open")
+            .isInstanceOf(OutboundCallRejectedException.class);
+        assertThat(mockServer.getRequestCount())
+            .as("Rejected call should not be sent")
+            .isEqualTo(4);
+        assertThat(rejectedCalls("circuit_open"))
+            .as("Rejected call should be counted")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testCircuitBreakerClosesAfterSuccessfulTrialCall() {
+        OutboundResilience outboundResilience = new OutboundResilience(createProperties(), meterRegistry);
+        for (int i = 0; i < 4; i++) {
+            mockServer.enqueue(new MockResponse().setResponseCode(500));
+            assertThatThrownBy(() -> get(outboundResilience, false))
+                .isInstanceOf(WebClientResponseException.class);
+        }
+        assertThat(circuitBreakerState())
+            .as("Circuit breaker should be open")
+            .isEqualTo(CircuitBreaker.State.OPEN.ordinal());
+
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY));
+        await().atMost(Duration.ofSeconds(2))
+            .pollInterval(Duration.ofMillis(50))
+            .ignoreException(OutboundCallRejectedException.class)
+            .until(() -> RESPONSE_BODY.equals(get(outboundResilience, false)));
+
+        assertThat(circuitBreakerState())
+            .as("Circuit breaker should be closed after the trial call succeeds")
+            .isEqualTo(CircuitBreaker.State.CLOSED.ordinal());
+    }
+
+    @Test
+    void testBulkheadRejectsCallsOverLimit() {
+        OutboundResilience outboundResilience = new OutboundResilience(createProperties(), meterRegistry);
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY).setHeadersDelay(100, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<String> slowCall = CompletableFuture.supplyAsync(() -> get(outboundResilience, false));
+        await().atMost(Duration.ofSeconds(1))
+            .until(() -> mockServer.getRequestCount() == 1);
+
+        assertThatThrownBy(() -> get(outboundResilience, false))
+            .as("Call should be rejected while the bulkhead is full")
+            .isInstanceOf(OutboundCallRejectedException.class);
+        assertThat(slowCall.join())
+            .as("Call in flight should complete")
+            .isEqualTo(RESPONSE_BODY);
+        assertThat(rejectedCalls("bulkhead_full"))
+            .as("Rejected call should be counted")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testCallIsMadeDirectlyWhenDisabled() {
+        OutboundResilienceProperties properties = createProperties();
+        properties.setEnabled(false);
+        OutboundResilience outboundResilience = new OutboundResilience(properties, meterRegistry);
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThatThrownBy(() -> get(outboundResilience, true))
+            .isInstanceOf(WebClientResponseException.class);
+        assertThat(mockServer.getRequestCount())
+            .as("Call should not be retried when disabled")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testReactiveIdempotentCallIsRetriedAfterServerError() {
+        OutboundResilience outboundResilience = new OutboundResilience(createProperties(), meterRegistry);
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY));
+
+        assertThat(getReactive(outboundResilience, true).block())
+            .as("Response should be returned once the call succeeds")
+            .isEqualTo(RESPONSE_BODY);
+        assertThat(mockServer.getRequestCount())
+            .as(REQUEST_COUNT_MESSAGE)
+            .isEqualTo(2);
+        assertThat(retries("attempted"))
+            .as("Retries should be counted")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testReactiveNonIdempotentCallIsNotRetried() {
+        OutboundResilience outboundResilience = new OutboundResilience(createProperties(), meterRegistry);
+        mockServer.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThatThrownBy(() -> getReactive(outboundResilience, false).block())
+            .as("Server error should be signalled")
+            .isInstanceOf(WebClientResponseException.class);
+        assertThat(mockServer.getRequestCount())
+            .as(REQUEST_COUNT_MESSAGE)
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testReactiveCallRejectedWhileCircuitBreakerIsOpen() {
+        OutboundResilience outboundResilience = new OutboundResilience(createProperties(), meterRegistry);
+        for (int i = 0; i < 4; i++) {
+            mockServer.enqueue(new MockResponse().setResponseCode(500));
+            assertThatThrownBy(() -> getReactive(outboundResilience, false).block())
+                .isInstanceOf(WebClientResponseException.class);
+        }
+
+        assertThatThrownBy(() -> getReactive(outboundResilience, false).block())
+            .as("Call should be rejected while the circuit breaker is open")
+            .isInstanceOf(OutboundCallRejectedException.class);
+        assertThat(mockServer.getRequestCount())
+            .as("Rejected call should not be sent")
+            .isEqualTo(4);
+    }
+
+    @Test
+    void testReactiveBulkheadPermitIsReleasedOnCancel() {
+        OutboundResilience outboundResilience = new OutboundResilience(createProperties(), meterRegistry);
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY).setHeadersDelay(1, TimeUnit.SECONDS));
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY));
+
+        Disposable slowCall = getReactive(outboundResilience, false).subscribe();
+        await().atMost(Duration.ofSeconds(1))
+            .until(() -> mockServer.getRequestCount() == 1);
+
+        assertThatThrownBy(() -> getReactive(outboundResilience, false).block())
+            .as("Call should be rejected straight away while the bulkhead is full")
+            .isInstanceOf(OutboundCallRejectedException.class);
+
+        slowCall.dispose();
+        assertThat(getReactive(outboundResilience, false).block())
+            .as("Bulkhead permit should be given back once the call in flight is cancelled")
+            .isEqualTo(RESPONSE_BODY);
+    }
+
+    @Test
+    void testReactiveCallWaitsForBulkheadPermit() {
+        OutboundResilienceProperties properties = createProperties();
+        properties.getPublicationServices().getBulkhead().setMaxWait(Duration.ofSeconds(5));
+        OutboundResilience outboundResilience = new OutboundResilience(properties, meterRegistry);
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY).setHeadersDelay(100, TimeUnit.MILLISECONDS));
+        mockServer.enqueue(new MockResponse().setBody(RESPONSE_BODY));
+
+        CompletableFuture<String> slowCall = getReactive(outboundResilience, false).toFuture();
+        await().atMost(Duration.ofSeconds(1))
+            .until(() -> mockServer.getRequestCount() == 1);
+
+        assertThat(getReactive(outboundResilience, false).block())
+            .as("Call should be made once the call in flight gives back its permit")
+            .isEqualTo(RESPONSE_BODY);
+        assertThat(slowCall.join())
+            .as("Call in flight should complete")
+            .isEqualTo(RESPONSE_BODY);
+        assertThat(meterRegistry.find(OutboundResilience.REJECTED_CALLS).counter())
+            .as("No call should be rejected")
+            .isNull();
+    }
+
+    @Test
+    void testMaxConcurrentCallsIsBulkheadSize() {
+        OutboundResilience outboundResilience = new OutboundResilience(createProperties(), meterRegistry);
+
+        assertThat(outboundResilience.getMaxConcurrentCalls(OutboundResilience.PUBLICATION_SERVICES))
+            .as("Max concurrent calls should be the size of the bulkhead")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testMaxConcurrentCallsIsUnlimitedWhenDisabled() {
+        OutboundResilienceProperties properties = createProperties();
+        properties.setEnabled(false);
+        OutboundResilience outboundResilience = new OutboundResilience(properties, meterRegistry);
+
+        assertThat(outboundResilience.getMaxConcurrentCalls(OutboundResilience.PUBLICATION_SERVICES))
+            .as("Max concurrent calls should not be limited when disabled")
+            .isEqualTo(Integer.MAX_VALUE);
+    }
+}
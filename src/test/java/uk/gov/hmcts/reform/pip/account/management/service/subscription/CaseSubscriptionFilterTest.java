@@ -0,0 +1,271 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotifications;
+import uk.gov.hmcts.reform.pip.model.subscription.Channel;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.pip.account.management.helpers.SubscriptionUtils.createMockSubscription;
+
+@ExtendWith(MockitoExtension.class)
+class CaseSubscriptionFilterTest {
+    private static final String CASE_NUMBER = "123";
+    private static final String CASE_URN = "URN123";
+    private static final String UNKNOWN_CASE = "unknown";
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+    private static final String FILTER_MESSAGE = "Case subscription filter result does not match";
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private ClusterNotifications clusterNotifications;
+
+    private MeterRegistry meterRegistry;
+    private CaseSubscriptionFilter caseSubscriptionFilter;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        caseSubscriptionFilter = new CaseSubscriptionFilter(subscriptionRepository, clusterNotifications,
+                                                            meterRegistry, true, FALSE_POSITIVE_PROBABILITY);
+        lenient().when(clusterNotifications.isListening()).thenReturn(true);
+    }
+
+    private Subscription createCaseSubscription(SearchType searchType, String searchValue) {
+        Subscription subscription = createMockSubscription(UUID.randomUUID(), searchValue, Channel.EMAIL,
+                                                           LocalDateTime.now());
+        subscription.setSearchType(searchType);
+        return subscription;
+    }
+
+    @Test
+    void testFilterPassesAllValuesUntilBuilt() {
+        assertThat(caseSubscriptionFilter.mightContain(UNKNOWN_CASE))
+            .as(FILTER_MESSAGE)
+            .isTrue();
+    }
+
+    @Test
+    void testDisabledFilterIsNeverBuilt() {
+        CaseSubscriptionFilter disabledFilter = new CaseSubscriptionFilter(subscriptionRepository,
+                                                                           clusterNotifications,
+                                                                           new SimpleMeterRegistry(), false,
+                                                                           FALSE_POSITIVE_PROBABILITY);
+        disabledFilter.handleMissedNotifications();
+        disabledFilter.scheduledRebuild();
+        disabledFilter.addSubscription(createCaseSubscription(SearchType.CASE_ID, CASE_NUMBER));
+
+        assertThat(disabledFilter.mightContain(UNKNOWN_CASE))
+            .as(FILTER_MESSAGE)
+            .isTrue();
+        verifyNoInteractions(subscriptionRepository, clusterNotifications);
+    }
+
+    @Test
+    void testInvalidFalsePositiveProbability() {
+        assertThatThrownBy(() -> new CaseSubscriptionFilter(subscriptionRepository, clusterNotifications,
+                                                            meterRegistry, true, 1))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("false positive probability");
+    }
+
+    @Test
+    void testFilterContainsValuesFromDatabase() {
+        when(subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(any()))
+            .thenReturn(List.of(CASE_NUMBER, CASE_URN));
+
+        caseSubscriptionFilter.rebuild();
+
+        assertThat(caseSubscriptionFilter.mightContain(CASE_NUMBER))
+            .as(FILTER_MESSAGE)
+            .isTrue();
+        assertThat(caseSubscriptionFilter.mightContain(CASE_URN))
+            .as(FILTER_MESSAGE)
+            .isTrue();
+        assertThat(caseSubscriptionFilter.mightContain(UNKNOWN_CASE))
+            .as(FILTER_MESSAGE)
+            .isFalse();
+    }
+
+    @Test
+    void testAddCaseSubscription() {
+        when(subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(any())).thenReturn(List.of());
+        caseSubscriptionFilter.rebuild();
+
+        caseSubscriptionFilter.addSubscription(createCaseSubscription(SearchType.CASE_URN, CASE_URN));
+
+        assertThat(caseSubscriptionFilter.mightContain(CASE_URN))
+            .as(FILTER_MESSAGE)
+            .isTrue();
+        verify(clusterNotifications).publish(CaseSubscriptionFilter.NOTIFICATION_CHANNEL, CASE_URN);
+    }
+
+    @Test
+    void testAddCaseSubscriptionSentToOtherInstancesOnceCommitted() {
+        when(subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(any())).thenReturn(List.of());
+        caseSubscriptionFilter.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            caseSubscriptionFilter.addSubscription(createCaseSubscription(SearchType.CASE_ID, CASE_NUMBER));
+            verify(clusterNotifications, never()).publish(anyString(), anyString());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(clusterNotifications).publish(CaseSubscriptionFilter.NOTIFICATION_CHANNEL, CASE_NUMBER);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testCaseSubscriptionFromOtherInstanceIsAdded() {
+        when(subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(any())).thenReturn(List.of());
+        caseSubscriptionFilter.rebuild();
+
+        caseSubscriptionFilter.handleNotifications(List.of(CASE_URN));
+
+        assertThat(caseSubscriptionFilter.mightContain(CASE_URN))
+            .as(FILTER_MESSAGE)
+            .isTrue();
+        assertThat(caseSubscriptionFilter.mightContain(UNKNOWN_CASE))
+            .as(FILTER_MESSAGE)
+            .isFalse();
+    }
+
+    @Test
+    void testFilterPassesAllValuesWhileNotListening() {
+        when(subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(any())).thenReturn(List.of());
+        caseSubscriptionFilter.rebuild();
+        when(clusterNotifications.isListening()).thenReturn(false);
+
+        assertThat(caseSubscriptionFilter.mightContain(UNKNOWN_CASE))
+            .as("Filter should pass every value while values added by other instances are not being received")
+            .isTrue();
+    }
+
+    @Test
+    void testMissedNotificationsRebuildFilter() {
+        when(subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(any())).thenReturn(List.of(CASE_NUMBER));
+
+        caseSubscriptionFilter.handleMissedNotifications();
+
+        assertThat(caseSubscriptionFilter.mightContain(CASE_NUMBER))
+            .as(FILTER_MESSAGE)
+            .isTrue();
+    }
+
+    @Test
+    void testAddLocationSubscriptionIsIgnored() {
+        when(subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(any())).thenReturn(List.of());
+        caseSubscriptionFilter.rebuild();
+
+        caseSubscriptionFilter.addSubscription(createCaseSubscription(SearchType.LOCATION_ID, CASE_NUMBER));
+
+        assertThat(caseSubscriptionFilter.mightContain(CASE_NUMBER))
+            .as(FILTER_MESSAGE)
+            .isFalse();
+    }
+
+    @Test
+    void testRebuildDropsDeletedValues() {
+        when(subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(any()))
+            .thenReturn(List.of(CASE_NUMBER))
+            .thenReturn(List.of());
+
+        caseSubscriptionFilter.rebuild();
+        caseSubscriptionFilter.rebuild();
+
+        assertThat(caseSubscriptionFilter.mightContain(CASE_NUMBER))
+            .as(FILTER_MESSAGE)
+            .isFalse();
+    }
+
+    @Test
+    void testRebuildKeepsValuesAddedDuringRebuild() {
+        when(subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(any())).thenAnswer(invocation -> {
+            caseSubscriptionFilter.addSubscription(createCaseSubscription(SearchType.CASE_ID, CASE_NUMBER));
+            return List.of();
+        });
+
+        caseSubscriptionFilter.rebuild();
+
+        assertThat(caseSubscriptionFilter.mightContain(CASE_NUMBER))
+            .as(FILTER_MESSAGE)
+            .isTrue();
+    }
+
+    @Test
+    void testFalsePositiveRateIsWithinConfiguredProbability() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            values.add("CASE" + i);
+        }
+        when(subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(any())).thenReturn(values);
+        caseSubscriptionFilter.rebuild();
+
+        assertThat(values)
+            .as(FILTER_MESSAGE)
+            .allMatch(caseSubscriptionFilter::mightContain);
+
+        int falsePositives = 0;
+        int lookups = 100_000;
+        for (int i = 0; i < lookups; i++) {
+            if (caseSubscriptionFilter.mightContain("OTHER" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat((double) falsePositives / lookups)
+            .as("False positive rate should be close to the configured probability")
+            .isLessThan(FALSE_POSITIVE_PROBABILITY * 2);
+    }
+
+    @Test
+    void testMetricsAreRecorded() {
+        when(subscriptionRepository.findDistinctSearchValuesBySearchTypeIn(any())).thenReturn(List.of(CASE_NUMBER));
+        caseSubscriptionFilter.rebuild();
+
+        caseSubscriptionFilter.mightContain(CASE_NUMBER);
+        caseSubscriptionFilter.mightContain(UNKNOWN_CASE);
+
+        assertThat(meterRegistry.get("subscription.case.filter.lookups").tag("result", "hit").counter().count())
+            .as("Hit count does not match")
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("subscription.case.filter.lookups").tag("result", "miss").counter().count())
+            .as("Miss count does not match")
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("subscription.case.filter.hit.ratio").gauge().value())
+            .as("Hit ratio does not match")
+            .isEqualTo(0.5);
+        assertThat(meterRegistry.get("subscription.case.filter.size").gauge().value())
+            .as("Filter size does not match")
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("subscription.case.filter.rebuild").timer().count())
+            .as("Rebuild count does not match")
+            .isEqualTo(1);
+    }
+}
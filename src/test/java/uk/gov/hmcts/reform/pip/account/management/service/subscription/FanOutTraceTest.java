@@ -0,0 +1,113 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.altindag.log.LogCaptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.pip.model.publication.Artefact;
+import uk.gov.hmcts.reform.pip.model.publication.ListType;
+import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FanOutTraceTest {
+    private static final UUID ARTEFACT_ID = UUID.randomUUID();
+    private static final String STAGE_TAG = "stage";
+
+    private SimpleMeterRegistry meterRegistry;
+    private FanOutTrace trace;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        Artefact artefact = new Artefact();
+        artefact.setArtefactId(ARTEFACT_ID);
+        artefact.setListType(ListType.CIVIL_DAILY_CAUSE_LIST);
+        artefact.setSensitivity(Sensitivity.PUBLIC);
+        trace = new FanOutMetrics(meterRegistry).start(artefact);
+    }
+
+    @Test
+    void testRecordTimesStageAndRecordsSize() {
+        List<String> result = trace.record(FanOutStage.LOCATION_QUERY, () -> List.of("a", "b"), List::size);
+
+        assertThat(result)
+            .as("Stage result should be returned")
+            .containsExactly("a", "b");
+        assertThat(meterRegistry.get(FanOutMetrics.STAGE_DURATION)
+                       .tag(STAGE_TAG, FanOutStage.LOCATION_QUERY.stageName)
+                       .tag("listType", ListType.CIVIL_DAILY_CAUSE_LIST.name())
+                       .tag("sensitivity", Sensitivity.PUBLIC.name())
+                       .timer().count())
+            .as("Stage timer count does not match")
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(FanOutMetrics.STAGE_SIZE)
+                       .tag(STAGE_TAG, FanOutStage.LOCATION_QUERY.stageName)
+                       .summary().totalAmount())
+            .as("Stage size does not match")
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testRecordDurationRecordsStageTimedByCaller() {
+        trace.recordDuration(FanOutStage.LOCATION_QUERY, Duration.ofMillis(25), 4);
+
+        assertThat(meterRegistry.get(FanOutMetrics.STAGE_DURATION)
+                       .tag(STAGE_TAG, FanOutStage.LOCATION_QUERY.stageName)
+                       .timer().totalTime(TimeUnit.MILLISECONDS))
+            .as("Stage duration does not match")
+            .isEqualTo(25);
+        assertThat(meterRegistry.get(FanOutMetrics.STAGE_SIZE)
+                       .tag(STAGE_TAG, FanOutStage.LOCATION_QUERY.stageName)
+                       .summary().totalAmount())
+            .as("Stage size does not match")
+            .isEqualTo(4);
+    }
+
+    @Test
+    void testRecordAsyncTimesStageOnceTerminated() {
+        Mono<Boolean> dispatch = trace.recordAsync(FanOutStage.DISPATCH, Mono.just(true), 3);
+
+        assertThat(meterRegistry.find(FanOutMetrics.STAGE_DURATION).timers())
+            .as("Stage should not be timed before it is subscribed to")
+            .isEmpty();
+
+        dispatch.block();
+
+        assertThat(meterRegistry.get(FanOutMetrics.STAGE_SIZE)
+                       .tag(STAGE_TAG, FanOutStage.DISPATCH.stageName)
+                       .summary().totalAmount())
+            .as("Stage size does not match")
+            .isEqualTo(3);
+    }
+
+    @Test
+    void testCompleteLogsSummaryOnce() {
+        trace.record(FanOutStage.CASE_QUERY, () -> List.of("a"), List::size);
+
+        try (LogCaptor logCaptor = LogCaptor.forClass(FanOutTrace.class)) {
+            trace.complete();
+            trace.complete();
+
+            assertThat(logCaptor.getInfoLogs())
+                .as("Fan-out summary should be logged once")
+                .singleElement()
+                .satisfies(log -> assertThat(log).contains(
+                    "artefactId=" + ARTEFACT_ID,
+                    "listType=" + ListType.CIVIL_DAILY_CAUSE_LIST.name(),
+                    "sensitivity=" + Sensitivity.PUBLIC.name(),
+                    "case-query.size=1"
+                ));
+        }
+        assertThat(meterRegistry.get(FanOutMetrics.TOTAL_DURATION).timer().count())
+            .as("Total fan-out timer count does not match")
+            .isEqualTo(1);
+    }
+}
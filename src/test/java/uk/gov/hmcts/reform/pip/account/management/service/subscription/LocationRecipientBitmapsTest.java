@@ -0,0 +1,164 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.roaringbitmap.RoaringBitmap;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionListType;
+import uk.gov.hmcts.reform.pip.model.subscription.Channel;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.gov.hmcts.reform.pip.account.management.helpers.SubscriptionUtils.createMockSubscription;
+import static uk.gov.hmcts.reform.pip.model.publication.ListType.CIVIL_DAILY_CAUSE_LIST;
+import static uk.gov.hmcts.reform.pip.model.publication.ListType.FAMILY_DAILY_CAUSE_LIST;
+
+class LocationRecipientBitmapsTest {
+    private static final UUID CIVIL_USER_ID = UUID.randomUUID();
+    private static final UUID ALL_LIST_TYPES_USER_ID = UUID.randomUUID();
+    private static final UUID OTHER_LOCATION_USER_ID = UUID.randomUUID();
+    private static final String LOCATION_ID = "1";
+    private static final String OTHER_LOCATION_ID = "2";
+    private static final String ENGLISH = "ENGLISH";
+    private static final String WELSH = "WELSH";
+    private static final String RECIPIENTS_MESSAGE = "Recipients do not match";
+
+    private LocationRecipientBitmaps bitmaps;
+    private Subscription civilSubscription;
+
+    @BeforeEach
+    void setup() {
+        LocalDateTime createdDate = LocalDateTime.now();
+        Subscription caseSubscription = createMockSubscription(CIVIL_USER_ID, "123", Channel.EMAIL, createdDate);
+        caseSubscription.setSearchType(SearchType.CASE_ID);
+        civilSubscription = createMockSubscription(CIVIL_USER_ID, LOCATION_ID, Channel.EMAIL, createdDate);
+
+        bitmaps = LocationRecipientBitmaps.build(
+            List.of(
+                civilSubscription,
+                createMockSubscription(ALL_LIST_TYPES_USER_ID, LOCATION_ID, Channel.EMAIL, createdDate),
+                createMockSubscription(OTHER_LOCATION_USER_ID, OTHER_LOCATION_ID, Channel.EMAIL, createdDate),
+                caseSubscription
+            ),
+            List.of(
+                new SubscriptionListType(CIVIL_USER_ID, List.of(CIVIL_DAILY_CAUSE_LIST.name()), List.of(ENGLISH)),
+                new SubscriptionListType(ALL_LIST_TYPES_USER_ID, List.of(), List.of(ENGLISH, WELSH)),
+                new SubscriptionListType(OTHER_LOCATION_USER_ID, List.of(), List.of(ENGLISH))
+            )
+        );
+    }
+
+    private List<UUID> recipients(String locationId, String listType, String language) {
+        return bitmaps.findSubscriptions(locationId, listType, language).stream()
+            .map(Subscription::getUserId)
+            .toList();
+    }
+
+    @Test
+    void testUsersAreMappedToOrdinals() {
+        assertThat(bitmaps.userCount())
+            .as("Each user should be given a single ordinal")
+            .isEqualTo(3);
+    }
+
+    @Test
+    void testFindRecipientsForListTypeAndLanguage() {
+        assertThat(recipients(LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(RECIPIENTS_MESSAGE)
+            .containsExactlyInAnyOrder(CIVIL_USER_ID, ALL_LIST_TYPES_USER_ID);
+    }
+
+    @Test
+    void testEmptyListTypesMatchAllListTypes() {
+        assertThat(recipients(LOCATION_ID, FAMILY_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(RECIPIENTS_MESSAGE)
+            .containsExactly(ALL_LIST_TYPES_USER_ID);
+    }
+
+    @Test
+    void testFindRecipientsForLanguage() {
+        assertThat(recipients(LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), WELSH))
+            .as(RECIPIENTS_MESSAGE)
+            .containsExactly(ALL_LIST_TYPES_USER_ID);
+    }
+
+    @Test
+    void testFindRecipientsForUnknownLocation() {
+        assertThat(bitmaps.findRecipients("unknown", CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH).isEmpty())
+            .as(RECIPIENTS_MESSAGE)
+            .isTrue();
+    }
+
+    @Test
+    void testReplacingListTypesClearsPreviousListTypes() {
+        RoaringBitmap before = bitmaps.findRecipients(LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH);
+
+        bitmaps.setListTypes(new SubscriptionListType(CIVIL_USER_ID, List.of(FAMILY_DAILY_CAUSE_LIST.name()),
+                                                      List.of(WELSH)));
+
+        assertThat(recipients(LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(RECIPIENTS_MESSAGE)
+            .containsExactly(ALL_LIST_TYPES_USER_ID);
+        assertThat(recipients(LOCATION_ID, FAMILY_DAILY_CAUSE_LIST.name(), WELSH))
+            .as(RECIPIENTS_MESSAGE)
+            .containsExactlyInAnyOrder(CIVIL_USER_ID, ALL_LIST_TYPES_USER_ID);
+        assertThat(before.getCardinality())
+            .as("Previously returned bitmaps should not be modified")
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testFindSubscriptionsReturnsEachSubscriptionOfRecipients() {
+        Subscription otherCivilSubscription = createMockSubscription(CIVIL_USER_ID, LOCATION_ID, Channel.API_COURTEL,
+                                                                     LocalDateTime.now());
+        bitmaps.addLocationSubscription(otherCivilSubscription);
+
+        assertThat(bitmaps.findSubscriptions(LOCATION_ID, FAMILY_DAILY_CAUSE_LIST.name(), WELSH))
+            .as(RECIPIENTS_MESSAGE)
+            .extracting(Subscription::getUserId)
+            .containsExactly(ALL_LIST_TYPES_USER_ID);
+        assertThat(bitmaps.findSubscriptions(LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(RECIPIENTS_MESSAGE)
+            .filteredOn(subscription -> CIVIL_USER_ID.equals(subscription.getUserId()))
+            .containsExactlyInAnyOrder(civilSubscription, otherCivilSubscription);
+    }
+
+    @Test
+    void testRemoveLocationSubscription() {
+        Subscription otherCivilSubscription = createMockSubscription(CIVIL_USER_ID, LOCATION_ID, Channel.API_COURTEL,
+                                                                     LocalDateTime.now());
+        bitmaps.addLocationSubscription(otherCivilSubscription);
+
+        bitmaps.removeLocationSubscription(civilSubscription);
+        assertThat(recipients(LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as("User with another subscription to the location should still be a recipient")
+            .containsExactlyInAnyOrder(CIVIL_USER_ID, ALL_LIST_TYPES_USER_ID);
+
+        bitmaps.removeLocationSubscription(otherCivilSubscription);
+        assertThat(recipients(LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(RECIPIENTS_MESSAGE)
+            .containsExactly(ALL_LIST_TYPES_USER_ID);
+        assertThat(bitmaps.findRecipients(LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH).getCardinality())
+            .as("User should be removed from the location bitmap")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testRemoveUser() {
+        bitmaps.removeUser(ALL_LIST_TYPES_USER_ID);
+
+        assertThat(recipients(LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(RECIPIENTS_MESSAGE)
+            .containsExactly(CIVIL_USER_ID);
+
+        bitmaps.addLocationSubscription(createMockSubscription(ALL_LIST_TYPES_USER_ID, LOCATION_ID, Channel.EMAIL,
+                                                               LocalDateTime.now()));
+        assertThat(recipients(LOCATION_ID, FAMILY_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as("User without list types should not be a recipient")
+            .isEmpty();
+    }
+}
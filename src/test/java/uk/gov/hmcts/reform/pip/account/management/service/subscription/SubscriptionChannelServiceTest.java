@@ -7,8 +7,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.pip.account.management.config.ThirdPartyApiConfigurationProperties;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
 import uk.gov.hmcts.reform.pip.account.management.service.account.AccountService;
+import uk.gov.hmcts.reform.pip.model.account.Roles;
+import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 import uk.gov.hmcts.reform.pip.model.subscription.Channel;
 
 import java.util.Collections;
@@ -21,6 +24,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -102,6 +106,51 @@ class SubscriptionChannelServiceTest {
             .contains("No email channel found for any of the users provided");
     }
 
+    @Test
+    void testBuildEmailSubscriptionsWithLoadedUsers() {
+        SUB1.setUserId(UUID.fromString(USER1));
+        SUB2.setUserId(UUID.fromString(USER2));
+
+        Map<UUID, PiUserSummary> users = Map.of(
+            UUID.fromString(USER1), new PiUserSummary(UUID.fromString(USER1), TEST_EMAIL_1, Roles.VERIFIED,
+                                                      UserProvenances.PI_AAD),
+            UUID.fromString(USER2), new PiUserSummary(UUID.fromString(USER2), TEST_EMAIL_2, Roles.VERIFIED,
+                                                      UserProvenances.PI_AAD)
+        );
+
+        Map<String, List<Subscription>> expectedMap = Map.of(
+            TEST_EMAIL_1, List.of(SUB1),
+            TEST_EMAIL_2, List.of(SUB2)
+        );
+
+        assertThat(subscriptionChannelService.buildEmailSubscriptions(List.of(SUB1, SUB2), users))
+            .as(EMAIL_SUBSCRIPTIONS_MESSAGE)
+            .isEqualTo(expectedMap);
+
+        verifyNoInteractions(accountService);
+    }
+
+    @Test
+    void testBuildEmailSubscriptionsWithLoadedUsersSkipsUsersWithoutEmail() {
+        SUB1.setUserId(UUID.fromString(USER1));
+        SUB2.setUserId(UUID.fromString(USER2));
+
+        Map<UUID, PiUserSummary> users = Map.of(
+            UUID.fromString(USER1), new PiUserSummary(UUID.fromString(USER1), TEST_EMAIL_1, Roles.VERIFIED,
+                                                      UserProvenances.PI_AAD),
+            UUID.fromString(USER2), new PiUserSummary(UUID.fromString(USER2), null, Roles.VERIFIED,
+                                                      UserProvenances.PI_AAD)
+        );
+
+        assertThat(subscriptionChannelService.buildEmailSubscriptions(List.of(SUB1, SUB2), users))
+            .as(EMAIL_SUBSCRIPTIONS_MESSAGE)
+            .isEqualTo(Map.of(TEST_EMAIL_1, List.of(SUB1)));
+
+        assertThat(logCaptor.getErrorLogs())
+            .as(ERROR_LOG_MESSAGE)
+            .anyMatch(log -> log.contains("No email with user ID " + USER2));
+    }
+
     @Test
     void testDeduplicateSubscriptionsWithNoDuplication() {
         SUB1.setUserId(UUID.fromString(USER1));
@@ -0,0 +1,139 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.model.subscription.Channel;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.pip.account.management.helpers.SubscriptionUtils.createMockSubscription;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionChunkReaderTest {
+    private static final String LOCATION_ID = "1";
+    private static final String LIST_TYPE = "CIVIL_DAILY_CAUSE_LIST";
+    private static final String LIST_LANGUAGE = "ENGLISH";
+    private static final int CHUNK_SIZE = 2;
+
+    private static final UUID NO_USER = new UUID(0, 0);
+    private static final UUID FIRST_USER = UUID.randomUUID();
+    private static final UUID SECOND_USER = UUID.randomUUID();
+    private static final UUID THIRD_USER = UUID.randomUUID();
+    private static final UUID CASE_ONLY_USER = UUID.randomUUID();
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    private SubscriptionChunkReader subscriptionChunkReader;
+    private final List<List<Subscription>> chunks = new ArrayList<>();
+    private final List<Integer> sequences = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        subscriptionChunkReader = new SubscriptionChunkReader(subscriptionRepository, true, CHUNK_SIZE);
+    }
+
+    private Subscription createSubscription(UUID userId) {
+        return createMockSubscription(userId, LOCATION_ID, Channel.EMAIL, LocalDateTime.now());
+    }
+
+    private void returnPage(UUID afterUserId, List<Subscription> page) {
+        when(subscriptionRepository.findEmailSubscriptionPageByLocationSearchValue(LOCATION_ID, LIST_TYPE,
+                                                                                   LIST_LANGUAGE, afterUserId,
+                                                                                   CHUNK_SIZE))
+            .thenReturn(page);
+    }
+
+    private int readChunks(List<Subscription> additionalSubscriptions) {
+        return subscriptionChunkReader.readEmailSubscriptions(LOCATION_ID, LIST_TYPE, LIST_LANGUAGE,
+                                                              additionalSubscriptions, (chunk, sequence) -> {
+                chunks.add(chunk);
+                sequences.add(sequence);
+            });
+    }
+
+    @Test
+    void testChunksAreBoundedByRecipients() {
+        Subscription first = createSubscription(FIRST_USER);
+        Subscription firstAgain = createSubscription(FIRST_USER);
+        Subscription second = createSubscription(SECOND_USER);
+        Subscription third = createSubscription(THIRD_USER);
+        returnPage(NO_USER, List.of(first, firstAgain, second));
+        returnPage(SECOND_USER, List.of(third));
+
+        int chunkCount = readChunks(Collections.emptyList());
+
+        assertThat(chunkCount)
+            .as("Chunk count does not match")
+            .isEqualTo(2);
+        assertThat(chunks)
+            .as("Recipients should be split into chunks without splitting their subscriptions")
+            .containsExactly(List.of(first, firstAgain, second), List.of(third));
+        assertThat(sequences)
+            .as("Chunk sequence numbers do not match")
+            .containsExactly(0, 1);
+    }
+
+    @Test
+    void testAdditionalSubscriptionsJoinTheirRecipientsChunk() {
+        Subscription first = createSubscription(FIRST_USER);
+        Subscription second = createSubscription(SECOND_USER);
+        Subscription third = createSubscription(THIRD_USER);
+        Subscription firstCase = createSubscription(FIRST_USER);
+        Subscription caseOnly = createSubscription(CASE_ONLY_USER);
+        returnPage(NO_USER, List.of(first, second));
+        returnPage(SECOND_USER, List.of(third));
+
+        readChunks(List.of(caseOnly, firstCase));
+
+        assertThat(chunks)
+            .as("Additional subscriptions should be sent with their recipient, or at the end")
+            .containsExactly(List.of(firstCase, first, second), List.of(third, caseOnly));
+    }
+
+    @Test
+    void testPageIsReadBeforePreviousChunkIsHandedOn() {
+        Subscription first = createSubscription(FIRST_USER);
+        Subscription second = createSubscription(SECOND_USER);
+        returnPage(NO_USER, List.of(first, second));
+        returnPage(SECOND_USER, Collections.emptyList());
+
+        int chunkCount = subscriptionChunkReader.readEmailSubscriptions(
+            LOCATION_ID, LIST_TYPE, LIST_LANGUAGE, Collections.emptyList(), (chunk, sequence) -> {
+                verify(subscriptionRepository).findEmailSubscriptionPageByLocationSearchValue(
+                    LOCATION_ID, LIST_TYPE, LIST_LANGUAGE, SECOND_USER, CHUNK_SIZE);
+                chunks.add(chunk);
+            });
+
+        assertThat(chunkCount)
+            .as("A full last page should be followed by an empty page, and read as one chunk")
+            .isEqualTo(1);
+        assertThat(chunks)
+            .as("Chunk does not match")
+            .containsExactly(List.of(first, second));
+    }
+
+    @Test
+    void testNoSubscriptionsReadsNoChunks() {
+        returnPage(NO_USER, Collections.emptyList());
+
+        assertThat(readChunks(Collections.emptyList()))
+            .as("No chunks should be read")
+            .isZero();
+        assertThat(chunks).isEmpty();
+        verify(subscriptionRepository).findEmailSubscriptionPageByLocationSearchValue(
+            LOCATION_ID, LIST_TYPE, LIST_LANGUAGE, NO_USER, CHUNK_SIZE);
+    }
+}
@@ -6,12 +6,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionListTypeRepository;
 import uk.gov.hmcts.reform.pip.account.management.database.UserRepository;
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.UserNotFoundException;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionListType;
+import uk.gov.hmcts.reform.pip.account.management.service.RequestLookupContext;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -41,6 +43,12 @@ class SubscriptionListTypeServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    SubscriptionRoutingIndex subscriptionRoutingIndex;
+
+    @Spy
+    RequestLookupContext requestLookupContext = new RequestLookupContext();
+
     @InjectMocks
     SubscriptionListTypeService subscriptionListTypeService;
 
@@ -60,6 +68,7 @@ class SubscriptionListTypeServiceTest {
         assertEquals(USER_ID, mockSubscriptionListType.getUserId(),
                      SUBSCRIPTION_CREATED_ERROR
         );
+        verify(subscriptionRoutingIndex).addListType(mockSubscriptionListType);
     }
 
     @Test
@@ -73,6 +73,9 @@ class SubscriptionLocationServiceTest {
     @Mock
     private SubscriptionListTypeRepository subscriptionListTypeRepository;
 
+    @Mock
+    private SubscriptionRoutingIndex subscriptionRoutingIndex;
+
     @InjectMocks
     private SubscriptionLocationService subscriptionLocationService;
 
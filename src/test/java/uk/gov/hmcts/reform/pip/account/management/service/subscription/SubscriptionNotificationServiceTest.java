@@ -1,5 +1,7 @@
 package uk.gov.hmcts.reform.pip.account.management.service.subscription;
 
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import nl.altindag.log.LogCaptor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,40 +9,64 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import reactor.core.publisher.Mono;
 import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.account.PiUserSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.ArtefactRecipientStatus;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.BulkSubscriptionsSummary;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.RecipientRequestStatus;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionsSummary;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionsSummaryDetails;
-import uk.gov.hmcts.reform.pip.account.management.service.PublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.ReactivePublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.SensitivityService;
 import uk.gov.hmcts.reform.pip.account.management.service.account.AccountService;
+import uk.gov.hmcts.reform.pip.account.management.service.notification.OutboundNotificationService;
 import uk.gov.hmcts.reform.pip.account.management.service.thirdparty.ThirdPartySubscriptionNotificationService;
+import uk.gov.hmcts.reform.pip.model.account.Roles;
+import uk.gov.hmcts.reform.pip.model.account.UserProvenances;
 import uk.gov.hmcts.reform.pip.model.publication.Artefact;
 import uk.gov.hmcts.reform.pip.model.publication.Language;
 import uk.gov.hmcts.reform.pip.model.publication.ListType;
 import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
 import uk.gov.hmcts.reform.pip.model.subscription.Channel;
-import uk.gov.hmcts.reform.pip.model.subscription.LegacyThirdPartySubscription;
 import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.pip.account.management.helpers.SubscriptionUtils.createMockSubscription;
@@ -57,16 +83,18 @@ class SubscriptionNotificationServiceTest {
     private static final UUID ACCEPTED_USER_ID = UUID.randomUUID();
     private static final UUID FORBIDDEN_USER_ID = UUID.randomUUID();
     private static final String SUBSCRIBER_NOTIFICATION_LOG = "Summary being sent to publication services for id";
+    private static final String SEND_FAILURE_MESSAGE = "Send failed";
     private static final String LOG_MESSAGE_MATCH = "Log messages should match.";
     private static final String CASE_NUMBER_KEY = "caseNumber";
     private static final String CASE_URN_KEY = "caseUrn";
     private static final UUID TEST_UUID = UUID.randomUUID();
     private static final String TEST_USER_EMAIL = "a@b.com";
     private static final String TEST = "test";
-    private static final String CASE_ID_SEARCH = SearchType.CASE_ID.name();
     private static final String LIST_TYPE_SEARCH = SearchType.LIST_TYPE.name();
     private static final String MAGISTRATES_PUBLIC_LIST = ListType.MAGISTRATES_PUBLIC_LIST.name();
+    private static final String SJP_PRESS_LIST = ListType.SJP_PRESS_LIST.name();
     private static final String LIST_LANGUAGE = "ENGLISH";
+    private static final Duration OUTBOX_INSERT_DELAY = Duration.ofMillis(20);
 
     private Subscription mockSubscription;
     private final SubscriptionsSummary mockSubscriptionsSummary = new SubscriptionsSummary();
@@ -79,6 +107,12 @@ class SubscriptionNotificationServiceTest {
     private final List<Object> cases = new ArrayList<>();
     private final Map<String, List<Object>> searchTerms = new ConcurrentHashMap<>();
     private final Map<String, List<Subscription>> returnedMappedEmails = new ConcurrentHashMap<>();
+    private final PiUserSummary acceptedUser = new PiUserSummary(ACCEPTED_USER_ID, TEST_USER_EMAIL,
+                                                                 Roles.VERIFIED, UserProvenances.PI_AAD);
+    private final PiUserSummary forbiddenUser = new PiUserSummary(FORBIDDEN_USER_ID, "forbidden@b.com",
+                                                                  Roles.VERIFIED, UserProvenances.CFT_IDAM);
+    private final Map<UUID, PiUserSummary> subscribers = Map.of(ACCEPTED_USER_ID, acceptedUser,
+                                                                FORBIDDEN_USER_ID, forbiddenUser);
 
     @Mock
     SubscriptionRepository subscriptionRepository;
@@ -90,14 +124,44 @@ class SubscriptionNotificationServiceTest {
     AccountService accountService;
 
     @Mock
-    PublicationService publicationService;
+    SensitivityService sensitivityService;
+
+    @Mock
+    ReactivePublicationService reactivePublicationService;
+
+    @Mock
+    OutboundNotificationService outboundNotificationService;
 
     @Mock
     ThirdPartySubscriptionNotificationService thirdPartySubscriptionNotificationService;
 
+    @Mock
+    SubscriptionRoutingIndex subscriptionRoutingIndex;
+
+    @Mock
+    CaseSubscriptionFilter caseSubscriptionFilter;
+
+    @Mock
+    SubscriptionRecipientCache subscriptionRecipientCache;
+
+    @Mock
+    SubscriptionChunkReader subscriptionChunkReader;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    FanOutMetrics fanOutMetrics = new FanOutMetrics(meterRegistry);
+
+    @Spy
+    Executor fanOutExecutor = new SyncTaskExecutor();
+
     @InjectMocks
     SubscriptionNotificationService subscriptionNotificationService;
 
+    private static Collection<PiUserSummary> users(PiUserSummary... users) {
+        return argThat(argument -> argument.size() == users.length && argument.containsAll(List.of(users)));
+    }
+
     @BeforeEach
     void setup() {
         Map<String, String> map = new ConcurrentHashMap<>();
@@ -133,6 +197,22 @@ class SubscriptionNotificationServiceTest {
         mockSubscriptionsSummary.setEmail(TEST_USER_EMAIL);
         mockSubscription.setChannel(Channel.EMAIL);
 
+        when(caseSubscriptionFilter.mightContain(any())).thenReturn(true);
+        when(subscriptionRecipientCache.getLocationSubscriptions(any(), any(), any(), any()))
+            .thenAnswer(invocation -> {
+                Supplier<List<Subscription>> loader = invocation.getArgument(3);
+                return loader.get();
+            });
+        when(subscriptionRecipientCache.getCaseSubscriptions(any(), any(), any()))
+            .thenAnswer(invocation -> {
+                Function<Set<String>, List<Subscription>> loader = invocation.getArgument(2);
+                return loader.apply(invocation.getArgument(1));
+            });
+        when(outboundNotificationService.postSubscriptionSummaries(any())).thenReturn(Mono.just(true));
+        when(reactivePublicationService.formatSubscriptionsSummary(any(), any()))
+            .thenReturn(new BulkSubscriptionsSummary());
+        when(reactivePublicationService.legacySendThirdPartyList(any())).thenReturn(Mono.empty());
+        when(reactivePublicationService.legacySendEmptyArtefact(any())).thenReturn(Mono.empty());
     }
 
     @Test
@@ -144,7 +224,7 @@ class SubscriptionNotificationServiceTest {
                                                                            MAGISTRATES_PUBLIC_LIST, LIST_LANGUAGE))
             .thenReturn(List.of(returnedSubscription));
         when(subscriptionChannelService.buildEmailSubscriptions(any())).thenReturn(returnedMappedEmails);
-        doNothing().when(publicationService).postSubscriptionSummaries(any(), any());
+        when(outboundNotificationService.postSubscriptionSummaries(any())).thenReturn(Mono.just(true));
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectSubscribers(publicArtefactMatches);
             assertTrue(logCaptor.getInfoLogs().get(0).contains(SUBSCRIBER_NOTIFICATION_LOG),
@@ -164,7 +244,7 @@ class SubscriptionNotificationServiceTest {
             .thenReturn(List.of(returnedSubscription));
 
         when(subscriptionChannelService.buildEmailSubscriptions(any())).thenReturn(returnedMappedEmails);
-        doNothing().when(publicationService).postSubscriptionSummaries(any(), any());
+        when(outboundNotificationService.postSubscriptionSummaries(any())).thenReturn(Mono.just(true));
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectSubscribers(publicArtefactMatches);
             assertTrue(logCaptor.getInfoLogs().get(0).contains(SUBSCRIBER_NOTIFICATION_LOG),
@@ -192,8 +272,9 @@ class SubscriptionNotificationServiceTest {
         when(subscriptionChannelService.buildEmailSubscriptions(List.of(mockSubscription)))
             .thenReturn(returnedMappedEmails);
 
-        doNothing().when(publicationService).postSubscriptionSummaries(publicArtefactMatches.getArtefactId(),
-                                                                       returnedMappedEmails);
+        when(reactivePublicationService.formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                            returnedMappedEmails))
+            .thenReturn(new BulkSubscriptionsSummary());
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectSubscribers(publicArtefactMatches);
@@ -226,8 +307,9 @@ class SubscriptionNotificationServiceTest {
         when(subscriptionChannelService.buildEmailSubscriptions(List.of(mockSubscription)))
             .thenReturn(returnedMappedEmails);
 
-        doNothing().when(publicationService).postSubscriptionSummaries(publicArtefactMatches.getArtefactId(),
-                                                                       returnedMappedEmails);
+        when(reactivePublicationService.formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                            returnedMappedEmails))
+            .thenReturn(new BulkSubscriptionsSummary());
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectSubscribers(publicArtefactMatches);
@@ -260,8 +342,9 @@ class SubscriptionNotificationServiceTest {
         when(subscriptionChannelService.buildEmailSubscriptions(List.of(mockSubscription)))
             .thenReturn(returnedMappedEmails);
 
-        doNothing().when(publicationService).postSubscriptionSummaries(publicArtefactMatches.getArtefactId(),
-                                                                       returnedMappedEmails);
+        when(reactivePublicationService.formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                            returnedMappedEmails))
+            .thenReturn(new BulkSubscriptionsSummary());
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectSubscribers(publicArtefactMatches);
@@ -289,8 +372,9 @@ class SubscriptionNotificationServiceTest {
         when(subscriptionChannelService.buildEmailSubscriptions(List.of(mockSubscription)))
             .thenReturn(returnedMappedEmails);
 
-        doNothing().when(publicationService).postSubscriptionSummaries(publicArtefactMatches.getArtefactId(),
-                                                                       returnedMappedEmails);
+        when(reactivePublicationService.formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                            returnedMappedEmails))
+            .thenReturn(new BulkSubscriptionsSummary());
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectSubscribers(publicArtefactMatches);
@@ -318,8 +402,9 @@ class SubscriptionNotificationServiceTest {
         when(subscriptionChannelService.buildEmailSubscriptions(List.of(mockSubscription)))
             .thenReturn(returnedMappedEmails);
 
-        doNothing().when(publicationService).postSubscriptionSummaries(publicArtefactMatches.getArtefactId(),
-                                                                       returnedMappedEmails);
+        when(reactivePublicationService.formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                            returnedMappedEmails))
+            .thenReturn(new BulkSubscriptionsSummary());
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectSubscribers(publicArtefactMatches);
@@ -340,7 +425,7 @@ class SubscriptionNotificationServiceTest {
 
         when(subscriptionChannelService.buildEmailSubscriptions(List.of(mockSubscription)))
             .thenReturn(returnedMappedEmails);
-        doNothing().when(publicationService).postSubscriptionSummaries(any(), any());
+        when(outboundNotificationService.postSubscriptionSummaries(any())).thenReturn(Mono.just(true));
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectSubscribers(publicArtefactMatches);
@@ -361,7 +446,6 @@ class SubscriptionNotificationServiceTest {
                                                                            MAGISTRATES_PUBLIC_LIST, LIST_LANGUAGE))
             .thenReturn(List.of(mockSubscription));
         when(subscriptionChannelService.buildLegacyApiSubscriptions(List.of(mockSubscription))).thenReturn(returnedMap);
-        doNothing().when(publicationService).legacySendThirdPartyList(any(LegacyThirdPartySubscription.class));
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectSubscribers(publicArtefactMatches);
@@ -387,14 +471,12 @@ class SubscriptionNotificationServiceTest {
         mockSubscriptionsSummaryDetails.addToCaseNumber(CASE_ID);
         mockSubscriptionsSummary.setSubscriptions(mockSubscriptionsSummaryDetails);
 
-        when(subscriptionRepository.findSubscriptionsBySearchValue(CASE_ID_SEARCH, CASE_MATCH))
+        when(subscriptionRepository.findBySearchTypeAndSearchValueIn(SearchType.CASE_ID, Set.of(CASE_MATCH, TEST)))
             .thenReturn(List.of(returnedSubscription, restrictedSubscription));
 
-        when(accountService.isUserAuthorisedForPublication(
-            ACCEPTED_USER_ID, ListType.SJP_PRESS_LIST, Sensitivity.CLASSIFIED)).thenReturn(true);
-        when(accountService.isUserAuthorisedForPublication(
-            FORBIDDEN_USER_ID, ListType.SJP_PRESS_LIST, Sensitivity.CLASSIFIED))
-            .thenReturn(false);
+        when(accountService.findUserSummariesByIds(any())).thenReturn(subscribers);
+        when(sensitivityService.filterAuthorised(users(acceptedUser, forbiddenUser), ListType.SJP_PRESS_LIST,
+                                                 Sensitivity.CLASSIFIED)).thenReturn(List.of(acceptedUser));
 
         returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
         when(subscriptionChannelService.buildEmailSubscriptions(List.of(returnedSubscription)))
@@ -417,7 +499,7 @@ class SubscriptionNotificationServiceTest {
         when(subscriptionChannelService.buildEmailSubscriptions(any())).thenReturn(new ConcurrentHashMap<>());
 
         subscriptionNotificationService.collectSubscribers(publicArtefactMatches);
-        verify(publicationService, never()).postSubscriptionSummaries(any(), any());
+        verify(outboundNotificationService, never()).postSubscriptionSummaries(any());
     }
 
     @Test
@@ -435,8 +517,8 @@ class SubscriptionNotificationServiceTest {
 
         @SuppressWarnings("unchecked")
         ArgumentCaptor<Map<String, List<Subscription>>> argument = ArgumentCaptor.forClass(Map.class);
-        doNothing().when(publicationService).postSubscriptionSummaries(
-            eq(publicArtefactMatches.getArtefactId()), argument.capture());
+        when(reactivePublicationService.formatSubscriptionsSummary(
+            eq(publicArtefactMatches.getArtefactId()), argument.capture())).thenReturn(new BulkSubscriptionsSummary());
 
         subscriptionNotificationService.collectSubscribers(publicArtefactMatches);
 
@@ -444,6 +526,114 @@ class SubscriptionNotificationServiceTest {
         assertEquals(2, capturedMap.size(), "The size of the captured map is incorrect");
     }
 
+    @Test
+    void testCollectEmailSubscribersWaitsForSummaryToSend() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
+        when(subscriptionRepository.findSubscriptionsByLocationSearchValue(COURT_MATCH,
+                                                                           MAGISTRATES_PUBLIC_LIST, LIST_LANGUAGE))
+            .thenReturn(List.of(returnedSubscription));
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(returnedMappedEmails);
+        AtomicBoolean sent = new AtomicBoolean();
+        when(outboundNotificationService.postSubscriptionSummaries(any())).thenReturn(
+            Mono.fromSupplier(() -> sent.getAndSet(true)).delaySubscription(Duration.ofMillis(100))
+        );
+
+        subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
+
+        assertTrue(sent.get(), "Summary should be sent before the fan-out executor thread is released");
+    }
+
+    @Test
+    void testCollectEmailSubscribersLogsSendFailure() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
+        when(subscriptionRepository.findSubscriptionsByLocationSearchValue(COURT_MATCH,
+                                                                           MAGISTRATES_PUBLIC_LIST, LIST_LANGUAGE))
+            .thenReturn(List.of(returnedSubscription));
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(returnedMappedEmails);
+        when(outboundNotificationService.postSubscriptionSummaries(any()))
+            .thenReturn(Mono.error(new IllegalStateException(SEND_FAILURE_MESSAGE)));
+
+        try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
+            subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
+            assertTrue(logCaptor.getErrorLogs().get(0).contains("Subscription summary failed to send with error: "
+                                                                     + SEND_FAILURE_MESSAGE), LOG_MESSAGE_MATCH);
+        }
+    }
+
+    @Test
+    void testCollectEmailSubscribersRecordsStageMetrics() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
+        when(subscriptionRepository.findSubscriptionsByLocationSearchValue(COURT_MATCH,
+                                                                           MAGISTRATES_PUBLIC_LIST, LIST_LANGUAGE))
+            .thenReturn(List.of(returnedSubscription));
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(returnedMappedEmails);
+
+        try (LogCaptor logCaptor = LogCaptor.forClass(FanOutTrace.class)) {
+            subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
+            assertTrue(logCaptor.getInfoLogs().get(0).contains("artefactId=" + TEST_UUID), LOG_MESSAGE_MATCH);
+        }
+
+        List.of(FanOutStage.LOCATION_QUERY, FanOutStage.CASE_QUERY, FanOutStage.SUBSCRIBER_LOOKUP,
+                FanOutStage.EMAIL_ENRICHMENT, FanOutStage.PAYLOAD_BUILD, FanOutStage.DISPATCH)
+            .forEach(stage -> assertEquals(1, meterRegistry.get(FanOutMetrics.STAGE_DURATION)
+                .tag("stage", stage.stageName)
+                .tag("listType", MAGISTRATES_PUBLIC_LIST)
+                .tag("sensitivity", Sensitivity.PUBLIC.name())
+                .timer().count(), "Stage should be timed once: " + stage));
+        assertTrue(meterRegistry.find(FanOutMetrics.STAGE_DURATION)
+                       .tag("stage", FanOutStage.PERMISSION_FILTER.stageName).timers().isEmpty(),
+                   "Permission filter should not be timed for a public artefact");
+    }
+
+    @Test
+    void testCollectEmailSubscribersRecordsOutboxEnqueueWhenOutboxEnabled() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
+        when(subscriptionRepository.findSubscriptionsByLocationSearchValue(COURT_MATCH,
+                                                                           MAGISTRATES_PUBLIC_LIST, LIST_LANGUAGE))
+            .thenReturn(List.of(returnedSubscription));
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(returnedMappedEmails);
+        when(outboundNotificationService.isEnabled()).thenReturn(true);
+        // The outbox insert happens when postSubscriptionSummaries is called, so it must be inside the timed stage
+        when(outboundNotificationService.postSubscriptionSummaries(any())).thenAnswer(invocation -> {
+            await().pollDelay(OUTBOX_INSERT_DELAY).until(() -> true);
+            return Mono.just(true);
+        });
+
+        subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
+
+        Timer outboxTimer = meterRegistry.get(FanOutMetrics.STAGE_DURATION)
+            .tag("stage", FanOutStage.OUTBOX_ENQUEUE.stageName)
+            .timer();
+        assertEquals(1, outboxTimer.count(), "Queueing the summary in the outbox should be timed");
+        assertTrue(outboxTimer.totalTime(TimeUnit.MILLISECONDS) >= OUTBOX_INSERT_DELAY.toMillis(),
+                   "Outbox insert should be included in the queueing time");
+        assertTrue(meterRegistry.find(FanOutMetrics.STAGE_DURATION)
+                       .tag("stage", FanOutStage.DISPATCH.stageName).timers().isEmpty(),
+                   "Dispatch should not be timed when the summary is only queued");
+    }
+
+    @Test
+    void testCollectEmailSubscribersRecordsPermissionFilterForClassified() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        when(subscriptionRepository.findSubscriptionsByLocationSearchValue(COURT_MATCH, SJP_PRESS_LIST,
+                                                                           LIST_LANGUAGE))
+            .thenReturn(List.of(returnedSubscription));
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(new ConcurrentHashMap<>());
+
+        subscriptionNotificationService.collectEmailSubscribers(classifiedArtefactMatches);
+
+        assertEquals(1, meterRegistry.get(FanOutMetrics.STAGE_DURATION)
+            .tag("stage", FanOutStage.PERMISSION_FILTER.stageName)
+            .tag("sensitivity", Sensitivity.CLASSIFIED.name())
+            .timer().count(), "Permission filter should be timed for a classified artefact");
+        assertEquals(1, meterRegistry.get(FanOutMetrics.TOTAL_DURATION).timer().count(),
+                     "Fan-out should be completed when there are no emails to send");
+    }
+
     @Test
     void testCollectEmailSubscribersForCourtSubscriptionWithListTypeNotClassified() throws IOException {
         returnedSubscription.setChannel(Channel.EMAIL);
@@ -452,15 +642,15 @@ class SubscriptionNotificationServiceTest {
                                                                            MAGISTRATES_PUBLIC_LIST, LIST_LANGUAGE))
             .thenReturn(List.of(returnedSubscription));
 
-        when(subscriptionChannelService.buildEmailSubscriptions(any())).thenReturn(returnedMappedEmails);
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(returnedMappedEmails);
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
             assertTrue(logCaptor.getInfoLogs().get(0).contains(SUBSCRIBER_NOTIFICATION_LOG),
                        LOG_MESSAGE_MATCH);
-            verify(publicationService).postSubscriptionSummaries(publicArtefactMatches.getArtefactId(),
-                                                                 returnedMappedEmails);
-            verify(publicationService, never()).legacySendThirdPartyList(any());
-            verify(publicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
+            verify(reactivePublicationService).formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                                  returnedMappedEmails);
+            verify(reactivePublicationService, never()).legacySendThirdPartyList(any());
+            verify(reactivePublicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
         } catch (Exception ex) {
             throw new IOException(ex.getMessage());
         }
@@ -480,7 +670,7 @@ class SubscriptionNotificationServiceTest {
 
         returnedMappedEmails.put(TEST_USER_EMAIL, List.of(mockSubscription));
 
-        when(subscriptionChannelService.buildEmailSubscriptions(List.of(mockSubscription)))
+        when(subscriptionChannelService.buildEmailSubscriptions(eq(List.of(mockSubscription)), any()))
             .thenReturn(returnedMappedEmails);
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
@@ -488,10 +678,10 @@ class SubscriptionNotificationServiceTest {
 
             assertTrue(logCaptor.getInfoLogs().get(0).contains(SUBSCRIBER_NOTIFICATION_LOG),
                        LOG_MESSAGE_MATCH);
-            verify(publicationService).postSubscriptionSummaries(publicArtefactMatches.getArtefactId(),
-                                                                 returnedMappedEmails);
-            verify(publicationService, never()).legacySendThirdPartyList(any());
-            verify(publicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
+            verify(reactivePublicationService).formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                                  returnedMappedEmails);
+            verify(reactivePublicationService, never()).legacySendThirdPartyList(any());
+            verify(reactivePublicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
         }
     }
 
@@ -514,7 +704,7 @@ class SubscriptionNotificationServiceTest {
 
         returnedMappedEmails.put(TEST_USER_EMAIL, List.of(mockSubscription));
 
-        when(subscriptionChannelService.buildEmailSubscriptions(List.of(mockSubscription)))
+        when(subscriptionChannelService.buildEmailSubscriptions(eq(List.of(mockSubscription)), any()))
             .thenReturn(returnedMappedEmails);
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
@@ -523,10 +713,10 @@ class SubscriptionNotificationServiceTest {
             assertTrue(logCaptor.getInfoLogs().get(0).contains(SUBSCRIBER_NOTIFICATION_LOG),
                        LOG_MESSAGE_MATCH);
 
-            verify(publicationService).postSubscriptionSummaries(publicArtefactMatches.getArtefactId(),
-                                                                 returnedMappedEmails);
-            verify(publicationService, never()).legacySendThirdPartyList(any());
-            verify(publicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
+            verify(reactivePublicationService).formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                                  returnedMappedEmails);
+            verify(reactivePublicationService, never()).legacySendThirdPartyList(any());
+            verify(reactivePublicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
         }
     }
 
@@ -549,7 +739,7 @@ class SubscriptionNotificationServiceTest {
 
         returnedMappedEmails.put(TEST_USER_EMAIL, List.of(mockSubscription));
 
-        when(subscriptionChannelService.buildEmailSubscriptions(List.of(mockSubscription)))
+        when(subscriptionChannelService.buildEmailSubscriptions(eq(List.of(mockSubscription)), any()))
             .thenReturn(returnedMappedEmails);
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
@@ -557,10 +747,10 @@ class SubscriptionNotificationServiceTest {
 
             assertTrue(logCaptor.getInfoLogs().get(0).contains(SUBSCRIBER_NOTIFICATION_LOG),
                        LOG_MESSAGE_MATCH);
-            verify(publicationService).postSubscriptionSummaries(publicArtefactMatches.getArtefactId(),
-                                                                 returnedMappedEmails);
-            verify(publicationService, never()).legacySendThirdPartyList(any());
-            verify(publicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
+            verify(reactivePublicationService).formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                                  returnedMappedEmails);
+            verify(reactivePublicationService, never()).legacySendThirdPartyList(any());
+            verify(reactivePublicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
         }
     }
 
@@ -587,10 +777,10 @@ class SubscriptionNotificationServiceTest {
             assertTrue(logCaptor.getInfoLogs().get(0).contains(SUBSCRIBER_NOTIFICATION_LOG),
                        LOG_MESSAGE_MATCH);
 
-            verify(publicationService).postSubscriptionSummaries(publicArtefactMatches.getArtefactId(),
-                                                                 returnedMappedEmails);
-            verify(publicationService, never()).legacySendThirdPartyList(any());
-            verify(publicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
+            verify(reactivePublicationService).formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                                  returnedMappedEmails);
+            verify(reactivePublicationService, never()).legacySendThirdPartyList(any());
+            verify(reactivePublicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
         }
     }
 
@@ -608,7 +798,7 @@ class SubscriptionNotificationServiceTest {
 
         returnedMappedEmails.put(TEST_USER_EMAIL, List.of(mockSubscription));
 
-        when(subscriptionChannelService.buildEmailSubscriptions(List.of(mockSubscription)))
+        when(subscriptionChannelService.buildEmailSubscriptions(eq(List.of(mockSubscription)), any()))
             .thenReturn(returnedMappedEmails);
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
@@ -617,10 +807,10 @@ class SubscriptionNotificationServiceTest {
             assertTrue(logCaptor.getInfoLogs().get(0).contains(SUBSCRIBER_NOTIFICATION_LOG),
                        LOG_MESSAGE_MATCH);
 
-            verify(publicationService).postSubscriptionSummaries(publicArtefactMatches.getArtefactId(),
-                                                                 returnedMappedEmails);
-            verify(publicationService, never()).legacySendThirdPartyList(any());
-            verify(publicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
+            verify(reactivePublicationService).formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                                  returnedMappedEmails);
+            verify(reactivePublicationService, never()).legacySendThirdPartyList(any());
+            verify(reactivePublicationService, never()).sendThirdPartySubscription(any(), anyBoolean());
         }
     }
 
@@ -638,17 +828,15 @@ class SubscriptionNotificationServiceTest {
         mockSubscriptionsSummaryDetails.addToCaseNumber(CASE_ID);
         mockSubscriptionsSummary.setSubscriptions(mockSubscriptionsSummaryDetails);
 
-        when(subscriptionRepository.findSubscriptionsBySearchValue(CASE_ID_SEARCH, CASE_MATCH))
+        when(subscriptionRepository.findBySearchTypeAndSearchValueIn(SearchType.CASE_ID, Set.of(CASE_MATCH, TEST)))
             .thenReturn(List.of(returnedSubscription, restrictedSubscription));
 
-        when(accountService.isUserAuthorisedForPublication(
-            ACCEPTED_USER_ID, ListType.SJP_PRESS_LIST, Sensitivity.CLASSIFIED)).thenReturn(true);
-        when(accountService.isUserAuthorisedForPublication(
-            FORBIDDEN_USER_ID, ListType.SJP_PRESS_LIST, Sensitivity.CLASSIFIED))
-            .thenReturn(false);
+        when(accountService.findUserSummariesByIds(any())).thenReturn(subscribers);
+        when(sensitivityService.filterAuthorised(users(acceptedUser, forbiddenUser), ListType.SJP_PRESS_LIST,
+                                                 Sensitivity.CLASSIFIED)).thenReturn(List.of(acceptedUser));
 
         returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
-        when(subscriptionChannelService.buildEmailSubscriptions(List.of(returnedSubscription)))
+        when(subscriptionChannelService.buildEmailSubscriptions(eq(List.of(returnedSubscription)), any()))
             .thenReturn(returnedMappedEmails);
 
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
@@ -658,16 +846,161 @@ class SubscriptionNotificationServiceTest {
         }
     }
 
+    @Test
+    void testCollectEmailSubscribersLoadsSubscribersOnce() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        restrictedSubscription.setChannel(Channel.EMAIL);
+        when(subscriptionRepository.findSubscriptionsByLocationSearchValue(COURT_MATCH, SJP_PRESS_LIST, LIST_LANGUAGE))
+            .thenReturn(List.of(returnedSubscription, restrictedSubscription));
+        when(accountService.findUserSummariesByIds(any())).thenReturn(subscribers);
+        when(sensitivityService.filterAuthorised(any(), any(), any())).thenReturn(List.of(acceptedUser, forbiddenUser));
+
+        subscriptionNotificationService.collectEmailSubscribers(classifiedArtefactMatches);
+
+        verify(accountService, times(1)).findUserSummariesByIds(any());
+        verify(accountService, never()).isUserAuthorisedForPublication(any(UUID.class), any(), any());
+        verify(sensitivityService, times(1)).filterAuthorised(any(), any(), any());
+        verify(subscriptionChannelService).buildEmailSubscriptions(
+            List.of(returnedSubscription, restrictedSubscription), subscribers);
+    }
+
+    @Test
+    void testCollectEmailSubscribersClassifiedExcludesUnknownUsers() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        restrictedSubscription.setChannel(Channel.EMAIL);
+        when(subscriptionRepository.findSubscriptionsByLocationSearchValue(COURT_MATCH, SJP_PRESS_LIST, LIST_LANGUAGE))
+            .thenReturn(List.of(returnedSubscription, restrictedSubscription));
+        Map<UUID, PiUserSummary> knownSubscribers = Map.of(ACCEPTED_USER_ID, acceptedUser);
+        when(accountService.findUserSummariesByIds(any())).thenReturn(knownSubscribers);
+        when(sensitivityService.filterAuthorised(users(acceptedUser), ListType.SJP_PRESS_LIST,
+                                                 Sensitivity.CLASSIFIED)).thenReturn(List.of(acceptedUser));
+
+        try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
+            subscriptionNotificationService.collectEmailSubscribers(classifiedArtefactMatches);
+            assertTrue(logCaptor.getErrorLogs().get(0).contains(FORBIDDEN_USER_ID.toString()), LOG_MESSAGE_MATCH);
+        }
+
+        verify(subscriptionChannelService).buildEmailSubscriptions(List.of(returnedSubscription), knownSubscribers);
+    }
+
+    @Test
+    void testCollectEmailSubscribersQueriesEachCaseSearchTypeOnce() {
+        Map<String, String> duplicateCase = new ConcurrentHashMap<>();
+        duplicateCase.put(CASE_NUMBER_KEY, CASE_MATCH);
+        duplicateCase.put(CASE_URN_KEY, TEST);
+        cases.add(duplicateCase);
+
+        subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
+
+        verify(subscriptionRepository, times(1))
+            .findBySearchTypeAndSearchValueIn(SearchType.CASE_ID, Set.of(CASE_MATCH, TEST));
+        verify(subscriptionRepository, times(1))
+            .findBySearchTypeAndSearchValueIn(SearchType.CASE_URN, Set.of(TEST, CASE_MATCH));
+        verify(subscriptionRepository, never()).findSubscriptionsBySearchValue(any(), any());
+    }
+
+    @Test
+    void testCollectEmailSubscribersSkipsCasesRejectedByFilter() {
+        when(caseSubscriptionFilter.mightContain(TEST)).thenReturn(false);
+
+        subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
+
+        verify(subscriptionRepository).findBySearchTypeAndSearchValueIn(SearchType.CASE_ID, Set.of(CASE_MATCH));
+        verify(subscriptionRepository).findBySearchTypeAndSearchValueIn(SearchType.CASE_URN, Set.of(CASE_MATCH));
+    }
+
+    @Test
+    void testCollectEmailSubscribersDoesNotQueryCasesWhenAllRejectedByFilter() {
+        when(caseSubscriptionFilter.mightContain(any())).thenReturn(false);
+
+        subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
+
+        verify(subscriptionRepository, never()).findBySearchTypeAndSearchValueIn(any(), any());
+    }
+
+    @Test
+    void testCollectEmailSubscribersWithNoCasesDoesNotQueryCaseSubscriptions() {
+        publicArtefactMatches.setSearch(new ConcurrentHashMap<>());
+
+        subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
+
+        verify(subscriptionRepository, never()).findBySearchTypeAndSearchValueIn(any(), any());
+    }
+
+    @Test
+    void testCollectEmailSubscribersUsesRoutingIndexWhenActive() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
+        when(subscriptionRoutingIndex.isActive()).thenReturn(true);
+        when(subscriptionRoutingIndex.findSubscriptionsByLocation(COURT_MATCH, MAGISTRATES_PUBLIC_LIST, LIST_LANGUAGE))
+            .thenReturn(List.of(returnedSubscription));
+        when(subscriptionChannelService.buildEmailSubscriptions(eq(List.of(returnedSubscription)), any()))
+            .thenReturn(returnedMappedEmails);
+
+        subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
+
+        verify(subscriptionRoutingIndex).findSubscriptionsBySearchValues(SearchType.CASE_ID, Set.of(CASE_MATCH, TEST));
+        verify(subscriptionRepository, never()).findSubscriptionsByLocationSearchValue(any(), any(), any());
+        verify(subscriptionRepository, never()).findBySearchTypeAndSearchValueIn(any(), any());
+        verify(reactivePublicationService).formatSubscriptionsSummary(publicArtefactMatches.getArtefactId(),
+                                                              returnedMappedEmails);
+    }
+
+    @Test
+    void testCollectEmailSubscribersUsesRecipientCache() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        when(subscriptionRecipientCache.getLocationSubscriptions(eq(COURT_MATCH), eq(MAGISTRATES_PUBLIC_LIST),
+                                                                 eq(LIST_LANGUAGE), any()))
+            .thenReturn(List.of(returnedSubscription));
+        when(subscriptionRecipientCache.getCaseSubscriptions(any(), any(), any())).thenReturn(List.of());
+
+        subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
+
+        verify(subscriptionRepository, never()).findSubscriptionsByLocationSearchValue(any(), any(), any());
+        verify(subscriptionRepository, never()).findBySearchTypeAndSearchValueIn(any(), any());
+        verify(subscriptionChannelService).buildEmailSubscriptions(eq(List.of(returnedSubscription)), any());
+    }
+
+    @Test
+    void testCollectEmailSubscribersInChunks() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
+        when(subscriptionChunkReader.isEnabled()).thenReturn(true);
+        when(subscriptionChunkReader.readEmailSubscriptions(eq(COURT_MATCH), eq(MAGISTRATES_PUBLIC_LIST),
+                                                            eq(LIST_LANGUAGE), any(), any()))
+            .thenAnswer(invocation -> {
+                ObjIntConsumer<List<Subscription>> chunkConsumer = invocation.getArgument(4);
+                chunkConsumer.accept(List.of(returnedSubscription), 0);
+                chunkConsumer.accept(List.of(returnedSubscription), 1);
+                return 2;
+            });
+        when(accountService.findUserSummariesByIds(any())).thenReturn(subscribers);
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(returnedMappedEmails);
+        when(reactivePublicationService.formatSubscriptionsSummary(any(), any()))
+            .thenAnswer(invocation -> new BulkSubscriptionsSummary());
+
+        subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
+
+        ArgumentCaptor<BulkSubscriptionsSummary> payloads = ArgumentCaptor.forClass(BulkSubscriptionsSummary.class);
+        verify(outboundNotificationService, times(2)).postSubscriptionSummaries(payloads.capture());
+        assertEquals(List.of(0, 1), payloads.getAllValues().stream().map(BulkSubscriptionsSummary::getChunkSequence)
+                         .toList(), "Each chunk should be sent with its sequence number");
+        verify(subscriptionRepository, never()).findSubscriptionsByLocationSearchValue(any(), any(), any());
+        assertEquals(1, meterRegistry.get(FanOutMetrics.STAGE_DURATION)
+            .tag("stage", FanOutStage.LOCATION_QUERY.stageName)
+            .timer().count(), "Location query should be timed once for all the chunks");
+    }
+
     @Test
     void testNoValidEmailSubscriptionsDoesNotCallPostSubscriptionSummaries() {
         returnedSubscription.setChannel(Channel.EMAIL);
         when(subscriptionRepository.findSubscriptionsByLocationSearchValue(COURT_MATCH,
                                                                            MAGISTRATES_PUBLIC_LIST, LIST_LANGUAGE))
             .thenReturn(List.of(returnedSubscription));
-        when(subscriptionChannelService.buildEmailSubscriptions(any())).thenReturn(new ConcurrentHashMap<>());
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(new ConcurrentHashMap<>());
 
         subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
-        verify(publicationService, never()).postSubscriptionSummaries(any(), any());
+        verify(outboundNotificationService, never()).postSubscriptionSummaries(any());
     }
 
     @Test
@@ -680,12 +1013,12 @@ class SubscriptionNotificationServiceTest {
         returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
         returnedMappedEmails.put("SecondUserEmail", List.of(returnedSubscription));
 
-        when(subscriptionChannelService.buildEmailSubscriptions(any())).thenReturn(returnedMappedEmails);
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(returnedMappedEmails);
 
         @SuppressWarnings("unchecked")
         ArgumentCaptor<Map<String, List<Subscription>>> argument = ArgumentCaptor.forClass(Map.class);
-        doNothing().when(publicationService).postSubscriptionSummaries(
-            eq(publicArtefactMatches.getArtefactId()), argument.capture());
+        when(reactivePublicationService.formatSubscriptionsSummary(
+            eq(publicArtefactMatches.getArtefactId()), argument.capture())).thenReturn(new BulkSubscriptionsSummary());
 
         subscriptionNotificationService.collectEmailSubscribers(publicArtefactMatches);
 
@@ -707,13 +1040,31 @@ class SubscriptionNotificationServiceTest {
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectApiSubscribers(publicArtefactMatches);
             assertTrue(logCaptor.getErrorLogs().isEmpty(), LOG_MESSAGE_MATCH);
-            verify(publicationService).legacySendThirdPartyList(any());
+            verify(reactivePublicationService).legacySendThirdPartyList(any());
             verify(thirdPartySubscriptionNotificationService).handleThirdPartySubscription(publicArtefactMatches);
         } catch (Exception ex) {
             throw new IOException(ex.getMessage());
         }
     }
 
+    @Test
+    void testCollectApiSubscribersLogsSendFailure() {
+        mockSubscription.setChannel(Channel.API_COURTEL);
+        when(subscriptionRepository.findSubscriptionsBySearchValue(LIST_TYPE_SEARCH,
+                                                                   publicArtefactMatches.getListType().name()))
+            .thenReturn(List.of(mockSubscription));
+        when(subscriptionChannelService.buildLegacyApiSubscriptions(List.of(mockSubscription)))
+            .thenReturn(Map.of(TEST, List.of(mockSubscription)));
+        when(reactivePublicationService.legacySendThirdPartyList(any()))
+            .thenReturn(Mono.error(new IllegalStateException(SEND_FAILURE_MESSAGE)));
+
+        try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
+            subscriptionNotificationService.collectApiSubscribers(publicArtefactMatches);
+            assertTrue(logCaptor.getErrorLogs().get(0).contains("Publication to third party failed to send with error: "
+                                                                     + SEND_FAILURE_MESSAGE), LOG_MESSAGE_MATCH);
+        }
+    }
+
     @Test
     void testCollectThirdPartyForDeletion() {
         mockSubscription.setChannel(Channel.API_COURTEL);
@@ -724,7 +1075,7 @@ class SubscriptionNotificationServiceTest {
         when(subscriptionChannelService.buildLegacyApiSubscriptions(List.of(mockSubscription))).thenReturn(returnedMap);
         try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
             subscriptionNotificationService.collectThirdPartyForDeletion(publicArtefactMatches);
-            verify(publicationService).legacySendEmptyArtefact(any());
+            verify(reactivePublicationService).legacySendEmptyArtefact(any());
             verify(thirdPartySubscriptionNotificationService)
                 .handleThirdPartySubscriptionForDeletedPublication(publicArtefactMatches);
             assertTrue(logCaptor.getErrorLogs().isEmpty(), LOG_MESSAGE_MATCH);
@@ -739,11 +1090,176 @@ class SubscriptionNotificationServiceTest {
         when(subscriptionRepository.findSubscriptionsBySearchValue(LIST_TYPE_SEARCH,
                                                                    classifiedArtefactMatches.getListType().name()))
             .thenReturn(List.of(mockSubscription));
-        when(accountService.isUserAuthorisedForPublication(USER_ID,
-                                                           classifiedArtefactMatches.getListType(),
-                                                           classifiedArtefactMatches.getSensitivity()))
-            .thenReturn(false);
+        PiUserSummary user = new PiUserSummary(USER_ID, TEST_USER_EMAIL, Roles.VERIFIED, UserProvenances.PI_AAD);
+        when(accountService.findUserSummariesByIds(List.of(USER_ID))).thenReturn(Map.of(USER_ID, user));
+        when(sensitivityService.filterAuthorised(users(user), classifiedArtefactMatches.getListType(),
+                                                 classifiedArtefactMatches.getSensitivity()))
+            .thenReturn(List.of());
         subscriptionNotificationService.collectThirdPartyForDeletion(classifiedArtefactMatches);
-        verify(publicationService, never()).legacySendEmptyArtefact(any());
+        verify(reactivePublicationService, never()).legacySendEmptyArtefact(any());
+    }
+
+    private Artefact createBatchArtefact(String locationId, Map<String, List<Object>> search) {
+        Artefact artefact = new Artefact();
+        artefact.setArtefactId(UUID.randomUUID());
+        artefact.setSensitivity(Sensitivity.PUBLIC);
+        artefact.setLocationId(locationId);
+        artefact.setSearch(search);
+        artefact.setListType(ListType.MAGISTRATES_PUBLIC_LIST);
+        artefact.setLanguage(Language.ENGLISH);
+        return artefact;
+    }
+
+    @Test
+    void testCollectEmailSubscribersForBatchSharesLocationLookups() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        Artefact otherArtefact = createBatchArtefact(COURT_MATCH, searchTerms);
+        returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
+
+        when(subscriptionRepository.findSubscriptionsByLocationSearchValue(COURT_MATCH, MAGISTRATES_PUBLIC_LIST,
+                                                                           LIST_LANGUAGE))
+            .thenReturn(List.of(returnedSubscription));
+        when(accountService.findUserSummariesByIds(any())).thenReturn(subscribers);
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(returnedMappedEmails);
+        when(outboundNotificationService.postSubscriptionSummaries(any())).thenReturn(Mono.just(true));
+
+        List<ArtefactRecipientStatus> statuses = subscriptionNotificationService.collectEmailSubscribersForBatch(
+            List.of(publicArtefactMatches, otherArtefact)
+        );
+
+        assertEquals(List.of(new ArtefactRecipientStatus(TEST_UUID, RecipientRequestStatus.ACCEPTED),
+                             new ArtefactRecipientStatus(otherArtefact.getArtefactId(),
+                                                         RecipientRequestStatus.ACCEPTED)),
+                     statuses, "Artefact statuses should match");
+        verify(subscriptionRepository).findSubscriptionsByLocationSearchValue(COURT_MATCH, MAGISTRATES_PUBLIC_LIST,
+                                                                              LIST_LANGUAGE);
+        verify(subscriptionRepository, times(2))
+            .findBySearchTypeAndSearchValueIn(SearchType.CASE_ID, Set.of(CASE_MATCH, TEST));
+        verify(subscriptionRepository, times(2))
+            .findBySearchTypeAndSearchValueIn(SearchType.CASE_URN, Set.of(CASE_MATCH, TEST));
+        verify(accountService, times(2)).findUserSummariesByIds(any());
+        verify(fanOutExecutor, times(3)).execute(any());
+        verify(reactivePublicationService).formatSubscriptionsSummary(TEST_UUID, returnedMappedEmails);
+        verify(reactivePublicationService).formatSubscriptionsSummary(otherArtefact.getArtefactId(),
+                                                                      returnedMappedEmails);
+    }
+
+    @Test
+    void testCollectEmailSubscribersForBatchMatchesCasesToEachArtefact() {
+        Subscription caseSubscription = createMockSubscription(ACCEPTED_USER_ID, CASE_MATCH, EMAIL,
+                                                               LocalDateTime.now());
+        caseSubscription.setSearchType(SearchType.CASE_ID);
+        Artefact otherArtefact = createBatchArtefact("2", Collections.emptyMap());
+
+        when(subscriptionRepository.findBySearchTypeAndSearchValueIn(eq(SearchType.CASE_ID), any()))
+            .thenReturn(List.of(caseSubscription));
+        when(accountService.findUserSummariesByIds(any())).thenReturn(subscribers);
+
+        subscriptionNotificationService.collectEmailSubscribersForBatch(List.of(publicArtefactMatches, otherArtefact));
+
+        verify(subscriptionChannelService).buildEmailSubscriptions(List.of(caseSubscription), subscribers);
+        verify(subscriptionChannelService).buildEmailSubscriptions(Collections.emptyList(), Collections.emptyMap());
+    }
+
+    @Test
+    void testCollectEmailSubscribersForBatchReportsArtefactWhoseLookupFailed() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        Artefact otherArtefact = createBatchArtefact("2", Collections.emptyMap());
+        returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
+
+        when(subscriptionRepository.findSubscriptionsByLocationSearchValue(COURT_MATCH, MAGISTRATES_PUBLIC_LIST,
+                                                                           LIST_LANGUAGE))
+            .thenReturn(List.of(returnedSubscription));
+        when(subscriptionRepository.findSubscriptionsByLocationSearchValue("2", MAGISTRATES_PUBLIC_LIST,
+                                                                           LIST_LANGUAGE))
+            .thenThrow(new IllegalStateException(SEND_FAILURE_MESSAGE));
+        when(accountService.findUserSummariesByIds(any())).thenReturn(subscribers);
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(returnedMappedEmails);
+
+        try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
+            List<ArtefactRecipientStatus> statuses = subscriptionNotificationService.collectEmailSubscribersForBatch(
+                List.of(otherArtefact, publicArtefactMatches)
+            );
+
+            assertEquals(List.of(new ArtefactRecipientStatus(otherArtefact.getArtefactId(),
+                                                             RecipientRequestStatus.FAILED),
+                                 new ArtefactRecipientStatus(TEST_UUID, RecipientRequestStatus.ACCEPTED)),
+                         statuses, "Only the artefact whose lookup failed should be reported as failed");
+            assertTrue(logCaptor.getErrorLogs().get(0).contains(SEND_FAILURE_MESSAGE), LOG_MESSAGE_MATCH);
+        }
+        verify(outboundNotificationService, times(1)).postSubscriptionSummaries(any());
+    }
+
+    @Test
+    void testCollectEmailSubscribersForBatchReportsRejectedArtefacts() {
+        doThrow(new TaskRejectedException("Fan-out executor is full")).when(fanOutExecutor).execute(any());
+
+        List<ArtefactRecipientStatus> statuses = subscriptionNotificationService.collectEmailSubscribersForBatch(
+            List.of(publicArtefactMatches)
+        );
+
+        assertEquals(List.of(new ArtefactRecipientStatus(TEST_UUID, RecipientRequestStatus.FAILED)),
+                     statuses, "Artefact rejected by the fan-out executor should be reported as failed");
+        verify(outboundNotificationService, never()).postSubscriptionSummaries(any());
+    }
+
+    @Test
+    void testCollectEmailSubscribersForBatchSendsChunksWhenEnabled() {
+        Artefact otherArtefact = createBatchArtefact(COURT_MATCH, Collections.emptyMap());
+        when(subscriptionChunkReader.isEnabled()).thenReturn(true);
+
+        List<ArtefactRecipientStatus> statuses = subscriptionNotificationService.collectEmailSubscribersForBatch(
+            List.of(publicArtefactMatches, otherArtefact)
+        );
+
+        assertEquals(List.of(new ArtefactRecipientStatus(TEST_UUID, RecipientRequestStatus.ACCEPTED),
+                             new ArtefactRecipientStatus(otherArtefact.getArtefactId(),
+                                                         RecipientRequestStatus.ACCEPTED)),
+                     statuses, "Artefact statuses should match");
+        verify(subscriptionChunkReader, times(2)).readEmailSubscriptions(
+            eq(COURT_MATCH), eq(MAGISTRATES_PUBLIC_LIST), eq(LIST_LANGUAGE), any(), any()
+        );
+        verify(subscriptionRepository, never()).findSubscriptionsByLocationSearchValue(any(), any(), any());
+    }
+
+    @Test
+    void testCollectEmailSubscribersForBatchReportsFailedArtefacts() {
+        returnedSubscription.setChannel(Channel.EMAIL);
+        Artefact invalidArtefact = new Artefact();
+        invalidArtefact.setArtefactId(UUID.randomUUID());
+        returnedMappedEmails.put(TEST_USER_EMAIL, List.of(returnedSubscription));
+
+        when(subscriptionRepository.findSubscriptionsByLocationSearchValue(COURT_MATCH, MAGISTRATES_PUBLIC_LIST,
+                                                                           LIST_LANGUAGE))
+            .thenReturn(List.of(returnedSubscription));
+        when(accountService.findUserSummariesByIds(any())).thenReturn(subscribers);
+        when(subscriptionChannelService.buildEmailSubscriptions(any(), any())).thenReturn(returnedMappedEmails);
+        when(outboundNotificationService.postSubscriptionSummaries(any())).thenReturn(Mono.just(false));
+
+        try (LogCaptor logCaptor = LogCaptor.forClass(SubscriptionNotificationService.class)) {
+            List<ArtefactRecipientStatus> statuses = subscriptionNotificationService.collectEmailSubscribersForBatch(
+                List.of(invalidArtefact, publicArtefactMatches)
+            );
+
+            assertEquals(List.of(new ArtefactRecipientStatus(invalidArtefact.getArtefactId(),
+                                                             RecipientRequestStatus.FAILED),
+                                 new ArtefactRecipientStatus(TEST_UUID, RecipientRequestStatus.FAILED)),
+                         statuses, "Artefact statuses should match");
+            assertTrue(logCaptor.getErrorLogs().get(0).contains("missing required fields"), LOG_MESSAGE_MATCH);
+        }
+        verify(outboundNotificationService, times(1)).postSubscriptionSummaries(any());
+    }
+
+    @Test
+    void testCollectEmailSubscribersForBatchRejectsOversizedBatch() {
+        List<Artefact> artefacts = Collections.nCopies(SubscriptionNotificationService.MAX_BATCH_SIZE + 1,
+                                                       publicArtefactMatches);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+            subscriptionNotificationService.collectEmailSubscribersForBatch(artefacts));
+
+        assertTrue(exception.getMessage().contains("at most"), "Exception message should state the maximum");
+        verify(subscriptionRepository, never()).findBySearchTypeAndSearchValueIn(any(), any());
+        verify(outboundNotificationService, never()).postSubscriptionSummaries(any());
     }
 }
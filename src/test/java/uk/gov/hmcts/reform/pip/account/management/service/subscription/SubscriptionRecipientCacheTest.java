@@ -0,0 +1,221 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotifications;
+import uk.gov.hmcts.reform.pip.model.subscription.Channel;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.pip.account.management.helpers.SubscriptionUtils.createMockSubscription;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionRecipientCacheTest {
+    private static final String LOCATION_ID = "1";
+    private static final String OTHER_LOCATION_ID = "2";
+    private static final String THIRD_LOCATION_ID = "3";
+    private static final String LIST_TYPE = "CIVIL_DAILY_CAUSE_LIST";
+    private static final String ENGLISH = "ENGLISH";
+    private static final String CASE_NUMBER = "123";
+    private static final String OTHER_CASE_NUMBER = "456";
+    private static final int MAX_ENTRIES = 100;
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(1);
+    private static final String CACHE_MESSAGE = "Subscriptions returned from the cache do not match";
+    private static final String LOAD_MESSAGE = "Number of loads does not match";
+
+    @Mock
+    private SubscriptionRoutingIndex subscriptionRoutingIndex;
+
+    @Mock
+    private ClusterNotifications clusterNotifications;
+
+    private MeterRegistry meterRegistry;
+    private SubscriptionRecipientCache subscriptionRecipientCache;
+    private Subscription locationSubscription;
+    private Subscription caseSubscription;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        subscriptionRecipientCache = new SubscriptionRecipientCache(subscriptionRoutingIndex, clusterNotifications,
+                                                                    meterRegistry, true, MAX_ENTRIES, TIME_TO_LIVE);
+        lenient().when(clusterNotifications.isListening()).thenReturn(true);
+
+        locationSubscription = createMockSubscription(UUID.randomUUID(), LOCATION_ID, Channel.EMAIL,
+                                                      LocalDateTime.now());
+        caseSubscription = createMockSubscription(UUID.randomUUID(), CASE_NUMBER, Channel.EMAIL,
+                                                  LocalDateTime.now());
+        caseSubscription.setSearchType(SearchType.CASE_ID);
+    }
+
+    private List<Subscription> getLocationSubscriptions(SubscriptionRecipientCache cache, String locationId,
+                                                        AtomicInteger loads) {
+        return cache.getLocationSubscriptions(locationId, LIST_TYPE, ENGLISH, () -> {
+            loads.incrementAndGet();
+            return List.of(locationSubscription);
+        });
+    }
+
+    @Test
+    void testDisabledCacheAlwaysLoads() {
+        SubscriptionRecipientCache disabledCache = new SubscriptionRecipientCache(
+            subscriptionRoutingIndex, clusterNotifications, new SimpleMeterRegistry(), false, MAX_ENTRIES, TIME_TO_LIVE
+        );
+        AtomicInteger loads = new AtomicInteger();
+
+        getLocationSubscriptions(disabledCache, LOCATION_ID, loads);
+        getLocationSubscriptions(disabledCache, LOCATION_ID, loads);
+
+        assertThat(loads)
+            .as(LOAD_MESSAGE)
+            .hasValue(2);
+        verifyNoInteractions(subscriptionRoutingIndex);
+    }
+
+    @Test
+    void testLocationSubscriptionsAreCached() {
+        when(subscriptionRoutingIndex.getVersion()).thenReturn(1L);
+        AtomicInteger loads = new AtomicInteger();
+
+        getLocationSubscriptions(subscriptionRecipientCache, LOCATION_ID, loads);
+
+        assertThat(getLocationSubscriptions(subscriptionRecipientCache, LOCATION_ID, loads))
+            .as(CACHE_MESSAGE)
+            .containsExactly(locationSubscription);
+        assertThat(loads)
+            .as(LOAD_MESSAGE)
+            .hasValue(1);
+        assertThat(meterRegistry.get("subscription.recipient.cache.requests").tag("result", "hit").counter().count())
+            .as("Hit count does not match")
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("subscription.recipient.cache.requests").tag("result", "miss").counter().count())
+            .as("Miss count does not match")
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testVersionChangeInvalidatesEntries() {
+        when(subscriptionRoutingIndex.getVersion()).thenReturn(1L).thenReturn(2L);
+        AtomicInteger loads = new AtomicInteger();
+
+        getLocationSubscriptions(subscriptionRecipientCache, LOCATION_ID, loads);
+        getLocationSubscriptions(subscriptionRecipientCache, LOCATION_ID, loads);
+
+        assertThat(loads)
+            .as(LOAD_MESSAGE)
+            .hasValue(2);
+    }
+
+    @Test
+    void testCacheIsNotUsedWhileNotListening() {
+        when(clusterNotifications.isListening()).thenReturn(false);
+        AtomicInteger loads = new AtomicInteger();
+
+        getLocationSubscriptions(subscriptionRecipientCache, LOCATION_ID, loads);
+        getLocationSubscriptions(subscriptionRecipientCache, LOCATION_ID, loads);
+
+        assertThat(loads)
+            .as("Cache should not be used while changes made by other instances are not being received")
+            .hasValue(2);
+        verifyNoInteractions(subscriptionRoutingIndex);
+    }
+
+    @Test
+    void testExpiredEntriesAreNotReturned() {
+        SubscriptionRecipientCache expiringCache = new SubscriptionRecipientCache(
+            subscriptionRoutingIndex, clusterNotifications, new SimpleMeterRegistry(), true, MAX_ENTRIES, Duration.ZERO
+        );
+        when(subscriptionRoutingIndex.getVersion()).thenReturn(1L);
+        AtomicInteger loads = new AtomicInteger();
+
+        getLocationSubscriptions(expiringCache, LOCATION_ID, loads);
+        getLocationSubscriptions(expiringCache, LOCATION_ID, loads);
+
+        assertThat(loads)
+            .as(LOAD_MESSAGE)
+            .hasValue(2);
+    }
+
+    @Test
+    void testCacheIsBoundedToMaximumEntries() {
+        SubscriptionRecipientCache singleEntryCache = new SubscriptionRecipientCache(
+            subscriptionRoutingIndex, clusterNotifications, meterRegistry, true, 1, TIME_TO_LIVE
+        );
+        when(subscriptionRoutingIndex.getVersion()).thenReturn(1L);
+        AtomicInteger loads = new AtomicInteger();
+
+        getLocationSubscriptions(singleEntryCache, LOCATION_ID, loads);
+        getLocationSubscriptions(singleEntryCache, OTHER_LOCATION_ID, loads);
+        getLocationSubscriptions(singleEntryCache, THIRD_LOCATION_ID, loads);
+
+        // Entries are evicted in the background, so wait for the cache to catch up
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            assertThat(meterRegistry.get("subscription.recipient.cache.evictions").counter().count())
+                .as("Eviction count does not match")
+                .isEqualTo(2);
+            assertThat(meterRegistry.get("subscription.recipient.cache.size").gauge().value())
+                .as("Cache size does not match")
+                .isEqualTo(1);
+        });
+    }
+
+    @Test
+    void testOnlyUncachedCaseValuesAreLoaded() {
+        when(subscriptionRoutingIndex.getVersion()).thenReturn(1L);
+        List<Set<String>> loadedValues = new ArrayList<>();
+
+        subscriptionRecipientCache.getCaseSubscriptions(SearchType.CASE_ID, Set.of(CASE_NUMBER), values -> {
+            loadedValues.add(values);
+            return List.of(caseSubscription);
+        });
+        List<Subscription> subscriptions = subscriptionRecipientCache.getCaseSubscriptions(
+            SearchType.CASE_ID, Set.of(CASE_NUMBER, OTHER_CASE_NUMBER), values -> {
+                loadedValues.add(values);
+                return List.of();
+            }
+        );
+
+        assertThat(subscriptions)
+            .as(CACHE_MESSAGE)
+            .containsExactly(caseSubscription);
+        assertThat(loadedValues)
+            .as("Loaded case values do not match")
+            .containsExactly(Set.of(CASE_NUMBER), Set.of(OTHER_CASE_NUMBER));
+    }
+
+    @Test
+    void testCaseValuesWithNoSubscriptionsAreCached() {
+        when(subscriptionRoutingIndex.getVersion()).thenReturn(1L);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            subscriptionRecipientCache.getCaseSubscriptions(SearchType.CASE_URN, Set.of(OTHER_CASE_NUMBER),
+                                                            values -> {
+                                                                loads.incrementAndGet();
+                                                                return List.of();
+                                                            });
+        }
+
+        assertThat(loads)
+            .as(LOAD_MESSAGE)
+            .hasValue(1);
+    }
+}
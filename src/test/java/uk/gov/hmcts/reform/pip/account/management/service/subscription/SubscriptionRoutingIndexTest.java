@@ -0,0 +1,322 @@
+package uk.gov.hmcts.reform.pip.account.management.service.subscription;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionListTypeRepository;
+import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.model.subscription.SubscriptionListType;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotifications;
+import uk.gov.hmcts.reform.pip.model.subscription.Channel;
+import uk.gov.hmcts.reform.pip.model.subscription.SearchType;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.pip.account.management.helpers.SubscriptionUtils.createMockSubscription;
+import static uk.gov.hmcts.reform.pip.model.publication.ListType.CIVIL_DAILY_CAUSE_LIST;
+import static uk.gov.hmcts.reform.pip.model.publication.ListType.FAMILY_DAILY_CAUSE_LIST;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionRoutingIndexTest {
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID ALL_LIST_TYPES_USER_ID = UUID.randomUUID();
+    private static final UUID NO_LIST_TYPE_USER_ID = UUID.randomUUID();
+    private static final String LOCATION_ID = "1";
+    private static final String CASE_NUMBER = "123";
+    private static final String ENGLISH = "ENGLISH";
+    private static final String WELSH = "WELSH";
+    private static final String INDEX_MESSAGE = "Subscriptions returned from the index do not match";
+
+    private Subscription locationSubscription;
+    private Subscription allListTypesLocationSubscription;
+    private Subscription noListTypeLocationSubscription;
+    private Subscription caseSubscription;
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private SubscriptionListTypeRepository subscriptionListTypeRepository;
+
+    @Mock
+    private ClusterNotifications clusterNotifications;
+
+    private SubscriptionRoutingIndex subscriptionRoutingIndex;
+
+    @BeforeEach
+    void setup() {
+        LocalDateTime createdDate = LocalDateTime.now();
+        locationSubscription = createMockSubscription(USER_ID, LOCATION_ID, Channel.EMAIL, createdDate);
+        allListTypesLocationSubscription = createMockSubscription(ALL_LIST_TYPES_USER_ID, LOCATION_ID,
+                                                                  Channel.EMAIL, createdDate);
+        noListTypeLocationSubscription = createMockSubscription(NO_LIST_TYPE_USER_ID, LOCATION_ID,
+                                                                Channel.EMAIL, createdDate);
+        caseSubscription = createMockSubscription(USER_ID, CASE_NUMBER, Channel.EMAIL, createdDate);
+        caseSubscription.setSearchType(SearchType.CASE_ID);
+
+        subscriptionRoutingIndex = new SubscriptionRoutingIndex(subscriptionRepository,
+                                                                subscriptionListTypeRepository,
+                                                                clusterNotifications, true, false);
+        lenient().when(clusterNotifications.isListening()).thenReturn(true);
+    }
+
+    private void buildIndex() {
+        when(subscriptionRepository.findAll()).thenReturn(List.of(
+            locationSubscription, allListTypesLocationSubscription, noListTypeLocationSubscription, caseSubscription
+        ));
+        when(subscriptionListTypeRepository.findAll()).thenReturn(List.of(
+            new SubscriptionListType(USER_ID, List.of(CIVIL_DAILY_CAUSE_LIST.name()), List.of(ENGLISH)),
+            new SubscriptionListType(ALL_LIST_TYPES_USER_ID, Collections.emptyList(), List.of(ENGLISH, WELSH))
+        ));
+        subscriptionRoutingIndex.rebuild();
+    }
+
+    @Test
+    void testIndexIsNotActiveUntilBuilt() {
+        assertThat(subscriptionRoutingIndex.isActive())
+            .as("Index should not be active before it has been built")
+            .isFalse();
+
+        buildIndex();
+
+        assertThat(subscriptionRoutingIndex.isActive())
+            .as("Index should be active after it has been built")
+            .isTrue();
+    }
+
+    @Test
+    void testDisabledIndexIsNeverBuilt() {
+        SubscriptionRoutingIndex disabledIndex = new SubscriptionRoutingIndex(subscriptionRepository,
+                                                                              subscriptionListTypeRepository,
+                                                                              clusterNotifications, false, false);
+        disabledIndex.handleMissedNotifications();
+        disabledIndex.scheduledRebuild();
+
+        assertThat(disabledIndex.isActive())
+            .as("Disabled index should not be active")
+            .isFalse();
+        verifyNoInteractions(subscriptionRepository, subscriptionListTypeRepository);
+    }
+
+    @Test
+    void testVersionIsIncrementedWhenDisabled() {
+        SubscriptionRoutingIndex disabledIndex = new SubscriptionRoutingIndex(subscriptionRepository,
+                                                                              subscriptionListTypeRepository,
+                                                                              clusterNotifications, false, false);
+        long version = disabledIndex.getVersion();
+
+        disabledIndex.addSubscription(locationSubscription);
+        disabledIndex.removeListType(USER_ID);
+
+        assertThat(disabledIndex.getVersion())
+            .as("Subscription version should be incremented for each change")
+            .isEqualTo(version + 2);
+        verify(clusterNotifications, never()).publish(anyString(), anyString());
+    }
+
+    @Test
+    void testSharedVersionIsIncrementedForOtherInstancesWhenDisabled() {
+        SubscriptionRoutingIndex versionOnlyIndex = new SubscriptionRoutingIndex(subscriptionRepository,
+                                                                                 subscriptionListTypeRepository,
+                                                                                 clusterNotifications, false, true);
+        long version = versionOnlyIndex.getVersion();
+
+        versionOnlyIndex.removeListType(USER_ID);
+        versionOnlyIndex.handleNotifications(List.of(USER_ID.toString()));
+        versionOnlyIndex.handleMissedNotifications();
+
+        assertThat(versionOnlyIndex.isEnabled())
+            .as("Changes should be listened for when the version is shared")
+            .isTrue();
+        assertThat(versionOnlyIndex.getVersion())
+            .as("Subscription version should be incremented for changes made by any instance")
+            .isEqualTo(version + 3);
+        verify(clusterNotifications).publish(SubscriptionRoutingIndex.NOTIFICATION_CHANNEL, USER_ID.toString());
+        verifyNoInteractions(subscriptionRepository, subscriptionListTypeRepository);
+    }
+
+    @Test
+    void testIndexIsNotActiveWhileNotListening() {
+        buildIndex();
+        when(clusterNotifications.isListening()).thenReturn(false);
+
+        assertThat(subscriptionRoutingIndex.isActive())
+            .as("Index should not be active while changes made by other instances are not being received")
+            .isFalse();
+    }
+
+    @Test
+    void testChangesAreSentToOtherInstances() {
+        buildIndex();
+
+        subscriptionRoutingIndex.removeAllForUser(USER_ID);
+
+        verify(clusterNotifications).publish(SubscriptionRoutingIndex.NOTIFICATION_CHANNEL, USER_ID.toString());
+    }
+
+    @Test
+    void testChangesToManyUsersAreSentAsRebuild() {
+        buildIndex();
+        List<Subscription> subscriptions = Stream.generate(() -> createMockSubscription(
+            UUID.randomUUID(), LOCATION_ID, Channel.EMAIL, LocalDateTime.now())).limit(101).toList();
+
+        subscriptionRoutingIndex.removeSubscriptions(subscriptions);
+
+        verify(clusterNotifications).publish(SubscriptionRoutingIndex.NOTIFICATION_CHANNEL, "");
+    }
+
+    @Test
+    void testNotificationReloadsChangedUsers() {
+        buildIndex();
+        Subscription newSubscription = createMockSubscription(NO_LIST_TYPE_USER_ID, "2", Channel.EMAIL,
+                                                              LocalDateTime.now());
+        when(subscriptionRepository.findByUserIdIn(Set.of(NO_LIST_TYPE_USER_ID))).thenReturn(List.of(newSubscription));
+        when(subscriptionListTypeRepository.findByUserIdIn(Set.of(NO_LIST_TYPE_USER_ID))).thenReturn(List.of(
+            new SubscriptionListType(NO_LIST_TYPE_USER_ID, List.of(), List.of(ENGLISH))
+        ));
+        long version = subscriptionRoutingIndex.getVersion();
+
+        subscriptionRoutingIndex.handleNotifications(List.of(NO_LIST_TYPE_USER_ID.toString()));
+
+        assertThat(subscriptionRoutingIndex.findSubscriptionsByLocation("2", FAMILY_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(INDEX_MESSAGE)
+            .containsExactly(newSubscription);
+        assertThat(subscriptionRoutingIndex.findSubscriptionsByLocation(
+            LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(INDEX_MESSAGE)
+            .containsExactlyInAnyOrder(locationSubscription, allListTypesLocationSubscription);
+        assertThat(subscriptionRoutingIndex.getVersion())
+            .as("Subscription version should be incremented for changes made by other instances")
+            .isGreaterThan(version);
+        verify(clusterNotifications, never()).publish(eq(SubscriptionRoutingIndex.NOTIFICATION_CHANNEL),
+                                                      anyString());
+    }
+
+    @Test
+    void testNotificationOfLargeChangeRebuildsIndex() {
+        buildIndex();
+
+        subscriptionRoutingIndex.handleNotifications(List.of(USER_ID.toString(), ""));
+
+        verify(subscriptionRepository, times(2)).findAll();
+        verify(subscriptionRepository, never()).findByUserIdIn(any());
+    }
+
+    @Test
+    void testFindLocationSubscriptionsMatchingListTypeAndLanguage() {
+        buildIndex();
+
+        assertThat(subscriptionRoutingIndex.findSubscriptionsByLocation(
+            LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(INDEX_MESSAGE)
+            .containsExactlyInAnyOrder(locationSubscription, allListTypesLocationSubscription);
+    }
+
+    @Test
+    void testFindLocationSubscriptionsWithEmptyListTypesMatchesAllListTypes() {
+        buildIndex();
+
+        assertThat(subscriptionRoutingIndex.findSubscriptionsByLocation(
+            LOCATION_ID, FAMILY_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(INDEX_MESSAGE)
+            .containsExactly(allListTypesLocationSubscription);
+    }
+
+    @Test
+    void testFindLocationSubscriptionsFiltersByLanguage() {
+        buildIndex();
+
+        assertThat(subscriptionRoutingIndex.findSubscriptionsByLocation(
+            LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), WELSH))
+            .as(INDEX_MESSAGE)
+            .containsExactly(allListTypesLocationSubscription);
+    }
+
+    @Test
+    void testFindSubscriptionsBySearchValues() {
+        buildIndex();
+
+        assertThat(subscriptionRoutingIndex.findSubscriptionsBySearchValues(
+            SearchType.CASE_ID, Set.of(CASE_NUMBER, "unknown")))
+            .as(INDEX_MESSAGE)
+            .containsExactly(caseSubscription);
+
+        assertThat(subscriptionRoutingIndex.findSubscriptionsBySearchValue(SearchType.CASE_URN, CASE_NUMBER))
+            .as(INDEX_MESSAGE)
+            .isEmpty();
+    }
+
+    @Test
+    void testAddAndRemoveSubscription() {
+        buildIndex();
+        Subscription newSubscription = createMockSubscription(USER_ID, "2", Channel.EMAIL, LocalDateTime.now());
+        Subscription otherSubscription = createMockSubscription(USER_ID, "2", Channel.API_COURTEL,
+                                                                LocalDateTime.now());
+
+        subscriptionRoutingIndex.addSubscription(newSubscription);
+        subscriptionRoutingIndex.addSubscription(otherSubscription);
+        assertThat(subscriptionRoutingIndex.findSubscriptionsByLocation("2", CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(INDEX_MESSAGE)
+            .containsExactlyInAnyOrder(newSubscription, otherSubscription);
+
+        subscriptionRoutingIndex.removeSubscriptions(List.of(newSubscription));
+        assertThat(subscriptionRoutingIndex.findSubscriptionsByLocation("2", CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(INDEX_MESSAGE)
+            .containsExactly(otherSubscription);
+
+        subscriptionRoutingIndex.removeSubscriptions(List.of(otherSubscription));
+        assertThat(subscriptionRoutingIndex.findSubscriptionsByLocation("2", CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(INDEX_MESSAGE)
+            .isEmpty();
+    }
+
+    @Test
+    void testAddAndRemoveListType() {
+        buildIndex();
+
+        subscriptionRoutingIndex.addListType(new SubscriptionListType(NO_LIST_TYPE_USER_ID, List.of(),
+                                                                      List.of(ENGLISH)));
+        assertThat(subscriptionRoutingIndex.findSubscriptionsByLocation(
+            LOCATION_ID, FAMILY_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(INDEX_MESSAGE)
+            .containsExactlyInAnyOrder(allListTypesLocationSubscription, noListTypeLocationSubscription);
+
+        subscriptionRoutingIndex.removeListType(ALL_LIST_TYPES_USER_ID);
+        assertThat(subscriptionRoutingIndex.findSubscriptionsByLocation(
+            LOCATION_ID, FAMILY_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(INDEX_MESSAGE)
+            .containsExactly(noListTypeLocationSubscription);
+    }
+
+    @Test
+    void testRemoveAllForUser() {
+        buildIndex();
+        subscriptionRoutingIndex.removeAllForUser(USER_ID);
+
+        assertThat(subscriptionRoutingIndex.findSubscriptionsBySearchValue(SearchType.CASE_ID, CASE_NUMBER))
+            .as(INDEX_MESSAGE)
+            .isEmpty();
+        assertThat(subscriptionRoutingIndex.findSubscriptionsByLocation(
+            LOCATION_ID, CIVIL_DAILY_CAUSE_LIST.name(), ENGLISH))
+            .as(INDEX_MESSAGE)
+            .containsExactly(allListTypesLocationSubscription);
+    }
+}
@@ -7,6 +7,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.context.ActiveProfiles;
 import uk.gov.hmcts.reform.pip.account.management.database.SubscriptionRepository;
@@ -15,6 +16,7 @@ import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.Subsc
 import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.UserNotFoundException;
 import uk.gov.hmcts.reform.pip.account.management.model.account.PiUser;
 import uk.gov.hmcts.reform.pip.account.management.model.subscription.Subscription;
+import uk.gov.hmcts.reform.pip.account.management.service.RequestLookupContext;
 import uk.gov.hmcts.reform.pip.model.report.AllSubscriptionMiData;
 import uk.gov.hmcts.reform.pip.model.report.LocationSubscriptionMiData;
 import uk.gov.hmcts.reform.pip.model.subscription.Channel;
@@ -64,6 +66,15 @@ class SubscriptionServiceTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    SubscriptionRoutingIndex subscriptionRoutingIndex;
+
+    @Mock
+    CaseSubscriptionFilter caseSubscriptionFilter;
+
+    @Spy
+    RequestLookupContext requestLookupContext = new RequestLookupContext();
+
     @InjectMocks
     SubscriptionService subscriptionService;
 
@@ -92,6 +103,8 @@ class SubscriptionServiceTest {
         assertEquals(subscriptionService.createSubscription(mockSubscription, ACTIONING_USER_ID), mockSubscription,
                      SUBSCRIPTION_CREATED_ERROR
         );
+        verify(subscriptionRoutingIndex).addSubscription(mockSubscription);
+        verify(caseSubscriptionFilter).addSubscription(mockSubscription);
     }
 
     @Test
@@ -158,6 +171,7 @@ class SubscriptionServiceTest {
             subscriptionService.createSubscription(mockSubscription, ACTIONING_USER_ID);
 
         verify(subscriptionRepository, times(1)).delete(mockSubscription);
+        verify(subscriptionRoutingIndex).removeSubscriptions(List.of(mockSubscription));
         assertEquals(returnedSubscription, mockSubscription,
                      "The Returned subscription does match the expected subscription"
         );
@@ -173,6 +187,7 @@ class SubscriptionServiceTest {
         subscriptionService.deleteById(testUuid, ACTIONING_USER_ID);
         verify(subscriptionRepository).deleteById(testUuid);
         verify(subscriptionListTypeService).deleteListTypesForSubscription(any());
+        verify(subscriptionRoutingIndex).removeSubscriptions(List.of(findableSubscription));
     }
 
     @Test
@@ -210,6 +225,7 @@ class SubscriptionServiceTest {
         subscriptionService.bulkDeleteSubscriptions(testIds);
         verify(subscriptionRepository).deleteByIdIn(testIds);
         verify(subscriptionListTypeService).deleteListTypesForSubscription(USER_ID);
+        verify(subscriptionRoutingIndex).removeSubscriptions(List.of(subscription1, subscription2));
     }
 
     @Test
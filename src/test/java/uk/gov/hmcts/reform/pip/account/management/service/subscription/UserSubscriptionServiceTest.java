@@ -59,6 +59,9 @@ class UserSubscriptionServiceTest {
     @Mock
     SubscriptionListTypeRepository subscriptionListTypeRepository;
 
+    @Mock
+    SubscriptionRoutingIndex subscriptionRoutingIndex;
+
     @InjectMocks
     UserSubscriptionService userSubscriptionService;
 
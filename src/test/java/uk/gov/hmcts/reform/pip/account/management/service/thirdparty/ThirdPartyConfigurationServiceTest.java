@@ -34,6 +34,9 @@ class ThirdPartyConfigurationServiceTest {
     @Mock
     private ThirdPartySubscriptionNotificationService thirdPartySubscriptionNotificationService;
 
+    @Mock
+    private ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot;
+
     @InjectMocks
     private ThirdPartyConfigurationService service;
 
@@ -93,6 +96,7 @@ class ThirdPartyConfigurationServiceTest {
         service.updateThirdPartyConfigurationByUserId(USER_ID, dto);
 
         verify(apiOauthConfigurationRepository).save(any());
+        verify(thirdPartyRoutingSnapshot).invalidate();
     }
 
     @Test
@@ -100,6 +104,7 @@ class ThirdPartyConfigurationServiceTest {
         service.deleteThirdPartyConfigurationByUserId(USER_ID);
 
         verify(apiOauthConfigurationRepository).deleteByUserId(USER_ID);
+        verify(thirdPartyRoutingSnapshot).invalidate();
     }
 
     @Test
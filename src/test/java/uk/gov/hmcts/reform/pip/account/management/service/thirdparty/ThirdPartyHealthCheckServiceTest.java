@@ -0,0 +1,173 @@
+package uk.gov.hmcts.reform.pip.account.management.service.thirdparty;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.pip.account.management.database.ApiOauthConfigurationRepository;
+import uk.gov.hmcts.reform.pip.account.management.database.ApiUserRepository;
+import uk.gov.hmcts.reform.pip.account.management.errorhandling.exceptions.ThirdPartyHealthCheckException;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiOauthConfiguration;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUserStatus;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ThirdPartyHealthCheckResult;
+import uk.gov.hmcts.reform.pip.account.management.service.ReactivePublicationService;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ThirdPartyHealthCheckServiceTest {
+    private static final UUID USER_ID1 = UUID.randomUUID();
+    private static final UUID USER_ID2 = UUID.randomUUID();
+    private static final UUID USER_ID3 = UUID.randomUUID();
+    private static final int PARALLELISM = 2;
+    private static final Duration TIMEOUT = Duration.ofMillis(200);
+    private static final String ERROR_MESSAGE = "Invalid client credentials";
+    private static final String RESULTS_MESSAGE = "Health check results do not match";
+
+    @Mock
+    private ApiUserRepository apiUserRepository;
+
+    @Mock
+    private ApiOauthConfigurationRepository apiOauthConfigurationRepository;
+
+    @Mock
+    private ReactivePublicationService reactivePublicationService;
+
+    private ThirdPartyHealthCheckService thirdPartyHealthCheckService;
+
+    @BeforeEach
+    void setup() {
+        thirdPartyHealthCheckService = new ThirdPartyHealthCheckService(
+            apiUserRepository, apiOauthConfigurationRepository, reactivePublicationService, PARALLELISM, TIMEOUT
+        );
+    }
+
+    private static ApiUser createApiUser(UUID userId) {
+        ApiUser apiUser = new ApiUser();
+        apiUser.setUserId(userId);
+        apiUser.setStatus(ApiUserStatus.ACTIVE);
+        return apiUser;
+    }
+
+    private static ApiOauthConfiguration createConfiguration(UUID userId) {
+        ApiOauthConfiguration apiOauthConfiguration = new ApiOauthConfiguration();
+        apiOauthConfiguration.setUserId(userId);
+        return apiOauthConfiguration;
+    }
+
+    private void setupUsers(UUID... configuredUserIds) {
+        when(apiUserRepository.findAllByStatus(ApiUserStatus.ACTIVE)).thenReturn(List.of(
+            createApiUser(USER_ID1), createApiUser(USER_ID2), createApiUser(USER_ID3)
+        ));
+        when(apiOauthConfigurationRepository.findAllByUserIdIn(anyList())).thenReturn(
+            Arrays.stream(configuredUserIds).map(ThirdPartyHealthCheckServiceTest::createConfiguration)
+                .toList()
+        );
+    }
+
+    @Test
+    void testHealthCheckResultsForEachUser() {
+        setupUsers(USER_ID1, USER_ID2);
+        when(reactivePublicationService.sendThirdPartyHealthCheck(any(), eq(TIMEOUT)))
+            .thenReturn(Mono.just(true))
+            .thenReturn(Mono.error(new ThirdPartyHealthCheckException(ERROR_MESSAGE)));
+
+        List<ThirdPartyHealthCheckResult> results = thirdPartyHealthCheckService
+            .validateAllThirdPartyConfigurations();
+
+        assertThat(results)
+            .as(RESULTS_MESSAGE)
+            .extracting(ThirdPartyHealthCheckResult::getUserId, ThirdPartyHealthCheckResult::isHealthy,
+                        ThirdPartyHealthCheckResult::getErrorMessage)
+            .containsExactly(
+                tuple(USER_ID1, true, null),
+                tuple(USER_ID2, false, ERROR_MESSAGE),
+                tuple(USER_ID3, false, "No OAuth configuration found for third-party user")
+            );
+
+        assertThat(results.get(0).getLatencyMillis())
+            .as("Latency should be recorded for a health check which was sent")
+            .isNotNull();
+        assertThat(results.get(2).getLatencyMillis())
+            .as("Latency should not be recorded for a health check which was not sent")
+            .isNull();
+    }
+
+    @Test
+    void testUserWithDuplicateConfigurationsIsReportedAsFailed() {
+        setupUsers(USER_ID1, USER_ID2, USER_ID2, USER_ID3);
+        when(reactivePublicationService.sendThirdPartyHealthCheck(any(), eq(TIMEOUT))).thenReturn(Mono.just(true));
+
+        List<ThirdPartyHealthCheckResult> results = thirdPartyHealthCheckService
+            .validateAllThirdPartyConfigurations();
+
+        assertThat(results)
+            .as(RESULTS_MESSAGE)
+            .extracting(ThirdPartyHealthCheckResult::getUserId, ThirdPartyHealthCheckResult::isHealthy,
+                        ThirdPartyHealthCheckResult::getErrorMessage)
+            .containsExactly(
+                tuple(USER_ID1, true, null),
+                tuple(USER_ID2, false, "More than one OAuth configuration found for third-party user"),
+                tuple(USER_ID3, true, null)
+            );
+        verify(reactivePublicationService, times(2)).sendThirdPartyHealthCheck(any(), eq(TIMEOUT));
+    }
+
+    @Test
+    void testHealthCheckTimesOut() {
+        setupUsers(USER_ID1, USER_ID2, USER_ID3);
+        when(reactivePublicationService.sendThirdPartyHealthCheck(any(), eq(TIMEOUT)))
+            .thenReturn(Mono.just(true))
+            .thenReturn(Mono.error(new ThirdPartyHealthCheckException("Health check timed out after 200 ms")))
+            .thenReturn(Mono.just(true));
+
+        List<ThirdPartyHealthCheckResult> results = thirdPartyHealthCheckService
+            .validateAllThirdPartyConfigurations();
+
+        assertThat(results)
+            .as(RESULTS_MESSAGE)
+            .extracting(ThirdPartyHealthCheckResult::isHealthy)
+            .containsExactly(true, false, true);
+        assertThat(results.get(1).getErrorMessage())
+            .as("Error message should state that the health check timed out")
+            .isEqualTo("Health check timed out after 200 ms");
+    }
+
+    @Test
+    void testHealthChecksAreSentConcurrentlyUpToParallelism() {
+        setupUsers(USER_ID1, USER_ID2, USER_ID3);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(reactivePublicationService.sendThirdPartyHealthCheck(any(), eq(TIMEOUT)))
+            .thenAnswer(invocation -> Mono.delay(Duration.ofMillis(50))
+                .doOnSubscribe(subscription -> maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .doFinally(signal -> inFlight.decrementAndGet())
+                .thenReturn(true));
+
+        List<ThirdPartyHealthCheckResult> results = thirdPartyHealthCheckService
+            .validateAllThirdPartyConfigurations();
+
+        assertThat(results)
+            .as(RESULTS_MESSAGE)
+            .allMatch(ThirdPartyHealthCheckResult::isHealthy);
+        assertThat(maxInFlight.get())
+            .as("Health checks should be sent concurrently, up to the configured parallelism")
+            .isEqualTo(PARALLELISM);
+    }
+}
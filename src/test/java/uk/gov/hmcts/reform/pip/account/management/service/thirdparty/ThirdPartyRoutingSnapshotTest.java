@@ -0,0 +1,188 @@
+package uk.gov.hmcts.reform.pip.account.management.service.thirdparty;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.pip.account.management.database.ApiSubscriptionRepository;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiSubscriberConfiguration;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUserStatus;
+import uk.gov.hmcts.reform.pip.account.management.service.cluster.ClusterNotifications;
+import uk.gov.hmcts.reform.pip.model.publication.ListType;
+import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
+import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyOauthConfiguration;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ThirdPartyRoutingSnapshotTest {
+    private static final UUID CLASSIFIED_USER_ID = UUID.randomUUID();
+    private static final UUID PUBLIC_USER_ID = UUID.randomUUID();
+    private static final UUID MISCONFIGURED_USER_ID = UUID.randomUUID();
+    private static final ListType LIST_TYPE = ListType.CIVIL_DAILY_CAUSE_LIST;
+    private static final String ROUTE_MESSAGE = "Third-party route does not match";
+
+    @Mock
+    private ApiSubscriptionRepository apiSubscriptionRepository;
+
+    @Mock
+    private ClusterNotifications clusterNotifications;
+
+    private ThirdPartyRoutingSnapshot snapshot;
+
+    private final ThirdPartyOauthConfiguration classifiedConfiguration = new ThirdPartyOauthConfiguration();
+    private final ThirdPartyOauthConfiguration publicConfiguration = new ThirdPartyOauthConfiguration();
+    private ApiSubscriberConfiguration misconfiguredSubscriber;
+
+    @BeforeEach
+    void setup() {
+        snapshot = new ThirdPartyRoutingSnapshot(apiSubscriptionRepository, clusterNotifications, true);
+
+        classifiedConfiguration.setUserId(CLASSIFIED_USER_ID);
+        publicConfiguration.setUserId(PUBLIC_USER_ID);
+        misconfiguredSubscriber = new ApiSubscriberConfiguration(MISCONFIGURED_USER_ID, LIST_TYPE,
+                                                                 Sensitivity.PRIVATE, ApiUserStatus.ACTIVE, null);
+
+        lenient().when(apiSubscriptionRepository.findAllSubscriberConfigurations()).thenReturn(List.of(
+            new ApiSubscriberConfiguration(CLASSIFIED_USER_ID, LIST_TYPE, Sensitivity.CLASSIFIED,
+                                           ApiUserStatus.ACTIVE, classifiedConfiguration),
+            new ApiSubscriberConfiguration(PUBLIC_USER_ID, LIST_TYPE, Sensitivity.PUBLIC,
+                                           ApiUserStatus.ACTIVE, publicConfiguration),
+            misconfiguredSubscriber
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testRebuildPrecomputesRoutesForEachSensitivity() {
+        snapshot.rebuild();
+
+        assertThat(snapshot.isActive())
+            .as("Snapshot should be active once built")
+            .isTrue();
+        assertThat(snapshot.findRoute(LIST_TYPE, Sensitivity.PUBLIC).oauthConfigurations())
+            .as(ROUTE_MESSAGE)
+            .containsExactlyInAnyOrder(classifiedConfiguration, publicConfiguration);
+        assertThat(snapshot.findRoute(LIST_TYPE, Sensitivity.PRIVATE).oauthConfigurations())
+            .as(ROUTE_MESSAGE)
+            .containsExactly(classifiedConfiguration);
+        assertThat(snapshot.findRoute(LIST_TYPE, Sensitivity.CLASSIFIED).oauthConfigurations())
+            .as(ROUTE_MESSAGE)
+            .containsExactly(classifiedConfiguration);
+        assertThat(snapshot.findRoute(LIST_TYPE, Sensitivity.PRIVATE).misconfiguredSubscribers())
+            .as("Misconfigured subscribers should be kept so that they can be reported")
+            .containsExactly(misconfiguredSubscriber);
+        assertThat(snapshot.findRoute(ListType.FAMILY_DAILY_CAUSE_LIST, Sensitivity.PUBLIC).oauthConfigurations())
+            .as(ROUTE_MESSAGE)
+            .isEmpty();
+    }
+
+    @Test
+    void testFailedRebuildDeactivatesSnapshot() {
+        snapshot.rebuild();
+        when(apiSubscriptionRepository.findAllSubscriberConfigurations())
+            .thenThrow(new DataRetrievalFailureException("Failed"));
+
+        snapshot.rebuild();
+
+        assertThat(snapshot.isActive())
+            .as("Snapshot should not be used after a failed rebuild")
+            .isFalse();
+    }
+
+    @Test
+    void testRebuildWithoutConnectionDeactivatesSnapshot() {
+        snapshot.rebuild();
+        when(apiSubscriptionRepository.findAllSubscriberConfigurations())
+            .thenThrow(new CannotCreateTransactionException("No connection"));
+
+        snapshot.rebuild();
+
+        assertThat(snapshot.isActive())
+            .as("Snapshot should not be used when it cannot be rebuilt")
+            .isFalse();
+    }
+
+    @Test
+    void testFailedRebuildAfterCommitIsNotThrown() {
+        when(apiSubscriptionRepository.findAllSubscriberConfigurations())
+            .thenThrow(new CannotCreateTransactionException("No connection"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        snapshot.invalidate();
+
+        assertThatCode(() -> TransactionSynchronizationManager.getSynchronizations()
+            .forEach(TransactionSynchronization::afterCommit))
+            .as("Failed rebuild should not be thrown out of the committed transaction")
+            .doesNotThrowAnyException();
+        assertThat(snapshot.isActive())
+            .as("Snapshot should not be used when it cannot be rebuilt")
+            .isFalse();
+    }
+
+    @Test
+    void testInvalidateRebuildsAndNotifiesOtherInstances() {
+        snapshot.invalidate();
+
+        verify(apiSubscriptionRepository).findAllSubscriberConfigurations();
+        verify(clusterNotifications).publish(ThirdPartyRoutingSnapshot.NOTIFICATION_CHANNEL, "");
+    }
+
+    @Test
+    void testInvalidateWaitsForCommitAndRebuildsOnce() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        snapshot.invalidate();
+        snapshot.invalidate();
+        verify(apiSubscriptionRepository, never()).findAllSubscriberConfigurations();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(
+            TransactionSynchronization.STATUS_COMMITTED
+        ));
+
+        verify(apiSubscriptionRepository).findAllSubscriberConfigurations();
+    }
+
+    @Test
+    void testInvalidateWhenDisabled() {
+        new ThirdPartyRoutingSnapshot(apiSubscriptionRepository, clusterNotifications, false).invalidate();
+
+        verifyNoInteractions(apiSubscriptionRepository, clusterNotifications);
+    }
+
+    @Test
+    void testNotificationsFromOtherInstancesRebuildSnapshot() {
+        snapshot.handleNotifications(List.of("", ""));
+        verify(apiSubscriptionRepository, times(1)).findAllSubscriberConfigurations();
+
+        snapshot.handleMissedNotifications();
+        verify(apiSubscriptionRepository, times(2)).findAllSubscriberConfigurations();
+        assertThat(snapshot.isActive())
+            .as("Snapshot should be active once rebuilt")
+            .isTrue();
+    }
+}
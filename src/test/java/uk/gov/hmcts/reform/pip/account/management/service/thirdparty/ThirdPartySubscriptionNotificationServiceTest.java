@@ -4,29 +4,30 @@ import nl.altindag.log.LogCaptor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.gov.hmcts.reform.pip.account.management.database.ApiOauthConfigurationRepository;
+import reactor.core.publisher.Mono;
 import uk.gov.hmcts.reform.pip.account.management.database.ApiSubscriptionRepository;
-import uk.gov.hmcts.reform.pip.account.management.database.ApiUserRepository;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiOauthConfiguration;
-import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiSubscription;
-import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUser;
+import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiSubscriberConfiguration;
 import uk.gov.hmcts.reform.pip.account.management.model.thirdparty.ApiUserStatus;
-import uk.gov.hmcts.reform.pip.account.management.service.PublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.ReactivePublicationService;
+import uk.gov.hmcts.reform.pip.account.management.service.notification.OutboundNotificationService;
 import uk.gov.hmcts.reform.pip.model.publication.Artefact;
 import uk.gov.hmcts.reform.pip.model.publication.ListType;
 import uk.gov.hmcts.reform.pip.model.publication.Sensitivity;
 import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartyAction;
 import uk.gov.hmcts.reform.pip.model.thirdparty.ThirdPartySubscription;
 
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
@@ -53,12 +54,8 @@ class ThirdPartySubscriptionNotificationServiceTest {
 
     private Artefact artefact1 = new Artefact();
     private Artefact artefact2 = new Artefact();
-    private ApiSubscription apiSubscription1 = new ApiSubscription();
-    private ApiSubscription apiSubscription2 = new ApiSubscription();
     private ApiOauthConfiguration apiOauthConfiguration1 = new ApiOauthConfiguration();
     private ApiOauthConfiguration apiOauthConfiguration2 = new ApiOauthConfiguration();
-    private ApiUser apiUserActive = new ApiUser();
-    private ApiUser apiUserSuspended = new ApiUser();
 
     private final LogCaptor logCaptor = LogCaptor.forClass(ThirdPartySubscriptionNotificationService.class);
 
@@ -66,13 +63,13 @@ class ThirdPartySubscriptionNotificationServiceTest {
     private ApiSubscriptionRepository apiSubscriptionRepository;
 
     @Mock
-    private ApiOauthConfigurationRepository apiOauthConfigurationRepository;
+    private ReactivePublicationService reactivePublicationService;
 
     @Mock
-    private ApiUserRepository apiUserRepository;
+    private OutboundNotificationService outboundNotificationService;
 
     @Mock
-    private PublicationService publicationService;
+    private ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot;
 
     @InjectMocks
     private ThirdPartySubscriptionNotificationService thirdPartySubscriptionNotificationService;
@@ -89,14 +86,6 @@ class ThirdPartySubscriptionNotificationServiceTest {
         artefact2.setSensitivity(Sensitivity.CLASSIFIED);
         artefact2.setSupersededCount(1);
 
-        apiSubscription1.setUserId(USER_ID1);
-        apiSubscription1.setListType(ListType.CIVIL_DAILY_CAUSE_LIST);
-        apiSubscription1.setSensitivity(Sensitivity.PRIVATE);
-
-        apiSubscription2.setUserId(USER_ID2);
-        apiSubscription2.setListType(ListType.FAMILY_DAILY_CAUSE_LIST);
-        apiSubscription2.setSensitivity(Sensitivity.CLASSIFIED);
-
         apiOauthConfiguration1.setUserId(USER_ID1);
         apiOauthConfiguration1.setDestinationUrl(DESTINATION_URL1);
         apiOauthConfiguration1.setTokenUrl(TOKEN_URL1);
@@ -111,25 +100,35 @@ class ThirdPartySubscriptionNotificationServiceTest {
         apiOauthConfiguration2.setClientSecretKey(CLIENT_SECRET_KEY2);
         apiOauthConfiguration2.setScopeKey(SCOPE_KEY2);
 
-        apiUserActive.setUserId(USER_ID1);
-        apiUserActive.setStatus(ApiUserStatus.ACTIVE);
-        apiUserSuspended.setUserId(USER_ID1);
-        apiUserSuspended.setStatus(ApiUserStatus.SUSPENDED);
+        lenient().when(reactivePublicationService.sendThirdPartySubscription(any(), anyBoolean()))
+            .thenReturn(Mono.empty());
+    }
+
+    private ApiSubscriberConfiguration createSubscriberConfiguration(ApiUserStatus userStatus,
+                                                                     ApiOauthConfiguration apiOauthConfiguration) {
+        return apiOauthConfiguration == null
+            ? new ApiSubscriberConfiguration(USER_ID1, ListType.CIVIL_DAILY_CAUSE_LIST, Sensitivity.PRIVATE,
+                                             userStatus, null)
+            : new ApiSubscriberConfiguration(
+                apiOauthConfiguration.getUserId(), ListType.CIVIL_DAILY_CAUSE_LIST, Sensitivity.PRIVATE, userStatus,
+                apiOauthConfiguration.getUserId(),
+                apiOauthConfiguration.getDestinationUrl(), apiOauthConfiguration.getTokenUrl(),
+                apiOauthConfiguration.getClientIdKey(), apiOauthConfiguration.getClientSecretKey(),
+                apiOauthConfiguration.getScopeKey()
+            );
     }
 
     @Test
     void testHandleThirdPartySubscriptionForNewPublication() {
-        when(apiSubscriptionRepository.findByListTypeAndSensitivityIn(
+        when(apiSubscriptionRepository.findSubscriberConfigurations(
             ListType.CIVIL_DAILY_CAUSE_LIST, List.of(Sensitivity.CLASSIFIED, Sensitivity.PRIVATE))
-        ).thenReturn(List.of(apiSubscription1));
-        when(apiUserRepository.findByUserId(USER_ID1)).thenReturn(Optional.of(apiUserActive));
-        when(apiOauthConfigurationRepository.findByUserId(USER_ID1)).thenReturn(Optional.of(apiOauthConfiguration1));
+        ).thenReturn(List.of(createSubscriberConfiguration(ApiUserStatus.ACTIVE, apiOauthConfiguration1)));
 
         thirdPartySubscriptionNotificationService.handleThirdPartySubscription(artefact1);
 
-        verify(publicationService).sendThirdPartySubscription(new ThirdPartySubscription(
+        verify(outboundNotificationService).sendThirdPartySubscription(new ThirdPartySubscription(
             any(), ARTEFACT_ID1, ThirdPartyAction.NEW_PUBLICATION
-        ), eq(false));
+        ));
         assertThat(logCaptor.getErrorLogs())
             .as(ERROR_LOG_MESSAGE)
             .isEmpty();
@@ -137,17 +136,15 @@ class ThirdPartySubscriptionNotificationServiceTest {
 
     @Test
     void testHandleThirdPartySubscriptionForUpdatedPublication() {
-        when(apiSubscriptionRepository.findByListTypeAndSensitivityIn(
+        when(apiSubscriptionRepository.findSubscriberConfigurations(
             ListType.FAMILY_DAILY_CAUSE_LIST, List.of(Sensitivity.CLASSIFIED))
-        ).thenReturn(List.of(apiSubscription2));
-        when(apiUserRepository.findByUserId(USER_ID2)).thenReturn(Optional.of(apiUserActive));
-        when(apiOauthConfigurationRepository.findByUserId(USER_ID2)).thenReturn(Optional.of(apiOauthConfiguration2));
+        ).thenReturn(List.of(createSubscriberConfiguration(ApiUserStatus.ACTIVE, apiOauthConfiguration2)));
 
         thirdPartySubscriptionNotificationService.handleThirdPartySubscription(artefact2);
 
-        verify(publicationService).sendThirdPartySubscription(new ThirdPartySubscription(
+        verify(outboundNotificationService).sendThirdPartySubscription(new ThirdPartySubscription(
             any(), ARTEFACT_ID2, ThirdPartyAction.UPDATE_PUBLICATION
-        ), eq(false));
+        ));
         assertThat(logCaptor.getErrorLogs())
             .as(ERROR_LOG_MESSAGE)
             .isEmpty();
@@ -155,17 +152,15 @@ class ThirdPartySubscriptionNotificationServiceTest {
 
     @Test
     void testHandleThirdPartySubscriptionForDeletedPublication() {
-        when(apiSubscriptionRepository.findByListTypeAndSensitivityIn(
+        when(apiSubscriptionRepository.findSubscriberConfigurations(
             ListType.CIVIL_DAILY_CAUSE_LIST, List.of(Sensitivity.CLASSIFIED, Sensitivity.PRIVATE))
-        ).thenReturn(List.of(apiSubscription1));
-        when(apiUserRepository.findByUserId(USER_ID1)).thenReturn(Optional.of(apiUserActive));
-        when(apiOauthConfigurationRepository.findByUserId(USER_ID1)).thenReturn(Optional.of(apiOauthConfiguration1));
+        ).thenReturn(List.of(createSubscriberConfiguration(ApiUserStatus.ACTIVE, apiOauthConfiguration1)));
 
         thirdPartySubscriptionNotificationService.handleThirdPartySubscriptionForDeletedPublication(artefact1);
 
-        verify(publicationService).sendThirdPartySubscription(new ThirdPartySubscription(
+        verify(outboundNotificationService).sendThirdPartySubscription(new ThirdPartySubscription(
             any(), ARTEFACT_ID1, ThirdPartyAction.DELETE_PUBLICATION
-        ), eq(false));
+        ));
         assertThat(logCaptor.getErrorLogs())
             .as(ERROR_LOG_MESSAGE)
             .isEmpty();
@@ -173,15 +168,13 @@ class ThirdPartySubscriptionNotificationServiceTest {
 
     @Test
     void testHandleThirdPartySubscriptionWithNoOauthConfiguration() {
-        when(apiSubscriptionRepository.findByListTypeAndSensitivityIn(
+        when(apiSubscriptionRepository.findSubscriberConfigurations(
             ListType.CIVIL_DAILY_CAUSE_LIST, List.of(Sensitivity.CLASSIFIED, Sensitivity.PRIVATE))
-        ).thenReturn(List.of(apiSubscription1));
-        when(apiUserRepository.findByUserId(USER_ID1)).thenReturn(Optional.of(apiUserActive));
-        when(apiOauthConfigurationRepository.findByUserId(USER_ID1)).thenReturn(Optional.empty());
+        ).thenReturn(List.of(createSubscriberConfiguration(ApiUserStatus.ACTIVE, null)));
 
         thirdPartySubscriptionNotificationService.handleThirdPartySubscription(artefact1);
 
-        verify(publicationService, never()).sendThirdPartySubscription(any(), eq(false));
+        verify(outboundNotificationService, never()).sendThirdPartySubscription(any());
         assertThat(logCaptor.getErrorLogs())
             .as(ERROR_LOG_MESSAGE)
             .hasSize(1)
@@ -190,59 +183,67 @@ class ThirdPartySubscriptionNotificationServiceTest {
     }
 
     @Test
-    void testHandleThirdPartySubscriptionWithSuspendedUser() {
-        when(apiSubscriptionRepository.findByListTypeAndSensitivityIn(
+    void testHandleThirdPartySubscriptionWithNoActiveSubscribers() {
+        when(apiSubscriptionRepository.findSubscriberConfigurations(
             ListType.CIVIL_DAILY_CAUSE_LIST, List.of(Sensitivity.CLASSIFIED, Sensitivity.PRIVATE))
-        ).thenReturn(List.of(apiSubscription1));
-        when(apiUserRepository.findByUserId(USER_ID1)).thenReturn(Optional.of(apiUserSuspended));
-        lenient().when(apiOauthConfigurationRepository.findByUserId(USER_ID1))
-            .thenReturn(Optional.of(apiOauthConfiguration1));
+        ).thenReturn(Collections.emptyList());
 
         thirdPartySubscriptionNotificationService.handleThirdPartySubscription(artefact1);
 
-        verify(publicationService, never()).sendThirdPartySubscription(any(), eq(false));
+        verify(outboundNotificationService, never()).sendThirdPartySubscription(any());
+        assertThat(logCaptor.getErrorLogs())
+            .as(ERROR_LOG_MESSAGE)
+            .isEmpty();
     }
 
     @Test
     void testHandleThirdPartySubscriptionWithMissingUser() {
-        when(apiSubscriptionRepository.findByListTypeAndSensitivityIn(
+        when(apiSubscriptionRepository.findSubscriberConfigurations(
             ListType.CIVIL_DAILY_CAUSE_LIST, List.of(Sensitivity.CLASSIFIED, Sensitivity.PRIVATE))
-        ).thenReturn(List.of(apiSubscription1));
-        when(apiUserRepository.findByUserId(USER_ID1)).thenReturn(Optional.empty());
-        lenient().when(apiOauthConfigurationRepository.findByUserId(USER_ID1))
-            .thenReturn(Optional.of(apiOauthConfiguration1));
+        ).thenReturn(List.of(createSubscriberConfiguration(null, null)));
 
         thirdPartySubscriptionNotificationService.handleThirdPartySubscription(artefact1);
 
-        verify(publicationService, never()).sendThirdPartySubscription(any(), eq(false));
+        verify(outboundNotificationService, never()).sendThirdPartySubscription(any());
         assertThat(logCaptor.getErrorLogs())
             .anySatisfy(log ->
                             assertThat(log).contains("No third-party user found with ID " + USER_ID1));
     }
 
     @Test
-    void testHandleThirdPartySubscriptionWithPendingUser() {
-        ApiUser apiUserPending = new ApiUser();
-        apiUserPending.setUserId(USER_ID1);
-        apiUserPending.setStatus(ApiUserStatus.PENDING);
-
-        when(apiSubscriptionRepository.findByListTypeAndSensitivityIn(
-            ListType.CIVIL_DAILY_CAUSE_LIST, List.of(Sensitivity.CLASSIFIED, Sensitivity.PRIVATE))
-        ).thenReturn(List.of(apiSubscription1));
-        when(apiUserRepository.findByUserId(USER_ID1)).thenReturn(Optional.of(apiUserPending));
-        lenient().when(apiOauthConfigurationRepository.findByUserId(USER_ID1))
-            .thenReturn(Optional.of(apiOauthConfiguration1));
+    void testHandleThirdPartySubscriptionUsesRoutingSnapshotWhenActive() {
+        ApiSubscriberConfiguration subscriberConfiguration = createSubscriberConfiguration(ApiUserStatus.ACTIVE,
+                                                                                           apiOauthConfiguration1);
+        ApiSubscriberConfiguration misconfiguredSubscriber = createSubscriberConfiguration(ApiUserStatus.ACTIVE,
+                                                                                           null);
+        when(thirdPartyRoutingSnapshot.isActive()).thenReturn(true);
+        when(thirdPartyRoutingSnapshot.findRoute(ListType.CIVIL_DAILY_CAUSE_LIST, Sensitivity.PRIVATE))
+            .thenReturn(new ThirdPartyRoutingSnapshot.ThirdPartyRoute(
+                List.of(subscriberConfiguration.oauthConfiguration()), List.of(misconfiguredSubscriber)
+            ));
 
         thirdPartySubscriptionNotificationService.handleThirdPartySubscription(artefact1);
 
-        verify(publicationService, never()).sendThirdPartySubscription(any(), eq(false));
+        ArgumentCaptor<ThirdPartySubscription> captor = ArgumentCaptor.forClass(ThirdPartySubscription.class);
+        verify(outboundNotificationService).sendThirdPartySubscription(captor.capture());
+        assertThat(captor.getValue())
+            .as("Third-party subscribers should be taken from the routing snapshot")
+            .usingRecursiveComparison()
+            .isEqualTo(new ThirdPartySubscription(List.of(subscriberConfiguration.oauthConfiguration()),
+                                                  ARTEFACT_ID1, ThirdPartyAction.NEW_PUBLICATION));
+        verify(apiSubscriptionRepository, never()).findSubscriberConfigurations(any(), any());
+        assertThat(logCaptor.getErrorLogs())
+            .as(ERROR_LOG_MESSAGE)
+            .singleElement()
+            .satisfies(log ->
+                assertThat(log).contains("No OAuth configuration found for third-party user with ID " + USER_ID1));
     }
 
     @Test
     void testHandleThirdPartyHealthCheck() {
         thirdPartySubscriptionNotificationService.handleThirdPartyHealthCheck(apiOauthConfiguration1);
 
-        verify(publicationService).sendThirdPartySubscription(
+        verify(reactivePublicationService).sendThirdPartySubscription(
             new ThirdPartySubscription(any(), null, ThirdPartyAction.HEALTH_CHECK), eq(true)
         );
         assertThat(logCaptor.getErrorLogs())
@@ -28,6 +28,9 @@ class ThirdPartySubscriptionServiceTest {
     @Mock
     private ApiSubscriptionRepository apiSubscriptionRepository;
 
+    @Mock
+    private ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot;
+
     @InjectMocks
     private ThirdPartySubscriptionService service;
 
@@ -77,6 +80,7 @@ class ThirdPartySubscriptionServiceTest {
 
         verify(apiSubscriptionRepository).deleteAll(any());
         verify(apiSubscriptionRepository, times(2)).saveAll(any());
+        verify(thirdPartyRoutingSnapshot).invalidate();
     }
 
     @Test
@@ -84,5 +88,6 @@ class ThirdPartySubscriptionServiceTest {
         service.deleteThirdPartySubscriptionsByUserId(USER_ID);
 
         verify(apiSubscriptionRepository).deleteAllByUserId(USER_ID);
+        verify(thirdPartyRoutingSnapshot).invalidate();
     }
 }
@@ -37,6 +37,9 @@ class ThirdPartyUserServiceTest {
     @Mock
     private ThirdPartyConfigurationService thirdPartyConfigurationService;
 
+    @Mock
+    private ThirdPartyRoutingSnapshot thirdPartyRoutingSnapshot;
+
     @InjectMocks
     private ThirdPartyUserService service;
 
@@ -101,6 +104,7 @@ class ThirdPartyUserServiceTest {
             .as("Should update the user's status")
             .isEqualTo(newStatus);
         verify(apiUserRepository).save(user);
+        verify(thirdPartyRoutingSnapshot).invalidate();
     }
 
     @Test